@@ -825,6 +825,12 @@ public class AiAttackController {
      * @return a {@link forge.game.combat.Combat} object.
      */
     public final int declareAttackers(final Combat combat) {
+        // the same attacker and blocker pairs are judged over and over while attacking is planned
+        try (CombatPredictionCache.Scope predictions = CombatPredictionCache.open()) {
+            return doDeclareAttackers(combat);
+        }
+    }
+    private int doDeclareAttackers(final Combat combat) {
         // something prevents attacking, try another
         if (this.attackers.isEmpty() && ai.getOpponents().size() > 1) {
             final PlayerCollection opps = ai.getOpponents();
@@ -1042,6 +1042,12 @@ public class AiBlockController {
      * @param possibleBlockers list of blockers to be considered
      */
     private void assignBlockers(final Combat combat, List<Card> possibleBlockers) {
+        // the same attacker and blocker pairs are judged over and over while blocks are planned
+        try (CombatPredictionCache.Scope predictions = CombatPredictionCache.open()) {
+            doAssignBlockers(combat, possibleBlockers);
+        }
+    }
+    private void doAssignBlockers(final Combat combat, List<Card> possibleBlockers) {
         if (attackers.isEmpty()) {
             return;
         }
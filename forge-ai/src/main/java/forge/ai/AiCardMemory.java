@@ -18,7 +18,6 @@
 
 package forge.ai;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import forge.game.card.Card;
@@ -35,6 +34,9 @@ import forge.game.player.Player;
  * AiController has its own memory that is created when the AI player is spawned. The card memory is accessible 
  * via AiController.getCardMemory. 
  * 
+ * The memory sets are indexed by card id, so checking a card is a lookup and clearing a set only touches
+ * the cards that are in it.
+ * 
  * @author Forge
  */
 public class AiCardMemory {
@@ -62,75 +64,18 @@ public class AiCardMemory {
         REVEALED_CARDS // These cards were recently revealed to the AI by a call to PlayerControllerAi.reveal
     }
 
-    private final Set<Card> memMandatoryAttackers;
-    private final Set<Card> memTrickAttackers;
-    private final Set<Card> memHeldManaSources;
-    private final Set<Card> memHeldManaSourcesForCombat;
-    private final Set<Card> memHeldManaSourcesForEnemyCombat;
-    private final Set<Card> memHeldManaSourcesForNextSpell;
-    private final Set<Card> memAttachedThisTurn;
-    private final Set<Card> memAnimatedThisTurn;
-    private final Set<Card> memBouncedThisTurn;
-    private final Set<Card> memActivatedThisTurn;
-    private final Set<Card> memChosenFogEffect;
-    private final Set<Card> memMarkedToAvoidReentry;
-    private final Set<Card> memPaysTapCost;
-    private final Set<Card> memPaysSacCost;
-    private final Set<Card> memRevealedCards;
+    // one card id set per memory set, indexed by ordinal
+    private final CardIdSet[] memorySets;
 
     public AiCardMemory() {
-        this.memMandatoryAttackers = new HashSet<>();
-        this.memHeldManaSources = new HashSet<>();
-        this.memHeldManaSourcesForCombat = new HashSet<>();
-        this.memHeldManaSourcesForEnemyCombat = new HashSet<>();
-        this.memAttachedThisTurn = new HashSet<>();
-        this.memAnimatedThisTurn = new HashSet<>();
-        this.memBouncedThisTurn = new HashSet<>();
-        this.memActivatedThisTurn = new HashSet<>();
-        this.memTrickAttackers = new HashSet<>();
-        this.memChosenFogEffect = new HashSet<>();
-        this.memMarkedToAvoidReentry = new HashSet<>();
-        this.memHeldManaSourcesForNextSpell = new HashSet<>();
-        this.memPaysTapCost = new HashSet<>();
-        this.memPaysSacCost = new HashSet<>();
-        this.memRevealedCards = new HashSet<>();
+        this.memorySets = new CardIdSet[MemorySet.values().length];
+        for (int i = 0; i < memorySets.length; i++) {
+            memorySets[i] = new CardIdSet();
+        }
     }
 
     private Set<Card> getMemorySet(MemorySet set) {
-        switch (set) {
-            case MANDATORY_ATTACKERS:
-                return memMandatoryAttackers;
-            case TRICK_ATTACKERS:
-                return memTrickAttackers;
-            case HELD_MANA_SOURCES_FOR_MAIN2:
-                return memHeldManaSources;
-            case HELD_MANA_SOURCES_FOR_DECLBLK:
-                return memHeldManaSourcesForCombat;
-            case HELD_MANA_SOURCES_FOR_ENEMY_DECLBLK:
-                return memHeldManaSourcesForEnemyCombat;
-            case HELD_MANA_SOURCES_FOR_NEXT_SPELL:
-                return memHeldManaSourcesForNextSpell;
-            case ATTACHED_THIS_TURN:
-                return memAttachedThisTurn;
-            case ANIMATED_THIS_TURN:
-                return memAnimatedThisTurn;
-            case BOUNCED_THIS_TURN:
-                return memBouncedThisTurn;
-            case ACTIVATED_THIS_TURN:
-                return memActivatedThisTurn;
-            case CHOSEN_FOG_EFFECT:
-                return memChosenFogEffect;
-            case MARKED_TO_AVOID_REENTRY:
-                return memMarkedToAvoidReentry;
-            case PAYS_TAP_COST:
-                return memPaysTapCost;
-            case PAYS_SAC_COST:
-                return memPaysSacCost;
-            case REVEALED_CARDS:
-                return memRevealedCards;
-            default:
-                return null;
-        }
+        return set == null ? null : memorySets[set.ordinal()];
     }
 
     /**
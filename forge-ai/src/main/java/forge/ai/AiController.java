@@ -26,6 +26,7 @@ import com.google.common.collect.Lists;
 import forge.ai.AiCardMemory.MemorySet;
 import forge.ai.ability.ChangeZoneAi;
 import forge.ai.ability.LearnAi;
+import forge.ai.simulation.CombatPlanner;
 import forge.ai.simulation.SpellAbilityPicker;
 import forge.card.CardStateName;
 import forge.card.CardType;
@@ -83,6 +84,7 @@ public class AiController {
     private final Player player;
     private final Game game;
     private final AiCardMemory memory;
+    private final AiMemo memo;
     private Combat predictedCombat;
     private Combat predictedCombatNextTurn;
     private boolean cheatShuffle;
@@ -95,6 +97,7 @@ public class AiController {
         player = computerPlayer;
         game = game0;
         memory = new AiCardMemory();
+        memo = new AiMemo(game0);
         simPicker = new SpellAbilityPicker(game, player);
     }
 
@@ -134,6 +137,10 @@ public class AiController {
         return memory;
     }
 
+    public AiMemo getMemo() {
+        return memo;
+    }
+
     public Combat getPredictedCombat() {
         if (predictedCombat == null) {
             AiAttackController aiAtk = new AiAttackController(player);
@@ -1304,6 +1311,10 @@ public class AiController {
 
     // declares blockers for given defender in a given combat
     public void declareBlockersFor(Player defender, Combat combat) {
+        if (defender == player && getBooleanProperty(AiProps.COMBAT_PLANNER_ENABLE)
+                && new CombatPlanner(player, getIntProperty(AiProps.COMBAT_PLANNER_TIME_BUDGET)).planBlocks(combat)) {
+            return;
+        }
         AiBlockController block = new AiBlockController(defender, defender != player);
         // When player != defender, AI should declare blockers for its benefit.
         block.assignBlockersForCombat(combat);
@@ -1312,7 +1323,13 @@ public class AiController {
     public void declareAttackers(Player attacker, Combat combat) {
         // 12/2/10(sol) the decision making here has moved to getAttackers()
         AiAttackController aiAtk = new AiAttackController(attacker);
-        lastAttackAggression = aiAtk.declareAttackers(combat);
+        CombatPlanner planner = attacker == player && getBooleanProperty(AiProps.COMBAT_PLANNER_ENABLE)
+                ? new CombatPlanner(player, getIntProperty(AiProps.COMBAT_PLANNER_TIME_BUDGET)) : null;
+        if (planner != null && planner.planAttack(combat)) {
+            lastAttackAggression = planner.getAttackAggression();
+        } else {
+            lastAttackAggression = aiAtk.declareAttackers(combat);
+        }
 
         // Check if we can reinforce with Banding creatures
         aiAtk.reinforceWithBanding(combat);
@@ -1346,6 +1363,12 @@ public class AiController {
     }
 
     public List<SpellAbility> chooseSpellAbilityToPlay() {
+        try (AiMemo.Window window = memo.openPriority()) {
+            return doChooseSpellAbilityToPlay();
+        }
+    }
+
+    private List<SpellAbility> doChooseSpellAbilityToPlay() {
         // Reset cached predicted combat, as it may be stale. It will be
         // re-created if needed and used for any AI logic that needs it.
         predictedCombat = null;
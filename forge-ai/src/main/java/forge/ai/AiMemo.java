@@ -0,0 +1,220 @@
+package forge.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import forge.game.Game;
+import forge.game.card.CardCollectionView;
+import forge.game.metrics.GameMetrics;
+
+/**
+ * Remembers values the AI works out from the game state, so that the ability AIs can ask for
+ * things like the mana a player has available or the creatures that could block an attacker
+ * as often as they like.
+ * <p>
+ * A value is stored under a {@link Key} and up to two arguments, which are compared by identity.
+ * Values of a {@link Key#perTurn per turn} key are kept until the turn changes or the AI controller
+ * resets at end of turn. Values of a {@link Key#perPriority per priority} key are only kept while
+ * the AI is deciding what to do with its priority (see {@link #openPriority()}) and only as long as
+ * the game timestamp stays the same and no card is tapped or untapped, so they must not depend on
+ * anything else that changes without a timestamp.
+ * Only values of the AI's own game are kept, the games copied for simulation are always worked out anew.
+ * Each AiController has its own memo, static helpers without a controller at hand reach the memo whose
+ * priority is open on the current thread through {@link #recall}.
+ */
+public final class AiMemo {
+
+    public enum Lifetime {
+        TURN,
+        PRIORITY
+    }
+
+    public static final class Key<T> {
+        private final String name;
+        private final Lifetime lifetime;
+
+        private Key(final String name, final Lifetime lifetime) {
+            this.name = name;
+            this.lifetime = lifetime;
+        }
+
+        public static <T> Key<T> perTurn(final String name) {
+            return new Key<>(name, Lifetime.TURN);
+        }
+
+        public static <T> Key<T> perPriority(final String name) {
+            return new Key<>(name, Lifetime.PRIORITY);
+        }
+
+        public Lifetime getLifetime() {
+            return lifetime;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    // player, checkPlayable
+    public static final Key<Integer> AVAILABLE_MANA_ESTIMATE = Key.perPriority("Available mana estimate");
+    // defending player, attacker
+    public static final Key<CardCollectionView> POSSIBLE_BLOCKERS = Key.perPriority("Possible blockers");
+
+    /**
+     * Closing the outermost window forgets the per priority values.
+     */
+    public final class Window implements AutoCloseable {
+        private final AiMemo previous;
+
+        private Window(final AiMemo previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (--depth == 0) {
+                priorityValues.clear();
+                GameMetrics.add("AI memo values computed", misses);
+                GameMetrics.add("AI memo values reused", hits);
+                hits = 0;
+                misses = 0;
+            }
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Key<?> key;
+        private final Object a, b;
+
+        Entry(final Key<?> key, final Object a, final Object b) {
+            this.key = key;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry e = (Entry) o;
+            // identity, an LKI copy of a card must not share the values of the card itself
+            return key == e.key && a == e.a && b == e.b;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = System.identityHashCode(key);
+            h = 31 * h + System.identityHashCode(a);
+            return 31 * h + System.identityHashCode(b);
+        }
+    }
+
+    private static final ThreadLocal<AiMemo> CURRENT = new ThreadLocal<>();
+
+    private final Game game;
+    private final Map<Entry, Object> turnValues = new HashMap<>();
+    private final Map<Entry, Object> priorityValues = new HashMap<>();
+    private int turn = -1;
+    private long timestamp = -1;
+    private long tappedStateChanges = -1;
+    private int depth = 0;
+    private long hits, misses;
+
+    public AiMemo(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Opens a priority window on this thread, windows may be nested.
+     */
+    public Window openPriority() {
+        final Window window = new Window(CURRENT.get());
+        CURRENT.set(this);
+        depth++;
+        return window;
+    }
+
+    /**
+     * Returns the remembered value, working it out if there is none.
+     *
+     * @param key what is remembered
+     * @param game the game the value is worked out for
+     * @param a the first argument, or null
+     * @param b the second argument, or null
+     * @param compute works out the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Key<T> key, final Game game, final Object a, final Object b, final Supplier<T> compute) {
+        final Map<Entry, Object> values = valuesFor(key, game);
+        if (values == null) {
+            return compute.get();
+        }
+        final Entry entry = new Entry(key, a, b);
+        // get and put rather than computeIfAbsent, working out a value may ask for another one
+        Object value = values.get(entry);
+        if (value == null && !values.containsKey(entry)) {
+            misses++;
+            value = compute.get();
+            values.put(entry, value);
+        } else {
+            hits++;
+        }
+        return (T) value;
+    }
+
+    private Map<Entry, Object> valuesFor(final Key<?> key, final Game game) {
+        if (game != this.game) {
+            return null;
+        }
+        final int currentTurn = game.getPhaseHandler().getTurn();
+        if (turn != currentTurn) {
+            turn = currentTurn;
+            clear();
+        }
+        if (key.getLifetime() == Lifetime.TURN) {
+            return turnValues;
+        }
+        if (depth == 0) {
+            return null;
+        }
+        // the available mana and the possible blockers depend on what is tapped
+        if (timestamp != game.getTimestamp() || tappedStateChanges != game.getTappedStateChanges()) {
+            timestamp = game.getTimestamp();
+            tappedStateChanges = game.getTappedStateChanges();
+            priorityValues.clear();
+        }
+        return priorityValues;
+    }
+
+    /**
+     * Forgets every value remembered under the given key.
+     */
+    public void invalidate(final Key<?> key) {
+        final Map<Entry, Object> values = key.getLifetime() == Lifetime.TURN ? turnValues : priorityValues;
+        values.keySet().removeIf(e -> e.key == key);
+    }
+
+    /**
+     * Forgets everything.
+     */
+    public void clear() {
+        turnValues.clear();
+        priorityValues.clear();
+    }
+
+    /**
+     * Asks the memo whose priority window is open on this thread, or works the value out if there is none.
+     */
+    public static <T> T recall(final Key<T> key, final Game game, final Object a, final Object b, final Supplier<T> compute) {
+        final AiMemo memo = CURRENT.get();
+        return memo == null ? compute.get() : memo.get(key, game, a, b, compute);
+    }
+}
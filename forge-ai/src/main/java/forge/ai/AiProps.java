@@ -107,6 +107,8 @@ public enum AiProps { /** */
     SURVEIL_LIFEPERC_AFTER_PAYING_LIFE ("75"), /** */
     COMBAT_ASSAULT_ATTACK_EVASION_PREDICTION ("true"), /** */
     COMBAT_ATTRITION_ATTACK_EVASION_PREDICTION ("true"), /** */
+    COMBAT_PLANNER_ENABLE ("false"), /** */
+    COMBAT_PLANNER_TIME_BUDGET ("250"), /** */
     CONSERVATIVE_ENERGY_PAYMENT_ONLY_IN_COMBAT ("true"), /** */
     CONSERVATIVE_ENERGY_PAYMENT_ONLY_DEFENSIVELY ("true"), /** */
     BOUNCE_ALL_TO_HAND_CREAT_EVAL_DIFF ("200"), /** */
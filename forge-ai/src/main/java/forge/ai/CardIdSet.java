@@ -0,0 +1,179 @@
+package forge.ai;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import forge.game.card.Card;
+
+/**
+ * A set of cards indexed by card id.
+ * <p>
+ * Membership is a single array lookup and clearing only touches the slots that are in use, which suits
+ * the AI card memory: small sets that are asked about constantly and wiped every turn or every spell.
+ * Cards are matched like {@link Card#equals(Object)} does, so an LKI copy counts as the card itself.
+ * Negative ids (fake and copied cards) can be anywhere in their range, so those few cards are kept in
+ * a map instead of the array. Iteration runs in id order.
+ */
+final class CardIdSet extends AbstractSet<Card> {
+    private final BitSet used = new BitSet();
+    private Card[] cards = new Card[64];
+    private final TreeMap<Integer, Card> negative = new TreeMap<>();
+    private int size = 0;
+    private int modCount = 0;
+
+    private Card at(final Object o) {
+        if (!(o instanceof Card)) {
+            return null;
+        }
+        final int id = ((Card) o).getId();
+        final Card c;
+        if (id < 0) {
+            c = negative.get(id);
+        } else {
+            c = id < cards.length ? cards[id] : null;
+        }
+        return c != null && c.equals(o) ? c : null;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return at(o) != null;
+    }
+
+    @Override
+    public boolean add(final Card c) {
+        final int slot = c.getId();
+        if (slot < 0) {
+            if (negative.putIfAbsent(slot, c) != null) {
+                return false;
+            }
+            size++;
+            modCount++;
+            return true;
+        }
+        if (slot >= cards.length) {
+            int length = cards.length;
+            while (length <= slot) {
+                length <<= 1;
+            }
+            final Card[] grown = new Card[length];
+            System.arraycopy(cards, 0, grown, 0, cards.length);
+            cards = grown;
+        }
+        if (cards[slot] != null) {
+            return false;
+        }
+        cards[slot] = c;
+        used.set(slot);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (at(o) == null) {
+            return false;
+        }
+        final int id = ((Card) o).getId();
+        if (id < 0) {
+            negative.remove(id);
+            size--;
+            modCount++;
+        } else {
+            removeSlot(id);
+        }
+        return true;
+    }
+
+    private void removeSlot(final int slot) {
+        cards[slot] = null;
+        used.clear(slot);
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (int slot = used.nextSetBit(0); slot >= 0; slot = used.nextSetBit(slot + 1)) {
+            cards[slot] = null;
+        }
+        used.clear();
+        negative.clear();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            // the negative ids come first
+            private final Iterator<Map.Entry<Integer, Card>> negatives = negative.entrySet().iterator();
+            private boolean lastNegative = false;
+            private int next = used.nextSetBit(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return negatives.hasNext() || next >= 0;
+            }
+
+            @Override
+            public Card next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (negatives.hasNext()) {
+                    lastNegative = true;
+                    return negatives.next().getValue();
+                }
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                lastNegative = false;
+                last = next;
+                next = used.nextSetBit(next + 1);
+                return cards[last];
+            }
+
+            @Override
+            public void remove() {
+                if (!lastNegative && last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (lastNegative) {
+                    negatives.remove();
+                    lastNegative = false;
+                    size--;
+                    modCount++;
+                } else {
+                    removeSlot(last);
+                    last = -1;
+                }
+                expectedModCount = modCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package forge.ai;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import forge.game.Game;
+import forge.game.combat.Combat;
+import forge.game.metrics.GameMetrics;
+
+/**
+ * Remembers the combat predictions of {@link ComputerUtilCombat} while the AI plans its attacks or blocks.
+ * <p>
+ * Planning asks for the same attacker and blocker pairs many times over (good blocks, trade blocks,
+ * gang blocks, chump blocks, the aggression loop), each time scanning every trigger and static ability
+ * on the battlefield. Inside a {@link #open() scope} those answers are kept per combat, keyed by the
+ * cards involved. A prediction that looks at the game's combat rather than one being planned is kept
+ * under the game's combat all the same. Declaring or removing a combatant changes the combat's shape and
+ * drops its answers, a new game timestamp (anything entering, leaving or changing on the battlefield)
+ * drops all of them.
+ * Outside a scope nothing is cached.
+ */
+public final class CombatPredictionCache {
+
+    enum Kind {
+        CAN_DESTROY_ATTACKER,
+        CAN_DESTROY_BLOCKER,
+        POWER_BONUS_OF_ATTACKER,
+        TOUGHNESS_BONUS_OF_ATTACKER,
+        POWER_BONUS_OF_BLOCKER,
+        TOUGHNESS_BONUS_OF_BLOCKER
+    }
+
+    /**
+     * Closing the outermost scope forgets everything.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final CombatPredictionCache cache;
+
+        private Scope(final CombatPredictionCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void close() {
+            if (--cache.depth == 0) {
+                CURRENT.remove();
+                GameMetrics.add("Combat predictions computed", cache.misses);
+                GameMetrics.add("Combat predictions reused", cache.hits);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final Object a, b, c;
+        private final int flags;
+
+        Key(final Kind kind, final Object a, final Object b, final Object c, final int flags) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key k = (Key) o;
+            // identity, an LKI copy of a card must not share the answers of the card itself
+            return kind == k.kind && a == k.a && b == k.b && c == k.c && flags == k.flags;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = kind.ordinal();
+            h = 31 * h + System.identityHashCode(a);
+            h = 31 * h + System.identityHashCode(b);
+            h = 31 * h + System.identityHashCode(c);
+            return 31 * h + flags;
+        }
+    }
+
+    private static final class CombatEntry {
+        private int shapeVersion;
+        private final Map<Key, Object> results = new HashMap<>();
+    }
+
+    private static final ThreadLocal<CombatPredictionCache> CURRENT = new ThreadLocal<>();
+    private static final LongAdder totalHits = new LongAdder();
+    private static final LongAdder totalMisses = new LongAdder();
+
+    private int depth = 0;
+    private Game game;
+    private long timestamp;
+    // a null key holds the predictions made without a combat
+    private final Map<Combat, CombatEntry> byCombat = new IdentityHashMap<>();
+    private long hits, misses;
+
+    private CombatPredictionCache() {
+    }
+
+    /**
+     * Starts caching combat predictions on this thread, scopes may be nested.
+     */
+    public static Scope open() {
+        CombatPredictionCache cache = CURRENT.get();
+        if (cache == null) {
+            cache = new CombatPredictionCache();
+            CURRENT.set(cache);
+        }
+        cache.depth++;
+        return new Scope(cache);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(final Kind kind, final Game game, final Combat combat, final Object a, final Object b, final Object c,
+            final int flags, final Supplier<T> prediction) {
+        final CombatPredictionCache cache = CURRENT.get();
+        if (cache == null) {
+            return prediction.get();
+        }
+        final Map<Key, Object> results = cache.resultsFor(game, combat);
+        final Key key = new Key(kind, a, b, c, flags);
+        final Object known = results.get(key);
+        if (known != null) {
+            cache.hits++;
+            totalHits.increment();
+            return (T) known;
+        }
+        // not computeIfAbsent, predictions ask for other predictions while they are computed
+        final T result = prediction.get();
+        cache.misses++;
+        totalMisses.increment();
+        cache.resultsFor(game, combat).put(key, result);
+        return result;
+    }
+
+    private Map<Key, Object> resultsFor(final Game game0, final Combat combat) {
+        if (game != game0 || timestamp != game0.getTimestamp()) {
+            game = game0;
+            timestamp = game0.getTimestamp();
+            byCombat.clear();
+        }
+        CombatEntry entry = byCombat.get(combat);
+        final int version = combat == null ? 0 : combat.getShapeVersion();
+        if (entry == null) {
+            entry = new CombatEntry();
+            entry.shapeVersion = version;
+            byCombat.put(combat, entry);
+        } else if (entry.shapeVersion != version) {
+            entry.results.clear();
+            entry.shapeVersion = version;
+        }
+        return entry.results;
+    }
+
+    /**
+     * @return predictions answered from the cache since the last reset, over all threads
+     */
+    public static long getHits() {
+        return totalHits.sum();
+    }
+
+    /**
+     * @return predictions that had to be computed since the last reset, over all threads
+     */
+    public static long getMisses() {
+        return totalMisses.sum();
+    }
+
+    public static void resetStatistics() {
+        totalHits.reset();
+        totalMisses.reset();
+    }
+}
@@ -67,6 +67,11 @@ public class ComputerUtilCombat {
         dontTestRegen = shouldSuppress;
     }
 
+    // the options a cached prediction was made with, the regeneration test changes the answer too
+    private static int flags(final boolean withoutAbilities, final boolean withoutStaticAbilities) {
+        return (withoutAbilities ? 1 : 0) | (withoutStaticAbilities ? 2 : 0) | (dontTestRegen ? 4 : 0);
+    }
+
     /**
      * <p>
      * canAttackNextTurn.
@@ -382,6 +387,15 @@ public class ComputerUtilCombat {
         return res;
     }
 
+    /**
+     * The creatures of the defending player that could block the given attacker.
+     * Remembered while the AI decides on its priority, so the returned list must not be changed.
+     */
+    public static CardCollectionView getPossibleBlockers(final Player defender, final Card attacker) {
+        return AiMemo.recall(AiMemo.POSSIBLE_BLOCKERS, defender.getGame(), defender, attacker,
+                () -> CardLists.filter(defender.getCreaturesInPlay(), CardPredicates.possibleBlockers(attacker)));
+    }
+
     /**
      * <p>
      * lifeInDanger.
@@ -876,6 +890,12 @@ public class ComputerUtilCombat {
      * @return a int.
      */
     public static int predictPowerBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
+        // the blocker's triggers are checked against the game's combat
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.POWER_BONUS_OF_BLOCKER, blocker.getGame(), blocker.getGame().getCombat(),
+                attacker, blocker, null, flags(withoutAbilities, false),
+                () -> computePowerBonusOfBlocker(attacker, blocker, withoutAbilities));
+    }
+    private static int computePowerBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
         int power = 0;
 
         // Serene Master switches power with attacker
@@ -1022,6 +1042,12 @@ public class ComputerUtilCombat {
      * @return a int.
      */
     public static int predictToughnessBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
+        // the blocker's triggers are checked against the game's combat
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.TOUGHNESS_BONUS_OF_BLOCKER, blocker.getGame(), blocker.getGame().getCombat(),
+                attacker, blocker, null, flags(withoutAbilities, false),
+                () -> computeToughnessBonusOfBlocker(attacker, blocker, withoutAbilities));
+    }
+    private static int computeToughnessBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
         int toughness = 0;
 
         if (blocker.getName().equals("Shape Stealer")) {
@@ -1159,6 +1185,11 @@ public class ComputerUtilCombat {
         return predictPowerBonusOfAttacker(attacker, blocker, combat, withoutAbilities, false);
     }
     public static int predictPowerBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.POWER_BONUS_OF_ATTACKER, attacker.getGame(), combat,
+                attacker, blocker, null, flags(withoutAbilities, withoutCombatStaticAbilities),
+                () -> computePowerBonusOfAttacker(attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities));
+    }
+    private static int computePowerBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
         int power = 0;
 
         // Serene Master switches power with attacker
@@ -1363,6 +1394,12 @@ public class ComputerUtilCombat {
     }
     public static int predictToughnessBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat
             , boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.TOUGHNESS_BONUS_OF_ATTACKER, attacker.getGame(), combat,
+                attacker, blocker, null, flags(withoutAbilities, withoutCombatStaticAbilities),
+                () -> computeToughnessBonusOfAttacker(attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities));
+    }
+    private static int computeToughnessBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat
+            , boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
         int toughness = 0;
 
         if (blocker != null && attacker.getName().equals("Shape Stealer")) {
@@ -1658,7 +1695,13 @@ public class ComputerUtilCombat {
             final boolean withoutAbilities) {
         return canDestroyAttacker(ai, attacker, blocker, combat, withoutAbilities, false);
     }
-    public static boolean canDestroyAttacker(Player ai, Card attacker, Card blocker, final Combat combat,
+    public static boolean canDestroyAttacker(final Player ai, final Card attacker, final Card blocker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.CAN_DESTROY_ATTACKER, attacker.getGame(), combat,
+                attacker, blocker, ai, flags(withoutAbilities, withoutAttackerStaticAbilities),
+                () -> computeCanDestroyAttacker(ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities));
+    }
+    private static boolean computeCanDestroyAttacker(Player ai, Card attacker, Card blocker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
@@ -1888,7 +1931,13 @@ public class ComputerUtilCombat {
             final boolean withoutAbilities) {
         return canDestroyBlocker(ai, blocker, attacker, combat, withoutAbilities, false);
     }
-    public static boolean canDestroyBlocker(Player ai, Card blocker, Card attacker, final Combat combat,
+    public static boolean canDestroyBlocker(final Player ai, final Card blocker, final Card attacker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        return CombatPredictionCache.get(CombatPredictionCache.Kind.CAN_DESTROY_BLOCKER, blocker.getGame(), combat,
+                blocker, attacker, ai, flags(withoutAbilities, withoutAttackerStaticAbilities),
+                () -> computeCanDestroyBlocker(ai, blocker, attacker, combat, withoutAbilities, withoutAttackerStaticAbilities));
+    }
+    private static boolean computeCanDestroyBlocker(Player ai, Card blocker, Card attacker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
@@ -1337,6 +1337,10 @@ public class ComputerUtilMana {
         return getAvailableManaEstimate(p, true);
     }
     public static int getAvailableManaEstimate(final Player p, final boolean checkPlayable) {
+        return AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, p.getGame(), p, checkPlayable,
+                () -> computeAvailableManaEstimate(p, checkPlayable));
+    }
+    private static int computeAvailableManaEstimate(final Player p, final boolean checkPlayable) {
         int availableMana = 0;
 
         final List<Card> srcs = CardLists.filter(p.getCardsIn(ZoneType.Battlefield), c -> !c.getManaAbilities().isEmpty());
@@ -29,6 +29,7 @@ import forge.game.keyword.KeywordInterface;
 import forge.game.mana.Mana;
 import forge.game.mana.ManaConversionMatrix;
 import forge.game.mana.ManaCostBeingPaid;
+import forge.game.metrics.GameMetrics;
 import forge.game.phase.PhaseHandler;
 import forge.game.phase.PhaseType;
 import forge.game.player.*;
@@ -811,7 +812,9 @@ public class PlayerControllerAi extends PlayerController {
 
     @Override
     public List<SpellAbility> chooseSpellAbilityToPlay() {
-        return brains.chooseSpellAbilityToPlay();
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.AI_CHOOSE_SPELL)) {
+            return brains.chooseSpellAbilityToPlay();
+        }
     }
 
     @Override
@@ -1505,6 +1508,7 @@ public class PlayerControllerAi extends PlayerController {
     public void resetAtEndOfTurn() {
         // TODO - if card memory is ever used to remember something for longer than a turn, make sure it's not reset here.
         getAi().getCardMemory().clearAllRemembered();
+        getAi().getMemo().clear();
     }
 
     @Override
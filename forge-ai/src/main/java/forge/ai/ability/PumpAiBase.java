@@ -190,7 +190,7 @@ public abstract class PumpAiBase extends SpellAbilityAi {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.endsWith("Flying")) {
             CardCollectionView attackingFlyer = CardCollection.EMPTY;
             if (combat != null) {
@@ -222,7 +222,7 @@ public abstract class PumpAiBase extends SpellAbilityAi {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
-                    && Iterables.any(CardLists.filter(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)),
+                    && Iterables.any(ComputerUtilCombat.getPossibleBlockers(opp, card),
                     Predicates.not(flyingOrReach));
         } else if (keyword.endsWith("Horsemanship")) {
             if (ph.isPlayerTurn(opp)
@@ -235,20 +235,19 @@ public abstract class PumpAiBase extends SpellAbilityAi {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
-                    && !CardLists.getNotKeyword(CardLists.filter(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)),
+                    && !CardLists.getNotKeyword(ComputerUtilCombat.getPossibleBlockers(opp, card),
                     Keyword.HORSEMANSHIP).isEmpty();
         } else if (keyword.endsWith("Intimidate")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
-                    && !CardLists.getNotType(CardLists.filter(
-                    opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)), "Artifact").isEmpty();
+                    && !CardLists.getNotType(ComputerUtilCombat.getPossibleBlockers(opp, card), "Artifact").isEmpty();
         } else if (keyword.endsWith("Fear")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
-                    && !CardLists.getNotColor(CardLists.getNotType(CardLists.filter(
-                    opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)), "Artifact"), MagicColor.BLACK).isEmpty();
+                    && !CardLists.getNotColor(CardLists.getNotType(ComputerUtilCombat.getPossibleBlockers(opp, card), "Artifact"),
+                    MagicColor.BLACK).isEmpty();
         } else if (keyword.endsWith("Haste")) {
             return CombatUtil.isAttackerSick(card, opp) && !ph.isPlayerTurn(opp) && !card.isTapped()
                     && newPower > 0
@@ -284,7 +283,7 @@ public abstract class PumpAiBase extends SpellAbilityAi {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_BLOCKERS)
                     && !opp.getCreaturesInPlay().isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("First Strike")) {
             if (card.hasDoubleStrike()) {
                 return false;
@@ -315,19 +314,19 @@ public abstract class PumpAiBase extends SpellAbilityAi {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && newPower > 0
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
-                    && CardLists.filter(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)).size() >= 2;
+                    && ComputerUtilCombat.getPossibleBlockers(opp, card).size() >= 2;
         } else if (keyword.startsWith("Flanking")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && newPower > 0
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
-                    && !CardLists.getNotKeyword(CardLists.filter(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card)),
+                    && !CardLists.getNotKeyword(ComputerUtilCombat.getPossibleBlockers(opp, card),
                     Keyword.FLANKING).isEmpty();
         } else if (keyword.startsWith("Trample")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && CombatUtil.canBeBlocked(card, null, opp)
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 1
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Infect")) {
             if (newPower <= 0) {
                 return false;
@@ -367,31 +366,31 @@ public abstract class PumpAiBase extends SpellAbilityAi {
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
                     && !CardLists.getType(opp.getLandsInPlay(), "Plains").isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Landwalk:Island")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
                     && !CardLists.getType(opp.getLandsInPlay(), "Island").isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Landwalk:Swamp")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
                     && !CardLists.getType(opp.getLandsInPlay(), "Swamp").isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Landwalk:Mountain")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
                     && !CardLists.getType(opp.getLandsInPlay(), "Mountain").isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Landwalk:Forest")) {
             return !ph.isPlayerTurn(opp) && ((combat != null && combat.isAttacking(card)) || CombatUtil.canAttack(card, opp))
                     && !ph.getPhase().isAfter(PhaseType.COMBAT_DECLARE_ATTACKERS)
                     && newPower > 0
                     && !CardLists.getType(opp.getLandsInPlay(), "Forest").isEmpty()
-                    && Iterables.any(opp.getCreaturesInPlay(), CardPredicates.possibleBlockers(card));
+                    && !ComputerUtilCombat.getPossibleBlockers(opp, card).isEmpty();
         } else if (keyword.equals("Prevent all combat damage that would be dealt to CARDNAME.")) {
             return combat != null && (combat.isBlocking(card) || combat.isBlocked(card));
         } else if (keyword.equals("Menace")) {
@@ -0,0 +1,391 @@
+package forge.ai.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import forge.ai.CombatPredictionCache;
+import forge.ai.ComputerUtil;
+import forge.ai.ComputerUtilCombat;
+import forge.ai.simulation.CombatSketch.Blocks;
+import forge.ai.simulation.CombatSketch.Deadline;
+import forge.ai.simulation.CombatSketch.Option;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
+import forge.game.combat.CombatUtil;
+import forge.game.keyword.Keyword;
+import forge.game.player.Player;
+import forge.util.ThreadUtil;
+
+/**
+ * Plans attacks and blocks by comparing whole assignments instead of deciding creature by creature.
+ * <p>
+ * The combat is first reduced to a {@link CombatSketch}. Blocks are found by a depth first search
+ * over the blocks of every attacker, attacks by trying every group of attackers (identical creatures
+ * are only tried by count) against the defending player's best blocks, minus the damage the survivors
+ * could swing back with. The candidates are spread over the cores of the machine.
+ * <p>
+ * The planner gives up and leaves the combat untouched when the time budget runs out, when the combat
+ * has something the sketch can't express (several defending players, attacks on planeswalkers or battles,
+ * infect, banding)
+ * or when the result turns out not to be legal. The caller then uses the usual heuristics.
+ */
+public class CombatPlanner {
+    private static final int MAX_BLOCKERS = 63;
+    private static final int MAX_ATTACK_CANDIDATES = 1 << 20;
+
+    private final Player ai;
+    private final long budgetNanos;
+    private final GameStateEvaluator evaluator = new GameStateEvaluator();
+    private int attackAggression = 0;
+
+    public CombatPlanner(final Player ai, final int budgetMillis) {
+        this.ai = ai;
+        this.budgetNanos = budgetMillis * 1000000L;
+    }
+
+    /**
+     * @return the aggression the planned attack corresponds to, for the decisions that follow it
+     */
+    public int getAttackAggression() {
+        return attackAggression;
+    }
+
+    /**
+     * Declares the best attack found against the only defending player.
+     *
+     * @return false if nothing was declared and the heuristics have to decide
+     */
+    public boolean planAttack(final Combat combat) {
+        final Deadline deadline = new Deadline(budgetNanos);
+        if (combat.getDefendingPlayers().size() != 1) {
+            return false;
+        }
+        final Player defender = combat.getDefendingPlayers().get(0);
+        if (!defender.canLoseLife()) {
+            return false;
+        }
+        final List<Card> attackers = new ArrayList<>();
+        for (final Card c : ai.getCreaturesInPlay()) {
+            if (CombatUtil.canAttack(c, defender)) {
+                attackers.add(c);
+            }
+        }
+        final List<Card> blockers = new ArrayList<>();
+        for (final Card c : defender.getCreaturesInPlay()) {
+            if (CombatUtil.canBlock(c)) {
+                blockers.add(c);
+            }
+        }
+        if (attackers.isEmpty() || blockers.size() > MAX_BLOCKERS || !canSketch(attackers) || !canSketch(blockers)) {
+            return false;
+        }
+
+        // every possible attacker declared, only for the predictions that depend on the attack
+        final Combat probe = new Combat(ai);
+        for (final Card c : attackers) {
+            probe.addAttacker(c, defender);
+        }
+        final CombatSketch sketch;
+        try (CombatPredictionCache.Scope predictions = CombatPredictionCache.open()) {
+            sketch = sketch(probe, defender, attackers, blockers, false);
+        }
+        for (final Card c : ai.getCreaturesInPlay()) {
+            if (!attackers.contains(c) && CombatUtil.canBlock(c, true)) {
+                sketch.otherBlockers++;
+            }
+        }
+
+        // identical attackers are only told apart by how many of them attack
+        final List<int[]> groups = groupIdentical(sketch, attackers);
+        long candidates = 1;
+        for (final int[] group : groups) {
+            candidates *= group.length + 1;
+            if (candidates > MAX_ATTACK_CANDIDATES) {
+                return false;
+            }
+        }
+        final long total = candidates;
+        final LongFunction<int[]> attackOf = index -> {
+            final List<Integer> chosen = new ArrayList<>();
+            long rest = index;
+            for (final int[] group : groups) {
+                final int count = (int) (rest % (group.length + 1));
+                rest /= group.length + 1;
+                for (int n = 0; n < count; n++) {
+                    chosen.add(group[n]);
+                }
+            }
+            return chosen.stream().mapToInt(Integer::intValue).toArray();
+        };
+
+        final Best best = search(total, deadline, index -> {
+            final int[] attacking = attackOf.apply(index);
+            final Blocks blocks = sketch.bestBlocks(attacking, -1, deadline);
+            if (blocks.options == null) {
+                return null;
+            }
+            int score = blocks.score;
+            if (score < CombatSketch.WIN) {
+                int gain = 0;
+                for (final Option o : blocks.options) {
+                    gain += o.attackerGain;
+                }
+                if (sketch.attackerLife + gain - sketch.crackBackDamage(attacking, blocks) <= 0) {
+                    score -= CombatSketch.WIN / 2;
+                }
+            }
+            return score;
+        });
+        if (best == null) {
+            return false;
+        }
+
+        final int[] attacking = attackOf.apply(best.index);
+        for (final int i : attacking) {
+            combat.addAttacker(attackers.get(i), defender);
+        }
+        if (!CombatUtil.validateAttackers(combat)) {
+            combat.clearAttackers();
+            return false;
+        }
+        attackAggression = attacking.length == 0 ? 0 : attacking.length == attackers.size() ? 5 : 3;
+        return true;
+    }
+
+    /**
+     * Declares the best blocks found against the attackers of the combat.
+     *
+     * @return false if nothing was declared and the heuristics have to decide
+     */
+    public boolean planBlocks(final Combat combat) {
+        final Deadline deadline = new Deadline(budgetNanos);
+        final List<Card> attackers = new ArrayList<>(combat.getAttackers());
+        for (final Card c : attackers) {
+            if (combat.getDefenderByAttacker(c) != ai || combat.getBandOfAttacker(c).getAttackers().size() > 1) {
+                return false;
+            }
+        }
+        final List<Card> blockers = new ArrayList<>();
+        for (final Card c : ai.getCreaturesInPlay()) {
+            if (CombatUtil.canBlock(c, combat)) {
+                blockers.add(c);
+            }
+        }
+        if (attackers.isEmpty() || blockers.isEmpty() || blockers.size() > MAX_BLOCKERS
+                || !canSketch(attackers) || !canSketch(blockers)) {
+            return false;
+        }
+
+        final CombatSketch sketch;
+        try (CombatPredictionCache.Scope predictions = CombatPredictionCache.open()) {
+            sketch = sketch(combat, ai, attackers, blockers, true);
+        }
+        final int[] attacking = new int[attackers.size()];
+        for (int i = 0; i < attacking.length; i++) {
+            attacking[i] = i;
+        }
+        // the blocks of the biggest threat are shared out, every task searches the rest
+        final int first = sketch.byThreat(attacking)[0];
+        final Blocks[] found = new Blocks[sketch.getOptions(first).size()];
+        final Best best = search(found.length, deadline, index -> {
+            final Blocks blocks = sketch.bestBlocks(attacking, (int) index, deadline);
+            if (blocks.options == null) {
+                return null;
+            }
+            found[(int) index] = blocks;
+            // the defending player keeps the lowest score of the attacking player
+            return -blocks.score;
+        });
+        if (best == null) {
+            return false;
+        }
+
+        for (final Option o : found[(int) best.index].options) {
+            for (int j = 0; j < blockers.size(); j++) {
+                if ((o.blockers & (1L << j)) != 0) {
+                    combat.addBlocker(attackers.get(o.attacker), blockers.get(j));
+                }
+            }
+        }
+        if (CombatUtil.validateBlocks(combat, ai) != null) {
+            for (final Card b : blockers) {
+                combat.undoBlockingAssignment(b);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean canSketch(final List<Card> cards) {
+        for (final Card c : cards) {
+            if (c.hasKeyword(Keyword.INFECT) || c.hasKeyword(Keyword.WITHER) || c.hasKeyword(Keyword.BANDING)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CombatSketch sketch(final Combat combat, final Player defender, final List<Card> attackers,
+            final List<Card> blockers, final boolean blocking) {
+        final Game game = ai.getGame();
+        final Player attackingPlayer = combat.getAttackingPlayer();
+        final CombatSketch sketch = new CombatSketch(attackers.size(), blockers.size());
+        sketch.defenderLife = defender.getLife();
+        sketch.attackerLife = attackingPlayer.getLife();
+
+        for (int j = 0; j < blockers.size(); j++) {
+            final Card b = blockers.get(j);
+            sketch.blockerValue[j] = evaluator.evalCard(game, ai, b);
+            sketch.blockerFirstStrike[j] = b.hasFirstStrike();
+            sketch.blockerDoubleStrike[j] = b.hasDoubleStrike();
+            sketch.blockerDeathtouch[j] = b.hasKeyword(Keyword.DEATHTOUCH);
+            sketch.blockerLifelink[j] = b.hasKeyword(Keyword.LIFELINK);
+            if (!blocking && ComputerUtilCombat.canAttackNextTurn(b, attackingPlayer)) {
+                sketch.blockerCrackBack[j] = ComputerUtilCombat.damageIfUnblocked(b, attackingPlayer, null, false);
+            }
+        }
+        for (int i = 0; i < attackers.size(); i++) {
+            final Card a = attackers.get(i);
+            sketch.attackerValue[i] = evaluator.evalCard(game, ai, a);
+            sketch.unblockedDamage[i] = ComputerUtilCombat.damageIfUnblocked(a, defender, combat, false);
+            sketch.attackerFirstStrike[i] = a.hasFirstStrike();
+            sketch.attackerDoubleStrike[i] = a.hasDoubleStrike();
+            sketch.attackerDeathtouch[i] = a.hasKeyword(Keyword.DEATHTOUCH);
+            sketch.attackerTrample[i] = a.hasKeyword(Keyword.TRAMPLE);
+            sketch.attackerLifelink[i] = a.hasKeyword(Keyword.LIFELINK);
+            sketch.attackerVigilance[i] = a.hasKeyword(Keyword.VIGILANCE);
+            sketch.minBlockers[i] = CombatUtil.getMinNumBlockersForAttacker(a, defender);
+            sketch.maxBlockers[i] = CombatUtil.canAttackerBeBlockedWithAmount(a, 2, defender) ? 2
+                    : CombatUtil.canAttackerBeBlockedWithAmount(a, 1, defender) ? 1 : 0;
+            final boolean attackerUnkillable = isUnkillable(a);
+
+            for (int j = 0; j < blockers.size(); j++) {
+                final Card b = blockers.get(j);
+                sketch.canBlock[i][j] = blocking ? CombatUtil.canBlock(a, b, combat) : CombatUtil.canBlock(a, b);
+                if (!sketch.canBlock[i][j]) {
+                    continue;
+                }
+                final int power = a.getNetCombatDamage() + ComputerUtilCombat.predictPowerBonusOfAttacker(a, b, combat, false);
+                final int blockerPower = b.getNetCombatDamage() + ComputerUtilCombat.predictPowerBonusOfBlocker(a, b, false);
+                sketch.attackerPower[i][j] = Math.max(0, power);
+                sketch.damageToAttacker[i][j] = blockerPower > 0 ? ComputerUtilCombat.predictDamageTo(a, blockerPower, b, true) : 0;
+                sketch.blockerShielded[i][j] = power > 0 && ComputerUtilCombat.predictDamageTo(b, power, a, true) == 0;
+                sketch.attackerLethal[i][j] = attackerUnkillable ? CombatSketch.UNKILLABLE
+                        : ComputerUtilCombat.getDamageToKill(a, false) + ComputerUtilCombat.predictToughnessBonusOfAttacker(a, b, combat, false);
+                sketch.blockerLethal[i][j] = isUnkillable(b) ? CombatSketch.UNKILLABLE
+                        : ComputerUtilCombat.getDamageToKill(b, false) + ComputerUtilCombat.predictToughnessBonusOfBlocker(a, b, false);
+            }
+        }
+        sketch.resolveOptions();
+        return sketch;
+    }
+
+    private static boolean isUnkillable(final Card c) {
+        return c.hasKeyword(Keyword.INDESTRUCTIBLE) || c.getCounters(CounterEnumType.SHIELD) > 0
+                || ComputerUtil.canRegenerate(c.getController(), c);
+    }
+
+    private static List<int[]> groupIdentical(final CombatSketch sketch, final List<Card> attackers) {
+        final List<int[]> groups = new ArrayList<>();
+        final boolean[] grouped = new boolean[attackers.size()];
+        for (int i = 0; i < attackers.size(); i++) {
+            if (grouped[i]) {
+                continue;
+            }
+            final List<Integer> group = new ArrayList<>();
+            for (int k = i; k < attackers.size(); k++) {
+                if (!grouped[k] && attackers.get(k).getName().equals(attackers.get(i).getName()) && sameInSketch(sketch, i, k)) {
+                    grouped[k] = true;
+                    group.add(k);
+                }
+            }
+            groups.add(group.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return groups;
+    }
+
+    private static boolean sameInSketch(final CombatSketch s, final int i, final int k) {
+        return s.attackerValue[i] == s.attackerValue[k] && s.unblockedDamage[i] == s.unblockedDamage[k]
+                && s.attackerFirstStrike[i] == s.attackerFirstStrike[k] && s.attackerDoubleStrike[i] == s.attackerDoubleStrike[k]
+                && s.attackerDeathtouch[i] == s.attackerDeathtouch[k] && s.attackerTrample[i] == s.attackerTrample[k]
+                && s.attackerLifelink[i] == s.attackerLifelink[k] && s.attackerVigilance[i] == s.attackerVigilance[k]
+                && s.minBlockers[i] == s.minBlockers[k] && s.maxBlockers[i] == s.maxBlockers[k]
+                && Arrays.equals(s.canBlock[i], s.canBlock[k]) && Arrays.equals(s.attackerPower[i], s.attackerPower[k])
+                && Arrays.equals(s.attackerLethal[i], s.attackerLethal[k]) && Arrays.equals(s.damageToAttacker[i], s.damageToAttacker[k])
+                && Arrays.equals(s.blockerLethal[i], s.blockerLethal[k]) && Arrays.equals(s.blockerShielded[i], s.blockerShielded[k]);
+    }
+
+    private static final class Best {
+        private final long index;
+        private final int score;
+
+        Best(final long index, final int score) {
+            this.index = index;
+            this.score = score;
+        }
+    }
+
+    private interface Candidate {
+        /** @return the score of the candidate, null if the time ran out */
+        Integer score(long index);
+    }
+
+    /**
+     * Scores candidates 0 to count - 1 on this thread and on the service pool, one task per core.
+     *
+     * @return the highest scoring candidate, the first one on ties, or null if the time ran out
+     */
+    private static Best search(final long count, final Deadline deadline, final Candidate candidate) {
+        final AtomicLong next = new AtomicLong();
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final int tasks = (int) Math.min(count, Runtime.getRuntime().availableProcessors());
+        final List<Future<Best>> helpers = new ArrayList<>();
+        for (int t = 1; t < tasks; t++) {
+            helpers.add(ThreadUtil.getServicePool().submit(() -> work(next, count, deadline, timedOut, candidate)));
+        }
+        Best best = work(next, count, deadline, timedOut, candidate);
+        for (final Future<Best> f : helpers) {
+            try {
+                best = better(best, f.get());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (final ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        return timedOut.get() ? null : best;
+    }
+
+    private static Best work(final AtomicLong next, final long count, final Deadline deadline, final AtomicBoolean timedOut,
+            final Candidate candidate) {
+        Best best = null;
+        for (long index = next.getAndIncrement(); index < count && !timedOut.get(); index = next.getAndIncrement()) {
+            final Integer score = deadline.isExpired() ? null : candidate.score(index);
+            if (score == null) {
+                timedOut.set(true);
+                return null;
+            }
+            best = better(best, new Best(index, score));
+        }
+        return best;
+    }
+
+    private static Best better(final Best a, final Best b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return b.score > a.score || (b.score == a.score && b.index < a.index) ? b : a;
+    }
+}
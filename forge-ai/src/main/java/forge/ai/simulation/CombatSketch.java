@@ -0,0 +1,388 @@
+package forge.ai.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A combat reduced to numbers: what every attacker and every possible blocker deal to each other and
+ * what it takes to kill them, taken from the AI predictions when the sketch is made. Resolving blocks
+ * and searching for the best ones never touches the game, so any number of threads can work on one
+ * sketch at once.
+ * <p>
+ * Scores are always seen from the attacking player, with the weights of {@link GameStateEvaluator}:
+ * the value of every creature that dies and two points per life.
+ */
+final class CombatSketch {
+    static final int WIN = 1000000;
+    static final int UNKILLABLE = Integer.MAX_VALUE / 4;
+
+    final int attackers, blockers;
+    int defenderLife;
+    int attackerLife;
+
+    final int[] attackerValue, blockerValue;
+    // damage to the defending player if not blocked, double strike included
+    final int[] unblockedDamage;
+    final boolean[] attackerFirstStrike, attackerDoubleStrike, attackerDeathtouch, attackerTrample, attackerLifelink;
+    final boolean[] blockerFirstStrike, blockerDoubleStrike, blockerDeathtouch, blockerLifelink;
+    final int[] minBlockers, maxBlockers;
+    // power of the defending creatures when they attack back next turn, 0 if they can't
+    final int[] blockerCrackBack;
+    final boolean[] attackerVigilance;
+    // creatures of the attacking player that can block next turn but can't attack now
+    int otherBlockers;
+
+    // [attacker][blocker]
+    final boolean[][] canBlock;
+    final int[][] attackerPower, attackerLethal, damageToAttacker;
+    final int[][] blockerLethal;
+    final boolean[][] blockerShielded;
+
+    /** one way to block an attacker and how that fight ends */
+    static final class Option {
+        final int attacker;
+        final long blockers;
+        final int score;
+        final int damage;
+        final int defenderGain;
+        final int attackerGain;
+        final boolean attackerDies;
+        final long blockersDie;
+
+        Option(final int attacker, final long blockers, final int score, final int damage, final int defenderGain,
+                final int attackerGain, final boolean attackerDies, final long blockersDie) {
+            this.attacker = attacker;
+            this.blockers = blockers;
+            this.score = score;
+            this.damage = damage;
+            this.defenderGain = defenderGain;
+            this.attackerGain = attackerGain;
+            this.attackerDies = attackerDies;
+            this.blockersDie = blockersDie;
+        }
+    }
+
+    /** the best blocks found and their outcome, null options mean the search ran out of time */
+    static final class Blocks {
+        final int score;
+        final Option[] options;
+
+        Blocks(final int score, final Option[] options) {
+            this.score = score;
+            this.options = options;
+        }
+    }
+
+    /** stops every search of a plan once its time is up */
+    static final class Deadline {
+        private final long end;
+        private volatile boolean expired = false;
+
+        Deadline(final long budgetNanos) {
+            end = System.nanoTime() + budgetNanos;
+        }
+
+        boolean isExpired() {
+            if (!expired && System.nanoTime() > end) {
+                expired = true;
+            }
+            return expired;
+        }
+    }
+
+    private List<Option>[] options;
+
+    @SuppressWarnings("unchecked")
+    CombatSketch(final int attackers, final int blockers) {
+        this.attackers = attackers;
+        this.blockers = blockers;
+        attackerValue = new int[attackers];
+        blockerValue = new int[blockers];
+        unblockedDamage = new int[attackers];
+        attackerFirstStrike = new boolean[attackers];
+        attackerDoubleStrike = new boolean[attackers];
+        attackerDeathtouch = new boolean[attackers];
+        attackerTrample = new boolean[attackers];
+        attackerLifelink = new boolean[attackers];
+        attackerVigilance = new boolean[attackers];
+        blockerFirstStrike = new boolean[blockers];
+        blockerDoubleStrike = new boolean[blockers];
+        blockerDeathtouch = new boolean[blockers];
+        blockerLifelink = new boolean[blockers];
+        blockerCrackBack = new int[blockers];
+        minBlockers = new int[attackers];
+        maxBlockers = new int[attackers];
+        canBlock = new boolean[attackers][blockers];
+        attackerPower = new int[attackers][blockers];
+        attackerLethal = new int[attackers][blockers];
+        damageToAttacker = new int[attackers][blockers];
+        blockerLethal = new int[attackers][blockers];
+        blockerShielded = new boolean[attackers][blockers];
+        options = new List[attackers];
+    }
+
+    /**
+     * Works out every single block and every block by two creatures once the sketch is filled in.
+     * Attackers that need three or more blockers are left unblocked.
+     */
+    void resolveOptions() {
+        for (int i = 0; i < attackers; i++) {
+            final List<Option> list = new ArrayList<>();
+            list.add(resolve(i, new int[0]));
+            for (int j = 0; j < blockers; j++) {
+                if (!canBlock[i][j]) {
+                    continue;
+                }
+                if (minBlockers[i] <= 1 && maxBlockers[i] >= 1) {
+                    list.add(resolve(i, new int[] { j }));
+                }
+                if (minBlockers[i] <= 2 && maxBlockers[i] >= 2) {
+                    for (int k = j + 1; k < blockers; k++) {
+                        if (canBlock[i][k]) {
+                            list.add(resolve(i, new int[] { j, k }));
+                        }
+                    }
+                }
+            }
+            // best blocks first, they set a tight bound early
+            list.sort((a, b) -> Integer.compare(a.score, b.score));
+            options[i] = list;
+        }
+    }
+
+    List<Option> getOptions(final int attacker) {
+        return options[attacker];
+    }
+
+    Option resolve(final int i, final int[] js) {
+        if (js.length == 0) {
+            final int damage = unblockedDamage[i];
+            final int gain = attackerLifelink[i] ? damage : 0;
+            return new Option(i, 0, life(damage + gain), damage, 0, gain, false, 0);
+        }
+        final int first = js[0];
+        final int power = attackerPower[i][first];
+        final int lethal = attackerLethal[i][first];
+        final int[] damageOn = new int[js.length];
+        final boolean[] dead = new boolean[js.length];
+        boolean attackerDead = false;
+        int damageOnAttacker = 0;
+        int trample = 0, attackerGain = 0, defenderGain = 0;
+
+        for (int step = 0; step < 2; step++) {
+            final boolean firstStep = step == 0;
+            final boolean attackerDeals = !attackerDead && dealsIn(firstStep, attackerFirstStrike[i], attackerDoubleStrike[i]);
+            final boolean[] deals = new boolean[js.length];
+            for (int k = 0; k < js.length; k++) {
+                deals[k] = !dead[k] && dealsIn(firstStep, blockerFirstStrike[js[k]], blockerDoubleStrike[js[k]]);
+            }
+
+            if (attackerDeals && power > 0) {
+                int rest = power;
+                boolean allLethal = true;
+                // most valuable first, as long as the damage is enough to kill
+                for (final int k : byValue(js, dead)) {
+                    final int j = js[k];
+                    final int need = attackerDeathtouch[i] ? (damageOn[k] > 0 ? 0 : 1) : blockerLethal[i][j] - damageOn[k];
+                    if (blockerShielded[i][j]) {
+                        // lethal damage must still be assigned before trampling over, it is just lost
+                        if (!attackerTrample[i] || need > rest) {
+                            allLethal = false;
+                        } else {
+                            rest -= need;
+                        }
+                    } else if (need <= rest) {
+                        damageOn[k] += need;
+                        rest -= need;
+                        attackerGain += attackerLifelink[i] ? need : 0;
+                    } else {
+                        allLethal = false;
+                    }
+                }
+                if (rest > 0 && allLethal && attackerTrample[i]) {
+                    trample += rest;
+                    attackerGain += attackerLifelink[i] ? rest : 0;
+                }
+            }
+            for (int k = 0; k < js.length; k++) {
+                if (!deals[k]) {
+                    continue;
+                }
+                final int dmg = damageToAttacker[i][js[k]];
+                damageOnAttacker += dmg;
+                defenderGain += blockerLifelink[js[k]] ? dmg : 0;
+                if (blockerDeathtouch[js[k]] && dmg > 0 && lethal < UNKILLABLE) {
+                    attackerDead = true;
+                }
+            }
+            if (damageOnAttacker >= lethal) {
+                attackerDead = true;
+            }
+            for (int k = 0; k < js.length; k++) {
+                if (damageOn[k] >= blockerLethal[i][js[k]] || (attackerDeathtouch[i] && damageOn[k] > 0 && blockerLethal[i][js[k]] < UNKILLABLE)) {
+                    dead[k] = true;
+                }
+            }
+        }
+
+        long mask = 0, dies = 0;
+        int score = life(trample + attackerGain - defenderGain);
+        for (int k = 0; k < js.length; k++) {
+            mask |= 1L << js[k];
+            if (dead[k]) {
+                dies |= 1L << js[k];
+                score += blockerValue[js[k]];
+            }
+        }
+        if (attackerDead) {
+            score -= attackerValue[i];
+        }
+        return new Option(i, mask, score, trample, defenderGain, attackerGain, attackerDead, dies);
+    }
+
+    private static boolean dealsIn(final boolean firstStep, final boolean firstStrike, final boolean doubleStrike) {
+        return doubleStrike || (firstStep == firstStrike);
+    }
+
+    private Integer[] byValue(final int[] js, final boolean[] dead) {
+        final List<Integer> alive = new ArrayList<>();
+        for (int k = 0; k < js.length; k++) {
+            if (!dead[k]) {
+                alive.add(k);
+            }
+        }
+        final Integer[] order = alive.toArray(new Integer[0]);
+        Arrays.sort(order, (a, b) -> Integer.compare(blockerValue[js[b]], blockerValue[js[a]]));
+        return order;
+    }
+
+    /**
+     * The defending player's answer to an attack: the blocks that leave the attacker with the lowest
+     * score, found depth first and pruned by the best score every remaining attacker could reach on
+     * its own. Blocks that let the defending player die score {@link #WIN}.
+     *
+     * @param attacking indices of the attackers
+     * @param firstOption only this option is tried for the first attacker, -1 tries all of them
+     */
+    Blocks bestBlocks(final int[] attacking, final int firstOption, final Deadline deadline) {
+        final int[] order = byThreat(attacking);
+        final int[] bestRest = new int[order.length + 1];
+        for (int n = order.length - 1; n >= 0; n--) {
+            bestRest[n] = bestRest[n + 1] + options[order[n]].get(0).score;
+        }
+        final BlockSearch search = new BlockSearch(order, bestRest, deadline);
+        search.run(0, firstOption, 0, 0, 0, 0);
+        if (search.aborted) {
+            return new Blocks(0, null);
+        }
+        return new Blocks(search.bestScore, search.best);
+    }
+
+    /**
+     * @return the attackers with the biggest threats first, they decide the most and are searched first
+     */
+    int[] byThreat(final int[] attacking) {
+        final Integer[] boxed = new Integer[attacking.length];
+        for (int n = 0; n < attacking.length; n++) {
+            boxed[n] = attacking[n];
+        }
+        Arrays.sort(boxed, (a, b) -> Integer.compare(unblockedDamage[b] + attackerValue[b] / 10, unblockedDamage[a] + attackerValue[a] / 10));
+        final int[] order = new int[attacking.length];
+        for (int n = 0; n < order.length; n++) {
+            order[n] = boxed[n];
+        }
+        return order;
+    }
+
+    private final class BlockSearch {
+        private final int[] order;
+        private final int[] bestRest;
+        private final Deadline deadline;
+        private final Option[] current;
+        private Option[] best;
+        private int bestScore = Integer.MAX_VALUE;
+        private boolean aborted = false;
+        private int nodes = 0;
+
+        BlockSearch(final int[] order, final int[] bestRest, final Deadline deadline) {
+            this.order = order;
+            this.bestRest = bestRest;
+            this.deadline = deadline;
+            current = new Option[order.length];
+        }
+
+        void run(final int n, final int onlyOption, final long used, final int score, final int damage, final int gain) {
+            // the clock is only read every few hundred nodes
+            if (aborted || ((++nodes & 255) == 0 && deadline.isExpired())) {
+                aborted = true;
+                return;
+            }
+            if (n == order.length) {
+                final int total = defenderLife - damage + gain <= 0 ? WIN : score;
+                if (total < bestScore) {
+                    bestScore = total;
+                    best = current.clone();
+                }
+                return;
+            }
+            if (score + bestRest[n] >= bestScore) {
+                return;
+            }
+            final List<Option> list = options[order[n]];
+            for (int o = 0; o < list.size(); o++) {
+                if (onlyOption >= 0 && o != onlyOption) {
+                    continue;
+                }
+                final Option option = list.get(o);
+                if ((option.blockers & used) != 0) {
+                    continue;
+                }
+                current[n] = option;
+                run(n + 1, -1, used | option.blockers, score + option.score, damage + option.damage, gain + option.defenderGain);
+            }
+        }
+    }
+
+    /**
+     * Damage the defending creatures that survive could deal next turn, when the attacking player only
+     * has the creatures that did not attack (or have vigilance) and survived to block them, one each.
+     * The strongest ones are blocked.
+     */
+    int crackBackDamage(final int[] attacking, final Blocks blocks) {
+        final boolean[] tapped = new boolean[attackers];
+        final boolean[] died = new boolean[attackers];
+        long blockersDied = 0;
+        for (final int i : attacking) {
+            tapped[i] = !attackerVigilance[i];
+        }
+        if (blocks.options != null) {
+            for (final Option o : blocks.options) {
+                died[o.attacker] = o.attackerDies;
+                blockersDied |= o.blockersDie;
+            }
+        }
+        int untapped = otherBlockers;
+        for (int i = 0; i < attackers; i++) {
+            if (!tapped[i] && !died[i]) {
+                untapped++;
+            }
+        }
+        final List<Integer> powers = new ArrayList<>();
+        for (int j = 0; j < blockers; j++) {
+            if ((blockersDied & (1L << j)) == 0 && blockerCrackBack[j] > 0) {
+                powers.add(blockerCrackBack[j]);
+            }
+        }
+        powers.sort((a, b) -> Integer.compare(b, a));
+        int damage = 0;
+        for (int n = untapped; n < powers.size(); n++) {
+            damage += powers.get(n);
+        }
+        return damage;
+    }
+
+    private static int life(final int points) {
+        return GameStateEvaluator.LIFE_VALUE * points;
+    }
+}
@@ -22,6 +22,9 @@ import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 public class GameStateEvaluator {
+    // score of one point of life, creatures and other permanents are worth their evaluation
+    public static final int LIFE_VALUE = 2;
+
     private boolean debugging = false;
     private SimulationCreatureEvaluator eval = new SimulationCreatureEvaluator();
 
@@ -122,7 +125,7 @@ public class GameStateEvaluator {
         // TODO weight cards in hand more if opponent has discard or if we have looting or can bluff a trick
         score += 5 * myCards - 4 * theirCards;
         debugPrint("  My life: " + aiPlayer.getLife());
-        score += 2 * aiPlayer.getLife();
+        score += LIFE_VALUE * aiPlayer.getLife();
         int opponentIndex = 1;
         int opponentLife = 0;
         for (Player opponent : aiPlayer.getOpponents()) {
@@ -130,7 +133,7 @@ public class GameStateEvaluator {
             opponentLife += opponent.getLife();
             opponentIndex++;
         }
-        score -= 2* opponentLife / (game.getPlayers().size() - 1);
+        score -= LIFE_VALUE * opponentLife / (game.getPlayers().size() - 1);
 
         // evaluate mana base quality
         score += evalManaBase(game, aiPlayer, AIDeckStatistics.fromPlayer(aiPlayer));
@@ -0,0 +1,97 @@
+package forge.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import forge.ai.AiBlockController;
+import forge.ai.ComputerUtilMana;
+import forge.ai.simulation.GameCopier;
+import forge.game.Game;
+import forge.game.GameEntity;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * The AI routines that run many times per decision: copying the game for simulation, checking whether
+ * spells can be paid for and planning blocks.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiBenchmark {
+    /** name of a bundled scenario or path of a puzzle file */
+    @Param({ "board_stall", "combat" })
+    public String scenario;
+
+    private Game game;
+    private Player ai;
+    private final List<SpellAbility> spells = new ArrayList<>();
+    private final Map<Card, GameEntity> attackers = new LinkedHashMap<>();
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        game = BenchmarkEnvironment.loadScenario(scenario);
+        ai = game.getPlayers().get(1);
+        for (final Card c : ai.getCardsIn(ZoneType.Hand)) {
+            for (final SpellAbility sa : c.getSpells()) {
+                sa.setActivatingPlayer(ai);
+                spells.add(sa);
+            }
+        }
+        final Combat combat = game.getCombat();
+        if (combat != null) {
+            for (final Card attacker : combat.getAttackers()) {
+                attackers.put(attacker, combat.getDefenderByAttacker(attacker));
+            }
+        }
+    }
+
+    @Benchmark
+    public Game copyGame() {
+        return new GameCopier(game).makeCopy();
+    }
+
+    @Benchmark
+    public void canPayManaCost(final Blackhole bh) {
+        for (final SpellAbility sa : spells) {
+            bh.consume(ComputerUtilMana.canPayManaCost(sa, ai, 0, false));
+        }
+    }
+
+    /**
+     * Plans the blocks against the attack of the scenario, every invocation starts from a combat
+     * without blockers.
+     */
+    @Benchmark
+    public Combat assignBlockers() {
+        final Combat combat = new Combat(game.getPhaseHandler().getPlayerTurn());
+        for (final Map.Entry<Card, GameEntity> e : attackers.entrySet()) {
+            combat.addAttacker(e.getKey(), e.getValue());
+        }
+        new AiBlockController(ai, false).assignBlockersForCombat(combat);
+        return combat;
+    }
+}
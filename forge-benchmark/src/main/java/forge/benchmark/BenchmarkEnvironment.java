@@ -0,0 +1,156 @@
+package forge.benchmark;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import forge.CardStorageReader;
+import forge.ImageKeys;
+import forge.StaticData;
+import forge.ai.AiProfileUtil;
+import forge.ai.LobbyPlayerAi;
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameStage;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.player.RegisteredPlayer;
+import forge.gui.GuiBase;
+import forge.gui.interfaces.IGuiBase;
+import forge.item.PaperCard;
+import forge.localinstance.properties.ForgeConstants;
+import forge.util.Lang;
+import forge.util.Localizer;
+import forge.util.MyRandom;
+
+/**
+ * Sets up just enough of Forge to run games without any user interface: the card database, the
+ * localization and the AI profiles. The desktop and mobile GUIs cannot be started on a headless build
+ * machine, so the GUI interface is a stub that only knows where the assets are.
+ * <p>
+ * The assets folder is taken from the {@code forge.assetsDir} system property, by default the
+ * forge-gui folder next to (or above) the working directory is used.
+ */
+public final class BenchmarkEnvironment {
+    public static final String[] RED_SPELLS = { "Goblin Piker", "Raging Goblin", "Fire Servant", "Lightning Bolt",
+            "Prodigal Pyromancer", "Goblin Balloon Brigade", "Berserkers of Blood Ridge", "Ember Hauler",
+            "Chandra's Outrage", "Inferno Titan" };
+    public static final String[] GREEN_SPELLS = { "Grizzly Bears", "Llanowar Elves", "Giant Spider", "Runeclaw Bear",
+            "Craw Wurm", "Giant Growth", "Garruk's Companion", "Greater Basilisk", "Sacred Wolf", "Spined Wurm" };
+
+    private static boolean initialized = false;
+
+    private BenchmarkEnvironment() {
+    }
+
+    public static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        initializeGui();
+        Localizer.getInstance().initialize("en-US", ForgeConstants.LANG_DIR);
+        Lang.createInstance("en-US");
+        ImageKeys.initializeDirs(ForgeConstants.CACHE_CARD_PICS_DIR, ForgeConstants.CACHE_CARD_PICS_SUBDIR,
+                ForgeConstants.CACHE_TOKEN_PICS_DIR, ForgeConstants.CACHE_ICON_PICS_DIR,
+                ForgeConstants.CACHE_BOOSTER_PICS_DIR, ForgeConstants.CACHE_FATPACK_PICS_DIR,
+                ForgeConstants.CACHE_BOOSTERBOX_PICS_DIR, ForgeConstants.CACHE_PRECON_PICS_DIR,
+                ForgeConstants.CACHE_TOURNAMENTPACK_PICS_DIR);
+        loadCardDatabase();
+        AiProfileUtil.loadAllProfiles(ForgeConstants.AI_PROFILE_DIR);
+        initialized = true;
+    }
+
+    /**
+     * Reads every card script and edition, the way the game does on startup with lazy card loading
+     * turned off. The new database replaces the current one.
+     */
+    public static StaticData loadCardDatabase() {
+        final CardStorageReader reader = new CardStorageReader(ForgeConstants.CARD_DATA_DIR, null, false);
+        return new StaticData(reader, null, ForgeConstants.EDITIONS_DIR, ForgeConstants.USER_CUSTOM_EDITIONS_DIR,
+                ForgeConstants.BLOCK_DATA_DIR, "Latest Art All Editions", true, false);
+    }
+
+    private static void initializeGui() {
+        if (GuiBase.getInterface() != null) {
+            return;
+        }
+        final String assetsDir = findAssetsDir();
+        GuiBase.setInterface((IGuiBase) Proxy.newProxyInstance(IGuiBase.class.getClassLoader(),
+                new Class<?>[] { IGuiBase.class }, (proxy, method, args) -> {
+                    if ("getAssetsDir".equals(method.getName())) {
+                        return assetsDir;
+                    }
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    }
+                    if (type == int.class) {
+                        return 0;
+                    }
+                    if (type == float.class) {
+                        return 0f;
+                    }
+                    return null;
+                }));
+    }
+
+    private static String findAssetsDir() {
+        final String configured = System.getProperty("forge.assetsDir");
+        if (configured != null) {
+            return configured.endsWith(File.separator) ? configured : configured + File.separator;
+        }
+        for (final String candidate : new String[] { "forge-gui", "../forge-gui", "." }) {
+            final File dir = new File(candidate);
+            if (new File(dir, "res/cardsfolder").isDirectory()) {
+                return dir.getAbsolutePath() + File.separator;
+            }
+        }
+        throw new IllegalStateException("Cannot find the Forge assets, set -Dforge.assetsDir=<path to forge-gui>");
+    }
+
+    public static PaperCard getCard(final String name) {
+        final PaperCard card = StaticData.instance().getCommonCards().getCard(name);
+        if (card == null) {
+            throw new IllegalArgumentException("Unknown card " + name);
+        }
+        return card;
+    }
+
+    /**
+     * @return a 60 card deck with four copies of each spell and twenty of the basic land
+     */
+    public static Deck deck(final String basicLand, final String... spells) {
+        final Deck d = new Deck();
+        for (final String s : spells) {
+            d.getMain().add(getCard(s), 4);
+        }
+        d.getMain().add(getCard(basicLand), 60 - 4 * spells.length);
+        return d;
+    }
+
+    /**
+     * @return a new match between two AI players, seeded so the same seed plays out the same game
+     */
+    public static Match newMatch(final Deck deck1, final Deck deck2, final long seed) {
+        MyRandom.setRandom(new Random(seed));
+        final List<RegisteredPlayer> players = new ArrayList<>();
+        players.add(new RegisteredPlayer(deck1).setPlayer(new LobbyPlayerAi("Ai 1", null)));
+        players.add(new RegisteredPlayer(deck2).setPlayer(new LobbyPlayerAi("Ai 2", null)));
+        return new Match(new GameRules(GameType.Constructed), players, "Benchmark");
+    }
+
+    /**
+     * @return a game in progress set up from one of the bundled scenarios or a puzzle file
+     */
+    public static Game loadScenario(final String scenario) {
+        final Match match = newMatch(new Deck(), new Deck(), 0);
+        final Game game = match.createGame();
+        game.setAge(GameStage.Play);
+        game.EXPERIMENTAL_RESTORE_SNAPSHOT = false;
+        ScenarioState.load(scenario).applyTo(game);
+        return game;
+    }
+}
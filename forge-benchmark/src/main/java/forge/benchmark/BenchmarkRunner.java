@@ -0,0 +1,58 @@
+package forge.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Takes the usual JMH command line (benchmark name patterns,
+ * -p scenario=..., -wi, -i, -f and so on) and unless told otherwise writes the results as JSON to
+ * forge-benchmark.json, so runs of two builds can be compared by a script.
+ * <p>
+ * Built with the benchmark profile: mvn -Pbenchmark -pl forge-benchmark -am package
+ * <p>
+ * Usage: java -jar forge-benchmark-jar-with-dependencies.jar [JMH options] [benchmark regex]
+ */
+public final class BenchmarkRunner {
+    public static final String DEFAULT_RESULT_FILE = "forge-benchmark.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (final CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        if (cmd.shouldList()) {
+            new Runner(cmd).list();
+            return;
+        }
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        if (cmd.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".");
+        }
+        new Runner(options.build()).run();
+    }
+}
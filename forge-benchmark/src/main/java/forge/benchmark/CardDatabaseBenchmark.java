@@ -0,0 +1,65 @@
+package forge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.StaticData;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardFactory;
+import forge.game.player.Player;
+import forge.item.PaperCard;
+
+/**
+ * Startup cost of the card database and the cost of turning a paper card into a game card.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class CardDatabaseBenchmark {
+    @Param({ "Grizzly Bears", "Inferno Titan", "Garruk's Companion" })
+    public String cardName;
+
+    private PaperCard paperCard;
+    private Game game;
+    private Player owner;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        paperCard = BenchmarkEnvironment.getCard(cardName);
+        game = BenchmarkEnvironment.loadScenario("board_stall");
+        owner = game.getPlayers().get(0);
+    }
+
+    /**
+     * Every cold start, measured once per iteration since the reads dominate.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public StaticData loadCardDatabase() {
+        return BenchmarkEnvironment.loadCardDatabase();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Card getCard() {
+        return CardFactory.getCard(paperCard, owner, game);
+    }
+}
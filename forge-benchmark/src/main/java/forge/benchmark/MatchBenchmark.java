@@ -0,0 +1,63 @@
+package forge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.Match;
+
+/**
+ * Whole games between two AI players. Game n is seeded with n, so every invocation replays
+ * the same sequence of games and two builds can be compared directly.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatchBenchmark {
+    @Param({ "false", "true" })
+    public boolean headless;
+
+    @Param({ "10" })
+    public int games;
+
+    private Deck red;
+    private Deck green;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        red = BenchmarkEnvironment.deck("Mountain", BenchmarkEnvironment.RED_SPELLS);
+        green = BenchmarkEnvironment.deck("Forest", BenchmarkEnvironment.GREEN_SPELLS);
+    }
+
+    /**
+     * @return the number of turns played, games end at different speeds so compare time per turn as well
+     */
+    @Benchmark
+    public int playGames() {
+        int turns = 0;
+        for (int seed = 0; seed < games; seed++) {
+            final Match match = BenchmarkEnvironment.newMatch(red, green, seed);
+            final Game game = match.createGame();
+            game.setHeadless(headless);
+            match.startGame(game);
+            turns += game.getPhaseHandler().getTurn();
+        }
+        return turns;
+    }
+}
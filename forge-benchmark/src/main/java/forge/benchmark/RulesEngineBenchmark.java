@@ -0,0 +1,75 @@
+package forge.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.ability.AbilityKey;
+import forge.game.card.Card;
+import forge.game.trigger.TriggerHandler;
+import forge.game.trigger.TriggerType;
+import forge.game.zone.ZoneType;
+
+/**
+ * The checks the rules engine runs after nearly every action: static abilities, state based actions
+ * and trigger dispatch. The scenario boards are stable, so every invocation does the same work.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RulesEngineBenchmark {
+    /** name of a bundled scenario or path of a puzzle file */
+    @Param({ "board_stall", "combat" })
+    public String scenario;
+
+    private Game game;
+    private Map<AbilityKey, Object> untapParams;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        game = BenchmarkEnvironment.loadScenario(scenario);
+        final Card untapped = game.getCardsIn(ZoneType.Battlefield).getFirst();
+        untapParams = AbilityKey.mapFromCard(untapped);
+    }
+
+    @Benchmark
+    public void checkStaticAbilities() {
+        game.getAction().checkStaticAbilities();
+    }
+
+    @Benchmark
+    public boolean checkStateEffects() {
+        return game.getAction().checkStateEffects(true);
+    }
+
+    @Benchmark
+    public void collectTriggers() {
+        game.getTriggerHandler().resetActiveTriggers();
+    }
+
+    /**
+     * Runs an event through every active trigger, whatever it set off is dropped again.
+     */
+    @Benchmark
+    public void runTrigger() {
+        final TriggerHandler handler = game.getTriggerHandler();
+        handler.runTrigger(TriggerType.Untaps, untapParams, false);
+        game.getStack().clearSimultaneousStack();
+    }
+}
@@ -0,0 +1,58 @@
+package forge.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import forge.StaticData;
+import forge.ai.GameState;
+import forge.game.Game;
+import forge.item.IPaperCard;
+import forge.util.FileSection;
+
+/**
+ * A game state read from a puzzle file ({@code [metadata]} and {@code [state]} sections). The bundled
+ * scenarios are resources of this module, any other name is read as a path, so the puzzles in
+ * res/puzzle can be measured as well.
+ */
+final class ScenarioState extends GameState {
+
+    static ScenarioState load(final String scenario) {
+        final List<String> lines;
+        try (InputStream in = ScenarioState.class.getResourceAsStream("/scenarios/" + scenario + ".pzl")) {
+            if (in != null) {
+                lines = Arrays.asList(new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\\R"));
+            } else {
+                lines = Files.readAllLines(new File(scenario).toPath(), StandardCharsets.UTF_8);
+            }
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot read scenario " + scenario, e);
+        }
+
+        final Map<String, List<String>> sections = FileSection.parseSections(lines);
+        final List<String> state = sections.get("state");
+        if (state == null) {
+            throw new IllegalArgumentException("Scenario " + scenario + " has no [state] section");
+        }
+        final ScenarioState result = new ScenarioState();
+        result.parse(state);
+        return result;
+    }
+
+    /**
+     * Applies the state on the calling thread, the benchmark thread plays the part of the game thread.
+     */
+    void applyTo(final Game game) {
+        applyGameOnThread(game);
+    }
+
+    @Override
+    public IPaperCard getPaperCard(final String cardName, final String setCode, final int artID) {
+        return StaticData.instance().getCommonCards().getCard(cardName, setCode, artID);
+    }
+}
@@ -1250,6 +1250,7 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
             CardRules result = rulesByName.get(cardName);
             if (result != null && result.getName().equals(cardName)) { // change properties only
                 result.reinitializeFromRules(rules);
+                CardSearchIndex.invalidate();
                 return result;
             }
 
@@ -490,7 +490,7 @@ public final class CardEdition implements Comparable<CardEdition> {
             return null;
         }
 
-        Collections.shuffle(boosterTypes);
+        Collections.shuffle(boosterTypes, MyRandom.getRandom());
         return boosterTypes.get(0);
     }
 
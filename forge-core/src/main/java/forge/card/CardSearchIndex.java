@@ -0,0 +1,423 @@
+package forge.card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.base.Predicate;
+
+import forge.StaticData;
+import forge.card.CardType.CoreType;
+import forge.card.CardType.Supertype;
+import forge.item.PaperCard;
+import forge.util.CardTranslation;
+import forge.util.ThreadUtil;
+
+/**
+ * A prebuilt index over the rules of every card, so that card searches don't have to scan the
+ * text of each printing again on every keystroke.
+ * <p>
+ * Every {@link CardRules} gets an ordinal. The text fields searched by {@link CardRulesPredicates}
+ * are folded to a single case and indexed by the trigrams they contain, so a substring search only
+ * checks the cards having all trigrams of the searched text. The attributes the advanced search
+ * filters on are kept as columns of ints, one value per ordinal. Searches resolve to a {@link BitSet}
+ * of ordinals; rules the index doesn't know, like cards loaded after it was built, are left to the
+ * fallback predicate given to {@link #filter}.
+ * <p>
+ * The index is built on first use and dropped when the rules of a card change in place. Searches that
+ * can't wait for it to be built ask {@link #getIfBuilt()}, which builds it in the background instead.
+ */
+public final class CardSearchIndex {
+
+    /** The text fields, each matching what the {@link CardRulesPredicates} string predicate of the same field checks. */
+    public enum TextField {
+        NAME,
+        JOINED_TYPE,
+        ORACLE_TEXT,
+        COST
+    }
+
+    /** Power and toughness of cards that aren't creatures. */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+    /** The first bit of the supertypes in the {@link Column#TYPES} column, core types take the bits below. */
+    public static final int SUPERTYPE_SHIFT = 24;
+
+    public enum Column {
+        CMC,
+        GENERIC_COST,
+        POWER,
+        TOUGHNESS,
+        COLOR,
+        COLOR_IDENTITY,
+        COLOR_COUNT,
+        /** Core and supertypes of both halves of a transforming, flipping or meld card. */
+        TYPES
+    }
+
+    private static final char SEPARATOR = '\0';
+    private static volatile CardSearchIndex instance;
+    private static final AtomicBoolean building = new AtomicBoolean();
+
+    private final Map<CardRules, Integer> ordinals = new IdentityHashMap<>();
+    private final String[][] texts = new String[TextField.values().length][];
+    private final List<Map<Long, int[]>> trigrams = new ArrayList<>();
+    private final int[][] columns = new int[Column.values().length][];
+    private final int size;
+
+    static {
+        if (CoreType.values().length > SUPERTYPE_SHIFT || Supertype.values().length > 32 - SUPERTYPE_SHIFT) {
+            throw new IllegalStateException("Card types don't fit the types column anymore");
+        }
+    }
+
+    /**
+     * Returns the index of the cards in the static data, building it if needed.
+     */
+    public static CardSearchIndex get() {
+        CardSearchIndex index = instance;
+        if (index == null) {
+            synchronized (CardSearchIndex.class) {
+                index = instance;
+                if (index == null) {
+                    final List<CardRules> rules = new ArrayList<>();
+                    final Set<CardRules> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (final CardDb db : StaticData.instance().getAvailableDatabases().values()) {
+                        for (final PaperCard card : db.getAllCards()) {
+                            if (seen.add(card.getRules())) {
+                                rules.add(card.getRules());
+                            }
+                        }
+                    }
+                    index = new CardSearchIndex(rules);
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index if it is built, or starts building it in the background and returns null.
+     */
+    public static CardSearchIndex getIfBuilt() {
+        final CardSearchIndex index = instance;
+        if (index == null && building.compareAndSet(false, true)) {
+            ThreadUtil.getServicePool().submit(() -> {
+                try {
+                    get();
+                } finally {
+                    building.set(false);
+                }
+            });
+        }
+        return index;
+    }
+
+    /**
+     * Drops the index, the next search builds it again.
+     */
+    public static void invalidate() {
+        instance = null;
+    }
+
+    public CardSearchIndex(final List<CardRules> rules) {
+        size = rules.size();
+        for (final TextField field : TextField.values()) {
+            texts[field.ordinal()] = new String[size];
+        }
+        for (final Column column : Column.values()) {
+            columns[column.ordinal()] = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            final CardRules card = rules.get(i);
+            ordinals.put(card, i);
+            for (final TextField field : TextField.values()) {
+                texts[field.ordinal()][i] = fold(collectText(card, field));
+            }
+            for (final Column column : Column.values()) {
+                columns[column.ordinal()][i] = valueOf(card, column);
+            }
+        }
+        for (final TextField field : TextField.values()) {
+            trigrams.add(buildTrigrams(texts[field.ordinal()]));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ordinal of the rules, or -1 if they aren't indexed.
+     */
+    public int ordinalOf(final CardRules rules) {
+        final Integer ordinal = ordinals.get(rules);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public int getValue(final Column column, final int ordinal) {
+        return columns[column.ordinal()][ordinal];
+    }
+
+    /**
+     * Returns the cards with the text in the field, ignoring case like {@link StringUtils#containsIgnoreCase} does.
+     */
+    public BitSet containing(final TextField field, final String text) {
+        final String folded = fold(text);
+        final String[] haystacks = texts[field.ordinal()];
+        final BitSet result = new BitSet(size);
+        if (folded.indexOf(SEPARATOR) >= 0) {
+            return result;
+        }
+        if (folded.length() < 3) {
+            for (int i = 0; i < size; i++) {
+                if (haystacks[i].contains(folded)) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        // start from the rarest trigram, then narrow down with the others
+        final Map<Long, int[]> postings = trigrams.get(field.ordinal());
+        final List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            final int[] list = postings.get(trigram(folded, i));
+            if (list == null) {
+                return result;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 16; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        for (final int ordinal : candidates) {
+            if (haystacks[ordinal].contains(folded)) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cards whose value in the column passes the test, which runs once per distinct value.
+     */
+    public BitSet select(final Column column, final IntPredicate test) {
+        final int[] values = columns[column.ordinal()];
+        final Map<Integer, Boolean> outcomes = new HashMap<>();
+        final BitSet result = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            final int value = values[i];
+            Boolean passes = outcomes.get(value);
+            if (passes == null) {
+                passes = test.test(value);
+                outcomes.put(value, passes);
+            }
+            if (passes) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Turns a set of ordinals into a card predicate, the rules not indexed are asked to the fallback.
+     */
+    public Predicate<PaperCard> filter(final BitSet matches, final Predicate<PaperCard> fallback) {
+        return card -> {
+            final int ordinal = ordinalOf(card.getRules());
+            return ordinal >= 0 ? matches.get(ordinal) : fallback.apply(card);
+        };
+    }
+
+    public static Set<String> typeNames(final int types) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (final Supertype t : Supertype.values()) {
+            if ((types & 1 << SUPERTYPE_SHIFT + t.ordinal()) != 0) {
+                names.add(t.name());
+            }
+        }
+        for (final CoreType t : CoreType.values()) {
+            if ((types & 1 << t.ordinal()) != 0) {
+                names.add(t.name());
+            }
+        }
+        return names;
+    }
+
+    private static int typesOf(final CardType type) {
+        int types = 0;
+        for (final Supertype t : type.getSupertypes()) {
+            types |= 1 << SUPERTYPE_SHIFT + t.ordinal();
+        }
+        for (final CoreType t : type.getCoreTypes()) {
+            types |= 1 << t.ordinal();
+        }
+        return types;
+    }
+
+    private static int valueOf(final CardRules card, final Column column) {
+        switch (column) {
+        case CMC:
+            return card.getManaCost().getCMC();
+        case GENERIC_COST:
+            return card.getManaCost().getGenericCost();
+        case POWER:
+            return card.getType().isCreature() ? card.getIntPower() : NO_VALUE;
+        case TOUGHNESS:
+            return card.getType().isCreature() ? card.getIntToughness() : NO_VALUE;
+        case COLOR:
+            return card.getColor().getColor();
+        case COLOR_IDENTITY:
+            return card.getColorIdentity().getColor();
+        case COLOR_COUNT:
+            return card.getColor().countColors();
+        case TYPES:
+            final CardSplitType splitType = card.getSplitType();
+            if (splitType != CardSplitType.None && splitType != CardSplitType.Split && card.getOtherPart() != null) {
+                return typesOf(card.getMainPart().getType()) | typesOf(card.getOtherPart().getType());
+            }
+            return typesOf(card.getType());
+        default:
+            return NO_VALUE;
+        }
+    }
+
+    private static String collectText(final CardRules card, final TextField field) {
+        final Set<String> parts = new LinkedHashSet<>();
+        switch (field) {
+        case NAME:
+            for (final ICardFace face : card.getAllFaces()) {
+                if (face != null) {
+                    parts.add(face.getName());
+                    parts.add(CardTranslation.getTranslatedName(face.getName()));
+                    parts.add(StringUtils.stripAccents(face.getName()));
+                }
+            }
+            break;
+        case JOINED_TYPE:
+            parts.add(CardTranslation.getTranslatedType(card.getName(), card.getType().toString()));
+            parts.add(card.getType().toString());
+            for (final ICardFace face : card.getAllFaces()) {
+                if (face == null) {
+                    continue;
+                }
+                if (face.hasFunctionalVariants()) {
+                    for (final Map.Entry<String, ? extends ICardFace> v : face.getFunctionalVariants().entrySet()) {
+                        final String origType = v.getValue().getType().toString();
+                        parts.add(origType);
+                        parts.add(CardTranslation.getTranslatedType(v.getValue().getName() + " $" + v.getKey(), origType));
+                    }
+                }
+                parts.add(CardTranslation.getTranslatedType(face.getName(), face.getType().toString()));
+                parts.add(face.getType().toString());
+            }
+            break;
+        case ORACLE_TEXT:
+            for (final ICardFace face : card.getAllFaces()) {
+                if (face == null) {
+                    continue;
+                }
+                if (face.hasFunctionalVariants()) {
+                    for (final Map.Entry<String, ? extends ICardFace> v : face.getFunctionalVariants().entrySet()) {
+                        parts.add(v.getValue().getOracleText());
+                        parts.add(CardTranslation.getTranslatedOracle(v.getValue().getName() + " $" + v.getKey()));
+                    }
+                }
+                parts.add(face.getOracleText());
+                parts.add(CardTranslation.getTranslatedOracle(face.getName()));
+            }
+            break;
+        case COST:
+            parts.add(card.getManaCost().toString());
+            break;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (final String part : parts) {
+            if (part != null) {
+                sb.append(part).append(SEPARATOR);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Folds every char so that two strings match ignoring case exactly when their folded forms are equal,
+     * the same way {@link String#regionMatches(boolean, int, String, int, int)} compares them.
+     */
+    private static String fold(final String s) {
+        final char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static long trigram(final String s, final int at) {
+        return (long) s.charAt(at) << 32 | (long) s.charAt(at + 1) << 16 | s.charAt(at + 2);
+    }
+
+    private static Map<Long, int[]> buildTrigrams(final String[] haystacks) {
+        final Map<Long, Postings> postings = new HashMap<>();
+        for (int ordinal = 0; ordinal < haystacks.length; ordinal++) {
+            final String s = haystacks[ordinal];
+            for (int i = 0; i + 3 <= s.length(); i++) {
+                if (s.charAt(i) == SEPARATOR || s.charAt(i + 1) == SEPARATOR || s.charAt(i + 2) == SEPARATOR) {
+                    continue;
+                }
+                postings.computeIfAbsent(trigram(s, i), k -> new Postings()).add(ordinal);
+            }
+        }
+        final Map<Long, int[]> lists = new HashMap<>(postings.size() * 4 / 3 + 1);
+        for (final Map.Entry<Long, Postings> e : postings.entrySet()) {
+            lists.put(e.getKey(), Arrays.copyOf(e.getValue().ordinals, e.getValue().count));
+        }
+        return lists;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int count = 0;
+
+        // ordinals come in increasing order, so the list stays sorted and a repeat is always the last one
+        void add(final int ordinal) {
+            if (count > 0 && ordinals[count - 1] == ordinal) {
+                return;
+            }
+            if (count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+            }
+            ordinals[count++] = ordinal;
+        }
+    }
+
+    private static int[] intersect(final int[] a, final int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length;) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -28,8 +28,11 @@ import forge.item.PaperCard;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -49,6 +52,8 @@ public class Deck extends DeckBase implements Iterable<Entry<DeckSection, CardPo
     private final Set<String> aiHints = new TreeSet<>();
     private final Map<String, String> draftNotes = new HashMap<>();
     private Map<String, List<String>> deferredSections = null;
+    // reads the deferred sections when the deck was created from an index without reading its file
+    private transient Supplier<Map<String, List<String>>> deferredSectionsSource = null;
     private Map<String, List<String>> loadedSections = null;
     private String lastCardArtPreferenceUsed = "";
     private Boolean lastCardArtOptimisationOptionUsed = null;
@@ -200,6 +205,24 @@ public class Deck extends DeckBase implements Iterable<Entry<DeckSection, CardPo
         this.deferredSections = deferredSections;
     }
 
+    public void setDeferredSectionsSource(Supplier<Map<String, List<String>>> source) {
+        this.deferredSections = null;
+        this.deferredSectionsSource = source;
+    }
+
+    private void readDeferredSectionsSource() {
+        if (deferredSectionsSource != null) {
+            final Supplier<Map<String, List<String>>> source = deferredSectionsSource;
+            deferredSectionsSource = null;
+            deferredSections = source.get();
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        readDeferredSectionsSource();
+        out.defaultWriteObject();
+    }
+
     /* (non-Javadoc)
      * @see forge.deck.DeckBase#cloneFieldsTo(forge.deck.DeckBase)
      */
@@ -229,6 +252,7 @@ public class Deck extends DeckBase implements Iterable<Entry<DeckSection, CardPo
     }
 
     private void loadDeferredSections() {
+        readDeferredSectionsSource();
         if (deferredSections == null && loadedSections == null)
             return;
 
@@ -0,0 +1,182 @@
+package forge.deck.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Header sections of the deck files in one folder, kept in the cache directory so decks whose file did not
+ * change can be listed without reading it. An entry is only used while the size and modification time of its
+ * file are the ones it was recorded with.
+ */
+final class DeckIndex {
+    private static final int MAGIC = 0x46444958; // FDIX
+    private static final int VERSION = 2;
+    // sections DeckSerializer reads the deck header from
+    private static final String[] HEADER_SECTIONS = { "metadata", "general", "" };
+
+    static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final Map<String, List<String>> header;
+
+        private Entry(final long size, final long lastModified, final Map<String, List<String>> header) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.header = header;
+        }
+
+        Map<String, List<String>> getHeader() {
+            return header;
+        }
+
+        /**
+         * @return whether the deck file still has the size and modification time it was indexed with
+         */
+        boolean isCurrent(final File deckFile) {
+            return size == deckFile.length() && lastModified == deckFile.lastModified();
+        }
+    }
+
+    private final String folder;
+    private final File file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean changed = false;
+
+    /**
+     * @param directory the deck folder
+     * @param indexDirectory where the indexes of all deck folders are kept
+     */
+    DeckIndex(final File directory, final File indexDirectory) {
+        folder = directory.getAbsolutePath();
+        file = getFile(directory, indexDirectory);
+        if (file.isFile()) {
+            try {
+                read();
+            } catch (final IOException e) {
+                // outdated or broken index, the decks get read from their files again
+                entries.clear();
+                changed = true;
+            }
+        }
+    }
+
+    /**
+     * @return the entry of the deck file, null if there is none or the file changed since
+     */
+    Entry get(final File deckFile) {
+        final Entry e = entries.get(deckFile.getName());
+        if (e == null || !e.isCurrent(deckFile)) {
+            return null;
+        }
+        return e;
+    }
+
+    /**
+     * The index file of a deck folder, named after the path of the folder.
+     */
+    static File getFile(final File directory, final File indexDirectory) {
+        final String path = directory.getAbsolutePath();
+        final String name = directory.getName().replaceAll("[^A-Za-z0-9_-]", "_");
+        return new File(indexDirectory, name + "-" + String.format("%08x", path.hashCode()) + ".idx");
+    }
+
+    synchronized void put(final File deckFile, final Map<String, List<String>> sections) {
+        final Map<String, List<String>> header = new LinkedHashMap<>();
+        for (final String name : HEADER_SECTIONS) {
+            final List<String> lines = sections.get(name);
+            if (lines != null) {
+                header.put(name, lines);
+            }
+        }
+        entries.put(deckFile.getName(), new Entry(deckFile.length(), deckFile.lastModified(), header));
+        changed = true;
+    }
+
+    /**
+     * Forgets the entries of files that are gone.
+     */
+    void retainAll(final Collection<String> fileNames) {
+        if (entries.keySet().retainAll(fileNames)) {
+            changed = true;
+        }
+    }
+
+    void save() {
+        if (!changed) {
+            return;
+        }
+        final File tmp = new File(file.getPath() + ".tmp");
+        file.getParentFile().mkdirs();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(folder);
+            out.writeInt(entries.size());
+            for (final Map.Entry<String, Entry> kv : entries.entrySet()) {
+                final Entry e = kv.getValue();
+                out.writeUTF(kv.getKey());
+                out.writeLong(e.size);
+                out.writeLong(e.lastModified);
+                out.writeInt(e.header.size());
+                for (final Map.Entry<String, List<String>> section : e.header.entrySet()) {
+                    out.writeUTF(section.getKey());
+                    out.writeInt(section.getValue().size());
+                    for (final String line : section.getValue()) {
+                        out.writeUTF(line);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            // a cache directory that can't be written leaves the folder unindexed
+            tmp.delete();
+            return;
+        }
+        file.delete();
+        if (tmp.renameTo(file)) {
+            changed = false;
+        } else {
+            tmp.delete();
+        }
+    }
+
+    private void read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported deck index " + file);
+            }
+            if (!folder.equals(in.readUTF())) {
+                throw new IOException("Deck index " + file + " belongs to another folder");
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String name = in.readUTF();
+                final long size = in.readLong();
+                final long lastModified = in.readLong();
+                final int sectionCount = in.readInt();
+                final Map<String, List<String>> header = new LinkedHashMap<>();
+                for (int s = 0; s < sectionCount; s++) {
+                    final String section = in.readUTF();
+                    final int lineCount = in.readInt();
+                    final List<String> lines = new ArrayList<>(lineCount);
+                    for (int l = 0; l < lineCount; l++) {
+                        lines.add(in.readUTF());
+                    }
+                    header.put(section, lines);
+                }
+                entries.put(name, new Entry(size, lastModified, header));
+            }
+        }
+    }
+}
@@ -89,17 +89,54 @@ public class DeckSerializer {
             return null;
         }
     
+        final Deck d = fromHeader(sections);
+        if (d != null) {
+            d.setDeferredSections(sections);
+        }
+        return d;
+    }
+
+    /**
+     * Creates a deck from its indexed header sections only, the cards are read from the deck file once they
+     * are needed. If the file changed in between, the header is taken from it again along with the cards; only
+     * the name stays, the storage knows the deck by it.
+     */
+    static Deck fromHeader(final DeckIndex.Entry entry, final File deckFile) {
+        final Deck d = fromHeader(entry.getHeader());
+        if (d != null) {
+            d.setDeferredSectionsSource(() -> {
+                final Map<String, List<String>> sections = FileSection.parseSections(FileUtil.readFile(deckFile));
+                if (!entry.isCurrent(deckFile)) {
+                    final DeckFileHeader dh = readDeckMetadata(sections);
+                    if (dh != null) {
+                        setHeader(d, dh);
+                    }
+                }
+                return sections;
+            });
+        }
+        return d;
+    }
+
+    private static Deck fromHeader(final Map<String, List<String>> sections) {
         final DeckFileHeader dh = readDeckMetadata(sections);
         if (dh == null) {
             return null;
         }
 
         Deck d = new Deck(dh.getName());
+        setHeader(d, dh);
+        return d;
+    }
+
+    // the deck may have a header already, the hints, tags and notes are added to what it holds
+    private static void setHeader(final Deck d, final DeckFileHeader dh) {
         d.setComment(dh.getComment());
+        d.getAiHints().clear();
         d.setAiHints(dh.getAiHints());
+        d.getTags().clear();
         d.getTags().addAll(dh.getTags());
+        d.getDraftNotes().clear();
         d.setDraftNotes(dh.getDraftNotes());
-        d.setDeferredSections(sections);
-        return d;
     }
 }
\ No newline at end of file
@@ -19,8 +19,14 @@ package forge.deck.io;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import forge.deck.Deck;
 import forge.deck.DeckBase;
@@ -28,6 +34,7 @@ import forge.util.FileSection;
 import forge.util.FileUtil;
 import forge.util.IItemReader;
 import forge.util.IItemSerializer;
+import forge.util.ThreadUtil;
 import forge.util.storage.StorageReaderFolder;
 
 /**
@@ -35,9 +42,14 @@ import forge.util.storage.StorageReaderFolder;
  */
 public class DeckStorage extends StorageReaderFolder<Deck> implements IItemSerializer<Deck> {
     public static final String FILE_EXTENSION = ".dck";
+    private static final int MIN_FILES_FOR_PARALLEL_READ = 16;
+    // where the folder indexes are kept, folders aren't indexed until it is set
+    private static volatile File indexDirectory;
 
     private final String rootDir;
     private final boolean moveWronglyNamedDecks;
+    // index of the folder while readFiles runs, files read meanwhile are added to it
+    private volatile DeckIndex indexBeingRead;
 
     /** Constant <code>DCKFileFilter</code>. */
     public static final FilenameFilter DCK_FILE_FILTER = (dir, name) -> name.endsWith(FILE_EXTENSION);
@@ -52,6 +64,13 @@ public class DeckStorage extends StorageReaderFolder<Deck> implements IItemSeria
         moveWronglyNamedDecks = moveWrongDecks;
     }
 
+    /**
+     * Sets the directory the deck folder indexes are kept in, null to read every deck file in full.
+     */
+    public static void setIndexDirectory(final File indexDirectory0) {
+        indexDirectory = indexDirectory0;
+    }
+
     /* (non-Javadoc)
      * @see forge.util.storage.StorageReaderBase#getReaderForFolder(java.io.File)
      */
@@ -87,7 +106,85 @@ public class DeckStorage extends StorageReaderFolder<Deck> implements IItemSeria
 
         if (result != null) {
             result.setDirectory(file.getParent().substring(rootDir.length()));
+            final DeckIndex index = indexBeingRead;
+            if (index != null && file.isFile()) {
+                index.put(file, sections);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decks whose file is unchanged since the last start are created from the folder index, the cards
+     * only get read once the deck is opened or played. The other files are read in parallel and indexed.
+     */
+    @Override
+    protected List<Deck> readFiles(final File[] files) {
+        final File indexDir = indexDirectory;
+        if (indexDir == null) {
+            return super.readFiles(files);
+        }
+        final DeckIndex index = new DeckIndex(directory, indexDir);
+        final List<Deck> result = new ArrayList<>(Collections.nCopies(files.length, null));
+        final List<String> fileNames = new ArrayList<>(files.length);
+        indexBeingRead = index;
+        try {
+            final List<Integer> unindexed = new ArrayList<>();
+            for (int i = 0; i < files.length; i++) {
+                fileNames.add(files[i].getName());
+                final Deck deck = readFromIndex(files[i], index);
+                if (deck == null) {
+                    unindexed.add(i);
+                } else {
+                    result.set(i, deck);
+                }
+            }
+
+            if (unindexed.size() >= MIN_FILES_FOR_PARALLEL_READ && ThreadUtil.isMultiCoreSystem()) {
+                final List<Callable<Deck>> tasks = new ArrayList<>(unindexed.size());
+                for (final int i : unindexed) {
+                    tasks.add(() -> readFile(files[i]));
+                }
+                final ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
+                try {
+                    final List<Future<Deck>> decks = executor.invokeAll(tasks);
+                    for (int t = 0; t < decks.size(); t++) {
+                        result.set(unindexed.get(t), decks.get(t).get());
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException(e.getCause());
+                } finally {
+                    executor.shutdown();
+                }
+            } else {
+                for (final int i : unindexed) {
+                    result.set(i, readFile(files[i]));
+                }
+            }
+        } finally {
+            indexBeingRead = null;
+        }
+        index.retainAll(fileNames);
+        index.save();
+        return result;
+    }
+
+    private Deck readFromIndex(final File file, final DeckIndex index) {
+        final DeckIndex.Entry entry = index.get(file);
+        if (entry == null) {
+            return null;
+        }
+        final Deck result = DeckSerializer.fromHeader(entry, file);
+        if (result == null || (moveWronglyNamedDecks && !file.getName().equals(result.getBestFileName() + FILE_EXTENSION))) {
+            return null; // let the full read deal with it
         }
+        result.setDirectory(file.getParent().substring(rootDir.length()));
         return result;
     }
 
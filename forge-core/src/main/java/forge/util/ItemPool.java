@@ -90,6 +90,9 @@ public class ItemPool<T extends InventoryItem> implements Iterable<Entry<T, Inte
 
     private final Class<T> myClass; //class does not keep this in runtime by itself
 
+    // counts the changes, so one can tell the pool changed without comparing it
+    private transient int modCount;
+
     @Override
     public final Iterator<Entry<T, Integer>> iterator() {
         return items.entrySet().iterator();
@@ -159,6 +162,13 @@ public class ItemPool<T extends InventoryItem> implements Iterable<Entry<T, Inte
         return result;
     }
 
+    /**
+     * Gets a number that changes whenever an item is added or removed.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
     public Class<T> getMyClass() {
         return myClass;
     }
@@ -175,6 +185,7 @@ public class ItemPool<T extends InventoryItem> implements Iterable<Entry<T, Inte
         if (item == null || amount <= 0) { return; }
 
         items.put(item, count(item) + amount);
+        modCount++;
     }
 
     public void addAllFlat(final Iterable<T> itms) {
@@ -222,11 +233,16 @@ public class ItemPool<T extends InventoryItem> implements Iterable<Entry<T, Inte
         else {
             items.put(item, count - amount);
         }
+        modCount++;
         return true;
     }
 
     public boolean removeAll(final T item) {
-        return items.remove(item) != null;
+        if (items.remove(item) == null) {
+            return false;
+        }
+        modCount++;
+        return true;
     }
 
     public void removeAll(final Iterable<Entry<T, Integer>> map) {
@@ -245,6 +261,7 @@ public class ItemPool<T extends InventoryItem> implements Iterable<Entry<T, Inte
 
     public void clear() {
         items.clear();
+        modCount++;
     }
 
     @Override
@@ -9,6 +9,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Localizer {
 
@@ -21,6 +22,8 @@ public class Localizer {
     private ResourceBundle englishBundle;
     private boolean silent = false;
     private boolean english = false;
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, MessageTemplate> englishTemplates = new ConcurrentHashMap<>();
 
     public static Localizer getInstance() {
         if (instance == null) {
@@ -80,17 +83,9 @@ public class Localizer {
         return getMessage(false, key, messageArguments);
     }
     public String getMessage(boolean forcedEnglish, final String key, final Object... messageArguments) {
-        MessageFormat formatter = null;
+        MessageTemplate template = getTemplate(english || forcedEnglish, key);
 
-        try {
-            //formatter = new MessageFormat(resourceBundle.getString(key.toLowerCase()), locale);
-            formatter = new MessageFormat(english || forcedEnglish ? englishBundle.getString(key) : resourceBundle.getString(key), english || forcedEnglish ? Locale.ENGLISH : locale);
-        } catch (final IllegalArgumentException | MissingResourceException e) {
-            if (!silent)
-                e.printStackTrace();
-        }
-
-        if (formatter == null) {
+        if (template == null) {
             if (!silent) {
                 System.err.println("INVALID PROPERTY: '" + key + "' -- Translation missing from " + locale);
             }
@@ -98,25 +93,18 @@ public class Localizer {
             if (english || forcedEnglish) {
                 return "INVALID PROPERTY: '" + key + "' -- Translation missing from English?";
             }
-            try {
-                formatter = new MessageFormat(englishBundle.getString(key), Locale.ENGLISH);
-                forcedEnglish = true;
-            } catch (final IllegalArgumentException | MissingResourceException e) {
-                if (!silent) {
-                    e.printStackTrace();
-                }
+            template = getTemplate(true, key);
+            if (template == null) {
                 return "INVALID PROPERTY: '" + key + "' -- Translation missing from English locale?";
             }
         }
 
         silent = false;
 
-        formatter.setLocale(english || forcedEnglish ? Locale.ENGLISH : locale);
-
         String formattedMessage = "CHAR ENCODING ERROR";
         final String[] charsets = { "ISO-8859-1", "UTF-8" };
         //Support non-English-standard characters
-        String detectedCharset = charset(english || forcedEnglish ? englishBundle.getString(key) : resourceBundle.getString(key), charsets);
+        final String detectedCharset = template.charset;
 
         final int argLength = messageArguments.length;
         Object[] syncEncodingMessageArguments = new Object[argLength];
@@ -133,12 +121,48 @@ public class Localizer {
         }
 
         try {
-            formattedMessage = new String(formatter.format(syncEncodingMessageArguments).getBytes(detectedCharset), StandardCharsets.UTF_8);
+            final String formatted;
+            synchronized (template.format) { // MessageFormat is not thread safe
+                formatted = template.format.format(syncEncodingMessageArguments);
+            }
+            formattedMessage = new String(formatted.getBytes(detectedCharset), StandardCharsets.UTF_8);
         } catch(UnsupportedEncodingException ignored) {}
 
         return formattedMessage;
     }
 
+    /**
+     * Parsing the pattern and detecting its charset is the expensive part of {@link #getMessage},
+     * so the result is kept per key until the language changes.
+     */
+    private MessageTemplate getTemplate(final boolean useEnglish, final String key) {
+        final Map<String, MessageTemplate> cache = useEnglish ? englishTemplates : templates;
+        MessageTemplate template = cache.get(key);
+        if (template == null) {
+            try {
+                final String pattern = useEnglish ? englishBundle.getString(key) : resourceBundle.getString(key);
+                final MessageFormat format = new MessageFormat(pattern, useEnglish ? Locale.ENGLISH : locale);
+                template = new MessageTemplate(format, charset(pattern, new String[] { "ISO-8859-1", "UTF-8" }));
+            } catch (final IllegalArgumentException | MissingResourceException e) {
+                if (!silent)
+                    e.printStackTrace();
+                return null;
+            }
+            cache.put(key, template);
+        }
+        return template;
+    }
+
+    private static final class MessageTemplate {
+        private final MessageFormat format;
+        private final String charset;
+
+        private MessageTemplate(final MessageFormat format, final String charset) {
+            this.format = format;
+            this.charset = charset;
+        }
+    }
+
     public void setLanguage(final String languageRegionID, final String languagesDirectory) {
 
         String[] splitLocale = languageRegionID.split("-");
@@ -169,6 +193,8 @@ public class Localizer {
                 e.printStackTrace();
             }
 
+            templates.clear();
+            englishTemplates.clear();
             System.out.println("Language '" + resourceBundle.getBaseBundleName() + "' loaded successfully.");
 
             notifyObservers();
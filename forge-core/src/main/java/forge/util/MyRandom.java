@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Random provider of this thread only, if set. */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
 
     /**
      * <p>
@@ -52,7 +54,8 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        final Random own = threadRandom.get();
+        return own != null ? own : MyRandom.random;
     }
 
     /**
@@ -63,11 +66,25 @@ public class MyRandom {
         MyRandom.random = random;
     }
 
+    /**
+     * Sets the random provider of the current thread, so that simulations running side by side
+     * can each be deterministic. Threads started from it keep using the shared one, so set it
+     * in the task that needs it and clear it when the task is done.
+     * @param random the random, or null to use the shared one again
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(random);
+        }
+    }
+
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
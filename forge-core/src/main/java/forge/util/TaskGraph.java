@@ -0,0 +1,250 @@
+package forge.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A set of named steps, each declaring the steps it depends on.
+ * <p>
+ * {@link #run(Executor)} starts every step as soon as its dependencies are done, so independent
+ * steps run concurrently, and returns once all of them finished. Deferred steps are left out of
+ * the run: they happen the first time somebody {@link Step#await() waits} for them, or in the
+ * background after {@link #startDeferred(Executor)}. The time each step took is kept for
+ * {@link #getReport()}.
+ */
+public final class TaskGraph {
+
+    public final class Step {
+        private final String name;
+        private final Runnable action;
+        private final List<Step> dependencies;
+        private final boolean deferred;
+        private CompletableFuture<Void> done;
+        // completes once the step finished or failed, however it was started
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private volatile long startNanos = -1;
+        private volatile long millis = -1;
+
+        private Step(final String name, final Runnable action, final boolean deferred, final Step[] dependencies) {
+            this.name = name;
+            this.action = action;
+            this.deferred = deferred;
+            this.dependencies = Arrays.asList(dependencies);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDeferred() {
+            return deferred;
+        }
+
+        /**
+         * Tells whether this step finished or failed, without waiting for it or starting it.
+         */
+        public boolean isDone() {
+            return finished.isDone();
+        }
+
+        /**
+         * Runs the action once this step finished or failed, right away if it did already. The
+         * action runs on the thread that finished the step, so it should be short.
+         */
+        public void whenDone(final Runnable action) {
+            finished.thenRun(action);
+        }
+
+        /**
+         * Waits for this step to finish and rethrows its failure. A deferred step nobody has
+         * started yet runs on the calling thread.
+         */
+        public void await() {
+            boolean runHere = false;
+            CompletableFuture<Void> future;
+            synchronized (TaskGraph.this) {
+                if (done == null) {
+                    if (!deferred) {
+                        throw new IllegalStateException("Step " + name + " waited for before the graph was run");
+                    }
+                    done = new CompletableFuture<>();
+                    runHere = true;
+                }
+                future = done;
+            }
+            if (runHere) {
+                try {
+                    for (final Step dependency : dependencies) {
+                        dependency.await();
+                    }
+                    perform();
+                    future.complete(null);
+                } catch (final RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+                finished.complete(null);
+            }
+            join(future);
+        }
+
+        private void perform() {
+            startNanos = System.nanoTime();
+            action.run();
+            millis = (System.nanoTime() - startNanos) / 1000000;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+    private long startNanos = -1;
+    private long millis = -1;
+
+    public TaskGraph(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a step that runs as part of {@link #run(Executor)}.
+     */
+    public Step add(final String name, final Runnable action, final Step... dependencies) {
+        for (final Step dependency : dependencies) {
+            if (dependency.deferred) {
+                throw new IllegalArgumentException("Step " + name + " can't depend on the deferred step " + dependency);
+            }
+        }
+        return addStep(new Step(name, action, false, dependencies));
+    }
+
+    /**
+     * Adds a step that only runs once it's waited for or {@link #startDeferred started}.
+     */
+    public Step defer(final String name, final Runnable action, final Step... dependencies) {
+        return addStep(new Step(name, action, true, dependencies));
+    }
+
+    private synchronized Step addStep(final Step step) {
+        if (startNanos >= 0 && !step.deferred) {
+            throw new IllegalStateException("Graph " + name + " is already running");
+        }
+        steps.add(step);
+        return step;
+    }
+
+    /**
+     * Runs every step that isn't deferred, waits for all of them and rethrows the first failure.
+     * Steps depending on a failed step are skipped.
+     */
+    public void run(final Executor executor) {
+        final List<CompletableFuture<Void>> started = new ArrayList<>();
+        synchronized (this) {
+            startNanos = System.nanoTime();
+            // steps are added after their dependencies, so these are always started already
+            for (final Step step : steps) {
+                if (step.deferred) {
+                    continue;
+                }
+                final CompletableFuture<?>[] before = new CompletableFuture<?>[step.dependencies.size()];
+                for (int i = 0; i < before.length; i++) {
+                    before[i] = step.dependencies.get(i).done;
+                }
+                step.done = CompletableFuture.allOf(before).thenRunAsync(step::perform, executor);
+                step.done.whenComplete((v, e) -> step.finished.complete(null));
+                started.add(step.done);
+            }
+        }
+        RuntimeException failure = null;
+        for (final CompletableFuture<Void> future : started) {
+            try {
+                join(future);
+            } catch (final RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        millis = (System.nanoTime() - startNanos) / 1000000;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Starts the deferred steps nobody asked for yet in the background.
+     */
+    public void startDeferred(final Executor executor) {
+        final List<Step> deferred = new ArrayList<>();
+        synchronized (this) {
+            for (final Step step : steps) {
+                if (step.deferred && step.done == null) {
+                    deferred.add(step);
+                }
+            }
+        }
+        for (final Step step : deferred) {
+            executor.execute(() -> {
+                try {
+                    step.await();
+                } catch (final RuntimeException e) {
+                    // whoever needs the step gets the failure from await()
+                }
+            });
+        }
+    }
+
+    /**
+     * Lists the steps in the order they started and how long each one took.
+     */
+    public synchronized String getReport() {
+        final List<Step> ordered = new ArrayList<>(steps);
+        ordered.sort((a, b) -> {
+            if (a.startNanos < 0 || b.startNanos < 0) {
+                return Boolean.compare(a.startNanos < 0, b.startNanos < 0);
+            }
+            return Long.compare(a.startNanos, b.startNanos);
+        });
+        final StringBuilder sb = new StringBuilder();
+        sb.append(name).append(" took ").append(millis).append(" ms");
+        for (final Step step : ordered) {
+            sb.append("\n  ").append(step.name).append(": ");
+            if (step.millis >= 0) {
+                sb.append(step.millis).append(" ms, started at ").append((step.startNanos - startNanos) / 1000000).append(" ms");
+            } else if (step.startNanos >= 0) {
+                sb.append("running or failed");
+            } else {
+                sb.append(step.deferred ? "deferred" : "skipped");
+            }
+            if (!step.dependencies.isEmpty()) {
+                sb.append(" (after ");
+                for (int i = 0; i < step.dependencies.size(); i++) {
+                    sb.append(i == 0 ? "" : ", ").append(step.dependencies.get(i).name);
+                }
+                sb.append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void join(final CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -27,7 +27,8 @@ public class ThreadUtil {
         }
     }
 
-    private final static ExecutorService gameThreadPool = Executors.newCachedThreadPool(new WorkerThreadFactory("Game"));
+    private final static ExecutorService platformGameThreadPool = Executors.newCachedThreadPool(new WorkerThreadFactory("Game"));
+    private static volatile ExecutorService gameThreadPool = platformGameThreadPool;
     private static ExecutorService getGameThreadPool() { return gameThreadPool; }
     private final static ScheduledExecutorService scheduledPool = Executors.newScheduledThreadPool(2, new WorkerThreadFactory("Delayed"));
     private static ScheduledExecutorService getScheduledPool() { return scheduledPool; }
@@ -45,6 +46,47 @@ public class ThreadUtil {
         getGameThreadPool().execute(toRun);
     }
 
+    /**
+     * Runs the game threads started from now on as virtual threads, so a server hosting many games
+     * does not keep an OS thread per game parked while it waits for the players. Virtual threads need
+     * Java 21, elsewhere the platform threads stay in use.
+     *
+     * @return whether game threads are virtual now
+     */
+    public static synchronized boolean setVirtualGameThreads(boolean virtual) {
+        if (virtual == isVirtualGameThreads()) {
+            return virtual;
+        }
+        if (!virtual) {
+            // games already running on virtual threads simply finish there
+            gameThreadPool = platformGameThreadPool;
+            return false;
+        }
+        ExecutorService pool = newVirtualThreadPerTaskExecutor("Game-");
+        if (pool == null) {
+            return false;
+        }
+        gameThreadPool = pool;
+        return true;
+    }
+
+    public static boolean isVirtualGameThreads() {
+        return gameThreadPool != platformGameThreadPool;
+    }
+
+    // compiled for Java 17, so the Java 21 API is looked up reflectively
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
     public static ScheduledFuture<?> delay(int milliseconds, Runnable inputUpdater) {
         return getScheduledPool().schedule(inputUpdater, milliseconds, TimeUnit.MILLISECONDS);
     }
@@ -89,28 +89,57 @@ public abstract class StorageReaderFolder<T> extends StorageReaderBase<T> {
         final Map<String, T> result = createMap();
 
         final File[] files = this.directory.listFiles(this.getFileFilter());
+        final List<T> items = readFiles(files);
+        for (int i = 0; i < files.length; i++) {
+            final T newDeck = items.get(i);
+            if (newDeck == null) {
+                continue;
+            }
+
+            String newKey = keySelector.apply(newDeck);
+            if (result.containsKey(newKey)) {
+                newKey += "-" + files[i].getName();
+            }
+            if (result.containsKey(newKey)) {
+                System.err.println("StorageReaderFolder: Overwriting an object with key " + newKey);
+            }
+            result.put(newKey, newDeck);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the objects stored in the given files.
+     *
+     * @param files the files to read
+     * @return the objects in the order of the files, null for the ones that failed to load
+     */
+    protected List<T> readFiles(final File[] files) {
+        final List<T> result = new ArrayList<>(files.length);
         for (final File file : files) {
-            try {
-                final T newDeck = this.read(file);
-                if (null == newDeck) {
-                    final String msg = "An object stored in " + file.getPath() + " failed to load.\nPlease submit this as a bug with the mentioned file/directory attached.";
-                    throw new RuntimeException(msg);
-                }
+            result.add(readFile(file));
+        }
+        return result;
+    }
 
-                String newKey = keySelector.apply(newDeck);
-                if (result.containsKey(newKey)) {
-                    newKey += "-" + file.getName();
-                }
-                if (result.containsKey(newKey)) {
-                    System.err.println("StorageReaderFolder: Overwriting an object with key " + newKey);
-                }
-                result.put(newKey, newDeck);
-            } catch (final NoSuchElementException ex) {
-                final String message = TextUtil.concatWithSpace( file.getName(),"failed to load because ----", ex.getMessage());
+    /**
+     * Reads one file, a file that failed to load is added to objectsThatFailedToLoad.
+     */
+    protected final T readFile(final File file) {
+        try {
+            final T newDeck = this.read(file);
+            if (null == newDeck) {
+                final String msg = "An object stored in " + file.getPath() + " failed to load.\nPlease submit this as a bug with the mentioned file/directory attached.";
+                throw new RuntimeException(msg);
+            }
+            return newDeck;
+        } catch (final NoSuchElementException ex) {
+            final String message = TextUtil.concatWithSpace( file.getName(),"failed to load because ----", ex.getMessage());
+            synchronized (objectsThatFailedToLoad) {
                 objectsThatFailedToLoad.add(message);
             }
+            return null;
         }
-        return result;
     }
 
     /**
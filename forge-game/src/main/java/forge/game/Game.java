@@ -20,7 +20,6 @@ package forge.game;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.*;
-import com.google.common.eventbus.EventBus;
 import forge.GameCommand;
 import forge.card.CardRarity;
 import forge.card.CardStateName;
@@ -28,6 +27,8 @@ import forge.game.ability.AbilityKey;
 import forge.game.card.*;
 import forge.game.combat.Combat;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
+import forge.game.event.GameEvent;
 import forge.game.event.GameEventDayTimeChanged;
 import forge.game.event.GameEventGameOutcome;
 import forge.game.phase.Phase;
@@ -85,7 +86,7 @@ public class Game {
     private final StaticEffects staticEffects = new StaticEffects();
     private final TriggerHandler triggerHandler = new TriggerHandler(this);
     private final ReplacementHandler replacementHandler = new ReplacementHandler(this);
-    private final EventBus events = new EventBus("game events");
+    private final EventDispatcher events = new EventDispatcher("game events");
     private final GameLog gameLog = new GameLog();
 
     private final Zone stackZone = new Zone(ZoneType.Stack, this);
@@ -124,6 +125,7 @@ public class Game {
     private int numPiledGuessedSA;
 
     private long timestamp = 0;
+    private long tappedStateChanges = 0;
     public final GameAction action;
     private final Match match;
     private GameStage age = GameStage.BeforeMulligan;
@@ -368,7 +370,7 @@ public class Game {
         // update players
         view.updatePlayers(this);
 
-        subscribeToEvents(gameLog.getEventVisitor());
+        events.subscribe(GameEvent.class, gameLog.getEventVisitor()::recieve);
     }
 
     public GameView getView() {
@@ -379,6 +381,29 @@ public class Game {
         return tracker;
     }
 
+    public boolean isHeadless() {
+        return tracker.isHeadless();
+    }
+
+    /**
+     * Headless games are not shown by any GUI (match simulations, AI simulation copies), so the views only
+     * keep the properties the rules read, while display only state like P/T, types, combat and the log
+     * isn't refreshed and log entries are formatted only when read. View changes aren't recorded either.
+     * <p>
+     * The switch is one-way: a game that ran headless can't be shown by a GUI afterwards, as its views
+     * have nothing to catch up from. Turning it off is only accepted while the game isn't headless.
+     */
+    public void setHeadless(final boolean headless) {
+        if (headless == isHeadless()) {
+            return;
+        }
+        if (!headless) {
+            throw new IllegalStateException("A headless game can't be shown by a GUI");
+        }
+        tracker.setHeadless();
+        gameLog.setDeferFormatting(true);
+    }
+
     /**
      * Gets the players who are still fighting to win.
      */
@@ -489,6 +514,9 @@ public class Game {
         return getPhaseHandler().getCombat();
     }
     public final void updateCombatForView() {
+        if (isHeadless()) {
+            return;
+        }
         view.updateCombat(getCombat());
     }
 
@@ -496,6 +524,9 @@ public class Game {
         return gameLog;
     }
     public final void updateGameLogForView() {
+        if (isHeadless()) {
+            return;
+        }
         view.updateGameLog(gameLog);
     }
 
@@ -546,6 +577,16 @@ public class Game {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Counts a card being tapped or untapped, which doesn't take a timestamp.
+     */
+    public final void tappedStateChanged() {
+        tappedStateChanges++;
+    }
+    public final long getTappedStateChanges() {
+        return tappedStateChanges;
+    }
+
     public final GameOutcome getOutcome() {
         return outcome;
     }
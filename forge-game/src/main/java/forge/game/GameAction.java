@@ -34,6 +34,7 @@ import forge.game.event.*;
 import forge.game.extrahands.BackupPlanService;
 import forge.game.keyword.Keyword;
 import forge.game.keyword.KeywordInterface;
+import forge.game.metrics.GameMetrics;
 import forge.game.mulligan.MulliganService;
 import forge.game.player.*;
 import forge.game.replacement.ReplacementEffect;
@@ -70,6 +71,12 @@ public class GameAction {
 
     private boolean holdCheckingStaticAbilities = false;
 
+    // moves made while a batch is running, see startZoneChangeBatch
+    private int zoneChangeBatchDepth = 0;
+    private List<GameEventCardChangeZone> batchedZoneChanges = new ArrayList<>();
+    // the last states of the running batches, indexed so each card doesn't have to search them
+    private final Map<CardCollectionView, Map<Card, Card>> batchedLastStates = new IdentityHashMap<>();
+
     public GameAction(Game game0) {
         game = game0;
     }
@@ -103,7 +110,7 @@ public class GameAction {
             zoneTo.add(c, position, CardCopyService.getLKICopy(c));
             checkStaticAbilities();
             game.getTriggerHandler().registerActiveTrigger(c, true);
-            game.fireEvent(new GameEventCardChangeZone(c, zoneFrom, zoneTo));
+            fireChangeZoneEvent(c, zoneFrom, zoneTo);
             return c;
         }
 
@@ -225,16 +232,10 @@ public class GameAction {
             // if from Battlefield to Graveyard and Card does exist in LastStateBattlefield
             // use that instead
             if (fromBattlefield) {
-                int idx = lastBattlefield.indexOf(c);
-                if (idx != -1) {
-                    lastKnownInfo = lastBattlefield.get(idx);
-                }
+                lastKnownInfo = findLastState(lastBattlefield, c);
             }
             if (fromGraveyard) {
-                int idx = lastGraveyard.indexOf(c);
-                if (idx != -1) {
-                    lastKnownInfo = lastGraveyard.get(idx);
-                }
+                lastKnownInfo = findLastState(lastGraveyard, c);
             }
 
             if (lastKnownInfo == null) {
@@ -625,7 +626,7 @@ public class GameAction {
         game.getTriggerHandler().registerActiveTrigger(copied, false);
 
         // play the change zone sound
-        game.fireEvent(new GameEventCardChangeZone(c, zoneFrom, zoneTo));
+        fireChangeZoneEvent(c, zoneFrom, zoneTo);
 
         final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(copied);
         runParams.put(AbilityKey.CardLKI, lastKnownInfo);
@@ -725,6 +726,111 @@ public class GameAction {
         return copied;
     }
 
+    private void fireChangeZoneEvent(final Card c, final Zone zoneFrom, final Zone zoneTo) {
+        final GameEventCardChangeZone event = new GameEventCardChangeZone(c, zoneFrom, zoneTo);
+        if (zoneChangeBatchDepth > 0) {
+            batchedZoneChanges.add(event);
+        } else {
+            game.fireEvent(event);
+        }
+    }
+
+    private Card findLastState(final CardCollectionView lastState, final Card c) {
+        // the game's own last states are refreshed in place, only copies stay the same until the batch ends
+        if (zoneChangeBatchDepth > 0 && lastState.size() > 1
+                && lastState != game.getLastStateBattlefield() && lastState != game.getLastStateGraveyard()) {
+            return batchedLastStates.computeIfAbsent(lastState, GameAction::indexLastState).get(c);
+        }
+        int idx = lastState.indexOf(c);
+        return idx == -1 ? null : lastState.get(idx);
+    }
+
+    private static Map<Card, Card> indexLastState(final CardCollectionView lastState) {
+        final Map<Card, Card> index = new HashMap<>(lastState.size() * 2);
+        for (final Card lki : lastState) {
+            index.putIfAbsent(lki, lki);
+        }
+        return index;
+    }
+
+    /**
+     * Starts moving several cards as one: until the matching {@link #endZoneChangeBatch()} the moves
+     * are collected and then sent to the GUI as one {@link GameEventCardsChangeZone}, instead of one
+     * event each, and the last known states the cards are looked up in are indexed once for all of
+     * them. Batches can be nested, only the outermost one fires the event. Anything that asks a player
+     * while a batch runs calls {@link #flushZoneChangeBatch()} first, so the GUI shows the moves so far.
+     */
+    public final void startZoneChangeBatch() {
+        zoneChangeBatchDepth++;
+    }
+
+    public final void endZoneChangeBatch() {
+        if (zoneChangeBatchDepth == 0 || --zoneChangeBatchDepth > 0) {
+            return;
+        }
+        batchedLastStates.clear();
+        flushZoneChangeBatch();
+    }
+
+    /**
+     * Fires the moves collected by the running batch so far, the batch goes on collecting the next ones.
+     */
+    public final void flushZoneChangeBatch() {
+        if (batchedZoneChanges.isEmpty()) {
+            return;
+        }
+        final List<GameEventCardChangeZone> changes = batchedZoneChanges;
+        batchedZoneChanges = new ArrayList<>();
+        if (changes.size() == 1) {
+            game.fireEvent(changes.get(0));
+        } else {
+            game.fireEvent(new GameEventCardsChangeZone(changes));
+        }
+    }
+
+    /**
+     * Moves the cards to the zone of the given type as one simultaneous movement with one cause.
+     * <p>
+     * Unless the params already hold a {@link CardZoneTable}, the last known states of the battlefield
+     * and graveyards are taken once for all the cards and the ChangesZoneAll triggers run once at the
+     * end. The GUI gets one event for the whole batch.
+     *
+     * @return the cards as they are in their new zone, cards that didn't move are left out
+     */
+    public final CardCollection moveAllTo(final ZoneType name, final Iterable<Card> cards, final int libPosition, SpellAbility cause, Map<AbilityKey, Object> params) {
+        final Map<AbilityKey, Object> moveParams = params == null ? AbilityKey.newMap() : AbilityKey.newMap(params);
+        CardZoneTable table = null;
+        if (!moveParams.containsKey(AbilityKey.InternalTriggerTable)) {
+            if (cause != null) {
+                table = AbilityKey.addCardZoneTableParams(moveParams, cause);
+            } else {
+                table = new CardZoneTable(getLastState(AbilityKey.LastStateBattlefield, null, null, true),
+                        getLastState(AbilityKey.LastStateGraveyard, null, null, true));
+                AbilityKey.addCardZoneTableParams(moveParams, table);
+            }
+        }
+
+        final CardCollection moved = new CardCollection();
+        startZoneChangeBatch();
+        try {
+            for (final Card c : cards) {
+                final Card m = moveTo(name, c, libPosition, cause, moveParams);
+                if (m != null && m.isInZone(name)) {
+                    moved.add(m);
+                }
+            }
+        } finally {
+            endZoneChangeBatch();
+        }
+        if (table != null) {
+            table.triggerChangesZoneAll(game, cause);
+        }
+        return moved;
+    }
+    public final CardCollection moveAllTo(final ZoneType name, final Iterable<Card> cards, SpellAbility cause, Map<AbilityKey, Object> params) {
+        return moveAllTo(name, cards, 0, cause, params);
+    }
+
     private void storeChangesZoneAll(Card c, Zone zoneFrom, Zone zoneTo, Map<AbilityKey, Object> params) {
         if (params != null && params.containsKey(AbilityKey.InternalTriggerTable)) {
             ((CardZoneTable) params.get(AbilityKey.InternalTriggerTable)).put(zoneFrom != null ? zoneFrom.getZoneType() : null, zoneTo.getZoneType(), c);
@@ -921,8 +1027,13 @@ public class GameAction {
 
     public final CardCollection exile(final CardCollection cards, SpellAbility cause, Map<AbilityKey, Object> params) {
         CardCollection result = new CardCollection();
-        for (Card card : cards) {
-            result.add(exile(card, cause, params));
+        startZoneChangeBatch();
+        try {
+            for (Card card : cards) {
+                result.add(exile(card, cause, params));
+            }
+        } finally {
+            endZoneChangeBatch();
         }
         return result;
     }
@@ -1086,6 +1197,11 @@ public class GameAction {
         checkStaticAbilities(runEvents, Sets.newHashSet(), CardCollection.EMPTY);
     }
     public final void checkStaticAbilities(final boolean runEvents, final Set<Card> affectedCards, final CardCollectionView preList) {
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.STATIC_ABILITIES)) {
+            doCheckStaticAbilities(runEvents, affectedCards, preList);
+        }
+    }
+    private void doCheckStaticAbilities(final boolean runEvents, final Set<Card> affectedCards, final CardCollectionView preList) {
         if (isCheckingStaticAbilitiesOnHold()) {
             return;
         }
@@ -1210,11 +1326,9 @@ public class GameAction {
         }
 
         // Update P/T and type in the view only once after all the cards have been processed, to avoid flickering
+        // most cards were only affected by effects that don't show, so only what changed is updated
         for (Card c : affectedCards) {
-            c.updateNameforView();
-            c.updatePowerToughnessForView();
-            c.updateTypesForView();
-            c.updateAbilityTextForView(); // only update keywords and text for view to avoid flickering
+            c.updateChangedCharacteristicsForView();
         }
 
         // TODO filter out old copies from zone change
@@ -1229,6 +1343,11 @@ public class GameAction {
         return checkStateEffects(runEvents, Sets.newHashSet());
     }
     public boolean checkStateEffects(final boolean runEvents, final Set<Card> affectedCards) {
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.STATE_EFFECTS)) {
+            return doCheckStateEffects(runEvents, affectedCards);
+        }
+    }
+    private boolean doCheckStateEffects(final boolean runEvents, final Set<Card> affectedCards) {
         // sol(10/29) added for Phase updates, state effects shouldn't be
         // checked during Spell Resolution (except when persist-returning
         if (game.getStack().isResolving()) {
@@ -1872,29 +1991,35 @@ public class GameAction {
         final boolean showRevealDialog = source != null && source.hasParam("ShowSacrificedCards");
 
         CardCollection result = new CardCollection();
-        for (Card c : list) {
-            if (c == null) {
-                continue;
-            }
+        startZoneChangeBatch();
+        try {
+            for (Card c : list) {
+                if (c == null) {
+                    continue;
+                }
 
-            if (!c.canBeSacrificedBy(source, effect)) {
-                continue;
-            }
+                if (!c.canBeSacrificedBy(source, effect)) {
+                    continue;
+                }
 
-            Card lkiCopy = ((CardCollection) params.get(AbilityKey.LastStateBattlefield)).get(c);
-            c.getController().addSacrificedThisTurn(lkiCopy, source);
-            lki.put(c.getController(), lkiCopy);
+                Card lkiCopy = findLastState((CardCollectionView) params.get(AbilityKey.LastStateBattlefield), c);
+                c.getController().addSacrificedThisTurn(lkiCopy, source);
+                lki.put(c.getController(), lkiCopy);
 
-            c.updateWasDestroyed(true);
+                c.updateWasDestroyed(true);
 
-            Card changed = sacrificeDestroy(c, source, params);
-            if (changed != null) {
-                result.add(changed);
-            }
-            if (showRevealDialog) {
-                final String message = Localizer.getInstance().getMessage("lblSacrifice");
-                game.getAction().reveal(result, ZoneType.Graveyard, c.getOwner(), false, message, false);
+                Card changed = sacrificeDestroy(c, source, params);
+                if (changed != null) {
+                    result.add(changed);
+                }
+                if (showRevealDialog) {
+                    flushZoneChangeBatch();
+                    final String message = Localizer.getInstance().getMessage("lblSacrifice");
+                    game.getAction().reveal(result, ZoneType.Graveyard, c.getOwner(), false, message, false);
+                }
             }
+        } finally {
+            endZoneChangeBatch();
         }
         for (Map.Entry<Player, Collection<Card>> e : lki.asMap().entrySet()) {
             final Map<AbilityKey, Object> runParams = AbilityKey.mapFromPlayer(e.getKey());
@@ -2045,7 +2170,7 @@ public class GameAction {
 
         //shuffle
         List<Card> shuffledCards = Lists.newArrayList(p1.getZone(ZoneType.Library).getCards().threadSafeIterable());
-        Collections.shuffle(shuffledCards);
+        Collections.shuffle(shuffledCards, MyRandom.getRandom());
 
         //check a second hand
         List<Card> hand2 = shuffledCards.subList(0,p1.getMaxHandSize());
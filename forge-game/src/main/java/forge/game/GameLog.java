@@ -18,11 +18,12 @@
 package forge.game;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Observable;
 
-import forge.game.event.IGameEventVisitor;
 
 /**
  * <p>
@@ -32,9 +33,9 @@ import forge.game.event.IGameEventVisitor;
  * @version $Id: GameLog.java 12297 2011-11-28 19:56:47Z slapshot5 $
  */
 public class GameLog extends Observable implements Serializable {
-    private static final long serialVersionUID = 6465283802022948827L;
+    private static final long serialVersionUID = 6465283802022948828L;
 
-    private final List<GameLogEntry> log = new ArrayList<>();
+    private final ArrayDeque<GameLogEntry> log = new ArrayDeque<>();
 
     private final transient GameLogFormatter formatter = new GameLogFormatter(this);
     
@@ -47,22 +48,69 @@ public class GameLog extends Observable implements Serializable {
      * 4 - Mana abilities
      * 6 - All Phase information
      */
+    private GameLogEntryType logLevel = null; // null to keep all
+    private int maxEntries = 0; // 0 to keep all
+    private boolean deferFormatting = false;
 
     public GameLog() {
     }
 
     public void add(final GameLogEntryType type, final String message) {
+        if (!isLogged(type)) return;
         add(new GameLogEntry(type, message));
     }
 
     void add(GameLogEntry entry) {
-        if (quiet) return;
+        if (quiet || !isLogged(entry.type)) return;
 
+        if (maxEntries > 0 && log.size() >= maxEntries) {
+            log.removeFirst();
+        }
         log.add(entry);
         this.setChanged();
         this.notifyObservers();
     }
 
+    /**
+     * Entries of a type above the log level are dropped before any text is built for them,
+     * callers building expensive messages can check this first.
+     */
+    public boolean isLogged(final GameLogEntryType type) {
+        return logLevel == null || type.compareTo(logLevel) <= 0;
+    }
+
+    public void setLogLevel(final GameLogEntryType logLevel0) {
+        logLevel = logLevel0;
+    }
+
+    /**
+     * Keeps only the latest entries, 0 for no limit.
+     */
+    public void setMaxEntries(final int maxEntries0) {
+        maxEntries = maxEntries0;
+        while (maxEntries > 0 && log.size() > maxEntries) {
+            log.removeFirst();
+        }
+    }
+
+    boolean isFormattingDeferred() {
+        return deferFormatting;
+    }
+
+    /**
+     * When deferred, the text of entries that only depend on their event is formatted when the entries are read.
+     * Only meant for games nobody watches, since formatting then happens on the reading thread and
+     * shows cards with the names they have at that time.
+     */
+    public void setDeferFormatting(final boolean defer) {
+        if (deferFormatting && !defer) {
+            for (GameLogEntry le : log) {
+                le.getMessage();
+            }
+        }
+        deferFormatting = defer;
+    }
+
     /**
      * Gets the log entries below a certain level as a list.
      *
@@ -72,9 +120,9 @@ public class GameLog extends Observable implements Serializable {
     public List<GameLogEntry> getLogEntries(final GameLogEntryType logLevel) { // null to fetch all
         final List<GameLogEntry> result = new ArrayList<>();
     
-        for (int i = log.size() - 1; i >= 0; i--) {
-            GameLogEntry le = log.get(i);
-            if (logLevel == null || le.type.compareTo(logLevel) <= 0) {
+        for (Iterator<GameLogEntry> it = log.descendingIterator(); it.hasNext();) {
+            GameLogEntry le = it.next();
+            if ((logLevel == null || le.type.compareTo(logLevel) <= 0) && le.getMessage() != null) {
                 result.add(le);
             }
         }
@@ -84,16 +132,16 @@ public class GameLog extends Observable implements Serializable {
     public List<GameLogEntry> getLogEntriesExact(final GameLogEntryType logLevel) { // null to fetch all
         final List<GameLogEntry> result = new ArrayList<>();
     
-        for (int i = log.size() - 1; i >= 0; i--) {
-            GameLogEntry le = log.get(i);
-            if (logLevel == null || le.type.compareTo(logLevel) == 0) {
+        for (Iterator<GameLogEntry> it = log.descendingIterator(); it.hasNext();) {
+            GameLogEntry le = it.next();
+            if ((logLevel == null || le.type.compareTo(logLevel) == 0) && le.getMessage() != null) {
                 result.add(le);
             }
         }
         return result;
     }
     
-    public IGameEventVisitor<?> getEventVisitor() {
+    public GameLogFormatter getEventVisitor() {
         return formatter;
     }
 }
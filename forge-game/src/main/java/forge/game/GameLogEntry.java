@@ -1,21 +1,54 @@
 package forge.game;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import forge.game.event.GameEvent;
+
 public class GameLogEntry implements Serializable {
-    private static final long serialVersionUID = -5322859985172769630L;
+    private static final long serialVersionUID = -5322859985172769631L;
 
-    public final String message;
     public final GameLogEntryType type;
+    private String message;
     // might add here date and some other fields
 
+    // set while the message of a deferred entry has not been formatted yet
+    private transient GameEvent event;
+    private transient GameLogFormatter formatter;
+
     GameLogEntry(final GameLogEntryType type0, final String messageIn) {
         type = type0;
         message = messageIn;
     }
 
+    GameLogEntry(final GameLogEntryType type0, final GameEvent event0, final GameLogFormatter formatter0) {
+        type = type0;
+        event = event0;
+        formatter = formatter0;
+    }
+
+    /**
+     * @return the text of the entry, formatted on first access for deferred entries
+     * or null if the event turned out to be nothing to log
+     */
+    public String getMessage() {
+        if (event != null) {
+            final GameLogEntry formatted = event.visit(formatter);
+            message = formatted == null ? null : formatted.message;
+            event = null;
+            formatter = null;
+        }
+        return message;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+
     @Override
     public String toString() {
-        return type.getCaption() + ": " + message;
+        return type.getCaption() + ": " + getMessage();
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,10 @@ package forge.game;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import com.google.common.collect.Iterables;
 import com.google.common.eventbus.Subscribe;
@@ -23,6 +26,49 @@ import forge.util.TextUtil;
 import forge.util.maps.MapOfLists;
 
 public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> {
+    // the entry type each logged event becomes, so filtered out events are dropped before being formatted
+    private static final Map<Class<? extends GameEvent>, GameLogEntryType> LOGGED_EVENTS = new HashMap<>();
+    // events whose text depends only on the event itself and can be formatted later
+    private static final Set<Class<? extends GameEvent>> DEFERRABLE_EVENTS = new HashSet<>();
+    static {
+        LOGGED_EVENTS.put(GameEventGameOutcome.class, GameLogEntryType.GAME_OUTCOME);
+        LOGGED_EVENTS.put(GameEventScry.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventSurveil.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventSpellResolved.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventSpellAbilityCast.class, GameLogEntryType.STACK_ADD);
+        LOGGED_EVENTS.put(GameEventCardModeChosen.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventRandomLog.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventPlayerControl.class, GameLogEntryType.PLAYER_CONTROL);
+        LOGGED_EVENTS.put(GameEventTurnPhase.class, GameLogEntryType.PHASE);
+        LOGGED_EVENTS.put(GameEventCardDamaged.class, GameLogEntryType.DAMAGE);
+        LOGGED_EVENTS.put(GameEventLandPlayed.class, GameLogEntryType.LAND);
+        LOGGED_EVENTS.put(GameEventTurnBegan.class, GameLogEntryType.TURN);
+        LOGGED_EVENTS.put(GameEventPlayerDamaged.class, GameLogEntryType.DAMAGE);
+        LOGGED_EVENTS.put(GameEventPlayerPoisoned.class, GameLogEntryType.DAMAGE);
+        LOGGED_EVENTS.put(GameEventPlayerRadiation.class, GameLogEntryType.DAMAGE);
+        LOGGED_EVENTS.put(GameEventAttackersDeclared.class, GameLogEntryType.COMBAT);
+        LOGGED_EVENTS.put(GameEventBlockersDeclared.class, GameLogEntryType.COMBAT);
+        LOGGED_EVENTS.put(GameEventMulligan.class, GameLogEntryType.MULLIGAN);
+        LOGGED_EVENTS.put(GameEventCardForetold.class, GameLogEntryType.STACK_RESOLVE);
+        LOGGED_EVENTS.put(GameEventCardPlotted.class, GameLogEntryType.STACK_RESOLVE);
+
+        DEFERRABLE_EVENTS.add(GameEventScry.class);
+        DEFERRABLE_EVENTS.add(GameEventSurveil.class);
+        DEFERRABLE_EVENTS.add(GameEventCardModeChosen.class);
+        DEFERRABLE_EVENTS.add(GameEventRandomLog.class);
+        DEFERRABLE_EVENTS.add(GameEventPlayerControl.class);
+        DEFERRABLE_EVENTS.add(GameEventTurnPhase.class);
+        DEFERRABLE_EVENTS.add(GameEventCardDamaged.class);
+        DEFERRABLE_EVENTS.add(GameEventLandPlayed.class);
+        DEFERRABLE_EVENTS.add(GameEventTurnBegan.class);
+        DEFERRABLE_EVENTS.add(GameEventPlayerDamaged.class);
+        DEFERRABLE_EVENTS.add(GameEventPlayerPoisoned.class);
+        DEFERRABLE_EVENTS.add(GameEventPlayerRadiation.class);
+        DEFERRABLE_EVENTS.add(GameEventAttackersDeclared.class);
+        DEFERRABLE_EVENTS.add(GameEventCardForetold.class);
+        DEFERRABLE_EVENTS.add(GameEventCardPlotted.class);
+    }
+
     private final Localizer localizer = Localizer.getInstance();
     private final GameLog log;
     public GameLogFormatter(GameLog gameLog) {
@@ -319,6 +365,16 @@ public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> {
 
     @Subscribe
     public void recieve(GameEvent ev) {
+        GameLogEntryType type = LOGGED_EVENTS.get(ev.getClass());
+        if (type != null) {
+            if (!log.isLogged(type)) {
+                return;
+            }
+            if (log.isFormattingDeferred() && DEFERRABLE_EVENTS.contains(ev.getClass())) {
+                log.add(new GameLogEntry(type, ev, this));
+                return;
+            }
+        }
         GameLogEntry le = ev.visit(this);
         if (le != null) {
             log.add(le);
@@ -1,7 +1,6 @@
 package forge.game;
 
 import com.google.common.collect.*;
-import com.google.common.eventbus.EventBus;
 import forge.LobbyPlayer;
 import forge.deck.CardPool;
 import forge.deck.Deck;
@@ -11,6 +10,7 @@ import forge.game.ability.AbilityKey;
 import forge.game.card.Card;
 import forge.game.card.CardCollectionView;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
 import forge.game.event.GameEventAnteCardsSelected;
 import forge.game.event.GameEventGameFinished;
 import forge.game.player.Player;
@@ -33,7 +33,7 @@ public class Match {
     private final GameRules rules;
     private final String title;
 
-    private final EventBus events = new EventBus("match events");
+    private final EventDispatcher events = new EventDispatcher("match events");
     private final Map<Integer, GameOutcome> gameOutcomes = Maps.newHashMap();
 
     private GameOutcome lastOutcome = null;
@@ -89,13 +89,18 @@ public class DestroyAllEffect extends SpellAbilityEffect {
         Map<AbilityKey, Object> params = AbilityKey.newMap();
         CardZoneTable zoneMovements = AbilityKey.addCardZoneTableParams(params, sa);
 
-        for (Card c : list) {
-            if (sa.hasParam("NoRegenValid")) {
-                noRegen = c.isValid(sa.getParam("NoRegenValid"), sa.getActivatingPlayer(), card, sa);
-            }
-            if (game.getAction().destroy(c, sa, !noRegen, params) && remDestroyed) {
-                card.addRemembered(zoneMovements.getLastStateBattlefield().get(c));
+        game.getAction().startZoneChangeBatch();
+        try {
+            for (Card c : list) {
+                if (sa.hasParam("NoRegenValid")) {
+                    noRegen = c.isValid(sa.getParam("NoRegenValid"), sa.getActivatingPlayer(), card, sa);
+                }
+                if (game.getAction().destroy(c, sa, !noRegen, params) && remDestroyed) {
+                    card.addRemembered(zoneMovements.getLastStateBattlefield().get(c));
+                }
             }
+        } finally {
+            game.getAction().endZoneChangeBatch();
         }
 
         zoneMovements.triggerChangesZoneAll(game, sa);
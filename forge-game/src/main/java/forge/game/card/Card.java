@@ -335,6 +335,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     private CardRules cardRules;
     private final CardView view;
 
+    // characteristics changed since updateChangedCharacteristicsForView last showed them
+    private static final int VIEW_NAME = 1;
+    private static final int VIEW_POWER_TOUGHNESS = 1 << 1;
+    private static final int VIEW_TYPES = 1 << 2;
+    private static final int VIEW_KEYWORDS = 1 << 3;
+    private int changedViewCharacteristics;
+
     private SpellAbility[] basicLandAbilities = new SpellAbility[MagicColor.WUBRG.length];
 
     private int planeswalkerAbilityActivated;
@@ -600,18 +607,49 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         //view.getCurrentState().updateAbilityText(this, getCurrentState());
     }
 
+    /**
+     * Updates the parts of the view whose characteristics changed since the last time this was called,
+     * for effects that change them without updating the view themselves.
+     */
+    public final void updateChangedCharacteristicsForView() {
+        final int changed = changedViewCharacteristics;
+        changedViewCharacteristics = 0;
+        if ((changed & VIEW_NAME) != 0) {
+            updateNameforView();
+        }
+        if ((changed & VIEW_POWER_TOUGHNESS) != 0) {
+            updatePowerToughnessForView();
+        }
+        if ((changed & VIEW_TYPES) != 0) {
+            updateTypesForView();
+        }
+        if ((changed & VIEW_KEYWORDS) != 0) {
+            updateAbilityTextForView(); // only update keywords and text for view to avoid flickering
+        }
+    }
+
     public void updateManaCostForView() {
         currentState.getView().updateManaCost(this);
     }
 
     public final void updatePowerToughnessForView() {
+        if (isViewHeadless()) {
+            return;
+        }
         view.updateCounters(this);
     }
 
     public final void updateTypesForView() {
+        if (isViewHeadless()) {
+            return;
+        }
         currentState.getView().updateType(currentState);
     }
 
+    private boolean isViewHeadless() {
+        return game != null && game.isHeadless();
+    }
+
     public boolean changeCardState(final String mode, final String customState, final SpellAbility cause) {
         if (isPhasedOut()) {
             return false;
@@ -969,11 +1007,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public void addChangedName(final String name0, boolean addNonLegendaryCreatureNames, long timestamp, long staticId) {
         changedCardNames.put(timestamp, staticId, new CardChangedName(name0, addNonLegendaryCreatureNames));
+        changedViewCharacteristics |= VIEW_NAME;
         updateNameforView();
     }
 
     public void removeChangedName(long timestamp, long staticId) {
         if (changedCardNames.remove(timestamp, staticId) != null) {
+            changedViewCharacteristics |= VIEW_NAME;
             updateNameforView();
         }
     }
@@ -985,6 +1025,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void updateNameforView() {
+        if (isViewHeadless()) {
+            return;
+        }
         currentState.getView().updateName(currentState);
     }
 
@@ -1919,9 +1962,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void addChangedSVars(Map<String, String> map, long timestamp, long staticId) {
         this.changedSVars.put(timestamp, staticId, map);
+        changedViewCharacteristics |= VIEW_KEYWORDS;
     }
     public final void removeChangedSVars(long timestamp, long staticId) {
-        this.changedSVars.remove(timestamp, staticId);
+        if (this.changedSVars.remove(timestamp, staticId) != null) {
+            changedViewCharacteristics |= VIEW_KEYWORDS;
+        }
     }
 
     public final int getTurnInZone() {
@@ -4260,6 +4306,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
         this.updateChangedText();
 
+        changedViewCharacteristics |= VIEW_TYPES;
         if (updateView) {
             updateTypesForView();
         }
@@ -4270,6 +4317,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             final long timestamp, final long staticId, final boolean updateView, final boolean cda) {
         (cda ? changedCardTypesCharacterDefining : changedCardTypes).put(timestamp, staticId, new CardChangedType(
                 addType, removeType, addAllCreatureTypes, remove));
+        changedViewCharacteristics |= VIEW_TYPES;
         if (updateView) {
             updateTypesForView();
         }
@@ -4298,6 +4346,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean removed = false;
         removed |= changedCardTypes.remove(timestamp, staticId) != null;
         removed |= changedCardTypesCharacterDefining.remove(timestamp, staticId) != null;
+        if (removed) {
+            changedViewCharacteristics |= VIEW_TYPES;
+        }
         if (removed && updateView) {
             updateTypesForView();
         }
@@ -4510,6 +4561,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void addNewPTByText(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
         newPTText.put(timestamp, staticId, Pair.of(power, toughness));
+        changedViewCharacteristics |= VIEW_POWER_TOUGHNESS;
         updatePTforView();
     }
 
@@ -4518,6 +4570,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void addNewPT(final Integer power, final Integer toughness, final long timestamp, final long staticId, final boolean cda) {
         (cda ? newPTCharacterDefining : newPT).put(timestamp, staticId, Pair.of(power, toughness));
+        changedViewCharacteristics |= VIEW_POWER_TOUGHNESS;
         updatePTforView();
     }
 
@@ -4529,6 +4582,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         removed |= newPTCharacterDefining.remove(timestamp, staticId) != null;
 
         if (removed) {
+            changedViewCharacteristics |= VIEW_POWER_TOUGHNESS;
             updatePTforView();
         }
     }
@@ -4788,10 +4842,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public void addPTBoost(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
         boostPT.put(timestamp, staticId, Pair.of(power, toughness));
+        changedViewCharacteristics |= VIEW_POWER_TOUGHNESS;
     }
 
     public void removePTBoost(final long timestamp, final long staticId) {
-        boostPT.remove(timestamp, staticId);
+        if (boostPT.remove(timestamp, staticId) != null) {
+            changedViewCharacteristics |= VIEW_POWER_TOUGHNESS;
+        }
     }
 
     public Table<Long, Long, Pair<Integer, Integer>> getPTBoostTable() {
@@ -4812,6 +4869,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public final void setTapped(boolean tapped0) {
         if (tapped == tapped0) { return; }
         tapped = tapped0;
+        if (game != null) {
+            game.tappedStateChanged();
+        }
         view.updateTapped(this);
     }
 
@@ -5055,6 +5115,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean changed = false;
         changed |= changedCardTraitsByText.remove(timestamp, staticId) != null;
         changed |= changedCardTraits.remove(timestamp, staticId) != null;
+        if (changed) {
+            changedViewCharacteristics |= VIEW_KEYWORDS;
+        }
         return changed;
     }
 
@@ -5234,6 +5297,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         // this one is done for Volrath's Shapeshifter which replaces all the card text
         changedCardKeywordsByText.put(timestamp, staticId, new KeywordsChange(keywords, ImmutableList.<KeywordInterface>of(), true));
 
+        changedViewCharacteristics |= VIEW_KEYWORDS;
         if (updateView) {
             updateKeywords();
         }
@@ -5247,6 +5311,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         long staticId = st == null ? 0 : st.getId();
         changedCardKeywords.put(timestamp, staticId, newCks);
 
+        changedViewCharacteristics |= VIEW_KEYWORDS;
         if (updateView) {
             updateKeywords();
         }
@@ -5259,6 +5324,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean changed = false;
         changed |= changedCardKeywords.remove(timestamp, staticId) != null;
         changed |= changedCardKeywordsByText.remove(timestamp, staticId) != null;
+        if (changed) {
+            changedViewCharacteristics |= VIEW_KEYWORDS;
+        }
         if (updateView) {
             updateKeywords();
             if (isToken())
@@ -5376,6 +5444,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
      * Update the changed text of the intrinsic spell abilities and keywords.
      */
     public void updateChangedText() {
+        changedViewCharacteristics |= VIEW_NAME | VIEW_TYPES | VIEW_KEYWORDS;
         // update type
         List<String> toAdd = Lists.newArrayList();
         List<String> toRemove = Lists.newArrayList();
@@ -5521,11 +5590,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public void addCantHaveKeyword(Keyword keyword, Long timestamp) {
         cantHaveKeywords.put(timestamp, keyword);
+        changedViewCharacteristics |= VIEW_KEYWORDS;
         getView().updateCantHaveKeyword(this);
     }
 
     public void addCantHaveKeyword(Long timestamp, Iterable<Keyword> keywords) {
         cantHaveKeywords.putAll(timestamp, keywords);
+        changedViewCharacteristics |= VIEW_KEYWORDS;
         getView().updateCantHaveKeyword(this);
     }
 
@@ -5534,6 +5605,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public boolean removeCantHaveKeyword(Long timestamp, boolean updateView) {
         boolean change = !cantHaveKeywords.removeAll(timestamp).isEmpty();
+        if (change) {
+            changedViewCharacteristics |= VIEW_KEYWORDS;
+        }
         if (change && updateView) {
             getView().updateCantHaveKeyword(this);
             updateKeywords();
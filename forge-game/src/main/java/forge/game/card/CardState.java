@@ -508,11 +508,29 @@ public class CardState extends GameObject implements IHasSVars, ITranslatable {
     public FCollectionView<ReplacementEffect> getReplacementEffects() {
         FCollection<ReplacementEffect> result = new FCollection<>(replacementEffects);
         CardTypeView type = getTypeWithChanges();
+        ensureReplacementEffects(type);
+        if (type.isPlaneswalker()) {
+            result.add(loyaltyRep);
+        }
+        if (type.isBattle()) {
+            result.add(defenseRep);
+            //result.add(battleTypeRep);
+        }
+        if (type.hasSubtype("Saga") && !hasKeyword(Keyword.READ_AHEAD)) {
+            result.add(sagaRep);
+        }
+
+        card.updateReplacementEffects(result, this);
+        return result;
+    }
+    /**
+     * Makes the replacement effects a state of the given type enters with, the first time they are needed.
+     */
+    private void ensureReplacementEffects(final CardTypeView type) {
         if (type.isPlaneswalker()) {
             if (loyaltyRep == null) {
                 loyaltyRep = CardFactoryUtil.makeEtbCounter("etbCounter:LOYALTY:" + this.baseLoyalty, this, true);
             }
-            result.add(loyaltyRep);
         }
         if (type.isBattle()) {
             // TODO This is currently breaking for Battle/Defense
@@ -520,25 +538,18 @@ public class CardState extends GameObject implements IHasSVars, ITranslatable {
             if (defenseRep == null) {
                 defenseRep = CardFactoryUtil.makeEtbCounter("etbCounter:DEFENSE:" + this.baseDefense, this, true);
             }
-            result.add(defenseRep);
 
             if (battleTypeRep == null) {
                 if(type.hasSubtype("Siege")) {
                     // battleTypeRep; // - Choose a player to protect it
                 }
             }
-            //result.add(battleTypeRep);
-
         }
         if (type.hasSubtype("Saga") && !hasKeyword(Keyword.READ_AHEAD)) {
             if (sagaRep == null) {
                 sagaRep = CardFactoryUtil.makeEtbCounter("etbCounter:LORE:1", this, true);
             }
-            result.add(sagaRep);
         }
-
-        card.updateReplacementEffects(result, this);
-        return result;
     }
     public boolean addReplacementEffect(final ReplacementEffect replacementEffect) {
         return replacementEffects.add(replacementEffect);
@@ -687,6 +698,9 @@ public class CardState extends GameObject implements IHasSVars, ITranslatable {
             }
         }
         if (lki) {
+            // the source makes these when it's first asked for them, they have to exist by now
+            // or every copy makes its own and doesn't know the source's one already applied
+            source.ensureReplacementEffects(source.getTypeWithChanges());
             if (source.loyaltyRep != null) {
                 loyaltyRep = source.loyaltyRep.copy(card, true);
             }
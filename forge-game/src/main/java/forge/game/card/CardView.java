@@ -1184,6 +1184,10 @@ public class CardView extends GameEntityView {
     public class CardStateView extends TrackableObject implements ITranslatable {
         private static final long serialVersionUID = 6673944200513430607L;
 
+        // the card to generate the ability text from while the tracker is frozen, only used by the game thread
+        private transient Card abilityTextCard;
+        private transient CardState abilityTextState;
+
         private final CardStateName state;
 
         public CardStateView(final int id0, final CardStateName state0, final Tracker tracker) {
@@ -1591,8 +1595,28 @@ public class CardView extends GameEntityView {
             return get(TrackableProperty.AbilityText);
         }
         void updateAbilityText(Card c, CardState state) {
+            final Tracker t = getTracker();
+            if (t != null && t.isFrozen()) {
+                // static effects change keywords many times while frozen, make the text once it unfreezes
+                if (abilityTextCard == null) {
+                    t.addPendingUpdate(this);
+                }
+                abilityTextCard = c;
+                abilityTextState = state;
+                return;
+            }
+            abilityTextCard = null;
+            abilityTextState = null;
             set(TrackableProperty.AbilityText, c.getAbilityText(state));
         }
+
+        @Override
+        protected void updatePendingProps() {
+            final Card c = abilityTextCard;
+            if (c != null) {
+                updateAbilityText(c, abilityTextState);
+            }
+        }
         void updateKeywords(Card c, CardState state) {
             c.updateKeywordsCache(state);
             set(TrackableProperty.HasAnnihilator, c.hasKeyword(Keyword.ANNIHILATOR, state));
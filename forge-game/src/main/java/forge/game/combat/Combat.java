@@ -67,6 +67,9 @@ public class Combat {
     // List holds creatures who have dealt 1st strike damage to disallow them deal damage on regular basis (unless they have double-strike KW)
     private CardCollection combatantsThatDealtFirstStrikeDamage = new CardCollection();
 
+    // changes whenever an attacker or blocker is declared or removed, lets the AI cache predictions per combat shape
+    private int shapeVersion = 0;
+
     public Combat(final Player attacker) {
         playerWhoAttacks = attacker;
         legacyOrderCombatants = playerWhoAttacks.getGame().getRules().hasOrderCombatants();
@@ -142,7 +145,12 @@ public class Combat {
         return sb.toString();
     }
 
+    public final int getShapeVersion() {
+        return shapeVersion;
+    }
+
     public void endCombat() {
+        shapeVersion++;
         //backup attackers and blockers
         CardCollection attackers = getAttackers();
         CardCollection blockers = getAllBlockers();
@@ -265,6 +273,7 @@ public class Combat {
         } else {
             band.addAttacker(c);
         }
+        shapeVersion++;
         c.updateAttackingForView();
     }
 
@@ -364,11 +373,13 @@ public class Combat {
     // Some cards in Alpha may UNBLOCK an attacker, so second parameter is not always-true
     public final void setBlocked(final Card attacker, boolean value) {
         getBandOfAttackerNotNull(attacker).setBlocked(value); // called by Curtain of Light, Dazzling Beauty, Trap Runner
+        shapeVersion++;
     }
 
     public final void addBlocker(final Card attacker, final Card blocker) {
         final AttackingBand band = getBandOfAttackerNotNull(attacker);
         blockedBands.put(band, blocker);
+        shapeVersion++;
         // If damage is already assigned, add this blocker as a "late entry"
         if (blockersOrderedForDamageAssignment.containsKey(attacker)) {
             addBlockerToDamageAssignmentOrder(attacker, blocker);
@@ -383,6 +394,7 @@ public class Combat {
         if (cc != null) {
             cc.remove(blocker);
         }
+        shapeVersion++;
         blocker.updateBlockingForView();
     }
 
@@ -390,6 +402,7 @@ public class Combat {
     public final void undoBlockingAssignment(final Card blocker) {
         CardCollection toRemove = new CardCollection(blocker);
         blockedBands.values().removeAll(toRemove);
+        shapeVersion++;
         blocker.updateBlockingForView();
     }
 
@@ -592,6 +605,7 @@ public class Combat {
 
     // remove a combatant whose side is unknown
     public final void removeFromCombat(final Card c) {
+        shapeVersion++;
         AttackingBand ab = getBandOfAttacker(c);
         if (ab != null) {
             unregisterAttacker(c, ab);
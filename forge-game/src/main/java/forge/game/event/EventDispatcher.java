@@ -0,0 +1,184 @@
+package forge.game.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Delivers the events of a game or match to its subscribers.
+ * <p>
+ * Handlers are resolved once per concrete event class and kept in a table, so posting an event is a map
+ * lookup followed by direct calls; an event nobody listens to is dropped right after that lookup.
+ * Events posted by a handler while another event is being delivered on the same thread are delivered
+ * after it, in posting order, the way the Guava EventBus used before did. Events posted from another
+ * thread meanwhile wait until that delivery is done, so a subscriber never gets two events at once.
+ */
+public class EventDispatcher {
+    private static final Handler[] NO_HANDLERS = new Handler[0];
+
+    private final String name;
+    private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, Handler[]> handlersByEvent = new ConcurrentHashMap<>();
+
+    // the thread currently delivering events and the events it posted meanwhile,
+    // other threads wait for the delivery lock
+    private final Object deliveryLock = new Object();
+    private volatile Thread dispatchingThread;
+    private final ArrayDeque<Event> queued = new ArrayDeque<>();
+
+    public EventDispatcher(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Registers every method of the subscriber annotated with {@link Subscribe}, each of them takes the
+     * event type it wants to receive as its single parameter.
+     */
+    public void register(final Object subscriber) {
+        for (Handler h : findSubscriberMethods(subscriber)) {
+            addHandler(h);
+        }
+    }
+
+    public <E extends Event> void subscribe(final Class<E> eventType, final Consumer<? super E> receiver) {
+        addHandler(new Handler(eventType, receiver));
+    }
+
+    public boolean hasSubscribers(final Class<? extends Event> eventType) {
+        return !handlers.isEmpty() && handlersFor(eventType).length > 0;
+    }
+
+    public void post(final Event event) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        final Handler[] targets = handlersFor(event.getClass());
+        if (targets.length == 0) {
+            return;
+        }
+
+        final Thread current = Thread.currentThread();
+        if (dispatchingThread == current) {
+            // posted from inside a handler, deliver once the current event is done
+            queued.add(event);
+            return;
+        }
+        // a post from another thread waits until the current delivery is done
+        synchronized (deliveryLock) {
+            dispatchingThread = current;
+            try {
+                deliver(targets, event);
+                Event next;
+                while ((next = queued.poll()) != null) {
+                    deliver(handlersFor(next.getClass()), next);
+                }
+            } finally {
+                queued.clear();
+                dispatchingThread = null;
+            }
+        }
+    }
+
+    private Handler[] handlersFor(final Class<?> eventType) {
+        Handler[] result = handlersByEvent.get(eventType);
+        if (result == null) {
+            final List<Handler> matching = new ArrayList<>();
+            for (Handler h : handlers) {
+                if (h.eventType.isAssignableFrom(eventType)) {
+                    matching.add(h);
+                }
+            }
+            result = matching.isEmpty() ? NO_HANDLERS : matching.toArray(NO_HANDLERS);
+            handlersByEvent.put(eventType, result);
+        }
+        return result;
+    }
+
+    private void deliver(final Handler[] targets, final Event event) {
+        for (Handler h : targets) {
+            h.receive(event);
+        }
+    }
+
+    private synchronized void addHandler(final Handler h) {
+        handlers.add(h);
+        handlersByEvent.clear();
+    }
+
+    private List<Handler> findSubscriberMethods(final Object subscriber) {
+        final List<Handler> result = new ArrayList<>();
+        final List<String> seen = new ArrayList<>();
+        for (Class<?> cls = subscriber.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Method m : cls.getDeclaredMethods()) {
+                if (!m.isAnnotationPresent(Subscribe.class) || m.isBridge()) {
+                    continue;
+                }
+                final Class<?>[] params = m.getParameterTypes();
+                if (params.length != 1 || !Event.class.isAssignableFrom(params[0])) {
+                    throw new IllegalArgumentException(m + " is annotated with @Subscribe but does not take a single event");
+                }
+                // an overriding method hides the one it overrides
+                final String signature = m.getName() + params[0].getName();
+                if (seen.contains(signature)) {
+                    continue;
+                }
+                seen.add(signature);
+
+                final MethodHandle target;
+                try {
+                    m.setAccessible(true);
+                    target = MethodHandles.lookup().unreflect(m).bindTo(subscriber)
+                            .asType(MethodType.methodType(void.class, Event.class));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new IllegalArgumentException("Cannot subscribe " + m, e);
+                }
+                result.add(new Handler(params[0], ev -> {
+                    try {
+                        target.invokeExact((Event) ev);
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private final class Handler {
+        private final Class<?> eventType;
+        private final Consumer<Event> receiver;
+
+        @SuppressWarnings("unchecked")
+        Handler(final Class<?> eventType, final Consumer<?> receiver) {
+            this.eventType = eventType;
+            this.receiver = (Consumer<Event>) receiver;
+        }
+
+        void receive(final Event event) {
+            try {
+                receiver.accept(event);
+            } catch (RuntimeException e) {
+                // a failing subscriber must not stop the others or the game, same as with the EventBus
+                System.err.println("Exception in " + name + " subscriber while handling " + event);
+                e.printStackTrace();
+            }
+        }
+    }
+}
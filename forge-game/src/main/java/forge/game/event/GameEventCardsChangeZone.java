@@ -0,0 +1,26 @@
+package forge.game.event;
+
+import java.util.List;
+
+/**
+ * Several cards moved as one, see {@link forge.game.GameAction#startZoneChangeBatch()}.
+ * Holds the moves in the order they happened.
+ */
+public class GameEventCardsChangeZone extends GameEvent {
+
+    public final List<GameEventCardChangeZone> changes;
+
+    public GameEventCardsChangeZone(List<GameEventCardChangeZone> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public <T> T visit(IGameEventVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return changes.size() + " cards change zone: " + changes;
+    }
+}
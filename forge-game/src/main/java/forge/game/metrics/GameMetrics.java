@@ -0,0 +1,155 @@
+package forge.game.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of the parts of the game engine that usually decide how fast a game runs, and counters
+ * for anything else worth watching.
+ * <p>
+ * The sections are measured in two independent ways: into the in-process histograms once metrics
+ * are {@link #setEnabled(boolean) enabled}, and through the {@link SectionRecorder} a platform
+ * installs, e.g. as Flight Recorder events on desktop. With both off, {@link #begin(Section)}
+ * returns a shared no-op span and costs a couple of field reads.
+ */
+public final class GameMetrics {
+
+    public enum Section {
+        PRIORITY("Priority"),
+        STATE_EFFECTS("State-based actions"),
+        STATIC_ABILITIES("Static abilities"),
+        WAITING_TRIGGERS("Waiting triggers"),
+        RESOLVE_STACK("Stack resolution"),
+        AI_CHOOSE_SPELL("AI spell choice"),
+        GAME_COPY("Game copy");
+
+        private final String caption;
+
+        Section(final String caption) {
+            this.caption = caption;
+        }
+
+        public String getCaption() {
+            return caption;
+        }
+    }
+
+    /**
+     * One measured run of a section, closing it records the time.
+     */
+    public static final class Span implements AutoCloseable {
+        private static final Span NONE = new Span(null, 0, null, null);
+
+        private final Section section;
+        private final long start;
+        private final SectionRecorder recorder;
+        private final Object token;
+
+        private Span(final Section section, final long start, final SectionRecorder recorder, final Object token) {
+            this.section = section;
+            this.start = start;
+            this.recorder = recorder;
+            this.token = token;
+        }
+
+        @Override
+        public void close() {
+            if (section == null) {
+                return;
+            }
+            if (start != 0) {
+                HISTOGRAMS[section.ordinal()].record(System.nanoTime() - start);
+            }
+            if (token != null) {
+                recorder.end(token);
+            }
+        }
+    }
+
+    private static final Histogram[] HISTOGRAMS = new Histogram[Section.values().length];
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+    private static volatile SectionRecorder recorder;
+
+    static {
+        for (final Section s : Section.values()) {
+            HISTOGRAMS[s.ordinal()] = new Histogram();
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled0) {
+        enabled = enabled0;
+    }
+
+    /**
+     * Sets where the sections are reported besides the histograms, null for nowhere.
+     */
+    public static void setRecorder(final SectionRecorder recorder0) {
+        recorder = recorder0;
+    }
+
+    public static Span begin(final Section section) {
+        final SectionRecorder r = recorder;
+        final Object token = r == null ? null : r.begin(section);
+        if (!enabled && token == null) {
+            return Span.NONE;
+        }
+        return new Span(section, enabled ? System.nanoTime() : 0, r, token);
+    }
+
+    public static void increment(final String counter) {
+        add(counter, 1);
+    }
+
+    public static void add(final String counter, final long amount) {
+        if (enabled) {
+            COUNTERS.computeIfAbsent(counter, k -> new LongAdder()).add(amount);
+        }
+    }
+
+    public static long getCounter(final String counter) {
+        final LongAdder adder = COUNTERS.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public static Histogram getHistogram(final Section section) {
+        return HISTOGRAMS[section.ordinal()];
+    }
+
+    public static void reset() {
+        for (final Histogram h : HISTOGRAMS) {
+            h.reset();
+        }
+        COUNTERS.clear();
+    }
+
+    /**
+     * @return a table of every section and counter recorded so far
+     */
+    public static String getSummary() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %9s %11s %9s %9s %9s %9s%n", "Section", "Calls", "Total ms", "Mean us", "p50 us", "p99 us", "Max us"));
+        for (final Section s : Section.values()) {
+            final Histogram h = getHistogram(s);
+            if (h.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-22s %9d %11.1f %9.1f %9.1f %9.1f %9.1f%n", s.getCaption(), h.getCount(),
+                    h.getTotalNanos() / 1e6, h.getMeanNanos() / 1e3, h.getPercentileNanos(0.5) / 1e3,
+                    h.getPercentileNanos(0.99) / 1e3, h.getMaxNanos() / 1e3));
+        }
+        for (final Map.Entry<String, LongAdder> kv : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append(String.format("%-22s %9d%n", kv.getKey(), kv.getValue().sum()));
+        }
+        return sb.toString();
+    }
+}
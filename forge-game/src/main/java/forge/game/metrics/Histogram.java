@@ -0,0 +1,77 @@
+package forge.game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of durations in nanoseconds. Values are counted in power of two buckets, which is precise
+ * enough to tell a 1 ms call from a 10 ms one and lets threads record without any locking.
+ */
+public final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+        // bucket i holds the values from 2^(i-1) to 2^i - 1, bucket 0 only zero
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        final long n = getCount();
+        return n == 0 ? 0 : (double) getTotalNanos() / n;
+    }
+
+    /**
+     * @param fraction between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return estimate of the percentile, interpolated within its bucket and never more than the largest value seen
+     */
+    public long getPercentileNanos(final double fraction) {
+        final long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(fraction * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            final long inBucket = buckets.get(i);
+            if (seen + inBucket >= rank && inBucket > 0) {
+                // assume the values are spread evenly over the bucket
+                final long lower = i == 0 ? 0 : 1L << (i - 1);
+                final long upper = Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1, getMaxNanos());
+                return lower + (long) ((double) (upper - lower) * (rank - seen) / inBucket);
+            }
+            seen += inBucket;
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        count.reset();
+        total.reset();
+        max.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package forge.game.metrics;
+
+import forge.game.metrics.GameMetrics.Section;
+
+/**
+ * Reports the measured sections to a profiler of the platform, see {@link GameMetrics#setRecorder}.
+ */
+public interface SectionRecorder {
+    /**
+     * @return a token handed back to {@link #end(Object)}, null if this run of the section isn't recorded
+     */
+    Object begin(Section section);
+
+    void end(Object token);
+}
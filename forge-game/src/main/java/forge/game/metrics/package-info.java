@@ -0,0 +1,2 @@
+/** Forge Card Game. */
+package forge.game.metrics;
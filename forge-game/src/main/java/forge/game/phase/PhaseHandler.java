@@ -29,6 +29,7 @@ import forge.game.combat.CombatUtil;
 import forge.game.cost.CostEnlist;
 import forge.game.cost.CostExert;
 import forge.game.event.*;
+import forge.game.metrics.GameMetrics;
 import forge.game.player.Player;
 import forge.game.replacement.ReplacementResult;
 import forge.game.replacement.ReplacementType;
@@ -167,6 +168,7 @@ public class PhaseHandler implements java.io.Serializable {
 
             if (turnEnded) {
                 turn++;
+                GameMetrics.increment("Turns");
                 extraPhases.clear();
                 game.updateTurnForView();
                 game.fireEvent(new GameEventTurnBegan(playerTurn, turn));
@@ -1017,67 +1019,70 @@ public class PhaseHandler implements java.io.Serializable {
                     sw.start();
                 }
 
-                game.fireEvent(new GameEventPlayerPriority(playerTurn, phase, getPriorityPlayer()));
-                List<SpellAbility> chosenSa = null;
+                try (GameMetrics.Span prioritySpan = GameMetrics.begin(GameMetrics.Section.PRIORITY)) {
+                    game.fireEvent(new GameEventPlayerPriority(playerTurn, phase, getPriorityPlayer()));
+                    List<SpellAbility> chosenSa = null;
 
-                int loopCount = 0;
-                do {
-                    if (checkStateBasedEffects()) {
-                        // state-based effects check could lead to game over
-                        return;
-                    }
-                    game.stashGameState();
-
-                    chosenSa = pPlayerPriority.getController().chooseSpellAbilityToPlay();
+                    int loopCount = 0;
+                    do {
+                        if (checkStateBasedEffects()) {
+                            // state-based effects check could lead to game over
+                            return;
+                        }
+                        game.stashGameState();
 
-                    // this needs to come after chosenSa so it sees you conceding on own turn
-                    if (playerTurn.hasLost() && pPlayerPriority.equals(playerTurn) && pFirstPriority.equals(playerTurn)) {
-                        // If the active player has lost, and they have priority, set the next player to have priority
-                        System.out.println("Active player is no longer in the game...");
-                        pPlayerPriority = game.getNextPlayerAfter(getPriorityPlayer());
-                        pFirstPriority = pPlayerPriority;
-                    }
+                        chosenSa = pPlayerPriority.getController().chooseSpellAbilityToPlay();
 
-                    if (chosenSa == null) {
-                        break; // that means 'I pass'
-                    }
-                    if (DEBUG_PHASES) {
-                        System.out.print("... " + pPlayerPriority + " plays " + chosenSa);
-                    }
+                        // this needs to come after chosenSa so it sees you conceding on own turn
+                        if (playerTurn.hasLost() && pPlayerPriority.equals(playerTurn) && pFirstPriority.equals(playerTurn)) {
+                            // If the active player has lost, and they have priority, set the next player to have priority
+                            System.out.println("Active player is no longer in the game...");
+                            pPlayerPriority = game.getNextPlayerAfter(getPriorityPlayer());
+                            pFirstPriority = pPlayerPriority;
+                        }
 
-                    boolean rollback = false;
-                    for (SpellAbility sa : chosenSa) {
-                        Card saHost = sa.getHostCard();
-                        final Zone originZone = saHost.getZone();
-                        final CardZoneTable triggerList = new CardZoneTable(game.getLastStateBattlefield(), game.getLastStateGraveyard());
-
-                        if (pPlayerPriority.getController().playChosenSpellAbility(sa)) {
-                            // 117.3c If a player has priority when they cast a spell, activate an ability, [play a land]
-                            // that player receives priority afterward.
-                            pFirstPriority = pPlayerPriority; // all opponents have to pass before stack is allowed to resolve
-                        } else if (game.EXPERIMENTAL_RESTORE_SNAPSHOT) {
-                            rollback = true;
+                        if (chosenSa == null) {
+                            break; // that means 'I pass'
+                        }
+                        if (DEBUG_PHASES) {
+                            System.out.print("... " + pPlayerPriority + " plays " + chosenSa);
                         }
 
-                        saHost = game.getCardState(saHost);
-                        final Zone currentZone = saHost.getZone();
+                        GameMetrics.add("Spells and abilities", chosenSa.size());
+                        boolean rollback = false;
+                        for (SpellAbility sa : chosenSa) {
+                            Card saHost = sa.getHostCard();
+                            final Zone originZone = saHost.getZone();
+                            final CardZoneTable triggerList = new CardZoneTable(game.getLastStateBattlefield(), game.getLastStateGraveyard());
+
+                            if (pPlayerPriority.getController().playChosenSpellAbility(sa)) {
+                                // 117.3c If a player has priority when they cast a spell, activate an ability, [play a land]
+                                // that player receives priority afterward.
+                                pFirstPriority = pPlayerPriority; // all opponents have to pass before stack is allowed to resolve
+                            } else if (game.EXPERIMENTAL_RESTORE_SNAPSHOT) {
+                                rollback = true;
+                            }
+
+                            saHost = game.getCardState(saHost);
+                            final Zone currentZone = saHost.getZone();
 
-                        // Need to check if Zone did change
-                        if (currentZone != null && originZone != null && !currentZone.equals(originZone) && (sa.isSpell() || sa.isLandAbility())) {
-                            // currently there can be only one Spell put on the Stack at once, or Land Abilities be played
-                            triggerList.put(originZone.getZoneType(), currentZone.getZoneType(), saHost);
-                            triggerList.triggerChangesZoneAll(game, sa);
+                            // Need to check if Zone did change
+                            if (currentZone != null && originZone != null && !currentZone.equals(originZone) && (sa.isSpell() || sa.isLandAbility())) {
+                                // currently there can be only one Spell put on the Stack at once, or Land Abilities be played
+                                triggerList.put(originZone.getZoneType(), currentZone.getZoneType(), saHost);
+                                triggerList.triggerChangesZoneAll(game, sa);
+                            }
                         }
-                    }
-                    // Don't copy last state if we're in the middle of rolling back a spell...
-                    if (!rollback) {
-                        game.copyLastState();
-                    }
-                    loopCount++;
-                } while (loopCount < 999 || !pPlayerPriority.getController().isAI());
+                        // Don't copy last state if we're in the middle of rolling back a spell...
+                        if (!rollback) {
+                            game.copyLastState();
+                        }
+                        loopCount++;
+                    } while (loopCount < 999 || !pPlayerPriority.getController().isAI());
 
-                if (loopCount >= 999 && pPlayerPriority.getController().isAI()) {
-                    System.out.print("AI looped too much with: " + chosenSa);
+                    if (loopCount >= 999 && pPlayerPriority.getController().isAI()) {
+                        System.out.print("AI looped too much with: " + chosenSa);
+                    }
                 }
 
                 if (DEBUG_PHASES) {
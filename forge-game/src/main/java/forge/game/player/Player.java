@@ -1632,13 +1632,18 @@ public class Player extends GameEntity implements Comparable<Player> {
             milled = GameActionUtil.orderCardsByTheirOwners(game, milled, ZoneType.Graveyard, sa);
         }
 
-        for (Card m : milled) {
-            Card moved = game.getAction().moveTo(destination, m, sa, params);
-            moved.setMilled(true);
+        game.getAction().startZoneChangeBatch();
+        try {
+            for (Card m : milled) {
+                Card moved = game.getAction().moveTo(destination, m, sa, params);
+                moved.setMilled(true);
 
-            final Map<AbilityKey, Object> runParams = AbilityKey.mapFromPlayer(this);
-            runParams.put(AbilityKey.Card, m);
-            game.getTriggerHandler().runTrigger(TriggerType.Milled, runParams, false);
+                final Map<AbilityKey, Object> runParams = AbilityKey.mapFromPlayer(this);
+                runParams.put(AbilityKey.Card, m);
+                game.getTriggerHandler().runTrigger(TriggerType.Milled, runParams, false);
+            }
+        } finally {
+            game.getAction().endZoneChangeBatch();
         }
 
         if (!milled.isEmpty()) {
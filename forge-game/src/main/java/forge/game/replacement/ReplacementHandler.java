@@ -217,6 +217,8 @@ public class ReplacementHandler {
         if (possibleReplacers.isEmpty()) {
             return ReplacementResult.NotReplaced;
         }
+        // choosing or applying a replacement may ask a player, show the moves of a running batch first
+        game.getAction().flushZoneChangeBatch();
 
         ReplacementEffect chosenRE;
         // "can't" is never a choice
@@ -33,6 +33,7 @@ import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
 import forge.game.card.*;
+import forge.game.metrics.GameMetrics;
 import forge.game.player.Player;
 import forge.game.spellability.AbilitySub;
 import forge.game.spellability.SpellAbility;
@@ -289,8 +290,10 @@ public class TriggerHandler {
         waitingTriggers.clear();
 
         boolean haveWaiting = false;
-        for (final TriggerWaiting wt : waiting) {
-            haveWaiting |= runWaitingTrigger(wt);
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.WAITING_TRIGGERS)) {
+            for (final TriggerWaiting wt : waiting) {
+                haveWaiting |= runWaitingTrigger(wt);
+            }
         }
 
         return haveWaiting;
@@ -314,6 +317,8 @@ public class TriggerHandler {
         // Static triggers
         for (final Trigger t : Lists.newArrayList(activeTriggers)) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
+                // static triggers resolve right away and may ask a player
+                game.getAction().flushZoneChangeBatch();
                 int x = 1 + StaticAbilityPanharmonicon.handlePanharmonicon(game, t, runParams);
 
                 for (int i = 0; i < x; ++i) {
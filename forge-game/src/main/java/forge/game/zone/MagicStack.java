@@ -32,6 +32,7 @@ import forge.game.event.*;
 import forge.game.keyword.Keyword;
 import forge.game.mana.Mana;
 import forge.game.mana.ManaRefundService;
+import forge.game.metrics.GameMetrics;
 import forge.game.player.Player;
 import forge.game.player.PlayerPredicates;
 import forge.game.spellability.AbilityStatic;
@@ -277,7 +278,9 @@ public class MagicStack /* extends MyObservable */ implements Iterable<SpellAbil
             runParams2.put(AbilityKey.SpellAbility, sp);
             game.getTriggerHandler().runTrigger(TriggerType.AbilityResolves, runParams2, false);
 
-            game.getGameLog().add(GameLogEntryType.MANA, source + " - " + sp.getDescription());
+            if (game.getGameLog().isLogged(GameLogEntryType.MANA)) {
+                game.getGameLog().add(GameLogEntryType.MANA, source + " - " + sp.getDescription());
+            }
             sp.resetOnceResolved();
             return;
         }
@@ -552,6 +555,11 @@ public class MagicStack /* extends MyObservable */ implements Iterable<SpellAbil
     }
 
     public final void resolveStack() {
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.RESOLVE_STACK)) {
+            doResolveStack();
+        }
+    }
+    private void doResolveStack() {
         // freeze the stack while we're in the middle of resolving
         freezeStack(null);
         setResolving(true);
@@ -0,0 +1,79 @@
+package forge.trackable;
+
+/**
+ * The objects of one {@link TrackableTypes.TrackableType type} a tracker knows, by id.
+ * <p>
+ * Ids are kept in an open addressed table, so looking an object up doesn't box its id. The UI can
+ * look objects up while the game thread adds them: a slot only ever holds a complete entry and a
+ * grown table is filled before it is published, so a reader finds the object or misses it, never
+ * another one.
+ */
+final class TrackableLookup {
+    private static final class Entry {
+        private final int id;
+        private final Object obj;
+
+        private Entry(final int id, final Object obj) {
+            this.id = id;
+            this.obj = obj;
+        }
+    }
+
+    private volatile Entry[] table = new Entry[16];
+    private int size;
+
+    Object get(final int id) {
+        final Entry[] t = table;
+        final int mask = t.length - 1;
+        Entry e;
+        for (int i = mix(id) & mask; (e = t[i]) != null; i = (i + 1) & mask) {
+            if (e.id == id) {
+                return e.obj;
+            }
+        }
+        return null;
+    }
+
+    void put(final int id, final Object obj) {
+        if (obj == null) {
+            throw new IllegalArgumentException("No object for id " + id);
+        }
+        Entry[] t = table;
+        if ((size + 1) * 4 > t.length * 3) {
+            final Entry[] grown = new Entry[t.length * 2];
+            for (final Entry e : t) {
+                if (e != null) {
+                    insert(grown, e);
+                }
+            }
+            table = grown;
+            t = grown;
+        }
+        if (insert(t, new Entry(id, obj))) {
+            size++;
+        }
+        // publish the new slot to readers of the same table
+        table = t;
+    }
+
+    // true if the id wasn't in the table yet
+    private static boolean insert(final Entry[] t, final Entry entry) {
+        final int mask = t.length - 1;
+        int i = mix(entry.id) & mask;
+        while (t[i] != null) {
+            if (t[i].id == entry.id) {
+                t[i] = entry;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        t[i] = entry;
+        return true;
+    }
+
+    // ids are mostly consecutive, spread them over the table
+    private static int mix(final int id) {
+        final int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
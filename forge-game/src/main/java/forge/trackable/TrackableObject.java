@@ -1,11 +1,7 @@
 package forge.trackable;
 
 import java.io.Serializable;
-import java.util.EnumMap;
-import java.util.EnumSet;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Arrays;
 
 import forge.game.IIdentifiable;
 
@@ -15,15 +11,15 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
 
     private final int id;
     protected transient Tracker tracker;
-    private final Map<TrackableProperty, Object> props;
-    private final Set<TrackableProperty> changedProps;
+    private final TrackablePropertyMap props;
+    // bits by property ordinal, null while nothing changed
+    private long[] changedProps;
     private boolean copyingProps;
 
     protected TrackableObject(final int id0, final Tracker tracker) {
         id = id0;
         this.tracker = tracker;
-        props = new EnumMap<>(TrackableProperty.class);
-        changedProps = EnumSet.noneOf(TrackableProperty.class);
+        props = new TrackablePropertyMap();
     }
 
     public final int getId() {
@@ -50,9 +46,8 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         return o.hashCode() == hashCode() && o.getClass().equals(getClass());
     }
 
-    // don't know if this is really needed, but don't know a better way
-    public <T> T getProps() {
-        return (T)props;
+    public final TrackablePropertyMap getProps() {
+        return props;
     }
 
     @SuppressWarnings("unchecked")
@@ -65,6 +60,15 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     }
 
     protected final <T> void set(final TrackableProperty key, final T value) {
+        if (tracker != null && tracker.isHeadless()) {
+            // nobody shows or serializes the view, it only has to hold the value
+            if (value == null || value.equals(key.getDefaultValue())) {
+                props.remove(key);
+            } else {
+                props.put(key, value);
+            }
+            return;
+        }
         if (tracker != null && tracker.isFrozen()) { //if trackable objects currently frozen, queue up delayed prop change
             boolean respectsFreeze = false;
             if (key.getFreezeMode() == TrackableProperty.FreezeMode.RespectsFreeze) {
@@ -79,20 +83,18 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         }
         if (value == null || value.equals(key.getDefaultValue())) {
             if (props.remove(key) != null) {
-                changedProps.add(key);
+                markChanged(key);
                 key.updateObjLookup(tracker, value);
             }
         }
         else if (!value.equals(props.put(key, value))) {
-            changedProps.add(key);
+            markChanged(key);
             key.updateObjLookup(tracker, value);
         }
     }
 
     public final void updateObjLookup() {
-        for (final Entry<TrackableProperty, Object> prop : props.entrySet()) {
-            prop.getKey().updateObjLookup(tracker, prop.getValue());
-        }
+        props.forEach((key, value) -> key.updateObjLookup(tracker, value));
     }
 
     /**
@@ -101,25 +103,77 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     public final void copyChangedProps(final TrackableObject from) {
         if (copyingProps) { return; } //prevent infinite loop from circular reference
         copyingProps = true;
-        for (final TrackableProperty prop : from.changedProps) {
-            prop.copyChangedProps(from, this);
+        final long[] changed = from.changedProps;
+        if (changed != null) {
+            for (int ordinal = nextChanged(changed, 0); ordinal >= 0; ordinal = nextChanged(changed, ordinal + 1)) {
+                TrackableProperty.deserialize(ordinal).copyChangedProps(from, this);
+            }
         }
         copyingProps = false;
     }
 
     //use when updating collection type properties with using set
     protected final void flagAsChanged(final TrackableProperty key) {
-        changedProps.add(key);
+        if (tracker != null && tracker.isHeadless()) {
+            return;
+        }
+        markChanged(key);
         key.updateObjLookup(tracker, props.get(key));
     }
 
+    private void markChanged(final TrackableProperty key) {
+        final int ordinal = key.ordinal();
+        if (changedProps == null) {
+            changedProps = new long[(TrackableProperty.values().length + 63) >>> 6];
+        }
+        changedProps[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    private void clearChangedProps() {
+        if (changedProps != null) {
+            Arrays.fill(changedProps, 0L);
+        }
+    }
+
+    private static int nextChanged(final long[] changed, final int from) {
+        int word = from >>> 6;
+        if (word >= changed.length) {
+            return -1;
+        }
+        long bits = changed[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == changed.length) {
+                return -1;
+            }
+            bits = changed[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Sets the properties whose update was put off while the tracker was frozen,
+     * see {@link Tracker#addPendingUpdate}. Called on the game thread.
+     */
+    protected void updatePendingProps() {
+    }
+
     public final void serialize(final TrackableSerializer ts) {
-        ts.write(changedProps.size());
-        for (TrackableProperty key : changedProps) {
-            ts.write(TrackableProperty.serialize(key));
-            key.serialize(ts, props.get(key));
+        final long[] changed = changedProps;
+        int count = 0;
+        if (changed != null) {
+            for (final long bits : changed) {
+                count += Long.bitCount(bits);
+            }
+        }
+        ts.write(count);
+        if (changed != null) {
+            for (int ordinal = nextChanged(changed, 0); ordinal >= 0; ordinal = nextChanged(changed, ordinal + 1)) {
+                TrackableProperty key = TrackableProperty.deserialize(ordinal);
+                ts.write(TrackableProperty.serialize(key));
+                key.serialize(ts, props.get(key));
+            }
         }
-        changedProps.clear();
+        clearChangedProps();
     }
 
     public final void deserialize(final TrackableDeserializer td) {
@@ -128,6 +182,6 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
             TrackableProperty key = TrackableProperty.deserialize(td.readInt());
             set(key, key.deserialize(td, props.get(key)));
         }
-        changedProps.clear();
+        clearChangedProps();
     }
 }
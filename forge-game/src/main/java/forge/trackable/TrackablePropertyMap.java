@@ -0,0 +1,123 @@
+package forge.trackable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * The property values of a {@link TrackableObject}.
+ * <p>
+ * Only the properties that are set take room: their ordinals are kept sorted in one array and their
+ * values at the same index in another, so a card view holding a few dozen properties doesn't carry
+ * a slot for every property there is.
+ * <p>
+ * The game thread writes while the UI reads, so the two arrays are never shifted in place: adding or
+ * removing a property publishes new ones, and a reader always works on one consistent pair. Changing
+ * the value of a property that is already set only replaces its slot, which can't move a value to
+ * another property.
+ */
+public final class TrackablePropertyMap implements Serializable {
+    private static final long serialVersionUID = -2207469420317163624L;
+
+    private static final class Entries implements Serializable {
+        private static final long serialVersionUID = 4906181404640398517L;
+
+        private final short[] keys;
+        private final Object[] values;
+
+        private Entries(final short[] keys, final Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private int indexOf(final TrackableProperty key) {
+            return Arrays.binarySearch(keys, (short) key.ordinal());
+        }
+    }
+
+    private static final Entries EMPTY = new Entries(new short[0], new Object[0]);
+
+    private volatile Entries entries = EMPTY;
+
+    public int size() {
+        return entries.keys.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Passes every property with its value, in the order of the properties.
+     */
+    public void forEach(final BiConsumer<TrackableProperty, Object> action) {
+        final Entries e = entries;
+        for (int i = 0; i < e.keys.length; i++) {
+            action.accept(TrackableProperty.deserialize(e.keys[i]), e.values[i]);
+        }
+    }
+
+    /**
+     * The values in the order of their properties, as they are now.
+     */
+    public List<Object> values() {
+        return Collections.unmodifiableList(Arrays.asList(entries.values.clone()));
+    }
+
+    public Object get(final TrackableProperty key) {
+        final Entries e = entries;
+        final int index = e.indexOf(key);
+        return index < 0 ? null : e.values[index];
+    }
+
+    /**
+     * @return the previous value, null if there was none
+     */
+    public Object put(final TrackableProperty key, final Object value) {
+        final Entries e = entries;
+        int index = e.indexOf(key);
+        if (index >= 0) {
+            final Object old = e.values[index];
+            e.values[index] = value;
+            return old;
+        }
+        index = -index - 1;
+        final int size = e.keys.length;
+        final short[] keys = new short[size + 1];
+        final Object[] values = new Object[size + 1];
+        System.arraycopy(e.keys, 0, keys, 0, index);
+        System.arraycopy(e.values, 0, values, 0, index);
+        System.arraycopy(e.keys, index, keys, index + 1, size - index);
+        System.arraycopy(e.values, index, values, index + 1, size - index);
+        keys[index] = (short) key.ordinal();
+        values[index] = value;
+        entries = new Entries(keys, values);
+        return null;
+    }
+
+    /**
+     * @return the removed value, null if there was none
+     */
+    public Object remove(final TrackableProperty key) {
+        final Entries e = entries;
+        final int index = e.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final int size = e.keys.length - 1;
+        if (size == 0) {
+            entries = EMPTY;
+            return e.values[index];
+        }
+        final short[] keys = new short[size];
+        final Object[] values = new Object[size];
+        System.arraycopy(e.keys, 0, keys, 0, index);
+        System.arraycopy(e.values, 0, values, 0, index);
+        System.arraycopy(e.keys, index + 1, keys, index, size - index);
+        System.arraycopy(e.values, index + 1, values, index, size - index);
+        entries = new Entries(keys, values);
+        return e.values[index];
+    }
+}
@@ -25,7 +25,18 @@ import forge.item.IPaperCard;
 
 public class TrackableTypes {
     public static abstract class TrackableType<T> {
+        private static int count;
+        // where the tracker keeps the objects of this type
+        private final int index;
+
         private TrackableType() {
+            synchronized (TrackableType.class) {
+                index = count++;
+            }
+        }
+
+        final int getIndex() {
+            return index;
         }
 
         protected void updateObjLookup(Tracker tracker, T newObj) {
@@ -1,23 +1,40 @@
 package forge.trackable;
 
+import java.util.Arrays;
 import java.util.List;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Table;
 
 import forge.trackable.TrackableTypes.TrackableType;
 
 public class Tracker {
     private int freezeCounter = 0;
+    private boolean headless = false;
     private final List<DelayedPropChange> delayedPropChanges = Lists.newArrayList();
+    private final List<TrackableObject> pendingUpdates = Lists.newArrayList();
 
-    private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
+    // by the index of the type, only ever replaced by a complete copy so other threads never see it half built
+    private volatile TrackableLookup[] objLookups = new TrackableLookup[0];
 
     public final boolean isFrozen() {
         return freezeCounter > 0;
     }
 
+    /**
+     * A headless tracker keeps property values but neither records their changes nor maintains the
+     * object lookup a GUI needs, see {@link forge.game.Game#setHeadless}.
+     */
+    public final boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Makes the tracker headless for good, what it skips can't be caught up on.
+     */
+    public void setHeadless() {
+        headless = true;
+    }
+
     public void freeze() {
         freezeCounter++;
     }
@@ -25,27 +42,58 @@ public class Tracker {
     // Note: objLookups exist on the tracker and not on the TrackableType because
     // TrackableType is global and Tracker is per game.
     @SuppressWarnings("unchecked")
-    public <T> T getObj(TrackableType<T> type, Integer id) {
-        return (T)objLookups.get(type, id);
+    public <T> T getObj(TrackableType<T> type, int id) {
+        final TrackableLookup lookup = getLookup(type, false);
+        return lookup == null ? null : (T)lookup.get(id);
+    }
+
+    public boolean hasObj(TrackableType<?> type, int id) {
+        return getObj(type, id) != null;
+    }
+
+    public <T> void putObj(TrackableType<T> type, int id, T val) {
+        getLookup(type, true).put(id, val);
     }
 
-    public boolean hasObj(TrackableType<?> type, Integer id) {
-        return objLookups.contains(type, id);
+    private TrackableLookup getLookup(final TrackableType<?> type, final boolean create) {
+        final int index = type.getIndex();
+        final TrackableLookup[] lookups = objLookups;
+        if (index < lookups.length && lookups[index] != null) {
+            return lookups[index];
+        }
+        return create ? addLookup(index) : null;
     }
 
-    public <T> void putObj(TrackableType<T> type, Integer id, T val) {
-        objLookups.put(type, id, val);
+    private synchronized TrackableLookup addLookup(final int index) {
+        TrackableLookup[] lookups = objLookups;
+        if (index < lookups.length && lookups[index] != null) {
+            return lookups[index];
+        }
+        lookups = Arrays.copyOf(lookups, Math.max(lookups.length, index + 1));
+        final TrackableLookup lookup = new TrackableLookup();
+        lookups[index] = lookup;
+        objLookups = lookups;
+        return lookup;
     }
 
     public void unfreeze() {
-        if (!isFrozen() || --freezeCounter > 0 || delayedPropChanges.isEmpty()) {
+        if (!isFrozen() || --freezeCounter > 0) {
             return;
         }
         //after being unfrozen, ensure all changes delayed during freeze are now applied
-        for (final DelayedPropChange change : delayedPropChanges) {
-            change.object.set(change.prop, change.value);
+        if (!delayedPropChanges.isEmpty()) {
+            for (final DelayedPropChange change : delayedPropChanges) {
+                change.object.set(change.prop, change.value);
+            }
+            delayedPropChanges.clear();
+        }
+        if (!pendingUpdates.isEmpty()) {
+            final List<TrackableObject> objects = Lists.newArrayList(pendingUpdates);
+            pendingUpdates.clear();
+            for (final TrackableObject object : objects) {
+                object.updatePendingProps();
+            }
         }
-        delayedPropChanges.clear();
     }
 
     public void flush() {
@@ -61,6 +109,14 @@ public class Tracker {
         delayedPropChanges.add(new DelayedPropChange(object, prop, value));
     }
 
+    /**
+     * Has the object compute the properties it put off while frozen once the tracker unfreezes,
+     * so they are computed once on the game thread instead of on every change.
+     */
+    public void addPendingUpdate(final TrackableObject object) {
+        pendingUpdates.add(object);
+    }
+
     public void clearDelayed() {
         delayedPropChanges.clear();
     }
@@ -0,0 +1,53 @@
+package forge.game;
+
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.game.event.GameEventRandomLog;
+
+public class GameLogTest {
+
+    @Test
+    public void testEntriesAboveLogLevelAreDropped() {
+        GameLog log = new GameLog();
+        log.setLogLevel(GameLogEntryType.COMBAT);
+        log.add(GameLogEntryType.TURN, "turn");
+        log.add(GameLogEntryType.PHASE, "phase");
+        log.getEventVisitor().recieve(new GameEventRandomLog("random"));
+
+        AssertJUnit.assertFalse(log.isLogged(GameLogEntryType.STACK_RESOLVE));
+        List<GameLogEntry> entries = log.getLogEntries(null);
+        AssertJUnit.assertEquals(1, entries.size());
+        AssertJUnit.assertEquals("turn", entries.get(0).getMessage());
+    }
+
+    @Test
+    public void testMaxEntriesKeepsLatest() {
+        GameLog log = new GameLog();
+        log.setMaxEntries(2);
+        log.add(GameLogEntryType.TURN, "1");
+        log.add(GameLogEntryType.TURN, "2");
+        log.add(GameLogEntryType.TURN, "3");
+
+        List<GameLogEntry> entries = log.getLogEntries(null);
+        AssertJUnit.assertEquals(2, entries.size());
+        AssertJUnit.assertEquals("3", entries.get(0).getMessage());
+        AssertJUnit.assertEquals("2", entries.get(1).getMessage());
+    }
+
+    @Test
+    public void testDeferredEntriesAreFormattedWhenRead() {
+        GameLog log = new GameLog();
+        log.setDeferFormatting(true);
+        log.add(GameLogEntryType.TURN, "turn");
+        log.getEventVisitor().recieve(new GameEventRandomLog("random"));
+
+        List<GameLogEntry> entries = log.getLogEntries(null);
+        AssertJUnit.assertEquals(2, entries.size());
+        AssertJUnit.assertEquals(GameLogEntryType.STACK_RESOLVE, entries.get(0).type);
+        AssertJUnit.assertEquals("random", entries.get(0).getMessage());
+        AssertJUnit.assertEquals("turn", entries.get(1).getMessage());
+    }
+}
@@ -0,0 +1,126 @@
+package forge.game.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+public class EventDispatcherTest {
+
+    private static class NamedEvent extends Event {
+        final String name;
+        NamedEvent(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Recorder {
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Subscribe
+        public void receiveNamed(NamedEvent ev) {
+            received.add(ev.name);
+        }
+
+        @Subscribe
+        public void receiveGameEvent(GameEvent ev) {
+            received.add(ev.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void testEventsReachMatchingSubscriberMethods() {
+        EventDispatcher events = new EventDispatcher("test");
+        Recorder recorder = new Recorder();
+        events.register(recorder);
+
+        events.post(new NamedEvent("a"));
+        events.post(new GameEventFlipCoin());
+
+        AssertJUnit.assertEquals(List.of("a", "GameEventFlipCoin"), recorder.received);
+        AssertJUnit.assertTrue(events.hasSubscribers(GameEventShuffle.class));
+    }
+
+    @Test
+    public void testNoSubscribers() {
+        EventDispatcher events = new EventDispatcher("test");
+        AssertJUnit.assertFalse(events.hasSubscribers(NamedEvent.class));
+        events.post(new NamedEvent("ignored"));
+
+        List<String> seen = new ArrayList<>();
+        events.subscribe(NamedEvent.class, ev -> seen.add(ev.name));
+        AssertJUnit.assertFalse(events.hasSubscribers(GameEventFlipCoin.class));
+        events.post(new NamedEvent("b"));
+        AssertJUnit.assertEquals(List.of("b"), seen);
+    }
+
+    @Test
+    public void testEventsPostedByHandlerAreDeliveredAfterCurrentOne() {
+        EventDispatcher events = new EventDispatcher("test");
+        List<String> seen = new ArrayList<>();
+        events.subscribe(NamedEvent.class, ev -> {
+            seen.add("first " + ev.name);
+            if (ev.name.equals("outer")) {
+                events.post(new NamedEvent("inner"));
+            }
+        });
+        events.subscribe(NamedEvent.class, ev -> seen.add("second " + ev.name));
+
+        events.post(new NamedEvent("outer"));
+
+        AssertJUnit.assertEquals(List.of("first outer", "second outer", "first inner", "second inner"), seen);
+    }
+
+    @Test
+    public void testFailingSubscriberDoesNotStopOthers() {
+        EventDispatcher events = new EventDispatcher("test");
+        List<String> seen = new ArrayList<>();
+        events.subscribe(NamedEvent.class, ev -> {
+            throw new IllegalStateException("expected by test");
+        });
+        events.subscribe(NamedEvent.class, ev -> seen.add(ev.name));
+
+        events.post(new NamedEvent("c"));
+
+        AssertJUnit.assertEquals(List.of("c"), seen);
+    }
+
+    @Test
+    public void testPostFromAnotherThreadWaitsForCurrentDelivery() throws InterruptedException {
+        EventDispatcher events = new EventDispatcher("test");
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch inHandler = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        events.subscribe(NamedEvent.class, ev -> {
+            seen.add("start " + ev.name);
+            if (ev.name.equals("first")) {
+                inHandler.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            seen.add("end " + ev.name);
+        });
+
+        Thread first = new Thread(() -> events.post(new NamedEvent("first")));
+        first.start();
+        AssertJUnit.assertTrue(inHandler.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> events.post(new NamedEvent("second")));
+        second.start();
+        second.join(200);
+        AssertJUnit.assertEquals(List.of("start first"), seen);
+
+        release.countDown();
+        first.join();
+        second.join();
+        AssertJUnit.assertEquals(List.of("start first", "end first", "start second", "end second"), seen);
+    }
+}
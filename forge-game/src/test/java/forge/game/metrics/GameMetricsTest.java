@@ -0,0 +1,84 @@
+package forge.game.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class GameMetricsTest {
+
+    @AfterMethod
+    public void disable() {
+        GameMetrics.setEnabled(false);
+        GameMetrics.setRecorder(null);
+        GameMetrics.reset();
+    }
+
+    @Test
+    public void testNothingIsRecordedWhileDisabled() {
+        GameMetrics.setEnabled(false);
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.STATE_EFFECTS)) {
+            GameMetrics.increment("Turns");
+        }
+        AssertJUnit.assertEquals(0, GameMetrics.getHistogram(GameMetrics.Section.STATE_EFFECTS).getCount());
+        AssertJUnit.assertEquals(0, GameMetrics.getCounter("Turns"));
+    }
+
+    @Test
+    public void testSpansAndCountersAreRecorded() {
+        GameMetrics.setEnabled(true);
+        for (int i = 0; i < 3; i++) {
+            try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.RESOLVE_STACK)) {
+                GameMetrics.increment("Turns");
+            }
+        }
+        AssertJUnit.assertEquals(3, GameMetrics.getHistogram(GameMetrics.Section.RESOLVE_STACK).getCount());
+        AssertJUnit.assertEquals(3, GameMetrics.getCounter("Turns"));
+        String summary = GameMetrics.getSummary();
+        AssertJUnit.assertTrue(summary.contains("Stack resolution"));
+        AssertJUnit.assertFalse(summary.contains("Game copy"));
+    }
+
+    @Test
+    public void testRecorderSeesSectionsWhileMetricsAreOff() {
+        final List<String> seen = new ArrayList<>();
+        GameMetrics.setRecorder(new SectionRecorder() {
+            @Override
+            public Object begin(GameMetrics.Section section) {
+                seen.add("begin " + section);
+                return section == GameMetrics.Section.GAME_COPY ? null : section;
+            }
+
+            @Override
+            public void end(Object token) {
+                seen.add("end " + token);
+            }
+        });
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.RESOLVE_STACK)) {
+            seen.add("inside");
+        }
+        try (GameMetrics.Span span = GameMetrics.begin(GameMetrics.Section.GAME_COPY)) {
+            seen.add("not recorded");
+        }
+        AssertJUnit.assertEquals(List.of("begin RESOLVE_STACK", "inside", "end RESOLVE_STACK",
+                "begin GAME_COPY", "not recorded"), seen);
+        AssertJUnit.assertEquals(0, GameMetrics.getHistogram(GameMetrics.Section.RESOLVE_STACK).getCount());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        Histogram h = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            h.record(i * 1000L);
+        }
+        AssertJUnit.assertEquals(100, h.getCount());
+        AssertJUnit.assertEquals(100000, h.getMaxNanos());
+        AssertJUnit.assertEquals(50500.0, h.getMeanNanos(), 0.001);
+        // power of two buckets, the estimate is at most twice the real value
+        long p50 = h.getPercentileNanos(0.5);
+        AssertJUnit.assertTrue(p50 >= 50000 && p50 < 100000);
+        AssertJUnit.assertEquals(100000, h.getPercentileNanos(1.0));
+    }
+}
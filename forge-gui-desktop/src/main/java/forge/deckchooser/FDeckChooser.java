@@ -317,6 +317,9 @@ public class FDeckChooser extends JPanel implements IDecksComboBoxListener {
             lstDecksContainer = new ItemManagerContainer(lstDecks);
             decksComboBox.addListener(this);
             restoreSavedState();
+            if (!FModel.isdeckGenMatrixLoaded()) {
+                FModel.whenDeckGenMatrixDone(this::deckGenMatrixDone);
+            }
         } else {
             removeAll();
         }
@@ -331,6 +334,20 @@ public class FDeckChooser extends JPanel implements IDecksComboBoxListener {
         }
     }
 
+    // the deck types built from the matrices can be chosen once they are loaded
+    private void deckGenMatrixDone() {
+        if (!FModel.isdeckGenMatrixLoaded()) {
+            return;
+        }
+        if (selectedDeckType != null && selectedDeckType.usesDeckGenMatrix()) {
+            refreshDecksList(selectedDeckType, true, null);
+        } else {
+            refreshingDeckType = true;
+            decksComboBox.refresh(selectedDeckType, isForCommander);
+            refreshingDeckType = false;
+        }
+    }
+
     public final boolean isAi() {
         return isAi;
     }
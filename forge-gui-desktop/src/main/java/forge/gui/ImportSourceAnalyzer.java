@@ -571,6 +571,25 @@ public class ImportSourceAnalyzer {
                     }
                 }
             }
+
+            @Override
+            boolean onDir(final File dir) {
+                // the .dat of a sectioned save only names the files in here
+                if (!StringUtils.endsWithIgnoreCase(dir.getName(), ".sections")) {
+                    return false;
+                }
+                final File targetDir = new File(ForgeConstants.QUEST_SAVE_DIR, lcaseExt(dir.getName()));
+                final File[] files = dir.listFiles();
+                if (files != null && !dir.equals(targetDir)) {
+                    for (final File file : files) {
+                        if (file.isFile()) {
+                            ++numFilesAnalyzed;
+                            cb.addOp(OpType.QUEST_DATA, file, new File(targetDir, file.getName()));
+                        }
+                    }
+                }
+                return true;
+            }
         });
     }
 
@@ -93,19 +93,11 @@ public enum VSubmenuGauntletQuick implements IVSubmenu<CSubmenuGauntletQuick> {
         boxThemeDecks.setSelected(true);
         boxColorDecks.setSelected(true);
         boxStandardColorDecks.setSelected(true);
-        if(FModel.isdeckGenMatrixLoaded()) {
-            boxStandardCardgenDecks.setSelected(true);
-            boxPioneerCardgenDecks.setSelected(true);
-            boxModernCardgenDecks.setSelected(true);
-            boxLegacyCardgenDecks.setSelected(true);
-            boxVintageCardgenDecks.setSelected(true);
-        }else{
-            boxStandardCardgenDecks.setSelected(false);
-            boxPioneerCardgenDecks.setSelected(false);
-            boxModernCardgenDecks.setSelected(false);
-            boxLegacyCardgenDecks.setSelected(false);
-            boxVintageCardgenDecks.setSelected(false);
-        }
+        boxStandardCardgenDecks.setSelected(false);
+        boxPioneerCardgenDecks.setSelected(false);
+        boxModernCardgenDecks.setSelected(false);
+        boxLegacyCardgenDecks.setSelected(false);
+        boxVintageCardgenDecks.setSelected(false);
         boxModernColorDecks.setSelected(true);
         boxPauperColorDecks.setSelected(true);
 
@@ -129,16 +121,24 @@ public enum VSubmenuGauntletQuick implements IVSubmenu<CSubmenuGauntletQuick> {
         pnlOptions.add(boxQuestDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
         pnlOptions.add(boxThemeDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
         pnlOptions.add(boxColorDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-        if(FModel.isdeckGenMatrixLoaded()) {
-            pnlOptions.add(boxStandardCardgenDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-            pnlOptions.add(boxPioneerCardgenDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-            pnlOptions.add(boxModernCardgenDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-            pnlOptions.add(boxLegacyCardgenDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-            pnlOptions.add(boxVintageCardgenDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
-        }
         pnlOptions.add(boxStandardColorDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
         pnlOptions.add(boxModernColorDecks, "w 96%!, h 30px!, gap 2% 0 0 5px");
         pnlOptions.add(boxPauperColorDecks, "w 96%!, h 30px!, gap 2% 0 0 0");
+        FModel.whenDeckGenMatrixDone(this::addCardgenDecks);
+    }
+
+    // the matrices these decks are built from load after startup
+    private void addCardgenDecks() {
+        if (!FModel.isdeckGenMatrixLoaded()) {
+            return;
+        }
+        int index = pnlOptions.getComponentZOrder(boxColorDecks);
+        for (final JCheckBox box : new JCheckBox[] {boxStandardCardgenDecks, boxPioneerCardgenDecks,
+                boxModernCardgenDecks, boxLegacyCardgenDecks, boxVintageCardgenDecks}) {
+            box.setSelected(true);
+            pnlOptions.add(box, "w 96%!, h 30px!, gap 2% 0 0 5px", ++index);
+        }
+        pnlOptions.revalidate();
     }
 
     public void updateDeckPanel() {
@@ -3,7 +3,6 @@ package forge.screens.home.quest;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.event.MouseEvent;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -16,8 +15,8 @@ import javax.swing.border.Border;
 
 import forge.gamemodes.quest.QuestUtil;
 import forge.gamemodes.quest.data.QuestData;
+import forge.gamemodes.quest.io.QuestDataIO;
 import forge.gui.UiCommand;
-import forge.localinstance.properties.ForgeConstants;
 import forge.localinstance.skin.FSkinProp;
 import forge.model.FModel;
 import forge.toolbox.FLabel;
@@ -124,7 +123,7 @@ public class QuestFileLister extends JPanel {
             row.add(new FLabel.Builder().text(Localizer.getInstance().getMessage("lblXWinOfYLost", qd.getAchievements().getWin(), qd.getAchievements().getLost()))
                     .fontAlign(SwingConstants.RIGHT).build(), "h 20px!, gaptop 5px, gapleft 4px, gapright 5px, cell 4 0 1 1, align right");
 
-			FLabel cardsLabel = new FLabel.Builder().text(String.valueOf(qd.getAssets().getCardPool().countAll()))
+			FLabel cardsLabel = new FLabel.Builder().text(String.valueOf(qd.getAssets().getCardCount()))
 					.fontAlign(SwingConstants.LEFT)
 					.fontSize(12)
 					.icon(FSkin.getImage(FSkinProp.IMG_ZONE_HAND))
@@ -383,8 +382,7 @@ public class QuestFileLister extends JPanel {
             return;
         }
 
-        new File(ForgeConstants.QUEST_SAVE_DIR, r0.getQuestData().getName() + ".dat").delete();
-        new File(ForgeConstants.QUEST_SAVE_DIR, r0.getQuestData().getName() + ".dat.bak").delete();
+        QuestDataIO.deleteSaveFiles(r0.getQuestData().getName());
 
         if (cmdRowDelete != null) { cmdRowDelete.run(); }
 
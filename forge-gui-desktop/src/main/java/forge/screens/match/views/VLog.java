@@ -187,7 +187,7 @@ public class VLog implements IVDoc<CLog> {
     private void addNewLogEntriesToJPanel(final List<GameLogEntry> newLogEntries) {
         for (final GameLogEntry logEntry : newLogEntries) {
             gameLog.setTextFont(getJTextAreaFont(logEntry.type));
-            gameLog.addLogEntry(logEntry.message);
+            gameLog.addLogEntry(logEntry.getMessage());
             this.displayedLogEntries.add(logEntry);
         }
     }
@@ -0,0 +1,119 @@
+package forge.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import forge.game.metrics.GameMetrics.Section;
+import forge.game.metrics.SectionRecorder;
+
+/**
+ * Records the measured game sections as Flight Recorder events (category "Forge") whenever a
+ * recording with those events is running, e.g. with -XX:StartFlightRecording. Desktop only,
+ * jdk.jfr doesn't exist on Android and iOS.
+ */
+public final class JfrSectionRecorder implements SectionRecorder {
+    private final EventType[] types = new EventType[Section.values().length];
+
+    /**
+     * @return the started event, null unless a recording wants events of this section
+     */
+    @Override
+    public Object begin(final Section section) {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        EventType type = types[section.ordinal()];
+        if (type == null) {
+            type = EventType.getEventType(eventClass(section));
+            types[section.ordinal()] = type;
+        }
+        if (!type.isEnabled()) {
+            return null;
+        }
+        final Event event = newEvent(section);
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void end(final Object event) {
+        ((Event) event).commit();
+    }
+
+    private static Class<? extends Event> eventClass(final Section section) {
+        return newEvent(section).getClass();
+    }
+
+    private static Event newEvent(final Section section) {
+        switch (section) {
+            case PRIORITY: return new Priority();
+            case STATE_EFFECTS: return new StateEffects();
+            case STATIC_ABILITIES: return new StaticAbilities();
+            case WAITING_TRIGGERS: return new WaitingTriggers();
+            case RESOLVE_STACK: return new ResolveStack();
+            case AI_CHOOSE_SPELL: return new AiChooseSpell();
+            case GAME_COPY: return new GameCopy();
+            default: throw new IllegalArgumentException(section.name());
+        }
+    }
+
+    @Name("forge.Priority")
+    @Label("Priority")
+    @Category("Forge")
+    @Description("A player holding priority until they pass, including the spells and abilities they play")
+    @StackTrace(false)
+    static final class Priority extends Event {
+    }
+
+    @Name("forge.StateEffects")
+    @Label("State-Based Actions")
+    @Category("Forge")
+    @StackTrace(false)
+    static final class StateEffects extends Event {
+    }
+
+    @Name("forge.StaticAbilities")
+    @Label("Static Abilities")
+    @Category("Forge")
+    @Description("Reapplying the continuous effects of all static abilities")
+    @StackTrace(false)
+    static final class StaticAbilities extends Event {
+    }
+
+    @Name("forge.WaitingTriggers")
+    @Label("Waiting Triggers")
+    @Category("Forge")
+    @Description("Matching the held back trigger events against the active triggers")
+    @StackTrace(false)
+    static final class WaitingTriggers extends Event {
+    }
+
+    @Name("forge.ResolveStack")
+    @Label("Stack Resolution")
+    @Category("Forge")
+    @StackTrace(false)
+    static final class ResolveStack extends Event {
+    }
+
+    @Name("forge.AiChooseSpell")
+    @Label("AI Spell Choice")
+    @Category({ "Forge", "AI" })
+    @Description("The AI deciding what to play when it gets priority")
+    @StackTrace(false)
+    static final class AiChooseSpell extends Event {
+    }
+
+    @Name("forge.GameCopy")
+    @Label("Game Copy")
+    @Category({ "Forge", "AI" })
+    @Description("Copying the game for an AI simulation")
+    @StackTrace(false)
+    static final class GameCopy extends Event {
+    }
+}
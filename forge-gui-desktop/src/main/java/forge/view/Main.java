@@ -20,9 +20,11 @@ package forge.view;
 import forge.GuiDesktop;
 import forge.Singletons;
 import forge.error.ExceptionHandler;
+import forge.game.metrics.GameMetrics;
 import forge.gui.GuiBase;
 import forge.gui.card.CardReaderExperiments;
 import forge.util.BuildInfo;
+import forge.util.JfrSectionRecorder;
 import io.sentry.Sentry;
 
 /**
@@ -56,6 +58,9 @@ public final class Main {
         //setup GUI interface
         GuiBase.setInterface(new GuiDesktop());
 
+        //report the engine sections to Flight Recorder recordings
+        GameMetrics.setRecorder(new JfrSectionRecorder());
+
         //install our error handler
         ExceptionHandler.registerErrorHandling();
 
@@ -23,6 +23,7 @@ import forge.game.GameLogEntryType;
 import forge.game.GameRules;
 import forge.game.GameType;
 import forge.game.Match;
+import forge.game.metrics.GameMetrics;
 import forge.game.player.RegisteredPlayer;
 import forge.gamemodes.tournament.system.AbstractTournament;
 import forge.gamemodes.tournament.system.TournamentBracket;
@@ -85,6 +86,7 @@ public class SimulateMatch {
         }
 
         boolean outputGamelog = !params.containsKey("q");
+        GameMetrics.setEnabled(params.containsKey("s"));
 
         GameType type = GameType.Constructed;
         if (params.containsKey("f")) {
@@ -158,7 +160,7 @@ public class SimulateMatch {
     }
 
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q -s");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -169,6 +171,7 @@ public class SimulateMatch {
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
+        System.out.println("\ts - Statistics flag. Output the time spent in the parts of the game engine after each game.");
     }
 
     public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
@@ -176,6 +179,11 @@ public class SimulateMatch {
         sw.start();
 
         final Game g1 = mc.createGame();
+        // nobody watches simulated games
+        g1.setHeadless(true);
+        if (!outputGamelog) {
+            g1.getGameLog().setLogLevel(GameLogEntryType.MATCH_RESULTS);
+        }
         // will run match in the same thread
         try {
             TimeLimitedCodeBlock.runWithTimeout(() -> {
@@ -212,6 +220,11 @@ public class SimulateMatch {
         } else {
             System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
         }
+
+        if (GameMetrics.isEnabled()) {
+            System.out.println(GameMetrics.getSummary());
+            GameMetrics.reset();
+        }
     }
 
     private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog) {
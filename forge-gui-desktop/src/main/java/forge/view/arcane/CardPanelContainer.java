@@ -23,7 +23,9 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 
@@ -46,7 +48,10 @@ public abstract class CardPanelContainer extends SkinnedPanel {
     private static final long serialVersionUID = -6400018234895548306L;
     private static final int DRAG_SMUDGE = 10;
 
-    private final List<CardPanel> cardPanels = new ArrayList<>();
+    private final CardPanelList cardPanels = new CardPanelList();
+    // panels by card id, rebuilt when the list changed since
+    private final Map<Integer, CardPanel> panelsById = new HashMap<>();
+    private int panelsByIdModCount = -1;
     private final CMatchUI matchUI;
     private final FScrollPane scrollPane;
 
@@ -277,12 +282,20 @@ public abstract class CardPanelContainer extends SkinnedPanel {
     }
 
     public final CardPanel getCardPanel(final int gameCardID) {
-        for (final CardPanel panel : this.getCardPanels()) {
-            if (panel.getCard().getId() == gameCardID) {
-                return panel;
+        CardPanel panel = panelsById.get(gameCardID);
+        if (panelsByIdModCount != cardPanels.getModCount()
+                || (panel != null && (panel.getCard() == null || panel.getCard().getId() != gameCardID))) {
+            // panels were added or removed, or a panel shows another card now
+            panelsById.clear();
+            for (final CardPanel p : cardPanels) {
+                if (p.getCard() != null) {
+                    panelsById.putIfAbsent(p.getCard().getId(), p);
+                }
             }
+            panelsByIdModCount = cardPanels.getModCount();
+            panel = panelsById.get(gameCardID);
         }
-        return null;
+        return panel;
     }
 
     public final void removeCardPanel(final CardPanel fromPanel) {
@@ -458,6 +471,15 @@ public abstract class CardPanelContainer extends SkinnedPanel {
         }
     }
 
+    // lets the id index tell when the panels were added or removed
+    private static final class CardPanelList extends ArrayList<CardPanel> {
+        private static final long serialVersionUID = 2961538170219254867L;
+
+        private int getModCount() {
+            return modCount;
+        }
+    }
+
     public interface LayoutEventListener {
         void doingLayout();
     }
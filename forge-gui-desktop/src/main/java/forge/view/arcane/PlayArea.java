@@ -23,12 +23,21 @@ import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import com.google.common.collect.Lists;
 
 import forge.game.card.CardView;
 import forge.game.card.CardView.CardStateView;
+import forge.game.card.CounterType;
 import forge.game.player.PlayerView;
 import forge.game.zone.ZoneType;
 import forge.gui.FThreads;
@@ -78,8 +87,25 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
     private boolean makeTokenRow = true;
     private boolean stackCreatures = false;
 
+    private final boolean incrementalLayout;
+    // the stacks of each group and the cards they were made of, reused while those look the same
+    private final Map<RowGroup, List<StackKey>> groupKeys = new EnumMap<>(RowGroup.class);
+    private final Map<RowGroup, CardStackRow> groupRows = new EnumMap<>(RowGroup.class);
+    // what moved or went away since the last repaint
+    private Rectangle dirtyRegion;
+
     public PlayArea(final CMatchUI matchUI, final FScrollPane scrollPane, final boolean mirror, final PlayerView player, final ZoneType zone) {
+        this(matchUI, scrollPane, mirror, player, zone, true);
+    }
+
+    /**
+     * @param incrementalLayout whether the rows built from card panels are kept while their cards look the same,
+     * without it every layout stacks all the cards again and repaints the whole area
+     */
+    public PlayArea(final CMatchUI matchUI, final FScrollPane scrollPane, final boolean mirror, final PlayerView player, final ZoneType zone,
+            final boolean incrementalLayout) {
         super(matchUI, scrollPane);
+        this.incrementalLayout = incrementalLayout;
         this.setBackground(Color.white);
         this.mirror = mirror;
         this.model = player;
@@ -88,16 +114,16 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
         this.stackCreatures = FModel.getPreferences().getPrefBoolean(FPref.UI_STACK_CREATURES);
     }
 
-    private CardStackRow collectAllLands() {
+    private CardStackRow collectAllLands(final List<StackKey> keys) {
         final CardStackRow allLands = new CardStackRow();
+        final List<StackKey> firstKeys = new ArrayList<>();
 
         outerLoop:
         //
-        for (final CardPanel panel : this.getCardPanels()) {
-            final CardView card = panel.getCard();
-            final CardStateView state = card.getCurrentState();
+        for (final StackKey key : keys) {
+            final CardPanel panel = key.panel;
 
-            if (!state.isLand() || state.isCreature()) {
+            if (!key.land || key.creature) {
                 continue;
             }
 
@@ -106,17 +132,17 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             // Find lands with the same name.
             for (int i = 0, n = allLands.size(); i < n; i++) {
                 final CardStack stack = allLands.get(i);
-                final CardPanel firstPanel = stack.get(0);
-                if (firstPanel.getCard().getCurrentState().getName().equals(state.getName())) {
-                    if (!firstPanel.getAttachedPanels().isEmpty() || firstPanel.getCard().hasCardAttachments()) {
+                final StackKey firstKey = firstKeys.get(i);
+                if (firstKey.stateName.equals(key.stateName)) {
+                    if (!firstKey.attachedPanels.isEmpty() || firstKey.hasCardAttachments) {
                         // Put this land to the left of lands with the same name
                         // and attachments.
                         insertIndex = i;
                         break;
                     }
-                    if (!panel.getAttachedPanels().isEmpty()
-                            || !panel.getCard().hasSameCounters(firstPanel.getCard())
-                            || firstPanel.getCard().hasCardAttachments() || (stack.size() == this.landStackMax)) {
+                    if (!key.attachedPanels.isEmpty()
+                            || !Objects.equals(key.counters, firstKey.counters)
+                            || firstKey.hasCardAttachments || (stack.size() == this.landStackMax)) {
                         // If this land has attachments or the stack is full,
                         // put it to the right.
                         insertIndex = i + 1;
@@ -124,6 +150,7 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
                     }
                     // Add to stack.
                     stack.add(0, panel);
+                    firstKeys.set(i, key);
                     continue outerLoop;
                 }
                 if (insertIndex != -1) {
@@ -133,20 +160,22 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
 
             final CardStack stack = new CardStack();
             stack.add(panel);
-            allLands.add(insertIndex == -1 ? allLands.size() : insertIndex, stack);
+            insertIndex = insertIndex == -1 ? allLands.size() : insertIndex;
+            allLands.add(insertIndex, stack);
+            firstKeys.add(insertIndex, key);
         }
         return allLands;
     }
 
-    private CardStackRow collectAllTokens() {
+    private CardStackRow collectAllTokens(final List<StackKey> keys) {
         final CardStackRow allTokens = new CardStackRow();
+        final List<StackKey> firstKeys = new ArrayList<>();
         outerLoop:
         //
-        for (final CardPanel panel : this.getCardPanels()) {
-            final CardView card = panel.getCard();
-            final CardStateView state = card.getCurrentState();
+        for (final StackKey key : keys) {
+            final CardPanel panel = key.panel;
 
-            if (!card.isToken()) {
+            if (!key.token) {
                 continue;
             }
 
@@ -155,22 +184,21 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             // Find tokens with the same name.
             for (int i = 0, n = allTokens.size(); i < n; i++) {
                 final CardStack stack = allTokens.get(i);
-                final CardPanel firstPanel = stack.get(0);
-                final CardView firstCard = firstPanel.getCard();
+                final StackKey firstKey = firstKeys.get(i);
 
-                if (firstPanel.getCard().getCurrentState().getName().equals(state.getName())) {
-                    if (!firstPanel.getAttachedPanels().isEmpty()) {
+                if (firstKey.stateName.equals(key.stateName)) {
+                    if (!firstKey.attachedPanels.isEmpty()) {
                         // Put this token to the left of tokens with the same
                         // name and attachments.
                         insertIndex = i;
                         break;
                     }
 
-                    if (!panel.getAttachedPanels().isEmpty()
-                            || !card.hasSameCounters(firstPanel.getCard())
-                            || (card.isSick() != firstCard.isSick())
-                            || !card.hasSamePT(firstCard)
-                            || !(card.getText().equals(firstCard.getText()))
+                    if (!key.attachedPanels.isEmpty()
+                            || !Objects.equals(key.counters, firstKey.counters)
+                            || (key.sick != firstKey.sick)
+                            || !key.hasSamePT(firstKey)
+                            || !(key.text.equals(firstKey.text))
                             || (stack.size() == tokenStackMax)) {
                         // If this token has attachments or the stack is full,
                         // put it to the right.
@@ -179,6 +207,7 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
                     }
                     // Add to stack.
                     stack.add(0, panel);
+                    firstKeys.set(i, key);
                     continue outerLoop;
                 }
                 if (insertIndex != -1) {
@@ -188,19 +217,21 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
 
             final CardStack stack = new CardStack();
             stack.add(panel);
-            allTokens.add(insertIndex == -1 ? allTokens.size() : insertIndex, stack);
+            insertIndex = insertIndex == -1 ? allTokens.size() : insertIndex;
+            allTokens.add(insertIndex, stack);
+            firstKeys.add(insertIndex, key);
         }
         return allTokens;
     }
 
-    private CardStackRow collectAllCreatures() {
+    private CardStackRow collectAllCreatures(final List<StackKey> keys) {
         final CardStackRow allCreatures = new CardStackRow();
+        final List<StackKey> firstKeys = new ArrayList<>();
         outerLoop:
         //
-        for (final CardPanel panel : this.getCardPanels()) {
-            final CardView card = panel.getCard();
-            final CardStateView state = card.getCurrentState();
-            if (!state.isCreature() || card.isToken()) {
+        for (final StackKey key : keys) {
+            final CardPanel panel = key.panel;
+            if (!key.creature || key.token) {
                 continue;
             }
 
@@ -209,20 +240,19 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             // Find creatures with the same name.
             for (int i = 0, n = allCreatures.size(); i < n; i++) {
                 final CardStack stack = allCreatures.get(i);
-                final CardPanel firstPanel = stack.get(0);
-                final CardView firstCard = firstPanel.getCard();
-                if (firstCard.getName().equals(card.getName())) {
-                    if (!firstPanel.getAttachedPanels().isEmpty()) {
+                final StackKey firstKey = firstKeys.get(i);
+                if (firstKey.name.equals(key.name)) {
+                    if (!firstKey.attachedPanels.isEmpty()) {
                         // Put this creature to the left of creatures with the same
                         // name and attachments.
                         insertIndex = i;
                         break;
                     }
-                    if (!panel.getAttachedPanels().isEmpty()
-                            || card.isCloned()
-                            || !card.hasSameCounters(firstCard)
-                            || (card.isSick() != firstCard.isSick())
-                            || !card.hasSamePT(firstCard)
+                    if (!key.attachedPanels.isEmpty()
+                            || key.cloned
+                            || !Objects.equals(key.counters, firstKey.counters)
+                            || (key.sick != firstKey.sick)
+                            || !key.hasSamePT(firstKey)
                             || (stack.size() == creatureStackMax)) {
                         // If this creature has attachments or the stack is full,
                         // put it to the right.
@@ -231,6 +261,7 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
                     }
                     // Add to stack.
                     stack.add(0, panel);
+                    firstKeys.set(i, key);
                     continue outerLoop;
                 }
                 if (insertIndex != -1) {
@@ -240,7 +271,9 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
 
             final CardStack stack = new CardStack();
             stack.add(panel);
-            allCreatures.add(insertIndex == -1 ? allCreatures.size() : insertIndex, stack);
+            insertIndex = insertIndex == -1 ? allCreatures.size() : insertIndex;
+            allCreatures.add(insertIndex, stack);
+            firstKeys.add(insertIndex, key);
         }
         return allCreatures;
     }
@@ -261,13 +294,20 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
         this.playAreaWidth = rect.width;
         this.playAreaHeight = rect.height;
 
-        final CardStackRow lands = collectAllLands();
-        final CardStackRow tokens = collectAllTokens();
-        CardStackRow creatures = new CardStackRow(this.getCardPanels(), RowType.CreatureNonToken);
-        final CardStackRow others = new CardStackRow(this.getCardPanels(), RowType.Other);
+        final List<StackKey> keys = new ArrayList<>(this.getCardPanels().size());
+        for (final CardPanel panel : this.getCardPanels()) {
+            keys.add(new StackKey(panel));
+        }
+        final Set<RowGroup> rebuilt = EnumSet.noneOf(RowGroup.class);
+        final CardStackRow lands = collectRow(RowGroup.Lands, keys, rebuilt, this::collectAllLands);
+        final CardStackRow tokens = collectRow(RowGroup.Tokens, keys, rebuilt, this::collectAllTokens);
+        CardStackRow creatures = collectRow(RowGroup.Creatures, keys, rebuilt,
+                members -> new CardStackRow(this.getCardPanels(), RowType.CreatureNonToken));
+        final CardStackRow others = collectRow(RowGroup.Others, keys, rebuilt,
+                members -> new CardStackRow(this.getCardPanels(), RowType.Other));
 
         if (stackCreatures) {
-            final CardStackRow collectedCreatures = collectAllCreatures();
+            final CardStackRow collectedCreatures = collectRow(RowGroup.StackedCreatures, keys, rebuilt, this::collectAllCreatures);
             if (!collectedCreatures.isEmpty()) {
                 creatures = collectedCreatures;
             }
@@ -327,14 +367,67 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             y = rowBottom;
             maxRowWidth = Math.max(maxRowWidth, x);
         }
-        this.setPreferredSize(new Dimension(maxRowWidth - this.cardSpacingX, y - this.cardSpacingY));
+        final Dimension preferredSize = new Dimension(maxRowWidth - this.cardSpacingX, y - this.cardSpacingY);
+        final boolean resized = !preferredSize.equals(this.getPreferredSize());
+        this.setPreferredSize(preferredSize);
         this.revalidate();
         positionAllCards(lastTemplate);
-        repaint();
+        if (resized || !incrementalLayout) {
+            dirtyRegion = null;
+            repaint();
+        } else {
+            repaintDirtyRegion();
+        }
 
         super.doLayout();
     }
 
+    /**
+     * Gets the stacks of a group of rows, stacking its cards again only if any of them changed
+     * in a way that matters to the stacking since the last layout, or if they were stacked again
+     * in a group built before this one.
+     */
+    private CardStackRow collectRow(final RowGroup group, final List<StackKey> keys, final Set<RowGroup> rebuilt, final Function<List<StackKey>, CardStackRow> collector) {
+        final List<StackKey> members = new ArrayList<>();
+        boolean sharesRebuilt = false;
+        for (final StackKey key : keys) {
+            if (!group.contains(key)) {
+                continue;
+            }
+            members.add(key);
+            for (final RowGroup other : rebuilt) {
+                // the group built last decides the stack a card belongs to
+                sharesRebuilt |= other.contains(key);
+            }
+        }
+        CardStackRow row = groupRows.get(group);
+        if (!incrementalLayout || row == null || sharesRebuilt || !members.equals(groupKeys.get(group))) {
+            row = collector.apply(members);
+            groupRows.put(group, row);
+            groupKeys.put(group, members);
+            rebuilt.add(group);
+        }
+        return new CardStackRow(row); //the layout adds to and clears the rows it gets
+    }
+
+    private void addDirtyRegion(final Rectangle bounds) {
+        if (bounds.isEmpty()) {
+            return;
+        }
+        if (dirtyRegion == null) {
+            dirtyRegion = new Rectangle(bounds);
+        } else {
+            dirtyRegion.add(bounds);
+        }
+    }
+
+    private void repaintDirtyRegion() {
+        if (dirtyRegion != null) {
+            repaint(dirtyRegion);
+            dirtyRegion = null;
+        }
+    }
+
     // Position all card panels
     private void positionAllCards(List<CardStackRow> template)  {
         int x = 0;
@@ -357,11 +450,20 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
                 for (int panelIndex = 0, panelCount = stack.size(); panelIndex < panelCount; panelIndex++) {
                     final CardPanel panel = stack.get(panelIndex);
                     final int stackPosition = panelCount - panelIndex - 1;
-                    this.setComponentZOrder(panel, panelIndex);
+                    final Rectangle oldBounds = panel.getBounds();
+                    boolean moved = false;
+                    if (this.getComponent(panelIndex) != panel) { //same as its z-order, without looking it up
+                        this.setComponentZOrder(panel, panelIndex);
+                        moved = true;
+                    }
                     final int panelX = x + (stackPosition * this.stackSpacingX);
                     final int panelY = y + (stackPosition * this.stackSpacingY);
                     //System.out.println("... placinng " + panel.getCard() + " @ (" + panelX + ", " + panelY + ")");
                     panel.setCardBounds(panelX, panelY, this.getCardWidth(), this.cardHeight);
+                    if (moved || !oldBounds.equals(panel.getBounds())) {
+                        addDirtyRegion(oldBounds);
+                        addDirtyRegion(panel.getBounds());
+                    }
                 }
                 rowBottom = Math.max(rowBottom, y + stack.getHeight());
                 x += stack.getWidth();
@@ -599,32 +701,37 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             }
         }
 
-        final List<CardView> oldCards = Lists.newArrayList();
-        for (final CardPanel cpa : getCardPanels()) {
-            oldCards.add(cpa.getCard());
-        }
-
-        final List<CardView> toDelete = Lists.newArrayList(oldCards);
-        final List<CardView> notToDelete = Lists.newLinkedList();
+        final Set<Integer> newIds = new HashSet<>();
         for (final CardView c : modelCopy) {
-            for (final CardView c2 : toDelete) {
-                if (c.getId() == c2.getId()) {
-                    notToDelete.add(c2);
-                }
+            newIds.add(c.getId());
+        }
+        final Set<Integer> oldIds = new HashSet<>();
+        final List<CardView> toDelete = Lists.newArrayList();
+        for (final CardPanel cpa : getCardPanels()) {
+            oldIds.add(cpa.getCard().getId());
+            if (!newIds.contains(cpa.getCard().getId())) {
+                toDelete.add(cpa.getCard());
             }
         }
-        toDelete.removeAll(notToDelete);
 
         if (toDelete.size() == getCardPanels().size()) {
             clear(false);
+            dirtyRegion = null;
+            repaint();
         } else {
             for (final CardView card : toDelete) {
-                removeCardPanel(getCardPanel(card.getId()),false);
+                final CardPanel panel = getCardPanel(card.getId());
+                addDirtyRegion(panel.getBounds());
+                removeCardPanel(panel, false);
             }
         }
 
-        final List<CardView> toAdd = new ArrayList<>(modelCopy);
-        toAdd.removeAll(oldCards);
+        final List<CardView> toAdd = new ArrayList<>();
+        for (final CardView c : modelCopy) {
+            if (!oldIds.contains(c.getId())) {
+                toAdd.add(c);
+            }
+        }
 
         final List<CardPanel> newPanels = new ArrayList<>();
         for (final CardView card : toAdd) {
@@ -655,13 +762,29 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
                 Animation.moveCard(toPanel);
             }
         }
-        repaint();
+        //the panels repaint themselves when their cards change
+        if (incrementalLayout) {
+            repaintDirtyRegion();
+        } else {
+            repaint();
+        }
     }
 
     public boolean updateCard(final CardView card, boolean fromRefresh) {
         FThreads.assertExecutedByEdt(true);
         boolean result = doUpdateCard(card, fromRefresh);
-        repaint();
+        if (incrementalLayout) {
+            final CardPanel panel = getCardPanel(card.getId());
+            if (panel != null) {
+                addDirtyRegion(panel.getBounds());
+                for (final CardPanel attached : panel.getAttachedPanels()) {
+                    addDirtyRegion(attached.getBounds());
+                }
+            }
+            repaintDirtyRegion();
+        } else {
+            repaint();
+        }
         return result;
     }
 
@@ -723,6 +846,90 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
         return needLayoutRefresh;
     }
 
+    private enum RowGroup {
+        Lands {
+            @Override
+            boolean contains(final StackKey key) { return key.land && !key.creature; }
+        },
+        Tokens {
+            @Override
+            boolean contains(final StackKey key) { return key.token; }
+        },
+        Creatures {
+            @Override
+            boolean contains(final StackKey key) { return key.creature && !key.token; }
+        },
+        Others {
+            @Override
+            boolean contains(final StackKey key) { return !key.land && !key.creature; }
+        },
+        StackedCreatures {
+            @Override
+            boolean contains(final StackKey key) { return key.creature && !key.token; }
+        };
+
+        abstract boolean contains(StackKey key);
+    }
+
+    /**
+     * Everything about a card panel that decides which stack it goes to.
+     */
+    private static final class StackKey {
+        private final CardPanel panel;
+        private final int id;
+        private final String name, stateName, text;
+        private final boolean land, creature, token, cloned, sick, hasCardAttachments;
+        private final int power, toughness;
+        private final Map<CounterType, Integer> counters;
+        private final List<CardPanel> attachedPanels;
+        private final CardPanel attachedToPanel;
+
+        private StackKey(final CardPanel panel0) {
+            panel = panel0;
+            final CardView card = panel.getCard();
+            final CardStateView state = card.getCurrentState();
+            id = card.getId();
+            name = card.getName();
+            stateName = state.getName();
+            land = state.isLand();
+            creature = state.isCreature();
+            token = card.isToken();
+            text = token ? card.getText() : null; //only tokens are told apart by their text
+            cloned = card.isCloned();
+            sick = card.isSick();
+            hasCardAttachments = card.hasCardAttachments();
+            power = state.getPower();
+            toughness = state.getToughness();
+            counters = card.getCounters() == null ? null : new HashMap<>(card.getCounters());
+            attachedPanels = new ArrayList<>(panel.getAttachedPanels());
+            attachedToPanel = panel.getAttachedToPanel();
+        }
+
+        private boolean hasSamePT(final StackKey other) {
+            return power == other.power && toughness == other.toughness;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof StackKey)) {
+                return false;
+            }
+            final StackKey other = (StackKey) o;
+            return panel == other.panel && id == other.id && land == other.land && creature == other.creature
+                    && token == other.token && cloned == other.cloned && sick == other.sick
+                    && hasCardAttachments == other.hasCardAttachments && power == other.power
+                    && toughness == other.toughness && attachedToPanel == other.attachedToPanel
+                    && Objects.equals(name, other.name) && Objects.equals(stateName, other.stateName)
+                    && Objects.equals(text, other.text) && Objects.equals(counters, other.counters)
+                    && attachedPanels.equals(other.attachedPanels);
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+
     private enum RowType {
         Land,
         Creature,
@@ -747,6 +954,10 @@ public class PlayArea extends CardPanelContainer implements CardPanelMouseListen
             super(16);
         }
 
+        public CardStackRow(final CardStackRow row) {
+            super(row);
+        }
+
         public CardStackRow(final List<CardPanel> cardPanels, final RowType type) {
             this();
             if (type == RowType.Other) {
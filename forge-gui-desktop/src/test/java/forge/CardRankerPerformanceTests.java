@@ -0,0 +1,87 @@
+package forge;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import forge.card.ColorSet;
+import forge.gamemodes.limited.CardRanker;
+import forge.gui.GuiBase;
+import forge.item.PaperCard;
+import forge.item.SealedTemplate;
+import forge.item.generation.BoosterGenerator;
+import forge.localinstance.properties.ForgePreferences.FPref;
+import forge.model.FModel;
+
+/**
+ * Times the AI picks of a full 8 player draft with and without the deck hint index of {@link CardRanker}.
+ */
+public class CardRankerPerformanceTests {
+
+    private static final int PLAYERS = 8;
+    private static final int ROUNDS = 3;
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testBenchmarkFullDraft() {
+        GuiBase.setInterface(new GuiDesktop());
+        FModel.initialize(null, preferences -> {
+            preferences.setPref(FPref.LOAD_CARD_SCRIPTS_LAZILY, false);
+            return null;
+        });
+        SealedTemplate booster = FModel.getMagicDb().getBoosters().get("DMU");
+        List<List<List<PaperCard>>> packs = new ArrayList<>();
+        for (int r = 0; r < ROUNDS; r++) {
+            List<List<PaperCard>> round = new ArrayList<>();
+            for (int p = 0; p < PLAYERS; p++) {
+                round.add(BoosterGenerator.getBoosterPack(booster));
+            }
+            packs.add(round);
+        }
+
+        CardRanker.setUseDeckHintsIndex(false);
+        long start = System.currentTimeMillis();
+        List<List<PaperCard>> pairwisePicks = draft(packs);
+        long pairwiseTime = System.currentTimeMillis() - start;
+
+        CardRanker.setUseDeckHintsIndex(true);
+        start = System.currentTimeMillis();
+        List<List<PaperCard>> firstIndexedPicks = draft(packs);
+        long firstIndexedTime = System.currentTimeMillis() - start;
+        start = System.currentTimeMillis();
+        List<List<PaperCard>> indexedPicks = draft(packs);
+        long indexedTime = System.currentTimeMillis() - start;
+
+        assertEquals(firstIndexedPicks, pairwisePicks);
+        assertEquals(indexedPicks, pairwisePicks);
+        System.out.println("[PAIRWISE] Draft time (in sec): " + pairwiseTime / 1000.0);
+        System.out.println("[INDEX] Draft time including index creation (in sec): " + firstIndexedTime / 1000.0);
+        System.out.println("[INDEX] Draft time (in sec): " + indexedTime / 1000.0);
+    }
+
+    private static List<List<PaperCard>> draft(List<List<List<PaperCard>>> packs) {
+        List<List<PaperCard>> pools = new ArrayList<>();
+        for (int p = 0; p < PLAYERS; p++) {
+            pools.add(new ArrayList<>());
+        }
+        for (int r = 0; r < ROUNDS; r++) {
+            List<List<PaperCard>> round = new ArrayList<>();
+            for (List<PaperCard> pack : packs.get(r)) {
+                round.add(new ArrayList<>(pack));
+            }
+            int direction = r % 2 == 0 ? 1 : -1;
+            for (int pick = 0; !round.get(0).isEmpty(); pick++) {
+                for (int p = 0; p < PLAYERS; p++) {
+                    List<PaperCard> pack = round.get(Math.floorMod(p + pick * direction, PLAYERS));
+                    List<PaperCard> pool = pools.get(p);
+                    PaperCard chosen = CardRanker.rankCardsInPack(pack, pool, ColorSet.ALL_COLORS, true).get(0);
+                    pack.remove(chosen);
+                    pool.add(chosen);
+                }
+            }
+        }
+        return pools;
+    }
+}
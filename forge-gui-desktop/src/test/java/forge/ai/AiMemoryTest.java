@@ -0,0 +1,144 @@
+package forge.ai;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.AiCardMemory.MemorySet;
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardCopyService;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+
+public class AiMemoryTest extends SimulationTest {
+
+    @Test
+    public void rememberCardsById() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card giant = addCard("Hill Giant", p);
+        Card fake = new Card(-3, game);
+
+        AiCardMemory memory = new AiCardMemory();
+        memory.rememberCard(bears, MemorySet.ACTIVATED_THIS_TURN);
+        memory.rememberCard(fake, MemorySet.ACTIVATED_THIS_TURN);
+        memory.rememberCard(giant, MemorySet.BOUNCED_THIS_TURN);
+
+        AssertJUnit.assertTrue(memory.isRememberedCard(bears, MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertTrue(memory.isRememberedCard(fake, MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertFalse(memory.isRememberedCard(giant, MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertTrue(memory.isRememberedCardByName("Hill Giant", MemorySet.BOUNCED_THIS_TURN));
+        // a last known copy is the same card
+        AssertJUnit.assertTrue(memory.isRememberedCard(CardCopyService.getLKICopy(bears), MemorySet.ACTIVATED_THIS_TURN));
+
+        AssertJUnit.assertTrue(memory.forgetCard(bears, MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertFalse(memory.forgetCard(bears, MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertFalse(memory.isMemorySetEmpty(MemorySet.ACTIVATED_THIS_TURN));
+
+        memory.clearAllRemembered();
+        AssertJUnit.assertTrue(memory.isMemorySetEmpty(MemorySet.ACTIVATED_THIS_TURN));
+        AssertJUnit.assertTrue(memory.isMemorySetEmpty(MemorySet.BOUNCED_THIS_TURN));
+        AssertJUnit.assertFalse(memory.isRememberedCard(fake, MemorySet.ACTIVATED_THIS_TURN));
+    }
+
+    @Test
+    public void cardIdSetIteratesInIdOrder() {
+        Game game = initAndCreateGame();
+        CardIdSet set = new CardIdSet();
+        for (int id : new int[] {500, -2, 7, 0, 130, Integer.MIN_VALUE + 1}) {
+            AssertJUnit.assertTrue(set.add(new Card(id, game)));
+        }
+        AssertJUnit.assertFalse(set.add(new Card(7, game)));
+        AssertJUnit.assertFalse(set.add(new Card(-2, game)));
+        AssertJUnit.assertEquals(6, set.size());
+        AssertJUnit.assertTrue(set.contains(new Card(Integer.MIN_VALUE + 1, game)));
+
+        Iterator<Card> it = set.iterator();
+        AssertJUnit.assertEquals(Integer.MIN_VALUE + 1, it.next().getId());
+        AssertJUnit.assertEquals(-2, it.next().getId());
+        it.remove();
+        AssertJUnit.assertEquals(0, it.next().getId());
+        it.remove();
+        AssertJUnit.assertEquals(7, it.next().getId());
+        AssertJUnit.assertEquals(130, it.next().getId());
+        AssertJUnit.assertEquals(500, it.next().getId());
+        AssertJUnit.assertFalse(it.hasNext());
+        AssertJUnit.assertEquals(4, set.size());
+        AssertJUnit.assertFalse(set.contains(new Card(0, game)));
+        AssertJUnit.assertFalse(set.contains(new Card(-2, game)));
+        AssertJUnit.assertTrue(set.remove(new Card(Integer.MIN_VALUE + 1, game)));
+        AssertJUnit.assertEquals(3, set.size());
+
+        set.clear();
+        AssertJUnit.assertTrue(set.isEmpty());
+        AssertJUnit.assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    public void priorityValuesLastWhileDeciding() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        AiMemo memo = new AiMemo(game);
+        AtomicInteger computed = new AtomicInteger();
+
+        // nothing is kept outside a priority window
+        memo.get(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet);
+        memo.get(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet);
+        AssertJUnit.assertEquals(2, computed.get());
+
+        try (AiMemo.Window window = memo.openPriority()) {
+            AssertJUnit.assertEquals(Integer.valueOf(3), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+            AssertJUnit.assertEquals(Integer.valueOf(3), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+            AssertJUnit.assertEquals(Integer.valueOf(4), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, false, computed::incrementAndGet));
+
+            // anything changing on the battlefield starts over
+            Card forest = addCard("Forest", p);
+            AssertJUnit.assertEquals(Integer.valueOf(5), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+
+            // so does tapping or untapping a card, which takes no timestamp
+            forest.setTapped(true);
+            AssertJUnit.assertEquals(Integer.valueOf(6), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+            forest.setTapped(false);
+            AssertJUnit.assertEquals(Integer.valueOf(7), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+            AssertJUnit.assertEquals(Integer.valueOf(7), AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet));
+
+            // the games copied for simulation are never remembered
+            Game other = resetGame();
+            memo.get(AiMemo.AVAILABLE_MANA_ESTIMATE, other, p, true, computed::incrementAndGet);
+            memo.get(AiMemo.AVAILABLE_MANA_ESTIMATE, other, p, true, computed::incrementAndGet);
+            AssertJUnit.assertEquals(9, computed.get());
+        }
+
+        AiMemo.recall(AiMemo.AVAILABLE_MANA_ESTIMATE, game, p, true, computed::incrementAndGet);
+        AssertJUnit.assertEquals(10, computed.get());
+    }
+
+    @Test
+    public void turnValuesLastUntilTheTurnEnds() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p, 3);
+        AiMemo memo = new AiMemo(game);
+        AiMemo.Key<Integer> key = AiMemo.Key.perTurn("Test value");
+        AtomicInteger computed = new AtomicInteger();
+
+        memo.get(key, game, p, null, computed::incrementAndGet);
+        addCard("Forest", p);
+        AssertJUnit.assertEquals(Integer.valueOf(1), memo.get(key, game, p, null, computed::incrementAndGet));
+
+        memo.invalidate(key);
+        AssertJUnit.assertEquals(Integer.valueOf(2), memo.get(key, game, p, null, computed::incrementAndGet));
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p, 4);
+        AssertJUnit.assertEquals(Integer.valueOf(3), memo.get(key, game, p, null, computed::incrementAndGet));
+
+        memo.clear();
+        AssertJUnit.assertEquals(Integer.valueOf(4), memo.get(key, game, p, null, computed::incrementAndGet));
+    }
+}
@@ -0,0 +1,71 @@
+package forge.ai;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+
+public class CombatPredictionCacheTest extends SimulationTest {
+
+    private static int[] predictBlockerBonus(Card attacker, Card blocker) {
+        return new int[] {
+            ComputerUtilCombat.predictPowerBonusOfBlocker(attacker, blocker, true),
+            ComputerUtilCombat.predictToughnessBonusOfBlocker(attacker, blocker, true)
+        };
+    }
+
+    @Test
+    public void cachedBlockerBonusFollowsTheGameCombat() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", opp);
+        Card samurai = addCard("Samurai of the Pale Curtain", ai);
+        Card giant = addCard("Hill Giant", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_BLOCKERS, opp);
+        game.getAction().checkStateEffects(true);
+
+        Combat combat = new Combat(opp);
+        combat.addAttacker(bears, ai);
+
+        // worked out without a cache in each state the blocks go through
+        int[] noCombat = predictBlockerBonus(bears, samurai);
+        game.getPhaseHandler().setCombat(combat);
+        int[] attacking = predictBlockerBonus(bears, samurai);
+        combat.addBlocker(bears, giant);
+        int[] otherBlocker = predictBlockerBonus(bears, samurai);
+        combat.removeFromCombat(giant);
+        game.getPhaseHandler().setCombat(null);
+        // bushido only counts once there is a combat
+        AssertJUnit.assertEquals(0, noCombat[0]);
+        AssertJUnit.assertEquals(1, attacking[0]);
+        AssertJUnit.assertEquals(1, attacking[1]);
+
+        long timestamp = game.getTimestamp();
+        try (CombatPredictionCache.Scope predictions = CombatPredictionCache.open()) {
+            AssertJUnit.assertEquals(noCombat[0], predictBlockerBonus(bears, samurai)[0]);
+            AssertJUnit.assertEquals(noCombat[1], predictBlockerBonus(bears, samurai)[1]);
+
+            game.getPhaseHandler().setCombat(combat);
+            AssertJUnit.assertEquals(attacking[0], predictBlockerBonus(bears, samurai)[0]);
+            AssertJUnit.assertEquals(attacking[1], predictBlockerBonus(bears, samurai)[1]);
+
+            combat.addBlocker(bears, giant);
+            AssertJUnit.assertEquals(otherBlocker[0], predictBlockerBonus(bears, samurai)[0]);
+            AssertJUnit.assertEquals(otherBlocker[1], predictBlockerBonus(bears, samurai)[1]);
+
+            combat.removeFromCombat(giant);
+            AssertJUnit.assertEquals(attacking[0], predictBlockerBonus(bears, samurai)[0]);
+
+            game.getPhaseHandler().setCombat(null);
+            AssertJUnit.assertEquals(noCombat[0], predictBlockerBonus(bears, samurai)[0]);
+        }
+        // nothing above took a timestamp, so only the combat told the answers apart
+        AssertJUnit.assertEquals(timestamp, game.getTimestamp());
+    }
+}
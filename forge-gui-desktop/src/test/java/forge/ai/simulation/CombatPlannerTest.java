@@ -0,0 +1,129 @@
+package forge.ai.simulation;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+
+public class CombatPlannerTest extends SimulationTest {
+
+    private Card addCreature(String name, Player p) {
+        Card c = addCard(name, p);
+        c.setSickness(false);
+        return c;
+    }
+
+    @Test
+    public void blockToKillAttacker() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card bears = addCreature("Grizzly Bears", opp);
+        Card giant = addCreature("Hill Giant", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_BLOCKERS, opp);
+        game.getAction().checkStateEffects(true);
+
+        Combat combat = new Combat(opp);
+        combat.addAttacker(bears, ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planBlocks(combat));
+        AssertJUnit.assertTrue(combat.isBlocking(giant, bears));
+    }
+
+    @Test
+    public void chumpBlockOnlyWhenLethal() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card bears1 = addCreature("Grizzly Bears", opp);
+        Card bears2 = addCreature("Grizzly Bears", opp);
+        Card elves = addCreature("Llanowar Elves", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_BLOCKERS, opp);
+        game.getAction().checkStateEffects(true);
+
+        Combat combat = new Combat(opp);
+        combat.addAttacker(bears1, ai);
+        combat.addAttacker(bears2, ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planBlocks(combat));
+        AssertJUnit.assertTrue(combat.getAllBlockers().isEmpty());
+
+        ai.setLife(4, null);
+        combat = new Combat(opp);
+        combat.addAttacker(bears1, ai);
+        combat.addAttacker(bears2, ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planBlocks(combat));
+        AssertJUnit.assertTrue(combat.isBlocking(elves));
+    }
+
+    @Test
+    public void gangBlockBiggerAttacker() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card giant = addCreature("Hill Giant", opp);
+        Card bears1 = addCreature("Grizzly Bears", ai);
+        Card bears2 = addCreature("Grizzly Bears", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_BLOCKERS, opp);
+        game.getAction().checkStateEffects(true);
+
+        Combat combat = new Combat(opp);
+        combat.addAttacker(giant, ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planBlocks(combat));
+        AssertJUnit.assertTrue(combat.isBlocking(bears1, giant));
+        AssertJUnit.assertTrue(combat.isBlocking(bears2, giant));
+    }
+
+    @Test
+    public void attackOnlyWhereBlocksDontPay() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card giant = addCreature("Hill Giant", ai);
+        Card bears = addCreature("Grizzly Bears", ai);
+        addCreature("Grizzly Bears", opp);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, ai);
+        game.getAction().checkStateEffects(true);
+
+        // the giant can't be blocked profitably, the bears would only trade
+        Combat combat = new Combat(ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planAttack(combat));
+        AssertJUnit.assertTrue(combat.isAttacking(giant));
+        AssertJUnit.assertFalse(combat.isAttacking(bears));
+    }
+
+    @Test
+    public void keepBlockersBackAgainstLethalCrackBack() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card elves = addCreature("Llanowar Elves", ai);
+        addCreature("Hill Giant", opp);
+        addCard("Hill Giant", opp).setTapped(true);
+        ai.setLife(3, null);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, ai);
+        game.getAction().checkStateEffects(true);
+
+        // an unblocked elf deals 1, but two giants swinging back into no blockers would be lethal
+        Combat combat = new Combat(ai);
+        AssertJUnit.assertTrue(new CombatPlanner(ai, 1000).planAttack(combat));
+        AssertJUnit.assertFalse(combat.isAttacking(elves));
+    }
+
+    @Test
+    public void fallBackWhenOutOfTime() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        addCreature("Hill Giant", ai);
+        addCreature("Grizzly Bears", opp);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, ai);
+        game.getAction().checkStateEffects(true);
+
+        Combat combat = new Combat(ai);
+        AssertJUnit.assertFalse(new CombatPlanner(ai, 0).planAttack(combat));
+        AssertJUnit.assertTrue(combat.getAttackers().isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package forge.card;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Set;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
+import forge.ai.simulation.SimulationTest;
+import forge.item.PaperCard;
+import forge.itemmanager.SFilterUtil;
+import forge.model.FModel;
+import forge.util.PredicateString.StringOp;
+
+public class CardSearchIndexTest extends SimulationTest {
+
+    @Test
+    public void textSearchMatchesPredicates() {
+        initAndCreateGame();
+        CardSearchIndex index = CardSearchIndex.get();
+        String[] searches = { "bear", "Gob", "g", "flying", "{G}", "Sacrifice a creature", "Æther", "aether", "xyzzy" };
+        for (String s : searches) {
+            check(index, CardSearchIndex.TextField.NAME, CardRulesPredicates.name(StringOp.CONTAINS_IC, s), s);
+            check(index, CardSearchIndex.TextField.JOINED_TYPE, CardRulesPredicates.joinedType(StringOp.CONTAINS_IC, s), s);
+            check(index, CardSearchIndex.TextField.ORACLE_TEXT, CardRulesPredicates.rules(StringOp.CONTAINS_IC, s), s);
+            check(index, CardSearchIndex.TextField.COST, CardRulesPredicates.cost(StringOp.CONTAINS_IC, s), s);
+        }
+    }
+
+    private void check(CardSearchIndex index, CardSearchIndex.TextField field, Predicate<CardRules> predicate, String s) {
+        BitSet found = index.containing(field, s);
+        for (PaperCard card : FModel.getMagicDb().getCommonCards().getUniqueCards()) {
+            int ordinal = index.ordinalOf(card.getRules());
+            AssertJUnit.assertTrue(ordinal >= 0);
+            AssertJUnit.assertEquals(field + " " + s + " " + card.getName(), predicate.apply(card.getRules()), found.get(ordinal));
+        }
+    }
+
+    @Test
+    public void textFilterKeepsItsMeaning() {
+        initAndCreateGame();
+        PaperCard bears = FModel.getMagicDb().getCommonCards().getCard("Grizzly Bears");
+        PaperCard bolt = FModel.getMagicDb().getCommonCards().getCard("Lightning Bolt");
+
+        Predicate<PaperCard> filter = SFilterUtil.buildTextFilter("bear creature", false, true, true, false, false);
+        AssertJUnit.assertTrue(filter.apply(bears));
+        AssertJUnit.assertFalse(filter.apply(bolt));
+
+        Predicate<PaperCard> inverted = SFilterUtil.buildTextFilter("bear \"deals 3\"", true, true, false, true, false);
+        AssertJUnit.assertFalse(inverted.apply(bears));
+        AssertJUnit.assertFalse(inverted.apply(bolt));
+        AssertJUnit.assertTrue(inverted.apply(FModel.getMagicDb().getCommonCards().getCard("Hill Giant")));
+    }
+
+    @Test
+    public void textFilterWorksWhileTheIndexIsBuilt() throws InterruptedException {
+        initAndCreateGame();
+        PaperCard bears = FModel.getMagicDb().getCommonCards().getCard("Grizzly Bears");
+        PaperCard bolt = FModel.getMagicDb().getCommonCards().getCard("Lightning Bolt");
+
+        // as on devices that don't build the index at startup
+        CardSearchIndex.invalidate();
+        Predicate<PaperCard> filter = SFilterUtil.buildTextFilter("bear creature", false, true, true, false, false);
+        AssertJUnit.assertTrue(filter.apply(bears));
+        AssertJUnit.assertFalse(filter.apply(bolt));
+
+        // asking started building it in the background
+        for (int i = 0; i < 600 && CardSearchIndex.getIfBuilt() == null; i++) {
+            Thread.sleep(100);
+        }
+        AssertJUnit.assertNotNull(CardSearchIndex.getIfBuilt());
+        filter = SFilterUtil.buildTextFilter("bear creature", false, true, true, false, false);
+        AssertJUnit.assertTrue(filter.apply(bears));
+        AssertJUnit.assertFalse(filter.apply(bolt));
+    }
+
+    @Test
+    public void columnsHoldTheRulesValues() {
+        initAndCreateGame();
+        CardSearchIndex index = CardSearchIndex.get();
+        for (PaperCard card : FModel.getMagicDb().getCommonCards().getUniqueCards()) {
+            CardRules rules = card.getRules();
+            int ordinal = index.ordinalOf(rules);
+            AssertJUnit.assertEquals(rules.getManaCost().getCMC(), index.getValue(CardSearchIndex.Column.CMC, ordinal));
+            AssertJUnit.assertEquals(rules.getColor().getColor(), index.getValue(CardSearchIndex.Column.COLOR, ordinal));
+            if (rules.getType().isCreature()) {
+                AssertJUnit.assertEquals(rules.getIntPower(), index.getValue(CardSearchIndex.Column.POWER, ordinal));
+            } else {
+                AssertJUnit.assertEquals(CardSearchIndex.NO_VALUE, index.getValue(CardSearchIndex.Column.POWER, ordinal));
+            }
+            if (rules.getSplitType() == CardSplitType.None) {
+                Set<String> types = CardSearchIndex.typeNames(index.getValue(CardSearchIndex.Column.TYPES, ordinal));
+                AssertJUnit.assertEquals(rules.getType().isCreature(), types.contains("Creature"));
+                AssertJUnit.assertEquals(rules.getType().isLegendary(), types.contains("Legendary"));
+            }
+        }
+
+        // cards the index doesn't know are left to the predicate
+        BitSet cheap = index.select(CardSearchIndex.Column.CMC, cmc -> cmc <= 1);
+        Predicate<PaperCard> filter = index.filter(cheap, Predicates.alwaysTrue());
+        AssertJUnit.assertTrue(filter.apply(FModel.getMagicDb().getCommonCards().getCard("Lightning Bolt")));
+        AssertJUnit.assertFalse(filter.apply(FModel.getMagicDb().getCommonCards().getCard("Hill Giant")));
+        AssertJUnit.assertEquals(-1, new CardSearchIndex(Collections.emptyList()).ordinalOf(FModel.getMagicDb().getCommonCards().getCard("Hill Giant").getRules()));
+    }
+}
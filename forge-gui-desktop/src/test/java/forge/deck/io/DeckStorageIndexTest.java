@@ -0,0 +1,111 @@
+package forge.deck.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.deck.Deck;
+
+public class DeckStorageIndexTest extends SimulationTest {
+    private File dir;
+    private File indexDir;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+        dir = Files.createTempDirectory("forge-deck-index-test").toFile();
+        indexDir = Files.createTempDirectory("forge-deck-index-cache").toFile();
+        DeckStorage.setIndexDirectory(indexDir);
+        for (int i = 0; i < 20; i++) {
+            writeDeck("deck" + i + ".dck", "Deck " + i);
+        }
+    }
+
+    @AfterMethod
+    public void deleteFolder() {
+        DeckStorage.setIndexDirectory(null);
+        for (File d : new File[] { dir, indexDir }) {
+            for (File f : d.listFiles()) {
+                f.delete();
+            }
+            d.delete();
+        }
+    }
+
+    private File writeDeck(String fileName, String deckName) throws IOException {
+        File f = new File(dir, fileName);
+        String content = "[metadata]\nName=" + deckName + "\nComment=test\n[Main]\n4 Island\n";
+        Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+
+    @Test
+    public void testUnchangedDecksAreListedFromIndex() throws IOException {
+        Map<String, Deck> first = new DeckStorage(dir, dir.getParent()).readAll();
+        AssertJUnit.assertEquals(20, first.size());
+        AssertJUnit.assertTrue(DeckIndex.getFile(dir, indexDir).isFile());
+        AssertJUnit.assertEquals(20, dir.listFiles().length);
+
+        // same size and modification time, so only the index can tell the old name
+        File deck3 = new File(dir, "deck3.dck");
+        long lastModified = deck3.lastModified();
+        writeDeck("deck3.dck", "Deck X");
+        deck3.setLastModified(lastModified);
+
+        Map<String, Deck> second = new DeckStorage(dir, dir.getParent()).readAll();
+        AssertJUnit.assertEquals(20, second.size());
+        AssertJUnit.assertTrue(second.containsKey("Deck 3"));
+        AssertJUnit.assertEquals("test", second.get("Deck 3").getComment());
+    }
+
+    @Test
+    public void testChangedAndRemovedDecksAreRefreshed() throws IOException {
+        new DeckStorage(dir, dir.getParent()).readAll();
+
+        File deck5 = writeDeck("deck5.dck", "Renamed deck five");
+        deck5.setLastModified(deck5.lastModified() + 2000);
+        new File(dir, "deck7.dck").delete();
+        writeDeck("new.dck", "New deck");
+
+        Map<String, Deck> decks = new DeckStorage(dir, dir.getParent()).readAll();
+        AssertJUnit.assertEquals(20, decks.size());
+        AssertJUnit.assertTrue(decks.containsKey("Renamed deck five"));
+        AssertJUnit.assertFalse(decks.containsKey("Deck 5"));
+        AssertJUnit.assertFalse(decks.containsKey("Deck 7"));
+        AssertJUnit.assertTrue(decks.containsKey("New deck"));
+    }
+
+    @Test
+    public void testDeckFileChangedAfterListingIsReadAgain() throws IOException {
+        // the cards need the card database, which also points the index at the real cache
+        initAndCreateGame();
+        DeckStorage.setIndexDirectory(indexDir);
+        new DeckStorage(dir, dir.getParent()).readAll();
+
+        Deck deck2 = new DeckStorage(dir, dir.getParent()).readAll().get("Deck 2");
+        AssertJUnit.assertEquals("test", deck2.getComment());
+        File file = new File(dir, "deck2.dck");
+        String content = "[metadata]\nName=Deck 2\nComment=changed\n[Main]\n3 Island\n1 Forest\n";
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(file.lastModified() + 2000);
+
+        AssertJUnit.assertEquals(2, deck2.getMain().countDistinct());
+        AssertJUnit.assertEquals(4, deck2.getMain().countAll());
+        AssertJUnit.assertEquals("changed", deck2.getComment());
+    }
+
+    @Test
+    public void testFoldersAreNotIndexedWithoutIndexDirectory() {
+        DeckStorage.setIndexDirectory(null);
+        Map<String, Deck> decks = new DeckStorage(dir, dir.getParent()).readAll();
+        AssertJUnit.assertEquals(20, decks.size());
+        AssertJUnit.assertEquals(0, indexDir.listFiles().length);
+    }
+}
@@ -0,0 +1,154 @@
+package forge.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardChangeZone;
+import forge.game.event.GameEventCardsChangeZone;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+import forge.sound.EventVisualizer;
+import forge.sound.SoundEffectType;
+
+public class ZoneChangeBatchTest extends SimulationTest {
+
+    @Test
+    public void movingAllFiresOneEvent() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        CardCollection bears = new CardCollection();
+        for (int i = 0; i < 3; i++) {
+            bears.add(addCard("Grizzly Bears", p));
+        }
+        game.getAction().checkStateEffects(true);
+
+        List<GameEvent> events = new ArrayList<>();
+        game.subscribeToEvents(new Object() {
+            @Subscribe
+            public void receive(GameEvent ev) {
+                if (ev instanceof GameEventCardChangeZone || ev instanceof GameEventCardsChangeZone) {
+                    events.add(ev);
+                }
+            }
+        });
+
+        CardCollection moved = game.getAction().moveAllTo(ZoneType.Graveyard, bears, null, null);
+        AssertJUnit.assertEquals(3, moved.size());
+        AssertJUnit.assertEquals(3, p.getCardsIn(ZoneType.Graveyard).size());
+        AssertJUnit.assertTrue(p.getCardsIn(ZoneType.Battlefield).isEmpty());
+
+        AssertJUnit.assertEquals(1, events.size());
+        AssertJUnit.assertEquals(3, ((GameEventCardsChangeZone) events.get(0)).changes.size());
+    }
+
+    @Test
+    public void nestedBatchesFireOnceAtTheEnd() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card giant = addCard("Hill Giant", p);
+        game.getAction().checkStateEffects(true);
+
+        List<GameEvent> events = new ArrayList<>();
+        game.subscribeToEvents(new Object() {
+            @Subscribe
+            public void receive(GameEventCardsChangeZone ev) {
+                events.add(ev);
+            }
+        });
+
+        game.getAction().startZoneChangeBatch();
+        game.getAction().exile(new CardCollection(bears), null, null);
+        AssertJUnit.assertTrue(events.isEmpty());
+        game.getAction().moveToGraveyard(giant, null);
+        game.getAction().endZoneChangeBatch();
+
+        AssertJUnit.assertEquals(1, events.size());
+        AssertJUnit.assertTrue(bears.getGame().getCardState(bears).isInZone(ZoneType.Exile));
+    }
+
+    private static List<GameEvent> collectZoneChanges(Game game) {
+        List<GameEvent> events = new ArrayList<>();
+        game.subscribeToEvents(new Object() {
+            @Subscribe
+            public void receive(GameEvent ev) {
+                if (ev instanceof GameEventCardChangeZone || ev instanceof GameEventCardsChangeZone) {
+                    events.add(ev);
+                }
+            }
+        });
+        return events;
+    }
+
+    @Test
+    public void flushFiresTheMovesSoFar() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card giant = addCard("Hill Giant", p);
+        game.getAction().checkStateEffects(true);
+        List<GameEvent> events = collectZoneChanges(game);
+
+        game.getAction().startZoneChangeBatch();
+        game.getAction().moveToGraveyard(bears, null);
+        game.getAction().flushZoneChangeBatch();
+        AssertJUnit.assertEquals(1, events.size());
+        game.getAction().moveToGraveyard(giant, null);
+        AssertJUnit.assertEquals(1, events.size());
+        game.getAction().endZoneChangeBatch();
+        AssertJUnit.assertEquals(2, events.size());
+    }
+
+    @Test
+    public void replacementsSeeTheMovesBeforeThem() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        CardCollection bears = new CardCollection();
+        for (int i = 0; i < 2; i++) {
+            bears.add(addCard("Grizzly Bears", p));
+        }
+        addCard("Rest in Peace", p);
+        game.getAction().checkStateEffects(true);
+        List<GameEvent> events = collectZoneChanges(game);
+
+        game.getAction().startZoneChangeBatch();
+        game.getAction().moveToGraveyard(bears.get(0), null);
+        AssertJUnit.assertTrue(events.isEmpty());
+        // the replacement may ask the player, who must see the first bears gone by then
+        game.getAction().moveToGraveyard(bears.get(1), null);
+        AssertJUnit.assertEquals(1, events.size());
+        game.getAction().endZoneChangeBatch();
+        AssertJUnit.assertEquals(2, events.size());
+        AssertJUnit.assertEquals(2, p.getCardsIn(ZoneType.Exile).size());
+    }
+
+    @Test
+    public void batchPlaysTheFirstSoundItHas() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card giant = addCard("Hill Giant", p);
+        game.getAction().checkStateEffects(true);
+        List<GameEvent> events = collectZoneChanges(game);
+
+        game.getAction().startZoneChangeBatch();
+        game.getAction().moveToGraveyard(bears, null);
+        game.getAction().exile(giant, null, null);
+        game.getAction().endZoneChangeBatch();
+
+        AssertJUnit.assertEquals(1, events.size());
+        GameEventCardsChangeZone batch = (GameEventCardsChangeZone) events.get(0);
+        EventVisualizer visualizer = new EventVisualizer(null);
+        AssertJUnit.assertNull(visualizer.visit(batch.changes.get(0)));
+        AssertJUnit.assertEquals(SoundEffectType.Exile, visualizer.visit(batch));
+    }
+}
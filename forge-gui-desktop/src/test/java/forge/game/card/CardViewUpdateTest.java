@@ -0,0 +1,79 @@
+package forge.game.card;
+
+import java.util.Collections;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.player.Player;
+import forge.trackable.TrackableTypes;
+
+public class CardViewUpdateTest extends SimulationTest {
+
+    @Test
+    public void staticEffectsShowInTheView() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        Card anthem = addCard("Glorious Anthem", p);
+        Card levitation = addCard("Levitation", p);
+        game.getAction().checkStateEffects(true);
+
+        CardView.CardStateView state = bears.getView().getCurrentState();
+        AssertJUnit.assertEquals(3, state.getPower());
+        AssertJUnit.assertTrue(state.hasFlying());
+        AssertJUnit.assertEquals(bears.getAbilityText(bears.getCurrentState()), state.getAbilityText());
+        AssertJUnit.assertTrue(state.getAbilityText().contains("Flying"));
+
+        game.getAction().exile(levitation, null, null);
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(3, state.getPower());
+        AssertJUnit.assertFalse(state.hasFlying());
+        AssertJUnit.assertFalse(state.getAbilityText().contains("Flying"));
+
+        game.getAction().exile(anthem, null, null);
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(2, state.getPower());
+    }
+
+    @Test
+    public void abilityTextWaitsForTheTracker() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+        game.getAction().checkStateEffects(true);
+        CardView.CardStateView state = bears.getView().getCurrentState();
+        AssertJUnit.assertFalse(state.getAbilityText().contains("Flying"));
+
+        game.getTracker().freeze();
+        bears.addChangedCardKeywords(Collections.singletonList("Flying"), null, false, game.getNextTimestamp(), null);
+        // the text shown so far stays while frozen
+        AssertJUnit.assertFalse(state.getAbilityText().contains("Flying"));
+        game.getTracker().unfreeze();
+        AssertJUnit.assertTrue(state.getAbilityText().contains("Flying"));
+    }
+
+    @Test
+    public void headlessViewsOnlyHoldTheirValues() {
+        Game game = initAndCreateGame();
+        game.setHeadless(true);
+        Player p = game.getPlayers().get(1);
+        Card bears = addCard("Grizzly Bears", p);
+
+        game.getTracker().freeze();
+        bears.setTapped(true);
+        // nothing to hold back for a GUI
+        AssertJUnit.assertTrue(bears.getView().isTapped());
+        game.getTracker().unfreeze();
+        AssertJUnit.assertFalse(game.getTracker().hasObj(TrackableTypes.CardViewType, bears.getId()));
+
+        try {
+            game.setHeadless(false);
+            AssertJUnit.fail("a headless game can't be shown again");
+        } catch (IllegalStateException e) {
+            AssertJUnit.assertTrue(game.isHeadless());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package forge.gamemodes.net.server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.AssertJUnit;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import forge.gamemodes.net.CompatibleObjectDecoder;
+import forge.gamemodes.net.CompatibleObjectEncoder;
+import forge.gamemodes.net.event.IdentifiableNetEvent;
+import forge.gamemodes.net.event.ReplyEvent;
+import forge.util.ThreadUtil;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+/**
+ * Many games hosted at once, each game thread waiting for the decisions of its remote player over a
+ * local connection, the way a server waits for its clients.
+ */
+public class GameHostingLoadTest {
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    /** a decision the game asks the remote player for, the client answers with twice its id */
+    private static final class Decision implements IdentifiableNetEvent {
+        private static final long serialVersionUID = 1L;
+        private final int id = nextId.getAndIncrement();
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public void updateForClient(final RemoteClient client) {
+        }
+    }
+
+    private final ConcurrentHashMap<Channel, RemoteClient> clients = new ConcurrentHashMap<>();
+    private final BlockingQueue<RemoteClient> connected = new LinkedBlockingQueue<>();
+    private EventLoopGroup serverGroup;
+    private EventLoopGroup clientGroup;
+    private Channel serverChannel;
+    private Bootstrap clientBootstrap;
+
+    @BeforeClass
+    public void startServer() throws InterruptedException {
+        serverGroup = new NioEventLoopGroup();
+        clientGroup = new NioEventLoopGroup();
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(final SocketChannel ch) {
+                        ch.pipeline().addLast(new CompatibleObjectEncoder(),
+                                new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
+                                new ChannelInboundHandlerAdapter() {
+                                    @Override
+                                    public void channelActive(final ChannelHandlerContext ctx) {
+                                        final RemoteClient client = new RemoteClient(ctx.channel());
+                                        clients.put(ctx.channel(), client);
+                                        connected.add(client);
+                                    }
+
+                                    @Override
+                                    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                                        final ReplyEvent reply = (ReplyEvent) msg;
+                                        clients.get(ctx.channel()).getReplyPool().complete(reply.getIndex(), reply.getReply());
+                                    }
+                                });
+                    }
+                })
+                .bind("127.0.0.1", 0).sync().channel();
+
+        clientBootstrap = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(final SocketChannel ch) {
+                        ch.pipeline().addLast(new CompatibleObjectEncoder(),
+                                new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
+                                new ChannelInboundHandlerAdapter() {
+                                    @Override
+                                    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                                        final Decision decision = (Decision) msg;
+                                        ctx.writeAndFlush(new ReplyEvent(decision.getId(), decision.getId() * 2));
+                                    }
+                                });
+                    }
+                });
+    }
+
+    @AfterClass
+    public void stopServer() {
+        serverChannel.close();
+        clientGroup.shutdownGracefully();
+        serverGroup.shutdownGracefully();
+    }
+
+    @AfterMethod
+    public void restoreGameThreads() {
+        ThreadUtil.setVirtualGameThreads(false);
+    }
+
+    /**
+     * Connects one remote player per game and plays all games at once.
+     *
+     * @return milliseconds until every game got all its replies
+     */
+    private long hostGames(final int games, final int decisionsPerGame) throws InterruptedException {
+        final List<Channel> clientChannels = new ArrayList<>();
+        final List<RemoteClient> remotes = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            clientChannels.add(clientBootstrap.connect(serverChannel.localAddress()).sync().channel());
+            remotes.add(connected.poll(10, TimeUnit.SECONDS));
+        }
+
+        final CountDownLatch finished = new CountDownLatch(games);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final long start = System.nanoTime();
+        for (final RemoteClient remote : remotes) {
+            ThreadUtil.invokeInGameThread(() -> {
+                try {
+                    for (int d = 0; d < decisionsPerGame; d++) {
+                        final Decision decision = new Decision();
+                        final Object reply = remote.sendAndWait(decision);
+                        AssertJUnit.assertEquals(decision.getId() * 2, reply);
+                    }
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        AssertJUnit.assertTrue("games did not finish in time", finished.await(2, TimeUnit.MINUTES));
+        final long millis = (System.nanoTime() - start) / 1000000;
+
+        for (final Channel ch : clientChannels) {
+            ch.close().sync();
+        }
+        clients.clear();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return millis;
+    }
+
+    @Test
+    public void testGamesOnPlatformThreads() throws InterruptedException {
+        ThreadUtil.setVirtualGameThreads(false);
+        hostGames(20, 5);
+    }
+
+    @Test
+    public void testGamesOnVirtualThreads() throws InterruptedException {
+        if (!ThreadUtil.setVirtualGameThreads(true)) {
+            throw new SkipException("virtual threads need Java 21");
+        }
+        hostGames(20, 5);
+    }
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testLoad() throws InterruptedException {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        // virtual first, the idle platform threads of the other run would stay alive for a minute
+        for (final boolean virtual : new boolean[] { true, false }) {
+            if (ThreadUtil.setVirtualGameThreads(virtual) != virtual) {
+                System.out.println("Virtual threads need Java 21, skipping");
+                continue;
+            }
+            threads.resetPeakThreadCount();
+            final long millis = hostGames(500, 20);
+            System.out.printf("%s game threads: 500 games, 10000 replies in %d ms, peak %d platform threads%n",
+                    virtual ? "Virtual" : "Platform", millis, threads.getPeakThreadCount());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package forge.gamemodes.quest.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.deck.Deck;
+import forge.gamemodes.quest.QuestMode;
+import forge.gamemodes.quest.data.DeckConstructionRules;
+import forge.gamemodes.quest.data.QuestData;
+import forge.gamemodes.quest.io.QuestSaveSections.Section;
+import forge.item.PaperCard;
+import forge.localinstance.properties.ForgeConstants;
+import forge.model.FModel;
+
+public class QuestSaveSectionsTest extends SimulationTest {
+
+    private QuestData newQuest(final String name) {
+        initAndCreateGame();
+        final QuestData qd = new QuestData(name, 0, QuestMode.Classic, null, false, null, DeckConstructionRules.Default);
+        final PaperCard bears = FModel.getMagicDb().getCommonCards().getCard("Grizzly Bears");
+        qd.getAssets().getCardPool().add(bears, 4);
+        final Deck deck = new Deck("Bears");
+        deck.getMain().add(bears, 4);
+        qd.getAssets().getDeckStorage().add(deck);
+        return qd;
+    }
+
+    private static File datFile(final String name) {
+        return new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat");
+    }
+
+    private static QuestData saveAndLoad(final QuestData qd) throws IOException {
+        QuestDataIO.saveData(qd);
+        QuestDataIO.flushPendingSaves();
+        return QuestDataIO.loadData(datFile(qd.getName()));
+    }
+
+    private static String readPacked(final File f) throws IOException {
+        try (GZIPInputStream zin = new GZIPInputStream(Files.newInputStream(f.toPath()))) {
+            return new String(zin.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testRoundTripReadsSectionsWhenAskedFor() throws IOException {
+        final String name = "SaveSectionsRoundTrip";
+        try {
+            final QuestData qd = newQuest(name);
+            final int cards = qd.getAssets().getCardPool().countAll();
+            final QuestData loaded = saveAndLoad(qd);
+
+            final QuestSaveSections sections = loaded.getSaveSections();
+            AssertJUnit.assertFalse(sections.isLoaded(Section.INVENTORY));
+            AssertJUnit.assertFalse(sections.isLoaded(Section.DECKS));
+            AssertJUnit.assertEquals(cards, loaded.getAssets().getCardCount());
+            AssertJUnit.assertFalse(sections.isLoaded(Section.INVENTORY));
+
+            AssertJUnit.assertEquals(cards, loaded.getAssets().getCardPool().countAll());
+            AssertJUnit.assertTrue(sections.isLoaded(Section.INVENTORY));
+            AssertJUnit.assertFalse(sections.isLoaded(Section.DECKS));
+            AssertJUnit.assertEquals(4, loaded.getAssets().getDeckStorage().get("Bears").getMain().countAll());
+        } finally {
+            QuestDataIO.deleteSaveFiles(name);
+        }
+    }
+
+    @Test
+    public void testLegacySaveIsConvertedKeepingItAsBackup() throws IOException {
+        final String name = "SaveSectionsLegacy";
+        try {
+            final QuestData qd = newQuest(name);
+            final int cards = qd.getAssets().getCardPool().countAll();
+            try (Writer w = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(datFile(name).toPath())), StandardCharsets.UTF_8)) {
+                QuestDataIO.getSerializer(false).toXML(qd, w);
+            }
+
+            final QuestData legacy = QuestDataIO.loadData(datFile(name));
+            AssertJUnit.assertNull(legacy.getSaveSections());
+            AssertJUnit.assertEquals(cards, legacy.getAssets().getCardPool().countAll());
+
+            final QuestData converted = saveAndLoad(legacy);
+            AssertJUnit.assertNotNull(converted.getSaveSections());
+            AssertJUnit.assertEquals(cards, converted.getAssets().getCardPool().countAll());
+            AssertJUnit.assertEquals(4, converted.getAssets().getDeckStorage().get("Bears").getMain().countAll());
+
+            final String backup = readPacked(new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat.bak"));
+            AssertJUnit.assertFalse(backup.startsWith("<" + QuestSaveSections.MANIFEST_ALIAS + ">"));
+        } finally {
+            QuestDataIO.deleteSaveFiles(name);
+        }
+    }
+
+    @Test
+    public void testFinishedSavesAreNotKept() throws InterruptedException {
+        final String name = "SaveSectionsPending";
+        try {
+            final QuestData qd = newQuest(name);
+            for (int i = 0; i < 3; i++) {
+                qd.getAssets().addCredits(1);
+                QuestDataIO.saveData(qd);
+            }
+            QuestDataIO.flushPendingSaves();
+            // a save is forgotten right after it's done
+            for (int i = 0; i < 100 && QuestDataIO.getPendingSaveCount() > 0; i++) {
+                Thread.sleep(10);
+            }
+            AssertJUnit.assertEquals(0, QuestDataIO.getPendingSaveCount());
+        } finally {
+            QuestDataIO.deleteSaveFiles(name);
+        }
+    }
+
+    @Test
+    public void testReadingSectionsDoesNotChangeThem() throws IOException {
+        final String name = "SaveSectionsRead";
+        try {
+            final QuestData loaded = saveAndLoad(newQuest(name));
+            final QuestSaveSections sections = loaded.getSaveSections();
+            loaded.getAssets().getCardPool().countAll();
+            loaded.getAssets().getShopList();
+            for (final Deck deck : loaded.getAssets().getDeckStorage()) {
+                deck.getMain().countAll();
+            }
+            loaded.getAchievements().getDraftEvents();
+            AssertJUnit.assertTrue(sections.isLoaded(Section.INVENTORY));
+            AssertJUnit.assertTrue(sections.isLoaded(Section.DECKS));
+            for (final Section section : Section.values()) {
+                AssertJUnit.assertFalse(section.name(), sections.isChanged(section));
+            }
+
+            // a deck edited in place
+            final PaperCard bears = FModel.getMagicDb().getCommonCards().getCard("Grizzly Bears");
+            loaded.getAssets().getDeckStorage().get("Bears").getMain().remove(bears);
+            AssertJUnit.assertTrue(sections.isChanged(Section.DECKS));
+            AssertJUnit.assertFalse(sections.isChanged(Section.INVENTORY));
+            QuestDataIO.saveData(loaded);
+            AssertJUnit.assertFalse(sections.isChanged(Section.DECKS));
+            QuestDataIO.flushPendingSaves();
+            AssertJUnit.assertTrue(QuestSaveSections.getFile(name, Section.DECKS, 2).exists());
+            AssertJUnit.assertFalse(QuestSaveSections.getFile(name, Section.INVENTORY, 2).exists());
+        } finally {
+            QuestDataIO.deleteSaveFiles(name);
+        }
+    }
+
+    @Test
+    public void testSaveWritesOnlyChangedSections() throws IOException {
+        final String name = "SaveSectionsChanged";
+        try {
+            final QuestData loaded = saveAndLoad(newQuest(name));
+            final QuestSaveSections sections = loaded.getSaveSections();
+            AssertJUnit.assertTrue(QuestSaveSections.getFile(name, Section.INVENTORY, 1).exists());
+            AssertJUnit.assertTrue(QuestSaveSections.getFile(name, Section.DECKS, 1).exists());
+
+            // nothing but the manifest changed
+            final long credits = loaded.getAssets().getCredits() + 100;
+            loaded.getAssets().addCredits(100);
+            QuestDataIO.saveData(loaded);
+            QuestDataIO.flushPendingSaves();
+            AssertJUnit.assertFalse(QuestSaveSections.getFile(name, Section.INVENTORY, 2).exists());
+            AssertJUnit.assertFalse(QuestSaveSections.getFile(name, Section.DECKS, 2).exists());
+            AssertJUnit.assertFalse(QuestSaveSections.getFile(name, Section.EVENTS, 2).exists());
+            AssertJUnit.assertTrue(new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat.bak").exists());
+
+            final PaperCard bolt = FModel.getMagicDb().getCommonCards().getCard("Lightning Bolt");
+            loaded.getAssets().getCardPool().add(bolt, 1);
+            AssertJUnit.assertTrue(sections.isChanged(Section.INVENTORY));
+            AssertJUnit.assertFalse(sections.isChanged(Section.DECKS));
+            QuestDataIO.saveData(loaded);
+            QuestDataIO.flushPendingSaves();
+            AssertJUnit.assertFalse(sections.isChanged(Section.INVENTORY));
+            AssertJUnit.assertTrue(QuestSaveSections.getFile(name, Section.INVENTORY, 3).exists());
+            AssertJUnit.assertFalse(QuestSaveSections.getFile(name, Section.DECKS, 3).exists());
+            // still named by the backup
+            AssertJUnit.assertTrue(QuestSaveSections.getFile(name, Section.INVENTORY, 1).exists());
+
+            final QuestData reloaded = QuestDataIO.loadData(datFile(name));
+            AssertJUnit.assertEquals(credits, reloaded.getAssets().getCredits());
+            AssertJUnit.assertEquals(1, reloaded.getAssets().getCardPool().count(bolt));
+            AssertJUnit.assertEquals(4, reloaded.getAssets().getDeckStorage().get("Bears").getMain().countAll());
+        } finally {
+            QuestDataIO.deleteSaveFiles(name);
+        }
+    }
+}
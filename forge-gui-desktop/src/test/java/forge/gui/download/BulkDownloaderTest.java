@@ -0,0 +1,287 @@
+package forge.gui.download;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.testng.Assert.*;
+
+/**
+ * Runs {@link BulkDownloader} against a local stand-in HTTP server.
+ */
+public class BulkDownloaderTest {
+    private HttpServer server;
+    private File dir;
+    private final Map<String, byte[]> content = new ConcurrentHashMap<>();
+    private final List<String> rangeHeaders = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    // when set, ranged requests are answered from this offset instead of the one asked for
+    private volatile int servedRangeStart = -1;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        content.clear();
+        rangeHeaders.clear();
+        hits.set(0);
+        maxActive.set(0);
+        servedRangeStart = -1;
+        dir = Files.createTempDirectory("forge-download-test").toFile();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::serve);
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterMethod
+    public void stopServer() {
+        server.stop(0);
+        deleteRecursively(dir);
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(20);
+            final byte[] body = content.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            final String range = exchange.getRequestHeaders().getFirst("Range");
+            int offset = 0;
+            if (range != null) {
+                rangeHeaders.add(range);
+                offset = servedRangeStart >= 0 ? servedRangeStart : Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+                if (offset >= body.length) {
+                    exchange.getResponseHeaders().add("Content-Range", "bytes */" + body.length);
+                    exchange.sendResponseHeaders(416, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Range", "bytes " + offset + "-" + (body.length - 1) + "/" + body.length);
+                exchange.sendResponseHeaders(206, body.length - offset);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+            }
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body, offset, body.length - offset);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String url(final String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static byte[] payload(final int size, final int seed) {
+        final byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            b[i] = (byte) (i * 31 + seed);
+        }
+        return b;
+    }
+
+    private BulkDownloader.Request request(final String path) {
+        final File dest = new File(dir, path.substring(1));
+        return new BulkDownloader.Request(dest.getPath(),
+                Collections.singletonList(new BulkDownloader.Source(url(path), dest, false)));
+    }
+
+    @Test
+    public void testConcurrentDownloadIsBounded() throws IOException {
+        final List<BulkDownloader.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            content.put("/pics/card" + i + ".jpg", payload(10000 + i, i));
+            requests.add(request("/pics/card" + i + ".jpg"));
+        }
+
+        final BulkDownloader downloader = new BulkDownloader(Proxy.NO_PROXY, 4);
+        final BulkDownloader.Progress progress = downloader.download(requests, null);
+
+        assertEquals(progress.getFinished(), 20);
+        assertEquals(progress.getSkipped(), 0);
+        assertTrue(progress.isComplete());
+        assertTrue(maxActive.get() <= 4, "at most 4 connections at once but was " + maxActive.get());
+        assertTrue(maxActive.get() > 1, "downloads should overlap");
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Files.readAllBytes(new File(dir, "pics/card" + i + ".jpg").toPath()), payload(10000 + i, i));
+        }
+        long expectedBytes = 0;
+        for (byte[] b : content.values()) {
+            expectedBytes += b.length;
+        }
+        assertEquals(progress.getBytes(), expectedBytes);
+    }
+
+    @Test
+    public void testPartialFileIsResumedWithRange() throws IOException {
+        final byte[] body = payload(50000, 7);
+        content.put("/pics/big.jpg", body);
+        final File dest = new File(dir, "pics/big.jpg");
+        dest.getParentFile().mkdirs();
+        Files.write(new File(dest.getPath() + BulkDownloader.PART_SUFFIX).toPath(), Arrays.copyOf(body, 12345));
+
+        final BulkDownloader downloader = new BulkDownloader(Proxy.NO_PROXY, 2);
+        final BulkDownloader.Progress progress = downloader.download(Collections.singletonList(request("/pics/big.jpg")), null);
+
+        assertEquals(progress.getSkipped(), 0);
+        assertEquals(rangeHeaders, Collections.singletonList("bytes=12345-"));
+        assertEquals(progress.getBytes(), body.length - 12345);
+        assertEquals(Files.readAllBytes(dest.toPath()), body);
+        assertFalse(new File(dest.getPath() + BulkDownloader.PART_SUFFIX).exists());
+    }
+
+    @Test
+    public void testMismatchedContentRangeStartsOver() throws IOException {
+        final byte[] body = payload(50000, 3);
+        content.put("/pics/big.jpg", body);
+        final File dest = new File(dir, "pics/big.jpg");
+        dest.getParentFile().mkdirs();
+        Files.write(new File(dest.getPath() + BulkDownloader.PART_SUFFIX).toPath(), payload(12345, 99));
+        servedRangeStart = 0;
+
+        final BulkDownloader.Progress progress = new BulkDownloader(Proxy.NO_PROXY, 2)
+                .download(Collections.singletonList(request("/pics/big.jpg")), null);
+
+        assertEquals(progress.getSkipped(), 0);
+        assertEquals(rangeHeaders, Collections.singletonList("bytes=12345-"));
+        assertEquals(Files.readAllBytes(dest.toPath()), body);
+    }
+
+    @Test
+    public void testCompletePartFileIsMovedIntoPlace() throws IOException {
+        final byte[] body = payload(20000, 4);
+        content.put("/pics/done.jpg", body);
+        final File dest = new File(dir, "pics/done.jpg");
+        dest.getParentFile().mkdirs();
+        Files.write(new File(dest.getPath() + BulkDownloader.PART_SUFFIX).toPath(), body);
+
+        final BulkDownloader.Progress progress = new BulkDownloader(Proxy.NO_PROXY, 2)
+                .download(Collections.singletonList(request("/pics/done.jpg")), null);
+
+        assertEquals(progress.getSkipped(), 0);
+        assertEquals(progress.getBytes(), 0);
+        assertEquals(Files.readAllBytes(dest.toPath()), body);
+    }
+
+    @Test
+    public void testPartFileLongerThanTheFileStartsOver() throws IOException {
+        final byte[] body = payload(20000, 6);
+        content.put("/pics/short.jpg", body);
+        final File dest = new File(dir, "pics/short.jpg");
+        dest.getParentFile().mkdirs();
+        Files.write(new File(dest.getPath() + BulkDownloader.PART_SUFFIX).toPath(), payload(25000, 9));
+
+        final BulkDownloader.Progress progress = new BulkDownloader(Proxy.NO_PROXY, 2)
+                .download(Collections.singletonList(request("/pics/short.jpg")), null);
+
+        assertEquals(progress.getSkipped(), 0);
+        assertEquals(rangeHeaders, Collections.singletonList("bytes=25000-"));
+        assertEquals(progress.getBytes(), body.length);
+        assertEquals(Files.readAllBytes(dest.toPath()), body);
+    }
+
+    @Test
+    public void testSourcesOfOneDestinationHaveTheirOwnPartFiles() throws IOException {
+        final byte[] png = payload(20000, 5);
+        content.put("/pics/b.full.png", png);
+        final File dest = new File(dir, "pics/b.full.jpg");
+        final BulkDownloader.Source jpgSource = new BulkDownloader.Source(url("/pics/b.full.jpg"), dest, false);
+        final BulkDownloader.Source pngSource = new BulkDownloader.Source(url("/pics/b.full.png"), dest, false);
+        assertEquals(jpgSource.getPartFile(), new File(dest.getPath() + BulkDownloader.PART_SUFFIX));
+        assertNotEquals(pngSource.getPartFile(), jpgSource.getPartFile());
+
+        // a part of the jpg that was interrupted must not be resumed by the png
+        dest.getParentFile().mkdirs();
+        Files.write(jpgSource.getPartFile().toPath(), payload(5000, 8));
+        Files.write(pngSource.getPartFile().toPath(), Arrays.copyOf(png, 4000));
+        final BulkDownloader.Progress progress = new BulkDownloader(Proxy.NO_PROXY, 2).download(Collections.singletonList(
+                new BulkDownloader.Request(dest.getPath(), Arrays.asList(jpgSource, pngSource))), null);
+
+        assertEquals(progress.getSkipped(), 0);
+        assertTrue(rangeHeaders.contains("bytes=4000-"), rangeHeaders.toString());
+        assertEquals(Files.readAllBytes(dest.toPath()), png);
+        assertFalse(pngSource.getPartFile().exists());
+    }
+
+    @Test
+    public void testCancelBeforeDownload() {
+        content.put("/db/f", payload(10, 1));
+        final BulkDownloader downloader = new BulkDownloader(Proxy.NO_PROXY, 2);
+        downloader.cancel();
+        final BulkDownloader.Progress progress = downloader.download(Collections.singletonList(request("/db/f")), null);
+        assertFalse(progress.isComplete());
+        assertEquals(hits.get(), 0);
+    }
+
+    @Test
+    public void testFallbackSourceAndMissingFile() {
+        content.put("/pics/a.fullborder.jpg", payload(300, 1));
+        final File dest = new File(dir, "pics/a.full.jpg");
+        final File fallbackDest = new File(dir, "pics/a.fullborder.jpg");
+        final BulkDownloader.Request withFallback = new BulkDownloader.Request(dest.getPath(), Arrays.asList(
+                new BulkDownloader.Source(url("/pics/a.full.jpg"), dest, false),
+                new BulkDownloader.Source(url("/pics/a.fullborder.jpg"), fallbackDest, false)));
+
+        final Map<String, BulkDownloader.Status> statuses = new ConcurrentHashMap<>();
+        final BulkDownloader downloader = new BulkDownloader(Proxy.NO_PROXY, 2);
+        final BulkDownloader.Progress progress = downloader.download(Arrays.asList(withFallback, request("/pics/missing.jpg")),
+                (r, status, p) -> statuses.put(r.getKey(), status));
+
+        assertEquals(statuses.get(dest.getPath()), BulkDownloader.Status.DOWNLOADED);
+        assertEquals(statuses.get(new File(dir, "pics/missing.jpg").getPath()), BulkDownloader.Status.NOT_FOUND);
+        assertEquals(progress.getSkipped(), 1);
+        assertTrue(fallbackDest.exists());
+        assertFalse(dest.exists());
+    }
+
+    @Test
+    public void testHostRateLimit() {
+        final List<BulkDownloader.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            content.put("/db/f" + i, payload(10, i));
+            requests.add(request("/db/f" + i));
+        }
+        final BulkDownloader downloader = new BulkDownloader(Proxy.NO_PROXY, 6);
+        downloader.setHostInterval("127.0.0.1", 50);
+        final BulkDownloader.Progress progress = downloader.download(requests, null);
+
+        assertEquals(progress.getFinished(), 6);
+        // six requests spaced by 50ms cannot all be issued within 250ms
+        assertTrue(progress.getElapsedMillis() >= 250, "elapsed " + progress.getElapsedMillis());
+    }
+
+    private static void deleteRecursively(final File f) {
+        final File[] children = f.listFiles();
+        if (children != null) {
+            for (File c : children) {
+                deleteRecursively(c);
+            }
+        }
+        f.delete();
+    }
+}
@@ -2,6 +2,7 @@ package forge.planarconquestgenerate;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +17,11 @@ import forge.LobbyPlayer;
 import forge.StaticData;
 import forge.card.CardRulesPredicates;
 import forge.deck.CardArchetypeLDAGenerator;
+import forge.deck.CardPool;
 import forge.deck.Deck;
 import forge.deck.DeckFormat;
 import forge.deck.DeckGroup;
+import forge.deck.DeckSection;
 import forge.deck.DeckgenUtil;
 import forge.deck.io.DeckStorage;
 import forge.game.GameFormat;
@@ -39,14 +42,12 @@ import forge.model.FModel;
 import forge.player.GamePlayerUtil;
 import forge.util.AbstractGeneticAlgorithm;
 import forge.util.MyRandom;
+import forge.util.PairwiseFitness;
 import forge.util.TextUtil;
 import forge.view.SimulateMatch;
 
 public class PlanarConquestGeneraterGA extends AbstractGeneticAlgorithm<Deck> {
 
-    private DeckGroup deckGroup;
-    private List<TournamentPlayer> players = new ArrayList<>();
-    private TournamentSwiss tourney = null;
     protected Map<String,List<List<Pair<String, Double>>>> standardMap;
     private GameRules rules;
     protected int generations;
@@ -55,6 +56,7 @@ public class PlanarConquestGeneraterGA extends AbstractGeneticAlgorithm<Deck> {
     protected int cardsToUse;
     protected int decksPerCard;
     private int deckCount = 0;
+    private PairwiseFitness<Deck> fitness;
     protected List<PaperCard> rankedList;
 
     public static void main(String[] args){
@@ -150,27 +152,69 @@ public class PlanarConquestGeneraterGA extends AbstractGeneticAlgorithm<Deck> {
 
     @Override
     protected void evaluateFitness() {
-        deckGroup = new DeckGroup("SimulatedTournament");
-        players = new ArrayList<>();
-        int i=0;
-        for(Deck d:population) {
-            deckGroup.addAiDeck(d);
-            players.add(new TournamentPlayer(GamePlayerUtil.createAiPlayer(d.getName(), 0), i));
-            ++i;
+        if (fitness == null) {
+            fitness = new PairwiseFitness<>(this::playMatch, PlanarConquestGeneraterGA::contentHash,
+                    Runtime.getRuntime().availableProcessors());
+            // every deck meets as many opponents as a Swiss tournament of this size would pair it with
+            fitness.setOpponents(Math.max(2, 32 - Integer.numberOfLeadingZeros(population.size() - 1)));
+            fitness.setHopelessScore(1d / 3);
+            fitness.setSeed(getSeed());
         }
-        tourney = new TournamentSwiss(players, 2);
-        tourney = runTournament(tourney, rules, players.size(), deckGroup);
-        population = new ArrayList<>();
-        for (int k = 0; k < tourney.getAllPlayers().size(); k++) {
-            String deckName = tourney.getAllPlayers().get(k).getPlayer().getName();
-            for (Deck sortedDeck : deckGroup.getAiDecks()) {
-                if (sortedDeck.getName().equals(deckName)) {
-                    population.add(sortedDeck);
+        int played = fitness.getMatchesPlayed();
+        population = fitness.rank(population, MyRandom.getRandom());
+        System.out.println(TextUtil.concatNoSpace("Fitness of ", String.valueOf(population.size()), " decks: ",
+                String.valueOf(fitness.getMatchesPlayed() - played), " matches played, ",
+                String.valueOf(fitness.getResultsKept()), " results kept"));
+        deckCount=0;
+    }
+
+    /**
+     * Plays a match between two decks and returns the share of games the first one won.
+     */
+    protected double playMatch(Deck first, Deck second) {
+        List<RegisteredPlayer> regPlayers = new ArrayList<>();
+        regPlayers.add(new RegisteredPlayer(first).setPlayer(GamePlayerUtil.createAiPlayer("1 - " + first.getName(), 0)));
+        regPlayers.add(new RegisteredPlayer(second).setPlayer(GamePlayerUtil.createAiPlayer("2 - " + second.getName(), 0)));
+        Match mc = new Match(rules, regPlayers, "FitnessMatch");
+        int exceptions = 0;
+        int iGame = 0;
+        while (!mc.isMatchOver()) {
+            try{
+                SimulateMatch.simulateSingleMatch(mc, iGame, false);
+                iGame++;
+            } catch(Exception e) {
+                exceptions++;
+                System.out.println(e.toString());
+                if (exceptions > 5) {
+                    System.out.println("Exceeded number of exceptions thrown. Abandoning match...");
                     break;
                 }
             }
         }
-        deckCount=0;
+        int won = mc.getGamesWonBy(regPlayers.get(0).getPlayer());
+        int lost = mc.getGamesWonBy(regPlayers.get(1).getPlayer());
+        return won + lost == 0 ? 0.5d : (double) won / (won + lost);
+    }
+
+    /**
+     * Hashes the cards of a deck, so decks built alike share their match results whatever their name.
+     */
+    protected static long contentHash(Deck deck) {
+        List<String> entries = new ArrayList<>();
+        for (Map.Entry<DeckSection, CardPool> section : deck) {
+            for (Map.Entry<PaperCard, Integer> card : section.getValue()) {
+                entries.add(section.getKey().name() + ":" + card.getKey().getName() + "|" + card.getKey().getEdition() + "*" + card.getValue());
+            }
+        }
+        Collections.sort(entries);
+        long hash = 1125899906842597L;
+        for (String entry : entries) {
+            for (int i = 0; i < entry.length(); i++) {
+                hash = 31 * hash + entry.charAt(i);
+            }
+            hash = 31 * hash + '\n';
+        }
+        return hash;
     }
 
     @Override
@@ -0,0 +1,62 @@
+package forge.trackable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.testng.annotations.Test;
+
+import forge.ai.LobbyPlayerAi;
+import forge.ai.simulation.SimulationTest;
+import forge.deck.Deck;
+import forge.deck.DeckgenUtil;
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.player.RegisteredPlayer;
+import forge.util.MyRandom;
+import forge.view.TimeLimitedCodeBlock;
+
+/**
+ * Measures the heap a four player Commander game holds once it's over, most of it in the views of its cards.
+ */
+public class TrackableMemoryTests extends SimulationTest {
+
+    private static final int PLAYERS = 4;
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testCommanderGameHeap() throws Exception {
+        initAndCreateGame();
+        MyRandom.setRandom(new Random(42));
+        List<RegisteredPlayer> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Deck deck = DeckgenUtil.generateCommanderDeck(true, GameType.Commander);
+            players.add(RegisteredPlayer.forCommander(deck).setPlayer(new LobbyPlayerAi("Ai " + i, null)));
+        }
+        Match match = new Match(new GameRules(GameType.Commander), players, "Memory");
+
+        long before = usedHeap();
+        Game game = match.createGame();
+        try {
+            TimeLimitedCodeBlock.runWithTimeout(() -> match.startGame(game), 600, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Game stopped after 600 s");
+        }
+        long after = usedHeap();
+
+        System.out.println("Turns: " + game.getPhaseHandler().getTurn() + ", cards: " + game.getCardsInGame().size());
+        System.out.println("Heap held by the game (in KB): " + (after - before) / 1024);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
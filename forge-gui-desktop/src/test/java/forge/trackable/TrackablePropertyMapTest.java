@@ -0,0 +1,73 @@
+package forge.trackable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class TrackablePropertyMapTest {
+
+    @Test
+    public void keepsPropertiesSorted() {
+        TrackablePropertyMap map = new TrackablePropertyMap();
+        map.put(TrackableProperty.Text, "text");
+        map.put(TrackableProperty.Name, "name");
+        AssertJUnit.assertNull(map.put(TrackableProperty.Power, 2));
+        AssertJUnit.assertEquals(2, map.put(TrackableProperty.Power, 3));
+        AssertJUnit.assertEquals(3, map.size());
+        AssertJUnit.assertEquals("name", map.get(TrackableProperty.Name));
+        AssertJUnit.assertEquals("name", map.remove(TrackableProperty.Name));
+        AssertJUnit.assertNull(map.get(TrackableProperty.Name));
+        AssertJUnit.assertNull(map.remove(TrackableProperty.Name));
+
+        StringBuilder order = new StringBuilder();
+        map.forEach((key, value) -> order.append(key.ordinal()).append(','));
+        AssertJUnit.assertEquals(TrackableProperty.Text.ordinal() + "," + TrackableProperty.Power.ordinal() + ",", order.toString());
+    }
+
+    @Test
+    public void readersNeverSeeAnotherPropertysValue() throws InterruptedException {
+        final TrackablePropertyMap map = new TrackablePropertyMap();
+        final TrackableProperty[] keys = TrackableProperty.values();
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final Thread writer = new Thread(() -> {
+            for (int round = 0; round < 200; round++) {
+                for (int i = round % 2; i < keys.length; i += 2) {
+                    map.put(keys[i], keys[i].name());
+                }
+                for (int i = round % 3; i < keys.length; i += 3) {
+                    map.remove(keys[i]);
+                }
+            }
+        });
+        final Thread reader = new Thread(() -> {
+            try {
+                while (writer.isAlive()) {
+                    readAll(map, keys, failure);
+                }
+            } catch (RuntimeException e) {
+                failure.set(e.toString());
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        AssertJUnit.assertNull(failure.get());
+    }
+
+    private static void readAll(TrackablePropertyMap map, TrackableProperty[] keys, AtomicReference<String> failure) {
+        for (TrackableProperty key : keys) {
+            Object value = map.get(key);
+            if (value != null && !value.equals(key.name())) {
+                failure.set(key + " read " + value);
+            }
+        }
+        map.forEach((key, value) -> {
+            if (!value.equals(key.name())) {
+                failure.set(key + " iterated " + value);
+            }
+        });
+
+    }
+}
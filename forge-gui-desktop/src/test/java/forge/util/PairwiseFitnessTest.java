@@ -0,0 +1,65 @@
+package forge.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class PairwiseFitnessTest {
+
+    private static List<Integer> population() {
+        final List<Integer> population = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            population.add(i);
+        }
+        return population;
+    }
+
+    // a best of five where the stronger side is more likely to win each game
+    private static double playMatch(final Integer first, final Integer second) {
+        final Random random = MyRandom.getRandom();
+        int won = 0;
+        for (int game = 0; game < 5; game++) {
+            if (random.nextInt(first + second + 2) <= first) {
+                won++;
+            }
+        }
+        return won / 5d;
+    }
+
+    private static List<Integer> rank(final long seed) {
+        final PairwiseFitness<Integer> fitness = new PairwiseFitness<>(PairwiseFitnessTest::playMatch, i -> i * 7919L, 4);
+        fitness.setOpponents(6);
+        fitness.setHopelessScore(1d / 3);
+        fitness.setSeed(seed);
+        return fitness.rank(population(), new Random(seed));
+    }
+
+    @Test
+    public void testFixedSeedGivesFixedRanking() {
+        final List<Integer> first = rank(42);
+        for (int i = 0; i < 5; i++) {
+            AssertJUnit.assertEquals(first, rank(42));
+        }
+    }
+
+    @Test
+    public void testThreadRandomIsNotInherited() throws InterruptedException {
+        final Random own = new Random(42);
+        final AtomicReference<Random> seen = new AtomicReference<>();
+        MyRandom.setThreadRandom(own);
+        try {
+            final Thread thread = new Thread(() -> seen.set(MyRandom.getRandom()));
+            thread.start();
+            thread.join();
+            AssertJUnit.assertSame(own, MyRandom.getRandom());
+        } finally {
+            MyRandom.setThreadRandom(null);
+        }
+        AssertJUnit.assertNotSame(own, seen.get());
+        AssertJUnit.assertNotSame(own, MyRandom.getRandom());
+    }
+}
@@ -0,0 +1,74 @@
+package forge.view.arcane;
+
+import static org.testng.Assert.assertEquals;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+import forge.screens.match.CMatchUI;
+import forge.toolbox.FScrollPane;
+
+/**
+ * Times the updates of a battlefield with hundreds of tokens, with and without the incremental layout of {@link PlayArea}.
+ */
+public class PlayAreaPerformanceTests extends SimulationTest {
+
+    private static final int TOKENS = 300;
+    private static final int UPDATES = 100;
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testBenchmarkTokenBoard() throws Exception {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCards("Forest", 10, p);
+        addCards("Llanowar Elves", 6, p);
+        addTokens("g_1_1_saproling", TOKENS, p);
+        addTokens("c_a_treasure_sac", TOKENS / 5, p);
+        addTokens("w_1_1_soldier", TOKENS / 5, p);
+
+        long fullTime = run(game, p, false);
+        long firstIncrementalTime = run(game, p, true);
+        long incrementalTime = run(game, p, true);
+
+        System.out.println("[FULL] " + UPDATES + " updates (in ms): " + fullTime);
+        System.out.println("[INCREMENTAL] " + UPDATES + " updates, first run (in ms): " + firstIncrementalTime);
+        System.out.println("[INCREMENTAL] " + UPDATES + " updates (in ms): " + incrementalTime);
+    }
+
+    private long run(Game game, Player p, boolean incrementalLayout) throws Exception {
+        List<Card> added = new ArrayList<>();
+        long[] time = new long[1];
+        // the match screen needs a display and the scroll pane a skin, the area only asks them what to show and where
+        CMatchUI matchUI = Mockito.mock(CMatchUI.class);
+        FScrollPane scroller = Mockito.mock(FScrollPane.class);
+        Mockito.when(scroller.getVisibleRect()).thenReturn(new Rectangle(0, 0, 1600, 900));
+        PlayArea area = new PlayArea(matchUI, scroller, false, p.getView(), ZoneType.Battlefield, incrementalLayout);
+        SwingUtilities.invokeAndWait(area::update);
+
+        for (int i = 0; i < UPDATES; i++) {
+            // a token comes and another one gets a counter, like an army growing every turn
+            added.add(addToken("g_1_1_saproling", p));
+            SwingUtilities.invokeAndWait(() -> {
+                long start = System.nanoTime();
+                area.update();
+                time[0] += System.nanoTime() - start;
+            });
+        }
+        assertEquals(area.getCardPanels().size(), p.getZone(ZoneType.Battlefield).size());
+        for (Card c : added) {
+            p.getZone(ZoneType.Battlefield).remove(c);
+        }
+        return time[0] / 1000000;
+    }
+}
@@ -1003,6 +1003,8 @@ public class Forge implements ApplicationListener {
     public void resume() {
         try {
             Texture.setAssetManager(getAssets().manager());
+            //the thumbnail pages come back blank if the context was lost
+            ThumbnailAtlas.getInstance().clear();
             needsUpdate = true;
         } catch (Exception e) {
             //the application context must have been recreated from its last state.
@@ -22,14 +22,12 @@ import forge.adventure.world.WorldSave;
 import forge.adventure.world.WorldSaveHeader;
 import forge.screens.TransitionScreen;
 import forge.sound.SoundSystem;
+import forge.toolbox.FOptionPane;
 import forge.util.TextUtil;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.text.DateFormat;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Scene to load and save the game.
@@ -100,6 +98,12 @@ public class SaveLoadScene extends UIScene {
         difficulty.setAlignment(Align.center);
         difficulty.setX(scrollPane.getWidth() - difficulty.getWidth() + 5);
         difficulty.setY(scrollPane.getTop() - difficulty.getHeight() - 5);
+        WorldSave.getCurrentSave().onSaveFailed(() -> {
+            //the slot shows the save that is still on disk
+            updateFiles();
+            FOptionPane.showErrorDialog(Forge.getLocalizer().getMessage("lblGameNotSaved").split("\n")[0],
+                    Forge.getLocalizer().getMessage("lblError"));
+        });
     }
 
 
@@ -303,15 +307,11 @@ public class SaveLoadScene extends UIScene {
         for (File name : names) {
             if (WorldSave.isSafeFile(name.getName())) {
                 try {
-                    try (FileInputStream fos = new FileInputStream(name.getAbsolutePath());
-                         InflaterInputStream inf = new InflaterInputStream(fos);
-                         ObjectInputStream oos = new ObjectInputStream(inf)) {
-                        int slot = WorldSave.filenameToSlot(name.getName());
-                        WorldSaveHeader worldSaveHeader = (WorldSaveHeader) oos.readObject();
-                        //get header name
-                        buttons.get(slot).actor.setText(getSplitHeaderName(worldSaveHeader, false));
-                        previews.put(slot, worldSaveHeader);
-                    }
+                    int slot = WorldSave.filenameToSlot(name.getName());
+                    WorldSaveHeader worldSaveHeader = WorldSave.readHeader(name);
+                    //get header name
+                    buttons.get(slot).actor.setText(getSplitHeaderName(worldSaveHeader, false));
+                    previews.put(slot, worldSaveHeader);
                 } catch (ClassNotFoundException | IOException | GdxRuntimeException e) {
                     //e.printStackTrace();
                 }
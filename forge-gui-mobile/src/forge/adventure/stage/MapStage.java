@@ -945,8 +945,9 @@ public class MapStage extends GameStage {
             else return;
         }
         float mobSize = navMapSize; //todo: replace with actual size if multiple nav maps implemented
-        ArrayList<NavigationVertex> verticesNearPlayer = new ArrayList<>(navMaps.get(mobSize).navGraph.getNodes());
-        verticesNearPlayer.sort(Comparator.comparingInt(o -> Math.round((o.pos.x - player.pos().x) * (o.pos.x - player.pos().x) + (o.pos.y - player.pos().y) * (o.pos.y - player.pos().y))));
+        NavigationMap navMap = navMaps.get(mobSize);
+        navMap.beginFrame();
+        NavigationVertex vertexNearestPlayer = navMap.findNearestVertex(player.pos());
 
         if (!freezeAllEnemyBehaviors) {
             while (it.hasNext()) {
@@ -960,7 +961,7 @@ public class MapStage extends GameStage {
                 if (mob.getData().flying) {
                     navPath.add(new NavigationVertex(mob.getTargetVector(player, null,delta)));
                 } else {
-                    Vector2 destination = mob.getTargetVector(player, verticesNearPlayer, delta);
+                    Vector2 destination = mob.getTargetVector(player, vertexNearestPlayer, delta);
 
                     if (mob.isFrozen() || (destination.epsilonEquals(mob.pos()) && !mob.aggro)) {
                         mob.setAnimation(CharacterSprite.AnimationTypes.Idle);
@@ -971,8 +972,12 @@ public class MapStage extends GameStage {
                         navPath = mob.getNavPath();
 
                     if (navPath.nodes.size == 0 || !destination.equals(mob.targetVector)) {
-                        mob.targetVector = destination;
-                        navPath = navMaps.get(mobSize).findShortestPath(mobSize, mob.pos(), mob.targetVector);
+                        ProgressableGraphPath<NavigationVertex> newPath = navMap.requestPath(mob, mob.pos(), destination);
+                        //a deferred request keeps the mob on its previous path until a later frame finds the new one
+                        if (newPath != null) {
+                            mob.targetVector = destination;
+                            navPath = newPath;
+                        }
                     }
 
                     if (mob.aggro) {
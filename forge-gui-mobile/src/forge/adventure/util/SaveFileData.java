@@ -7,20 +7,37 @@ import com.badlogic.gdx.math.Vector2;
 import forge.Forge;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
-
+import java.util.zip.Deflater;
+
+/**
+ * Key/value store used by {@link SaveFileContent} implementations.
+ * Primitive values and nested data are stored as a type tag followed by big endian data, plain objects still use
+ * java serialization. Values written by older versions (java serialized streams) are recognized by the stream magic
+ * and can still be read.
+ */
 public class SaveFileData extends HashMap<String,byte[]>
 {
+    private static final byte TAG_SUB_DATA = 1;
+    private static final byte TAG_FLOAT = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_INT = 4;
+    private static final byte TAG_LONG = 5;
+    private static final byte TAG_BOOL = 6;
+    private static final byte TAG_STRING = 7;
+    private static final byte TAG_VECTOR2 = 8;
+    private static final byte TAG_RECTANGLE = 9;
+
     public void store(String key,SaveFileData subData)
     {
         try {
-
             ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeObject(subData);
-            objStream.flush();
+            DataOutputStream out=new DataOutputStream(stream);
+            out.writeByte(TAG_SUB_DATA);
+            subData.writeTo(out);
+            out.flush();
             put(key,stream.toByteArray());
-
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -29,76 +46,39 @@ public class SaveFileData extends HashMap<String,byte[]>
 
     public void store(String key,float subData)
     {
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeFloat(subData);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        put(key,ByteBuffer.allocate(5).put(TAG_FLOAT).putFloat(subData).array());
     }
     public void store(String key,double subData)
     {
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeDouble(subData);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        put(key,ByteBuffer.allocate(9).put(TAG_DOUBLE).putDouble(subData).array());
     }
     public void store(String key,int subData)
     {
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeInt(subData);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        put(key,ByteBuffer.allocate(5).put(TAG_INT).putInt(subData).array());
     }
     public void store(String key,long subData)
     {
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeLong(subData);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        put(key,ByteBuffer.allocate(9).put(TAG_LONG).putLong(subData).array());
     }
     public void store(String key,boolean subData)
     {
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeBoolean(subData);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        put(key,new byte[]{TAG_BOOL,(byte)(subData?1:0)});
     }
     public void store(String key, Pixmap pixmap)
     {
+        //png data is already compressed, favour speed since the whole save is deflated again
+        PixmapIO.PNG png = new PixmapIO.PNG(pixmap.getWidth() * pixmap.getHeight() * 4);
         try {
             ByteArrayOutputStream stream=new ByteArrayOutputStream();
-
-            PixmapIO.PNG png = new PixmapIO.PNG();
             png.setFlipY(false);
+            png.setCompression(Deflater.BEST_SPEED);
             png.write(stream, pixmap);
             stream.flush();
             put(key,stream.toByteArray());
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            png.dispose();
         }
     }
     public void storeObject(String key,Object subData)
@@ -116,10 +96,11 @@ public class SaveFileData extends HashMap<String,byte[]>
     public void store(String key,String subData)
     {
         try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeUTF(subData);
-            objStream.flush();
+            ByteArrayOutputStream stream=new ByteArrayOutputStream(subData.length() + 3);
+            DataOutputStream out=new DataOutputStream(stream);
+            out.writeByte(TAG_STRING);
+            out.writeUTF(subData);
+            out.flush();
             put(key,stream.toByteArray());
         } catch (IOException e) {
             e.printStackTrace();
@@ -127,32 +108,57 @@ public class SaveFileData extends HashMap<String,byte[]>
     }
 
     public void store(String key, Vector2 vector) {
+        put(key,ByteBuffer.allocate(9).put(TAG_VECTOR2).putFloat(vector.x).putFloat(vector.y).array());
+    }
+    public void store(String key, Rectangle rectangle) {
+        put(key,ByteBuffer.allocate(17).put(TAG_RECTANGLE)
+                .putFloat(rectangle.x).putFloat(rectangle.y)
+                .putFloat(rectangle.width).putFloat(rectangle.height).array());
+    }
 
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeFloat(vector.x);
-            objStream.writeFloat(vector.y);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Writes all entries as entry count followed by key, length and value of every entry.
+     */
+    public void writeTo(DataOutputStream out) throws IOException
+    {
+        out.writeInt(size());
+        for (Entry<String, byte[]> entry : entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
         }
     }
-    public void store(String key, Rectangle rectangle) {
 
-        try {
-            ByteArrayOutputStream stream=new ByteArrayOutputStream();
-            ObjectOutputStream objStream=new ObjectOutputStream(stream);
-            objStream.writeFloat(rectangle.x);
-            objStream.writeFloat(rectangle.y);
-            objStream.writeFloat(rectangle.width);
-            objStream.writeFloat(rectangle.height);
-            objStream.flush();
-            put(key,stream.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
+    public static SaveFileData readFrom(DataInput in) throws IOException
+    {
+        SaveFileData data=new SaveFileData();
+        int count=in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key=in.readUTF();
+            byte[] value=new byte[in.readInt()];
+            in.readFully(value);
+            data.put(key,value);
         }
+        return data;
+    }
+
+    private static boolean isSerializedStream(byte[] value)
+    {
+        return value.length >= 2 && value[0] == (byte) (ObjectStreamConstants.STREAM_MAGIC >> 8)
+                && value[1] == (byte) ObjectStreamConstants.STREAM_MAGIC;
+    }
+
+    /**
+     * Opens the value of the given key for reading, values from old save files are read through java serialization.
+     */
+    private DataInput open(String key, byte tag) throws IOException
+    {
+        byte[] value=get(key);
+        if (isSerializedStream(value))
+            return new DecompressibleInputStream(new ByteArrayInputStream(value));
+        if (value.length == 0 || value[0] != tag)
+            throw new IOException("Unexpected data type stored for " + key);
+        return new DataInputStream(new ByteArrayInputStream(value, 1, value.length - 1));
     }
 
     public SaveFileData readSubData(String key)
@@ -160,10 +166,10 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return null;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return (SaveFileData)objStream.readObject();
+            DataInput in=open(key,TAG_SUB_DATA);
+            if (in instanceof ObjectInputStream)
+                return (SaveFileData)((ObjectInputStream) in).readObject();
+            return readFrom(in);
 
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
@@ -193,11 +199,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return null;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readUTF();
-
+            return open(key,TAG_STRING).readUTF();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -208,11 +210,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return 0;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readLong();
-
+            return open(key,TAG_LONG).readLong();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -223,11 +221,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return 0.0f;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readFloat();
-
+            return open(key,TAG_FLOAT).readFloat();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -239,11 +233,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return 0.0;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readDouble();
-
+            return open(key,TAG_DOUBLE).readDouble();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -254,11 +244,9 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return new Vector2();
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            float x= objStream.readFloat();
-            float y= objStream.readFloat();
+            DataInput in=open(key,TAG_VECTOR2);
+            float x= in.readFloat();
+            float y= in.readFloat();
             return new Vector2(x,y);
 
         } catch (IOException e) {
@@ -271,13 +259,11 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return new Rectangle();
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            float x= objStream.readFloat();
-            float y= objStream.readFloat();
-            float width= objStream.readFloat();
-            float height= objStream.readFloat();
+            DataInput in=open(key,TAG_RECTANGLE);
+            float x= in.readFloat();
+            float y= in.readFloat();
+            float width= in.readFloat();
+            float height= in.readFloat();
             return new Rectangle(x,y,width,height);
 
         } catch (IOException e) {
@@ -299,11 +285,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return 0;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readInt();
-
+            return open(key,TAG_INT).readInt();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -314,11 +296,7 @@ public class SaveFileData extends HashMap<String,byte[]>
         if(!containsKey(key))
             return false;
         try {
-
-            ByteArrayInputStream stream=new ByteArrayInputStream(get(key));
-            ObjectInputStream objStream= new DecompressibleInputStream(stream);
-            return objStream.readBoolean();
-
+            return open(key,TAG_BOOL).readBoolean();
         } catch (IOException e) {
             e.printStackTrace();
         }
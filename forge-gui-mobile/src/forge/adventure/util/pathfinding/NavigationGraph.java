@@ -15,6 +15,11 @@ import java.util.stream.Collectors;
 public class NavigationGraph implements IndexedGraph<NavigationVertex> {
     private int lastNodeIndex = 0;
     Map<Integer, NavigationVertex> nodes = new HashMap<>();
+    //exact position lookup, replaces scanning every node for temporary path endpoints
+    private final Map<Vector2, NavigationVertex> nodesByPosition = new HashMap<>();
+    private int duplicatePositions = 0;
+    private IndexedAStarPathFinder<NavigationVertex> pathFinder;
+    private int pathFinderCapacity;
 
     EuclidianHeuristic navigationHeuristic = new EuclidianHeuristic();
 
@@ -22,6 +27,8 @@ public class NavigationGraph implements IndexedGraph<NavigationVertex> {
         node.index = lastNodeIndex;
         lastNodeIndex++;
         nodes.put(node.index,node);
+        if (nodesByPosition.putIfAbsent(new Vector2(node.pos), node) != null)
+            duplicatePositions++;
         return node;
     }
 
@@ -37,7 +44,23 @@ public class NavigationGraph implements IndexedGraph<NavigationVertex> {
         for (NavigationVertex v : node.incomingEdges.keys()) {
             v.removeEdges(node);
         }
-        nodes.remove(node.index >=0? node.index: lookupIndex(node));
+        NavigationVertex removed = nodes.remove(node.index >=0? node.index: lookupIndex(node));
+        if (removed != null && nodesByPosition.get(removed.pos) == removed) {
+            nodesByPosition.remove(removed.pos);
+            if (duplicatePositions > 0) {
+                //another vertex may share this position
+                for (NavigationVertex v : nodes.values()) {
+                    if (v.pos.equals(removed.pos)) {
+                        nodesByPosition.put(new Vector2(v.pos), v);
+                        duplicatePositions--;
+                        break;
+                    }
+                }
+            }
+        }
+        //hand out the indices of temporary vertices again so the node count stays stable
+        while (lastNodeIndex > 0 && !nodes.containsKey(lastNodeIndex - 1))
+            lastNodeIndex--;
     }
 
     public void removeVertex(Vector2 position) {
@@ -63,10 +86,8 @@ public class NavigationGraph implements IndexedGraph<NavigationVertex> {
     }
 
     public int lookupIndex(Vector2 pos) {
-        for (int i : nodes.keySet())
-            if (nodes.get(i).pos.equals(pos)) return i;
-
-        return -1;
+        NavigationVertex v = nodesByPosition.get(pos);
+        return v == null ? -1 : v.index;
     }
 
     public void addEdge(NavigationVertex fromNode, NavigationVertex toNode) {
@@ -145,9 +166,14 @@ public class NavigationGraph implements IndexedGraph<NavigationVertex> {
         NavigationVertex originVertex = getVertexByPosition(origin);
         NavigationVertex destinationVertex = getVertexByPosition(destination);
 
-        if (originVertex.index > -1 && destinationVertex.index > -1) {
+        if (originVertex != null && destinationVertex != null && originVertex.index > -1 && destinationVertex.index > -1) {
 
-            new IndexedAStarPathFinder<>(this).searchNodePath(originVertex, destinationVertex, navigationHeuristic, navPath);
+            //the finder sizes its node records by the node count at creation, reuse it while that still fits
+            if (pathFinder == null || pathFinderCapacity < getNodeCount()) {
+                pathFinder = new IndexedAStarPathFinder<>(this);
+                pathFinderCapacity = getNodeCount();
+            }
+            pathFinder.searchNodePath(originVertex, destinationVertex, navigationHeuristic, navPath);
         }
         return navPath;
     }
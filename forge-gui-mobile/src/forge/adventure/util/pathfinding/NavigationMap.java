@@ -6,8 +6,9 @@ import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Array;
 import forge.adventure.stage.MapStage;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class NavigationMap {
     float spriteSize = 16f;
@@ -18,6 +19,17 @@ public class NavigationMap {
     Array<Rectangle> navBounds = new Array<>();
     float half = (spriteSize / 2);
 
+    //nearest vertex lookups for attaching path endpoints to the graph
+    NavigationSpatialIndex spatialIndex;
+    //recently found paths, keyed by their quantized endpoints
+    final PathCache pathCache = new PathCache(64);
+    //requests that did not fit into a frame's budget, serviced first on the next frame
+    final Map<Object, Vector2[]> pendingRequests = new LinkedHashMap<>();
+    final Map<Object, ProgressableGraphPath<NavigationVertex>> completedRequests = new LinkedHashMap<>();
+    long frameBudgetNanos = 2_000_000L;
+    long frameDeadline;
+    int pathsThisFrame;
+
     public NavigationMap(float spriteSize) {
         this.spriteSize = spriteSize;
         this.half = spriteSize / 2;
@@ -161,30 +173,128 @@ public class NavigationMap {
 
         navGraph.removeVertexIf(v -> navGraph.getConnections(v).isEmpty());
 
+        float tileSize = Math.max(tileWidth, tileHeight);
+        spatialIndex = new NavigationSpatialIndex(tileSize > 0 ? tileSize : spriteSize);
+        spatialIndex.build(navGraph.getNodes());
+        pathCache.quantum = half;
+        clearPaths();
+
         //Add additional vertices for map waypoints
         for (Vector2 waypointVector : MapStage.getInstance().waypoints.values()) {
             NavigationVertex waypointVertex = navGraph.addVertex(waypointVector);
+            connectToVisibleVertices(waypointVector, 4, false, (v) -> navGraph.addEdgeUnchecked(waypointVertex, v));
+            spatialIndex.add(waypointVertex);
+        }
+    }
 
-            ArrayList<NavigationVertex> vertices = new ArrayList<>(navGraph.nodes.values());
-            vertices.sort(Comparator.comparingInt(o -> Math.round((o.pos.x - waypointVector.x) * (o.pos.x - waypointVector.x) + (o.pos.y - waypointVector.y) * (o.pos.y - waypointVector.y))));
-
-            for (int i = 0, j=0; i < vertices.size() && j < 4; i++) {
-                if (waypointVector.epsilonEquals(vertices.get(i).pos))
-                    continue; //rayCast() crashes if params are equal
-                rayCollided = false;
-                MapStage.getInstance().gdxWorld.rayCast(callback, waypointVector, vertices.get(i).pos);
-                if (!rayCollided) {
-                    navGraph.addEdgeUnchecked(waypointVertex, vertices.get(i));
-                    j++;
-                }
+    private interface VertexConsumer {
+        void accept(NavigationVertex vertex);
+    }
+
+    /**
+     * Hands the closest vertices with a clear line of sight to (or from) the given point to the consumer,
+     * at most maxCount of them.
+     */
+    private void connectToVisibleVertices(Vector2 point, int maxCount, boolean towardsPoint, VertexConsumer consumer) {
+        final int[] found = {0};
+        spatialIndex.visitNearest(point, (vertex, distanceSquared) -> {
+            if (point.epsilonEquals(vertex.pos))
+                return true; //rayCast() crashes if params are equal
+            rayCollided = false;
+            if (towardsPoint)
+                MapStage.getInstance().gdxWorld.rayCast(callback, vertex.pos, point);
+            else
+                MapStage.getInstance().gdxWorld.rayCast(callback, point, vertex.pos);
+            if (!rayCollided) {
+                consumer.accept(vertex);
+                found[0]++;
             }
+            return found[0] < maxCount;
+        });
+    }
+
+    /**
+     * @return the graph vertex closest to the given position, or null if the graph is empty
+     */
+    public NavigationVertex findNearestVertex(Vector2 position) {
+        return spatialIndex == null ? null : spatialIndex.findNearest(position);
+    }
+
+    /**
+     * Forgets the cached and deferred paths, they were found on a graph that is gone.
+     */
+    void clearPaths() {
+        pathCache.clear();
+        pendingRequests.clear();
+        completedRequests.clear();
+    }
+
+    public void setFrameBudget(long nanos) {
+        frameBudgetNanos = nanos;
+    }
+
+    /**
+     * Starts a new frame for {@link #requestPath}: resets the time budget and spends it on
+     * requests that were deferred on previous frames.
+     */
+    public void beginFrame() {
+        frameDeadline = System.nanoTime() + frameBudgetNanos;
+        pathsThisFrame = 0;
+        completedRequests.clear();
+        Iterator<Map.Entry<Object, Vector2[]>> it = pendingRequests.entrySet().iterator();
+        while (it.hasNext() && hasFrameBudget()) {
+            Map.Entry<Object, Vector2[]> request = it.next();
+            it.remove();
+            Vector2[] endpoints = request.getValue();
+            completedRequests.put(request.getKey(), findShortestPath(spriteSize, endpoints[0], endpoints[1]));
         }
     }
 
+    private boolean hasFrameBudget() {
+        //always allow one search per frame so requests cannot starve
+        return pathsThisFrame == 0 || System.nanoTime() < frameDeadline;
+    }
+
+    /**
+     * Time sliced variant of {@link #findShortestPath}: answers from the path cache when possible and
+     * otherwise searches only while the current frame's budget lasts. A path found for a deferred request
+     * is still taken when the destination moved less than a sprite since, ending at the new destination;
+     * otherwise the request is deferred again and the caller keeps its previous path.
+     *
+     * @param requester key identifying who asked, e.g. the mob
+     * @return the path, or null if the search was deferred to a later frame
+     */
+    public ProgressableGraphPath<NavigationVertex> requestPath(Object requester, Vector2 origin, Vector2 destination) {
+        ProgressableGraphPath<NavigationVertex> cached = pathCache.get(origin, destination);
+        if (cached != null) {
+            pendingRequests.remove(requester);
+            return cached;
+        }
+        ProgressableGraphPath<NavigationVertex> completed = completedRequests.remove(requester);
+        if (completed != null && completed.getCount() > 0
+                && completed.get(completed.getCount() - 1).pos.dst2(destination) <= spriteSize * spriteSize) {
+            //the last vertex is the temporary one of the old destination, not part of the graph
+            completed.nodes.set(completed.getCount() - 1, new NavigationVertex(destination));
+            return completed;
+        }
+        if (hasFrameBudget()) {
+            pendingRequests.remove(requester);
+            return searchPath(origin, destination);
+        }
+        pendingRequests.put(requester, new Vector2[] {new Vector2(origin), new Vector2(destination)});
+        return null;
+    }
 
     public ProgressableGraphPath<NavigationVertex> findShortestPath(Float spriteSize, Vector2 origin, Vector2 destination) {
-        Array<Fixture> fixtures = new Array<>();
-        MapStage.getInstance().gdxWorld.getFixtures(fixtures);
+        ProgressableGraphPath<NavigationVertex> cached = pathCache.get(origin, destination);
+        if (cached != null)
+            return cached;
+        return searchPath(origin, destination);
+    }
+
+    //searches the graph and caches the result, callers have already missed the cache
+    private ProgressableGraphPath<NavigationVertex> searchPath(Vector2 origin, Vector2 destination) {
+        pathsThisFrame++;
 
         boolean originPrecalculated = navGraph.containsNode(origin);
         boolean destinationPrecalculated = navGraph.containsNode(destination);
@@ -196,37 +306,22 @@ public class NavigationMap {
             if (!destinationPrecalculated)
                 navGraph.addVertex(destination);
 
-            ArrayList<NavigationVertex> vertices = new ArrayList<>();
-
-            if (!(originPrecalculated && destinationPrecalculated)) {
-                vertices.addAll(navGraph.nodes.values());
-                vertices.sort(Comparator.comparingInt(o -> Math.round((o.pos.x - origin.x) * (o.pos.x - origin.x) + (o.pos.y - origin.y) * (o.pos.y - origin.y))));
-            }
-
             if (!originPrecalculated) {
-                for (int i = 0, j=0; i < vertices.size() && j < 10; i++) {
-                    if (origin.epsilonEquals(vertices.get(i).pos))
-                        continue; //rayCast() crashes if params are equal
+                int maxCount = 10;
+                //the temporary destination is not part of the spatial index, check for a direct line first
+                if (!destinationPrecalculated && !origin.epsilonEquals(destination)) {
                     rayCollided = false;
-                    MapStage.getInstance().gdxWorld.rayCast(callback, origin, vertices.get(i).pos);
+                    MapStage.getInstance().gdxWorld.rayCast(callback, origin, destination);
                     if (!rayCollided) {
-                        navGraph.addEdge(origin, vertices.get(i));
-                        j++;
+                        navGraph.addEdge(origin, navGraph.getVertexByPosition(destination));
+                        maxCount--;
                     }
                 }
+                connectToVisibleVertices(origin, maxCount, false, v -> navGraph.addEdge(origin, v));
             }
 
             if (!destinationPrecalculated) {
-                for (int i = 0, j=0; i < vertices.size() && j < 10; i++) {
-                    if (destination.epsilonEquals(vertices.get(i).pos))
-                        continue; //shouldn't happen, but would crash during rayCast if it did
-                    rayCollided = false;
-                    MapStage.getInstance().gdxWorld.rayCast(callback, vertices.get(i).pos, destination);
-                    if (!rayCollided) {
-                        navGraph.addEdge(destination, vertices.get(i));
-                        j++;
-                    }
-                }
+                connectToVisibleVertices(destination, 10, true, v -> navGraph.addEdge(destination, v));
             }
 
 
@@ -251,6 +346,7 @@ public class NavigationMap {
                 navGraph.removeVertex(origin);
             if (!destinationPrecalculated)
                 navGraph.removeVertex(destination);
+            pathCache.put(origin, destination, shortestPath);
             return shortestPath;
         }
         catch(Exception e){
@@ -262,6 +358,66 @@ public class NavigationMap {
         }
     }
 
+    /**
+     * Small LRU cache of found paths. Endpoints are quantized so mobs standing almost on the same spot
+     * share a result; callers consume the path they get, so every lookup returns a fresh copy whose
+     * end points are replaced by the exact requested positions.
+     */
+    static class PathCache {
+        private final Map<Long, Array<Vector2>> paths;
+        float quantum = 8f;
+        int hits, misses;
+
+        PathCache(final int capacity) {
+            paths = new LinkedHashMap<Long, Array<Vector2>>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Array<Vector2>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private long key(Vector2 origin, Vector2 destination) {
+            long ox = Math.round(origin.x / quantum) & 0xFFFF;
+            long oy = Math.round(origin.y / quantum) & 0xFFFF;
+            long dx = Math.round(destination.x / quantum) & 0xFFFF;
+            long dy = Math.round(destination.y / quantum) & 0xFFFF;
+            return ox << 48 | oy << 32 | dx << 16 | dy;
+        }
+
+        ProgressableGraphPath<NavigationVertex> get(Vector2 origin, Vector2 destination) {
+            Array<Vector2> positions = paths.get(key(origin, destination));
+            if (positions == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            ProgressableGraphPath<NavigationVertex> path = new ProgressableGraphPath<>(positions.size);
+            for (int i = 0; i < positions.size; i++) {
+                Vector2 pos = positions.get(i);
+                if (i == 0)
+                    pos = origin;
+                else if (i == positions.size - 1)
+                    pos = destination;
+                path.add(new NavigationVertex(pos));
+            }
+            return path;
+        }
+
+        void put(Vector2 origin, Vector2 destination, ProgressableGraphPath<NavigationVertex> path) {
+            Array<Vector2> positions = new Array<>(path.getCount());
+            for (NavigationVertex v : path)
+                positions.add(v.pos);
+            paths.put(key(origin, destination), positions);
+        }
+
+        void clear() {
+            paths.clear();
+            hits = 0;
+            misses = 0;
+        }
+    }
+
 //    public ProgressableGraphPath<NavigationVertex> findShortestPathOverworld(Float spriteSize, Vector2 origin, Vector2 destination) {
 //        Array<Fixture> fixtures = new Array<>();
 //        WorldStage.getInstance().gdxWorld.getFixtures(fixtures);
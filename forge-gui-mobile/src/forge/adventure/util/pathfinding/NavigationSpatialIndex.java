@@ -0,0 +1,187 @@
+package forge.adventure.util.pathfinding;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Uniform grid over the vertices of a {@link NavigationGraph}, used to visit the vertices closest to
+ * a point in order of increasing distance without copying and sorting the whole graph.
+ * Only meant to be used from the render thread.
+ */
+public class NavigationSpatialIndex {
+    public interface VertexVisitor {
+        /** @return false to stop visiting further vertices */
+        boolean visit(NavigationVertex vertex, float distanceSquared);
+    }
+
+    private final float cellSize;
+    private float minX, minY;
+    private int cols, rows;
+    private Array<NavigationVertex>[] cells;
+    private int size;
+
+    //scratch buffers reused between queries, sorted by distance so they must stay ordered on removal
+    private final Array<NavigationVertex> pending = new Array<>(true, 64);
+    private final FloatArray pendingDist = new FloatArray(true, 64);
+
+    public NavigationSpatialIndex(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void build(Iterable<NavigationVertex> vertices) {
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        minX = Float.POSITIVE_INFINITY;
+        minY = Float.POSITIVE_INFINITY;
+        for (NavigationVertex v : vertices) {
+            minX = Math.min(minX, v.pos.x);
+            minY = Math.min(minY, v.pos.y);
+            maxX = Math.max(maxX, v.pos.x);
+            maxY = Math.max(maxY, v.pos.y);
+        }
+        if (minX > maxX) { //empty graph
+            minX = minY = 0;
+            maxX = maxY = 0;
+        }
+        cols = (int) ((maxX - minX) / cellSize) + 1;
+        rows = (int) ((maxY - minY) / cellSize) + 1;
+        cells = new Array[cols * rows];
+        size = 0;
+        for (NavigationVertex v : vertices) {
+            add(v);
+        }
+    }
+
+    /** Adds a vertex; vertices outside the indexed area are stored in the nearest border cell. */
+    public void add(NavigationVertex vertex) {
+        int i = cellY(vertex.pos.y) * cols + cellX(vertex.pos.x);
+        if (cells[i] == null)
+            cells[i] = new Array<>(false, 4);
+        cells[i].add(vertex);
+        size++;
+    }
+
+    public boolean remove(NavigationVertex vertex) {
+        Array<NavigationVertex> cell = cells[cellY(vertex.pos.y) * cols + cellX(vertex.pos.x)];
+        if (cell != null && cell.removeValue(vertex, true)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public NavigationVertex findNearest(Vector2 point) {
+        final NavigationVertex[] result = new NavigationVertex[1];
+        visitNearest(point, (vertex, distanceSquared) -> {
+            result[0] = vertex;
+            return false;
+        });
+        return result[0];
+    }
+
+    /**
+     * Visits vertices in order of increasing distance to the given point until the visitor returns false.
+     * Rings of cells around the point are scanned one at a time; a vertex is only handed out once no
+     * unscanned cell can hold anything closer.
+     */
+    public void visitNearest(Vector2 point, VertexVisitor visitor) {
+        if (cells == null || size == 0)
+            return;
+        pending.clear();
+        pendingDist.clear();
+
+        int cx = cellX(point.x), cy = cellY(point.y);
+        int maxRing = Math.max(Math.max(cx, cols - 1 - cx), Math.max(cy, rows - 1 - cy));
+        for (int r = 0; r <= maxRing; r++) {
+            collectRing(point, cx, cy, r);
+
+            float limit;
+            if (r == maxRing) {
+                limit = Float.POSITIVE_INFINITY;
+            } else {
+                //distance from the point to the border of the scanned square of cells
+                //sides that already reach past the grid cannot hide anything
+                float left = cx - r <= 0 ? Float.POSITIVE_INFINITY : point.x - (minX + (cx - r) * cellSize);
+                float right = cx + r >= cols - 1 ? Float.POSITIVE_INFINITY : (minX + (cx + r + 1) * cellSize) - point.x;
+                float bottom = cy - r <= 0 ? Float.POSITIVE_INFINITY : point.y - (minY + (cy - r) * cellSize);
+                float top = cy + r >= rows - 1 ? Float.POSITIVE_INFINITY : (minY + (cy + r + 1) * cellSize) - point.y;
+                limit = Math.min(Math.min(left, right), Math.min(bottom, top));
+                if (limit <= 0)
+                    continue;
+                limit *= limit;
+            }
+            if (!emitPending(limit, visitor))
+                return;
+        }
+    }
+
+    private void collectRing(Vector2 point, int cx, int cy, int r) {
+        int x0 = cx - r, x1 = cx + r, y0 = cy - r, y1 = cy + r;
+        for (int x = Math.max(0, x0); x <= Math.min(cols - 1, x1); x++) {
+            if (y0 >= 0)
+                collectCell(point, x, y0);
+            if (r > 0 && y1 < rows)
+                collectCell(point, x, y1);
+        }
+        for (int y = Math.max(0, y0 + 1); y <= Math.min(rows - 1, y1 - 1); y++) {
+            if (x0 >= 0)
+                collectCell(point, x0, y);
+            if (r > 0 && x1 < cols)
+                collectCell(point, x1, y);
+        }
+    }
+
+    private void collectCell(Vector2 point, int x, int y) {
+        Array<NavigationVertex> cell = cells[y * cols + x];
+        if (cell == null)
+            return;
+        for (int i = 0; i < cell.size; i++) {
+            NavigationVertex v = cell.get(i);
+            float dx = v.pos.x - point.x, dy = v.pos.y - point.y;
+            float d = dx * dx + dy * dy;
+            //insertion keeps the pending list sorted, it only ever holds a few rings worth of vertices
+            int j = pendingDist.size;
+            pending.add(v);
+            pendingDist.add(d);
+            while (j > 0 && pendingDist.get(j - 1) > d) {
+                pendingDist.set(j, pendingDist.get(j - 1));
+                pending.set(j, pending.get(j - 1));
+                j--;
+            }
+            pendingDist.set(j, d);
+            pending.set(j, v);
+        }
+    }
+
+    private boolean emitPending(float limitSquared, VertexVisitor visitor) {
+        int emitted = 0;
+        boolean keepGoing = true;
+        while (emitted < pending.size && pendingDist.get(emitted) <= limitSquared) {
+            NavigationVertex v = pending.get(emitted);
+            float d = pendingDist.get(emitted);
+            emitted++;
+            if (!visitor.visit(v, d)) {
+                keepGoing = false;
+                break;
+            }
+        }
+        if (emitted > 0) {
+            pending.removeRange(0, emitted - 1);
+            pendingDist.removeRange(0, emitted - 1);
+        }
+        return keepGoing;
+    }
+
+    private int cellX(float x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((x - minX) / cellSize)));
+    }
+
+    private int cellY(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellSize)));
+    }
+}
@@ -1,7 +1,6 @@
 package forge.adventure.world;
 
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.TextureData;
@@ -49,6 +48,8 @@ public class World implements Disposable, SaveFileContent {
     private final Random random = new Random();
     private boolean worldDataLoaded = false;
     private Texture globalTexture = null;
+    private final Map<String, Long> generationPhaseTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private int revision = 0;
 
     public Random getRandom() {
         return random;
@@ -103,6 +104,7 @@ public class World implements Disposable, SaveFileContent {
             biomeImage.dispose();
 
         loadWorldData();
+        revision++;
 
         biomeImage = saveFileData.readPixmap("biomeImage");
         biomeMap = (long[][]) saveFileData.readObject("biomeMap");
@@ -287,16 +289,130 @@ public class World implements Disposable, SaveFileContent {
 
     private long measureGenerationTime(String msg, long lastTime) {
         long currentTime = System.currentTimeMillis();
+        generationPhaseTimes.put(msg, currentTime - lastTime);
         System.out.println(msg + " :\t\t" + ((currentTime - lastTime) / 1000f) + " s");
         return currentTime;
     }
 
+    /**
+     * Per biome values of the biome pass that do not depend on the tile.
+     */
+    private final class BiomePass {
+        final BiomeData biome;
+        final long biomeBit;
+        final int biomeXStart, biomeYStart, biomeWidth, biomeHeight;
+        final int beginX, beginY, endX, endY;
+        final BiomeStructure[] structures;
+        final int[] structureOffsetX, structureOffsetY;
+
+        BiomePass(BiomeData biome, int biomeIndex, Map<BiomeStructureData, BiomeStructure> structureDataMap) {
+            this.biome = biome;
+            biomeBit = 1L << biomeIndex;
+            biomeXStart = (int) Math.round(biome.startPointX * (double) width);
+            biomeYStart = (int) Math.round(biome.startPointY * (double) height);
+            biomeWidth = (int) Math.round(biome.width * (double) width);
+            biomeHeight = (int) Math.round(biome.height * (double) height);
+            if (biome.width == 1.0 && biome.height == 1.0) {
+                beginX = 0;
+                beginY = 0;
+                endX = width;
+                endY = height;
+            } else {
+                beginX = Math.max(biomeXStart - biomeWidth / 2, 0);
+                beginY = Math.max(biomeYStart - biomeHeight / 2, 0);
+                endX = Math.min(biomeXStart + biomeWidth / 2, width);
+                endY = Math.min(biomeYStart + biomeHeight / 2, height);
+            }
+            int structureCount = biome.structures == null ? 0 : biome.structures.length;
+            structures = new BiomeStructure[structureCount];
+            structureOffsetX = new int[structureCount];
+            structureOffsetY = new int[structureCount];
+            for (int i = 0; i < structureCount; i++) {
+                BiomeStructureData structureData = biome.structures[i];
+                //all structure futures have completed before the biome pass starts
+                structures[i] = structureDataMap.get(structureData);
+                structureOffsetX[i] = (biomeXStart - biomeWidth / 2) + (int) ((structureData.x * biomeWidth) - (structureData.width * biomeWidth / 2));
+                structureOffsetY[i] = (biomeYStart - biomeHeight / 2) + (int) ((structureData.y * biomeHeight) - (structureData.height * biomeHeight / 2));
+            }
+        }
+    }
+
+    private void generateBiomeColumns(BiomePass[] passes, OpenSimplexNoise noise, float noiseZoom, int startX, int endX) {
+        for (int x = startX; x < endX; x++) {
+            for (BiomePass pass : passes) {
+                if (x < pass.beginX || x >= pass.endX)
+                    continue;
+                BiomeData biome = pass.biome;
+                for (int y = pass.beginY; y < pass.endY; y++) {
+                    //value 0-1 based on noise
+                    float noiseValue = ((float) noise.eval(x / (float) width * noiseZoom, y / (float) height * noiseZoom) + 1) / 2f;
+                    noiseValue *= biome.noiseWeight;
+                    //value 0-1 based on dist to origin
+                    float distanceValue = ((float) Math.sqrt((x - pass.biomeXStart) * (x - pass.biomeXStart) + (y - pass.biomeYStart) * (y - pass.biomeYStart))) / (Math.max(pass.biomeWidth, pass.biomeHeight) / 2f);
+                    distanceValue *= biome.distWeight;
+                    if (noiseValue + distanceValue < 1.0 || biome.invertHeight && (1 - noiseValue) + distanceValue < 1.0) {
+                        biomeMap[x][y] |= pass.biomeBit;
+                        int terrainCounter = 1;
+                        terrainMap[x][y] = 0;
+                        if (biome.terrain != null) {
+                            for (BiomeTerrainData terrain : biome.terrain) {
+                                float terrainNoise = ((float) noise.eval(x / (float) width * (noiseZoom * terrain.resolution), y / (float) height * (noiseZoom * terrain.resolution)) + 1) / 2;
+                                if (terrainNoise >= terrain.min && terrainNoise <= terrain.max) {
+                                    terrainMap[x][y] = terrainCounter;
+                                }
+                                terrainCounter++;
+                            }
+                        }
+                        if (biome.collision)
+                            terrainMap[x][y] |= collisionBit;
+                        for (int i = 0; i < pass.structures.length; i++) {
+                            BiomeStructure structure = pass.structures[i];
+                            int structureXStart = x - pass.structureOffsetX[i];
+                            int structureYStart = y - pass.structureOffsetY[i];
+
+                            int structureIndex = structure.objectID(structureXStart, structureYStart);
+                            if (structureIndex >= 0) {
+
+                                terrainMap[x][y] = terrainCounter + structureIndex;
+                                if (structure.collision(structureXStart, structureYStart))
+                                    terrainMap[x][y] |= collisionBit;
+                                terrainMap[x][y] |= isStructureBit;
+
+                            }
+
+                            terrainCounter += structure.structureObjectCount();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return milliseconds spent in each phase of the last {@link #generateNew} call, in execution order
+     */
+    public Map<String, Long> getGenerationPhaseTimes() {
+        synchronized (generationPhaseTimes) {
+            return new LinkedHashMap<>(generationPhaseTimes);
+        }
+    }
+
+    /**
+     * The world content only changes when it is generated or loaded, savers use this to reuse the previously
+     * written world data.
+     */
+    public int getRevision() {
+        return revision;
+    }
+
     public boolean generateNew(long seed) {
         try {
             if (GuiBase.isAndroid())
                 GuiBase.getInterface().preventSystemSleep(true);
             final long[] currentTime = {System.currentTimeMillis()};
             long startTime = System.currentTimeMillis();
+            generationPhaseTimes.clear();
+            revision++;
 
             loadWorldData();
 //////////////////
@@ -317,13 +433,6 @@ public class World implements Disposable, SaveFileContent {
             biomeMap = new long[width][height];
             terrainMap = new int[width][height];
 
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    biomeMap[x][y] = 0;
-                    terrainMap[x][y] = 0;
-                }
-            }
-
             final int[] biomeIndex = {-1};
             currentTime[0] = measureGenerationTime("loading data", currentTime[0]);
             Map<BiomeStructureData, BiomeStructure> structureDataMap = new ConcurrentHashMap<>();
@@ -351,89 +460,29 @@ public class World implements Disposable, SaveFileContent {
             CompletableFuture<?>[] futuresArray = futures.toArray(new CompletableFuture<?>[0]);
             CompletableFuture.allOf(futuresArray).join();
             futures.clear();
+            currentTime[0] = measureGenerationTime("structures", currentTime[0]);
 
 //////////////////
 ///////// calculation each biome position based on noise and radius
 //////////////////
+            //tiles do not depend on each other, only the order of the biomes on one tile matters,
+            //so columns are generated in parallel chunks with every biome applied per tile in order
+            final BiomePass[] passes = new BiomePass[data.GetBiomes().size()];
             for (BiomeData biome : data.GetBiomes()) {
-
                 biomeIndex[0]++;
-                int biomeXStart = (int) Math.round(biome.startPointX * (double) width);
-                int biomeYStart = (int) Math.round(biome.startPointY * (double) height);
-                int biomeWidth = (int) Math.round(biome.width * (double) width);
-                int biomeHeight = (int) Math.round(biome.height * (double) height);
-
-                int beginX = Math.max(biomeXStart - biomeWidth / 2, 0);
-                int beginY = Math.max(biomeYStart - biomeHeight / 2, 0);
-                int endX = Math.min(biomeXStart + biomeWidth / 2, width);
-                int endY = Math.min(biomeYStart + biomeHeight / 2, height);
-                if (biome.width == 1.0 && biome.height == 1.0) {
-                    beginX = 0;
-                    beginY = 0;
-                    endX = width;
-                    endY = height;
-                }
-                for (int x = beginX; x < endX; x++) {
-                    for (int y = beginY; y < endY; y++) {
-                        //value 0-1 based on noise
-                        float noiseValue = ((float) noise.eval(x / (float) width * noiseZoom, y / (float) height * noiseZoom) + 1) / 2f;
-                        noiseValue *= biome.noiseWeight;
-                        //value 0-1 based on dist to origin
-                        float distanceValue = ((float) Math.sqrt((x - biomeXStart) * (x - biomeXStart) + (y - biomeYStart) * (y - biomeYStart))) / (Math.max(biomeWidth, biomeHeight) / 2f);
-                        distanceValue *= biome.distWeight;
-                        if (noiseValue + distanceValue < 1.0 || biome.invertHeight && (1 - noiseValue) + distanceValue < 1.0) {
-                            Color color = biome.GetColor();
-                            float[] hsv = new float[3];
-                            color.toHsv(hsv);
-                            int count = (int) ((noiseValue - 0.5) * 10 / 4);
-                            //hsv[2]+=(count*0.2);
-                            biomeMap[x][y] |= (1L << biomeIndex[0]);
-                            int terrainCounter = 1;
-                            terrainMap[x][y] = 0;
-                            if (biome.terrain != null) {
-                                for (BiomeTerrainData terrain : biome.terrain) {
-                                    float terrainNoise = ((float) noise.eval(x / (float) width * (noiseZoom * terrain.resolution), y / (float) height * (noiseZoom * terrain.resolution)) + 1) / 2;
-                                    if (terrainNoise >= terrain.min && terrainNoise <= terrain.max) {
-                                        terrainMap[x][y] = terrainCounter;
-                                        //pix.fillRectangle(x*data.miniMapTileSize, y*data.miniMapTileSize,data.miniMapTileSize,data.miniMapTileSize);
-                                    }
-                                    terrainCounter++;
-                                }
-                            }
-                            if (biome.collision)
-                                terrainMap[x][y] |= collisionBit;
-                            if (biome.structures != null) {
-                                for (BiomeStructureData data : biome.structures) {
-                                    while (!structureDataMap.containsKey(data)) {
-                                        try {
-                                            Thread.sleep(10);
-                                        } catch (InterruptedException e) {
-                                            throw new RuntimeException(e);
-                                        }
-                                    }
-
-                                    BiomeStructure structure = structureDataMap.get(data);
-                                    int structureXStart = x - (biomeXStart - biomeWidth / 2) - (int) ((data.x * biomeWidth) - (data.width * biomeWidth / 2));
-                                    int structureYStart = y - (biomeYStart - biomeHeight / 2) - (int) ((data.y * biomeHeight) - (data.height * biomeHeight / 2));
-
-                                    int structureIndex = structure.objectID(structureXStart, structureYStart);
-                                    if (structureIndex >= 0) {
-
-                                        terrainMap[x][y] = terrainCounter + structureIndex;
-                                        if (structure.collision(structureXStart, structureYStart))
-                                            terrainMap[x][y] |= collisionBit;
-                                        terrainMap[x][y] |= isStructureBit;
-
-                                    }
-
-                                    terrainCounter += structure.structureObjectCount();
-                                }
-                            }
-                        }
-
-                    }
-                }
+                passes[biomeIndex[0]] = new BiomePass(biome, biomeIndex[0], structureDataMap);
             }
+            final int chunkWidth = Math.max(1, width / (Runtime.getRuntime().availableProcessors() * 4));
+            for (int chunkStart = 0; chunkStart < width; chunkStart += chunkWidth) {
+                final int startX = chunkStart;
+                final int endX = Math.min(width, chunkStart + chunkWidth);
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    generateBiomeColumns(passes, noise, noiseZoom, startX, endX);
+                    return 0L;
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            futures.clear();
             currentTime[0] = measureGenerationTime("biomes in total", currentTime[0]);
 
 //////////////////
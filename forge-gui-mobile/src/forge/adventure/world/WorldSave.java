@@ -1,5 +1,7 @@
 package forge.adventure.world;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
 import forge.adventure.data.DifficultyData;
 import forge.adventure.player.AdventurePlayer;
 import forge.adventure.pointofintrest.PointOfInterestChanges;
@@ -16,7 +18,22 @@ import forge.localinstance.properties.ForgeConstants;
 import forge.player.GamePlayerUtil;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
@@ -29,6 +46,20 @@ public class WorldSave   {
     static final public int QUICK_SAVE_SLOT =-2;
     static final public int INVALID_SAVE_SLOT =-3;
     static final WorldSave currentSave=new WorldSave();
+
+    //chunked save format: magic, version, uncompressed header, then every section deflated on its own
+    private static final int SAVE_FILE_MAGIC = 0x46534156;
+    private static final int SAVE_FILE_VERSION = 1;
+    private static final String WORLD_SECTION = "world";
+    private static final ExecutorService saveExecutor = createSaveExecutor();
+    private static Future<?> pendingSave;
+    //headers of the saves still waiting for the save thread, by file, so the save list needn't wait for them
+    private static final Map<String, WorldSaveHeader> pendingHeaders = new ConcurrentHashMap<>();
+    private static volatile boolean lastSaveFailed;
+    //section data of the last written or loaded save, only used by the save thread or after waiting for it
+    private final Map<String, byte[]> compressedSections = new HashMap<>();
+    private final Map<String, byte[]> writtenSections = new HashMap<>();
+    private volatile int writtenWorldRevision = -1;
     public WorldSaveHeader header = new WorldSaveHeader();
     private final AdventurePlayer player=new AdventurePlayer();
     private final World world=new World();
@@ -36,6 +67,7 @@ public class WorldSave   {
 
 
     private final SignalList onLoadList=new SignalList();
+    private final SignalList onSaveFailedList=new SignalList();
 
     public final World getWorld()
     {
@@ -46,10 +78,33 @@ public class WorldSave   {
         return player;
     }
 
+    private static ExecutorService createSaveExecutor() {
+        //a single thread keeps saves in order, it is not a daemon so a running save finishes on exit
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> new Thread(r, "Adventure save"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public void onLoad(Runnable run)
     {
         onLoadList.add(run);
     }
+    /**
+     * Runs on the render thread when the save thread could not write a save handed to it by {@link #save}.
+     */
+    public void onSaveFailed(Runnable run)
+    {
+        onSaveFailedList.add(run);
+    }
+
+    /**
+     * Whether the last save that reached the save thread failed to be written.
+     */
+    public static boolean isLastSaveFailed() {
+        return lastSaveFailed;
+    }
+
     public PointOfInterestChanges getPointOfInterestChanges(String id)
     {
         if(!pointOfInterestChanges.containsKey(id))
@@ -62,20 +117,37 @@ public class WorldSave   {
         String fileName = WorldSave.getSaveFile(currentSlot);
         if(!new File(fileName).exists())
             return false;
+        waitForPendingSave();
         new File(getSaveDir()).mkdirs();
         try {
-            try(FileInputStream fos  = new FileInputStream(fileName);
-                InflaterInputStream inf = new InflaterInputStream(fos);
-                ObjectInputStream oos = new ObjectInputStream(inf))
+            try(DataInputStream in = openSaveFile(new File(fileName)))
             {
-                currentSave.header = (WorldSaveHeader) oos.readObject();
-                SaveFileData mainData=(SaveFileData)oos.readObject();
-                currentSave.player.load(mainData.readSubData("player"));
+                Map<String, SaveFileData> mainData = new HashMap<>();
+                boolean chunked = in.readInt() == SAVE_FILE_MAGIC;
+                if (chunked) {
+                    int version = in.readInt();
+                    if (version > SAVE_FILE_VERSION)
+                        throw new IOException("Unsupported save file version " + version);
+                    currentSave.header = WorldSaveHeader.read(in);
+                    currentSave.readSections(in, mainData);
+                } else {
+                    in.reset();
+                    try (ObjectInputStream oos = new ObjectInputStream(new InflaterInputStream(in))) {
+                        currentSave.header = (WorldSaveHeader) oos.readObject();
+                        SaveFileData legacyData = (SaveFileData) oos.readObject();
+                        for (String section : legacyData.keySet())
+                            mainData.put(section, legacyData.readSubData(section));
+                    }
+                    currentSave.clearSectionCache();
+                }
+                currentSave.player.load(mainData.get("player"));
                 GamePlayerUtil.getGuiPlayer().setName(currentSave.player.getName());
                 try {
-                    currentSave.world.load(mainData.readSubData("world"));
-                    currentSave.pointOfInterestChanges.load(mainData.readSubData("pointOfInterestChanges"));
-                    WorldStage.getInstance().load(mainData.readSubData("worldStage"));
+                    currentSave.world.load(mainData.get("world"));
+                    if (chunked)
+                        currentSave.writtenWorldRevision = currentSave.world.getRevision();
+                    currentSave.pointOfInterestChanges.load(mainData.get("pointOfInterestChanges"));
+                    WorldStage.getInstance().load(mainData.get("worldStage"));
 
                 } catch (Exception e) {
                     System.err.println("Generating New World");
@@ -92,6 +164,74 @@ public class WorldSave   {
         }
         return true;
     }
+
+    /**
+     * Reads only the header of a save file, supports both the chunked and the old fully serialized format.
+     * A save still waiting for the save thread is not waited for, the header it will write is returned instead.
+     */
+    public static WorldSaveHeader readHeader(File file) throws IOException, ClassNotFoundException {
+        WorldSaveHeader pending = pendingHeaders.get(file.getAbsolutePath());
+        if (pending != null)
+            return pending;
+        try (DataInputStream in = openSaveFile(file)) {
+            if (in.readInt() == SAVE_FILE_MAGIC) {
+                in.readInt(); //version
+                return WorldSaveHeader.read(in);
+            }
+            in.reset();
+            try (ObjectInputStream oos = new ObjectInputStream(new InflaterInputStream(in))) {
+                return (WorldSaveHeader) oos.readObject();
+            }
+        }
+    }
+
+    private static DataInputStream openSaveFile(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        in.mark(8);
+        return in;
+    }
+
+    /**
+     * Blocks until the last save handed to the save thread is on disk.
+     */
+    public static void waitForPendingSave() {
+        Future<?> save;
+        synchronized (WorldSave.class) {
+            save = pendingSave;
+        }
+        if (save == null)
+            return;
+        try {
+            save.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void readSections(DataInputStream in, Map<String, SaveFileData> mainData) throws IOException {
+        clearSectionCache();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String section = in.readUTF();
+            byte[] compressed = new byte[in.readInt()];
+            in.readFully(compressed);
+            byte[] raw = inflate(compressed);
+            mainData.put(section, SaveFileData.readFrom(new DataInputStream(new ByteArrayInputStream(raw))));
+            //keep what was read so an unchanged section does not have to be compressed again on the next save
+            compressedSections.put(section, compressed);
+            if (!WORLD_SECTION.equals(section))
+                writtenSections.put(section, raw);
+        }
+    }
+
+    private void clearSectionCache() {
+        compressedSections.clear();
+        writtenSections.clear();
+        writtenWorldRevision = -1;
+    }
+
     public static boolean isSafeFile(String name) {
         return filenameToSlot(name)!= INVALID_SAVE_SLOT;
     }
@@ -147,31 +287,52 @@ public class WorldSave   {
     public boolean quickLoad() {
         return load(QUICK_SAVE_SLOT);
     }
+    /**
+     * Hands a save to the save thread.
+     * <p>
+     * Still done on the calling thread: the player, world stage and point of interest changes are copied into
+     * {@link SaveFileData}, and so is the world when it was generated or loaded since it was last written, so
+     * the game can go on changing them. Encoding those copies, compressing them and writing the file is left to
+     * the save thread. The file is first written next to the target and then moved over it, so a crash never
+     * leaves a broken save.
+     *
+     * @return true once the save is handed over; whether it made it to disk is told by {@link #onSaveFailed}
+     * and {@link #isLastSaveFailed()}
+     */
     public boolean save(String text, int currentSlot) {
         header.name = text;
+        header.saveDate = new Date();
 
         String fileName = WorldSave.getSaveFile(currentSlot);
         new File(getSaveDir()).mkdirs();
 
-        try {
-            try(FileOutputStream fos =  new FileOutputStream(fileName);
-                DeflaterOutputStream def= new DeflaterOutputStream(fos);
-                ObjectOutputStream oos = new ObjectOutputStream(def))
-            {
-                header.saveDate= new Date();
-                oos.writeObject(header);
-                SaveFileData mainData=new SaveFileData();
-                mainData.store("player",currentSave.player.save());
-                mainData.store("world",currentSave.world.save());
-                mainData.store("worldStage", WorldStage.getInstance().save());
-                mainData.store("pointOfInterestChanges",currentSave.pointOfInterestChanges.save());
-
-                oos.writeObject(mainData);
-            }
+        Map<String, SaveFileData> sections = new LinkedHashMap<>();
+        sections.put("player", currentSave.player.save());
+        int worldRevision = currentSave.world.getRevision();
+        sections.put(WORLD_SECTION, worldRevision == writtenWorldRevision ? null : currentSave.world.save());
+        sections.put("worldStage", WorldStage.getInstance().save());
+        sections.put("pointOfInterestChanges", currentSave.pointOfInterestChanges.save());
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            return false;
+        //the header preview is replaced and disposed by the next screenshot, hand a copy to the save thread
+        Pixmap preview = copyOf(header.preview);
+        final Pixmap previewCopy = preview;
+        final String name = header.name;
+        final Date saveDate = header.saveDate;
+        final String key = new File(fileName).getAbsolutePath();
+        WorldSaveHeader pendingHeader = new WorldSaveHeader();
+        pendingHeader.name = name;
+        pendingHeader.saveDate = saveDate;
+        pendingHeader.preview = copyOf(preview);
+        pendingHeaders.put(key, pendingHeader);
+        synchronized (WorldSave.class) {
+            pendingSave = saveExecutor.submit(() -> {
+                boolean written = write(fileName, name, saveDate, previewCopy, sections, worldRevision);
+                //the file holds this header now, or still the old one
+                pendingHeaders.remove(key, pendingHeader);
+                lastSaveFailed = !written;
+                if (!written)
+                    Gdx.app.postRunnable(onSaveFailedList::emit);
+            });
         }
 
         Config.instance().getSettingData().lastActiveSave = WorldSave.filename(currentSlot);
@@ -179,6 +340,96 @@ public class WorldSave   {
         return true;
     }
 
+    private static Pixmap copyOf(Pixmap pixmap) {
+        if (pixmap == null)
+            return null;
+        Pixmap copy = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), pixmap.getFormat());
+        copy.setBlending(Pixmap.Blending.None);
+        copy.drawPixmap(pixmap, 0, 0);
+        return copy;
+    }
+
+    private boolean write(String fileName, String name, Date saveDate, Pixmap preview, Map<String, SaveFileData> sections, int worldRevision) {
+        File target = new File(fileName);
+        File temp = new File(fileName + ".tmp");
+        try {
+            byte[] previewData = WorldSaveHeader.encodePreview(preview);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(SAVE_FILE_MAGIC);
+                out.writeInt(SAVE_FILE_VERSION);
+                WorldSaveHeader.write(out, name, saveDate, previewData);
+                out.writeInt(sections.size());
+                for (Map.Entry<String, SaveFileData> section : sections.entrySet()) {
+                    byte[] data = compressSection(section.getKey(), section.getValue());
+                    out.writeUTF(section.getKey());
+                    out.writeInt(data.length);
+                    out.write(data);
+                }
+                if (sections.get(WORLD_SECTION) != null)
+                    writtenWorldRevision = worldRevision;
+            }
+            try {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            temp.delete();
+            return false;
+        } finally {
+            if (preview != null)
+                preview.dispose();
+        }
+        return true;
+    }
+
+    private byte[] compressSection(String section, SaveFileData data) throws IOException {
+        if (data == null) {
+            byte[] cached = compressedSections.get(section);
+            if (cached == null)
+                throw new IOException("No saved data for section " + section);
+            return cached;
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(stream);
+        data.writeTo(out);
+        out.flush();
+        byte[] raw = stream.toByteArray();
+
+        byte[] compressed = compressedSections.get(section);
+        if (compressed != null && Arrays.equals(raw, writtenSections.get(section)))
+            return compressed;
+        compressed = deflate(raw);
+        compressedSections.put(section, compressed);
+        //the world can be large, its revision tells whether it changed
+        if (!WORLD_SECTION.equals(section))
+            writtenSections.put(section, raw);
+        return compressed;
+    }
+
+    private static byte[] deflate(byte[] raw) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream def = new DeflaterOutputStream(stream, deflater)) {
+            def.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return stream.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(compressed.length * 4);
+        try (InflaterInputStream inf = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inf.read(buffer)) > 0)
+                stream.write(buffer, 0, read);
+        }
+        return stream.toByteArray();
+    }
+
     public void clearChanges() {
         pointOfInterestChanges.clear();
     }
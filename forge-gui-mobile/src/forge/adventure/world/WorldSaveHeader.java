@@ -2,6 +2,7 @@ package forge.adventure.world;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
@@ -14,6 +15,9 @@ import forge.Graphics;
 import forge.adventure.scene.Scene;
 import forge.adventure.util.Serializer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Date;
 
@@ -44,6 +48,45 @@ public class WorldSaveHeader implements java.io.Serializable, Disposable {
 
     }
 
+    /**
+     * Encodes the preview the same way as {@link #writeObject}, used by the chunked save format.
+     */
+    static byte[] encodePreview(Pixmap preview) throws IOException {
+        if (preview == null)
+            return new byte[0];
+        PixmapIO.PNG png = new PixmapIO.PNG(preview.getWidth() * preview.getHeight() * 4);
+        try {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            png.setFlipY(true);
+            png.write(stream, preview);
+            return stream.toByteArray();
+        } finally {
+            png.dispose();
+        }
+    }
+
+    static void write(DataOutputStream out, String name, Date saveDate, byte[] preview) throws IOException {
+        out.writeUTF(name);
+        out.writeLong(saveDate.getTime());
+        out.writeInt(preview.length);
+        out.write(preview);
+    }
+
+    static WorldSaveHeader read(DataInputStream in) throws IOException {
+        WorldSaveHeader header = new WorldSaveHeader();
+        header.name = in.readUTF();
+        header.saveDate = new Date(in.readLong());
+        int length = in.readInt();
+        if (length == 0) {
+            header.preview = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        } else {
+            byte[] data = new byte[length];
+            in.readFully(data);
+            header.preview = new Pixmap(data, 0, length);
+        }
+        return header;
+    }
+
     public void dispose() {
         preview.dispose();
     }
@@ -419,8 +419,10 @@ public class FSkinFont {
                         Forge.getAssets().manager().finishLoadingAsset(fontFile.path());
                         font = Forge.getAssets().manager().get(fontFile.path(), BitmapFont.class, false);
                     }
-                    if (font != null)
+                    if (font != null) {
                         found[0] = true;
+                        TextRenderer.clearLayoutCache(); //measured with the glyphs it replaced
+                    }
                 } catch (Exception e) {
                     e.printStackTrace();
                     found[0] = false;
@@ -499,6 +501,7 @@ public class FSkinFont {
                     Forge.getAssets().manager().load(fontFile.path(), BitmapFont.class);
                     Forge.getAssets().manager().finishLoadingAsset(fontFile.path());
                     font = Forge.getAssets().manager().get(fontFile.path(), BitmapFont.class);
+                    TextRenderer.clearLayoutCache();
                 }
 
                 generator.dispose();
@@ -157,10 +157,12 @@ public class ImageCache {
     public void clear() {
         missingIconKeys().clear();
         ImageKeys.clearMissingCards();
+        ThumbnailAtlas.getInstance().clearMissing();
     }
 
     public void disposeTextures() {
         CardRenderer.clearcardArtCache();
+        ThumbnailAtlas.getInstance().clear();
         //unload all cardsLoaded
         try {
             for (String fileName : getCardsLoaded()) {
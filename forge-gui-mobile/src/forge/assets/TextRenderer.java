@@ -2,8 +2,10 @@ package forge.assets;
 
 import java.text.BreakIterator;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.Align;
@@ -26,13 +28,34 @@ public class TextRenderer {
         return "</clr>";
     }
 
+    //layouts are shared by all renderers, so text drawn every frame by a shared renderer
+    //(card details, stack, log) isn't broken in pieces and measured again each time
+    private static final int MAX_CACHED_LAYOUTS = 512;
+    private static final Map<LayoutKey, Layout> layoutCache = new LinkedHashMap<LayoutKey, Layout>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, Layout> eldest) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
+    private static int cacheGeneration;
+
+    //forget the measured layouts, needed whenever the glyphs of the fonts change
+    public static void clearLayoutCache() {
+        synchronized (layoutCache) {
+            layoutCache.clear();
+            cacheGeneration++;
+        }
+    }
+
     private final boolean parseReminderText;
     private String fullText = "";
     private float width, height, totalHeight;
     private FSkinFont baseFont, font;
-    private boolean wrap, needClip;
-    private List<Piece> pieces = new ArrayList<>();
-    private List<Float> lineWidths = new ArrayList<>();
+    private boolean wrap, needClip, hideReminderText;
+    private int generation = -1;
+    private Layout layout = Layout.EMPTY;
+    private List<Piece> pieces;
+    private List<Float> lineWidths;
     private BreakIterator boundary = BreakIterator.getLineInstance(new Locale(Forge.locale));
 
     public TextRenderer() {
@@ -61,8 +84,6 @@ public class TextRenderer {
         }
 
         boundary.setText(fullText);
-        ForgePreferences prefs = FModel.getPreferences();
-        boolean hideReminderText = prefs != null && prefs.getPrefBoolean(FPref.UI_HIDE_REMINDER_TEXT);
 
         char ch;
         float x = 0;
@@ -477,45 +498,46 @@ public class TextRenderer {
     }
 
     private void setProps(String text, FSkinFont skinFont, float w, float h, boolean wrap0) {
-        boolean needUpdate = false;
-        if (fullText == null) {
-            fullText = text;
-            needUpdate = true;
-        } else if (!fullText.equals(text)) {
-            fullText = text;
-            needUpdate = true;
-        }
-        if (skinFont != baseFont) {
-            baseFont = skinFont;
-            needUpdate = true;
-        }
-        if (width != w) {
-            width = w;
-            needUpdate = true;
-        }
-        if (height != h) {
-            height = h;
-            needUpdate = true;
+        ForgePreferences prefs = FModel.getPreferences();
+        boolean hideReminderText0 = prefs != null && prefs.getPrefBoolean(FPref.UI_HIDE_REMINDER_TEXT);
+        if (generation == cacheGeneration && skinFont == baseFont && width == w && height == h && wrap == wrap0
+                && hideReminderText == hideReminderText0 && (fullText == null ? text == null : fullText.equals(text))) {
+            return; //same as the last call, most renderers draw the same text every frame
         }
-        if (wrap != wrap0) {
-            wrap = wrap0;
-            needUpdate = true;
+        fullText = text;
+        baseFont = skinFont;
+        width = w;
+        height = h;
+        wrap = wrap0;
+        hideReminderText = hideReminderText0;
+
+        LayoutKey key = new LayoutKey(text, skinFont, w, h, wrap0, parseReminderText, hideReminderText0);
+        Layout cached;
+        synchronized (layoutCache) {
+            generation = cacheGeneration;
+            cached = layoutCache.get(key);
         }
-        if (needUpdate) {
+        if (cached == null) {
+            pieces = new ArrayList<>();
+            lineWidths = new ArrayList<>();
+            totalHeight = 0;
             updatePieces(baseFont);
+            cached = new Layout(font, pieces, lineWidths, totalHeight, needClip);
+            pieces = null;
+            lineWidths = null;
+            synchronized (layoutCache) {
+                if (generation == cacheGeneration) {
+                    layoutCache.put(key, cached);
+                }
+            }
         }
+        layout = cached;
     }
 
     private TextBounds getCurrentBounds() {
-        float maxWidth = 0;
-        for (Float lineWidth : lineWidths) {
-            if (lineWidth > maxWidth) {
-                maxWidth = lineWidth;
-            }
-        }
         TextBounds bounds = new TextBounds();
-        bounds.width = maxWidth;
-        bounds.height = totalHeight;
+        bounds.width = layout.maxLineWidth;
+        bounds.height = layout.totalHeight;
         return bounds;
     }
 
@@ -533,50 +555,113 @@ public class TextRenderer {
     }
     public void drawText(Graphics g, String text, FSkinFont skinFont, Color color, float x, float y, float w, float h, float visibleStartY, float visibleHeight, boolean wrap0, int horzAlignment, boolean centerVertically) {
         setProps(text, skinFont, w, h, wrap0);
-        if (needClip) { //prevent text flowing outside region if couldn't shrink it to fit
+        Layout layout = this.layout;
+        if (layout.needClip) { //prevent text flowing outside region if couldn't shrink it to fit
             g.startClip(x, y, w, h);
         }
         try {
-            if (height > totalHeight && centerVertically) {
-                y += (height - totalHeight) / 2;
-            }
-            float[] alignmentOffsets = new float[lineWidths.size()];
-            int size = lineWidths.size();
-            for (int i = 0; i < size; i++) {
-                switch (horzAlignment) {
-                    case Align.left:
-                        alignmentOffsets[i] = 0;
-                        break;
-                    case Align.center:
-                        alignmentOffsets[i] = Math.max((width - lineWidths.get(i)) / 2, 0);
-                        break;
-                    case Align.right:
-                        alignmentOffsets[i] = Math.max(width - lineWidths.get(i), 0);
-                        break;
-                }
+            if (height > layout.totalHeight && centerVertically) {
+                y += (height - layout.totalHeight) / 2;
             }
 
             visibleStartY -= y; //subtract y to make calculation quicker
             float visibleEndY = visibleStartY + visibleHeight;
 
-            for (Piece piece : pieces) {
+            for (Piece piece : layout.pieces) {
                 if (piece.y + piece.h < visibleStartY) {
                     continue;
                 }
                 if (piece.y >= visibleEndY) {
                     break;
                 }
-                piece.draw(g, color, x + alignmentOffsets[piece.lineNum], y);
+                float alignmentOffset = 0;
+                switch (horzAlignment) {
+                    case Align.center:
+                        alignmentOffset = Math.max((width - layout.lineWidths[piece.lineNum]) / 2, 0);
+                        break;
+                    case Align.right:
+                        alignmentOffset = Math.max(width - layout.lineWidths[piece.lineNum], 0);
+                        break;
+                }
+                piece.draw(g, layout.font, color, x + alignmentOffset, y);
             }
         } catch (Exception e) {
             //e.printStackTrace();
         }
-        if (needClip) {
+        if (layout.needClip) {
             g.endClip();
         }
     }
 
-    private abstract class Piece {
+    //what a text is broken in once measured, never changed after it's built
+    private static final class Layout {
+        private static final Layout EMPTY = new Layout(null, new ArrayList<>(), new ArrayList<>(), 0, false);
+
+        private final FSkinFont font;
+        private final Piece[] pieces;
+        private final float[] lineWidths;
+        private final float totalHeight, maxLineWidth;
+        private final boolean needClip;
+
+        private Layout(FSkinFont font0, List<Piece> pieces0, List<Float> lineWidths0, float totalHeight0, boolean needClip0) {
+            font = font0;
+            pieces = pieces0.toArray(new Piece[0]);
+            lineWidths = new float[lineWidths0.size()];
+            float max = 0;
+            for (int i = 0; i < lineWidths.length; i++) {
+                lineWidths[i] = lineWidths0.get(i);
+                if (lineWidths[i] > max) {
+                    max = lineWidths[i];
+                }
+            }
+            maxLineWidth = max;
+            totalHeight = totalHeight0;
+            needClip = needClip0;
+        }
+    }
+
+    private static final class LayoutKey {
+        private final String text;
+        private final FSkinFont font;
+        private final float width, height;
+        private final boolean wrap, parseReminderText, hideReminderText;
+        private final int hash;
+
+        private LayoutKey(String text0, FSkinFont font0, float width0, float height0, boolean wrap0, boolean parseReminderText0, boolean hideReminderText0) {
+            text = text0;
+            font = font0;
+            width = width0;
+            height = height0;
+            wrap = wrap0;
+            parseReminderText = parseReminderText0;
+            hideReminderText = hideReminderText0;
+            int h = text == null ? 0 : text.hashCode();
+            h = 31 * h + System.identityHashCode(font);
+            h = 31 * h + Float.floatToIntBits(width);
+            h = 31 * h + Float.floatToIntBits(height);
+            h = 31 * h + (wrap ? 1 : 0) + (parseReminderText ? 2 : 0) + (hideReminderText ? 4 : 0);
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof LayoutKey)) {
+                return false;
+            }
+            LayoutKey other = (LayoutKey) o;
+            return hash == other.hash && font == other.font && width == other.width && height == other.height
+                    && wrap == other.wrap && parseReminderText == other.parseReminderText
+                    && hideReminderText == other.hideReminderText
+                    && (text == null ? other.text == null : text.equals(other.text));
+        }
+    }
+
+    private abstract static class Piece {
         protected static final float ALPHA_COMPOSITE = 0.5f;
 
         protected final boolean inReminderText;
@@ -587,10 +672,10 @@ public class TextRenderer {
             inReminderText = inReminderText0;
         }
 
-        public abstract void draw(Graphics g, Color color, float offsetX, float offsetY);
+        public abstract void draw(Graphics g, FSkinFont font, Color color, float offsetX, float offsetY);
     }
 
-    private class TextPiece extends Piece {
+    private static class TextPiece extends Piece {
         private String text;
         private Color colorOverride;
 
@@ -601,7 +686,7 @@ public class TextRenderer {
         }
 
         @Override
-        public void draw(Graphics g, Color color, float offsetX, float offsetY) {
+        public void draw(Graphics g, FSkinFont font, Color color, float offsetX, float offsetY) {
             if (colorOverride != null) {
                 color = colorOverride;
             }
@@ -612,7 +697,7 @@ public class TextRenderer {
         }
     }
 
-    private class SymbolPiece extends Piece {
+    private static class SymbolPiece extends Piece {
         private FSkinImageInterface image;
 
         private SymbolPiece(FSkinImageInterface image0, boolean inReminderText0) {
@@ -621,7 +706,7 @@ public class TextRenderer {
         }
 
         @Override
-        public void draw(Graphics g, Color color, float offsetX, float offsetY) {
+        public void draw(Graphics g, FSkinFont font, Color color, float offsetX, float offsetY) {
             if (inReminderText) {
                 g.setAlphaComposite(ALPHA_COMPOSITE);
             }
@@ -0,0 +1,375 @@
+package forge.assets;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import forge.ImageKeys;
+import forge.item.IPaperCard;
+import forge.localinstance.properties.ForgeConstants;
+import forge.localinstance.properties.ForgePreferences;
+import forge.model.FModel;
+
+/**
+ * Small copies of card images packed into a few large textures, for grids showing many cards at once.
+ * <p>
+ * A background thread downsamples the card images, or reads the copy it kept in the thumbnail cache
+ * directory, and the render thread copies the result into a free cell of a page. Drawing a grid then
+ * only switches between the page textures instead of loading one full size texture per card.
+ * <p>
+ * The cache directory is kept below {@link #MAX_CACHE_BYTES}: each time the thumbnail thread starts,
+ * thumbnails unused for {@link #MAX_CACHE_AGE_DAYS} days go, then the least recently used ones until it fits.
+ */
+public class ThumbnailAtlas {
+    public static final int THUMBNAIL_WIDTH = 183;
+    public static final int THUMBNAIL_HEIGHT = 256;
+    private static final int PAGE_SIZE = 2048;
+    private static final int MAX_PAGES = 4;
+    private static final int MAX_UPLOADS_PER_FRAME = 12;
+    //requests beyond these were scrolled past already
+    private static final int MAX_QUEUED = 64;
+    static final long MAX_CACHE_BYTES = 256L * 1024 * 1024;
+    static final int MAX_CACHE_AGE_DAYS = 90;
+
+    private static ThumbnailAtlas instance;
+
+    public static ThumbnailAtlas getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailAtlas(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, PAGE_SIZE, MAX_PAGES);
+        }
+        return instance;
+    }
+
+    private static final class Request {
+        private final String key;
+        private final File source;
+
+        private Request(String key, File source) {
+            this.key = key;
+            this.source = source;
+        }
+    }
+
+    private static final class Thumbnail {
+        private final String key;
+        private final Pixmap pixmap;
+        private final boolean fullBorder;
+
+        private Thumbnail(String key, Pixmap pixmap, boolean fullBorder) {
+            this.key = key;
+            this.pixmap = pixmap;
+            this.fullBorder = fullBorder;
+        }
+    }
+
+    private static final class Regions {
+        private final TextureRegion image, cropped;
+
+        private Regions(TextureRegion image, TextureRegion cropped) {
+            this.image = image;
+            this.cropped = cropped;
+        }
+    }
+
+    private final int width, height;
+    private final File cacheRoot, cacheDir;
+    private final ThumbnailPages pages;
+    private final List<Texture> textures = new ArrayList<>();
+    private final Map<String, Regions> regions = new HashMap<>();
+    private final Set<String> missing = new HashSet<>();
+
+    //keys queued or being made, touched by the render thread only
+    private final Set<String> pending = new HashSet<>();
+    private final LinkedBlockingDeque<Request> requests = new LinkedBlockingDeque<>();
+    private final Queue<Thumbnail> ready = new ConcurrentLinkedQueue<>();
+    private final Queue<String> failed = new ConcurrentLinkedQueue<>();
+    private Thread worker;
+    private long lastFrame = -1;
+    //bumped by clear() so thumbnails made before it are thrown away
+    private volatile int generation;
+
+    public ThumbnailAtlas(int width, int height, int pageSize, int maxPages) {
+        this.width = width;
+        this.height = height;
+        this.cacheRoot = new File(ForgeConstants.CACHE_DIR, "thumbnails");
+        this.cacheDir = new File(cacheRoot, width + "x" + height);
+        this.pages = new ThumbnailPages(pageSize, width, height, maxPages);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the thumbnail of the card, or null while it's being made or when the card has no image on disk.
+     * @param cropped without the border of full border scans, like {@link ImageCache#croppedBorderImage}
+     */
+    public TextureRegion getThumbnail(IPaperCard pc, boolean cropped) {
+        if (FModel.getPreferences().getPrefBoolean(ForgePreferences.FPref.UI_DISABLE_CARD_IMAGES)) {
+            return null;
+        }
+        String key = pc.getCardImageKey();
+        if (StringUtils.isBlank(key)) {
+            return null;
+        }
+        long frame = Gdx.graphics.getFrameId();
+        if (frame != lastFrame) {
+            lastFrame = frame;
+            upload();
+        }
+        Regions r = regions.get(key);
+        if (r != null) {
+            pages.get(key);
+            return cropped ? r.cropped : r.image;
+        }
+        if (!missing.contains(key) && pending.add(key)) {
+            File file = ImageKeys.getImageFile(key);
+            if (file == null) {
+                pending.remove(key);
+                missing.add(key);
+                return null;
+            }
+            request(new Request(key, file));
+        }
+        return null;
+    }
+
+    /**
+     * Whether the card has no image to make a thumbnail from, in which case it has to be drawn some other way.
+     */
+    public boolean isMissing(IPaperCard pc) {
+        return missing.contains(pc.getCardImageKey());
+    }
+
+    //images downloaded since can be tried again
+    public void clearMissing() {
+        missing.clear();
+    }
+
+    private void request(Request request) {
+        requests.addFirst(request);
+        while (requests.size() > MAX_QUEUED) {
+            Request dropped = requests.pollLast();
+            if (dropped != null) {
+                failed.add(dropped.key);
+            }
+        }
+        if (worker == null) {
+            worker = new Thread(this::work, "Thumbnails");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void work() {
+        try {
+            pruneCache(cacheRoot, MAX_CACHE_BYTES, System.currentTimeMillis() - MAX_CACHE_AGE_DAYS * 24L * 60 * 60 * 1000);
+        } catch (Exception e) {
+            System.err.println("Failed to prune the thumbnail cache: " + e.getMessage());
+        }
+        while (true) {
+            Request request;
+            try {
+                request = requests.takeFirst();
+            } catch (InterruptedException e) {
+                return;
+            }
+            int gen = generation;
+            Pixmap pixmap = null;
+            try {
+                pixmap = load(request.key, request.source);
+            } catch (Exception e) {
+                System.err.println("Failed to make thumbnail of " + request.source + ": " + e.getMessage());
+            }
+            if (pixmap == null || gen != generation) {
+                if (pixmap != null) {
+                    pixmap.dispose();
+                }
+                failed.add(request.key);
+            } else {
+                ready.add(new Thumbnail(request.key, pixmap, request.source.getName().contains(".fullborder.")));
+            }
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    private Pixmap load(String key, File source) {
+        File cached = getCacheFile(key);
+        if (cached.exists() && cached.lastModified() >= source.lastModified()) {
+            try {
+                Pixmap pixmap = new Pixmap(new FileHandle(cached));
+                if (pixmap.getWidth() == width && pixmap.getHeight() == height) {
+                    //the modification time tells pruneCache when it was used last
+                    cached.setLastModified(System.currentTimeMillis());
+                    return pixmap;
+                }
+                pixmap.dispose();
+            } catch (Exception e) {
+                //made again below
+            }
+        }
+        if (!source.exists()) {
+            return null;
+        }
+        Pixmap image = new Pixmap(new FileHandle(source));
+        Pixmap thumbnail = downsample(image, width, height);
+        image.dispose();
+        try {
+            cacheDir.mkdirs();
+            PixmapIO.writePNG(new FileHandle(cached), thumbnail);
+        } catch (Exception e) {
+            //made again next time
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Scales the image down to the given size, halving it first while it's more than twice as large
+     * so every pixel of it counts. Doesn't touch the image.
+     */
+    public static Pixmap downsample(Pixmap image, int width, int height) {
+        Pixmap current = image;
+        while (current.getWidth() >= width * 2 && current.getHeight() >= height * 2) {
+            Pixmap half = scale(current, current.getWidth() / 2, current.getHeight() / 2);
+            if (current != image) {
+                current.dispose();
+            }
+            current = half;
+        }
+        Pixmap result = scale(current, width, height);
+        if (current != image) {
+            current.dispose();
+        }
+        return result;
+    }
+
+    private static Pixmap scale(Pixmap image, int width, int height) {
+        Pixmap result = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        result.setBlending(Pixmap.Blending.None);
+        result.setFilter(Pixmap.Filter.BiLinear);
+        result.drawPixmap(image, 0, 0, image.getWidth(), image.getHeight(), 0, 0, width, height);
+        return result;
+    }
+
+    /**
+     * Deletes the cached thumbnails, of every size, last used before the given time, then the least recently
+     * used others until the cache holds no more than maxBytes.
+     * @return the bytes left in the cache
+     */
+    static long pruneCache(File root, long maxBytes, long unusedSince) {
+        List<File> thumbnails = new ArrayList<>();
+        File[] dirs = root.listFiles(File::isDirectory);
+        if (dirs != null) {
+            for (File dir : dirs) {
+                File[] files = dir.listFiles(File::isFile);
+                if (files != null) {
+                    Collections.addAll(thumbnails, files);
+                }
+            }
+        }
+        //read once, the sort must not see them change
+        Map<File, Long> lastUsed = new HashMap<>();
+        long total = 0;
+        for (File f : thumbnails) {
+            lastUsed.put(f, f.lastModified());
+            total += f.length();
+        }
+        thumbnails.sort(Comparator.comparingLong(lastUsed::get));
+        for (File f : thumbnails) {
+            if (total <= maxBytes && lastUsed.get(f) >= unusedSince) {
+                break;
+            }
+            long length = f.length();
+            if (f.delete()) {
+                total -= length;
+            }
+        }
+        return total;
+    }
+
+    File getCacheFile(String key) {
+        return new File(cacheDir, key.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + Integer.toHexString(key.hashCode()) + ".png");
+    }
+
+    //copies the finished thumbnails into their cells, a few each frame
+    private void upload() {
+        String key;
+        while ((key = failed.poll()) != null) {
+            pending.remove(key);
+        }
+        Thumbnail thumbnail;
+        int uploaded = 0;
+        while (uploaded < MAX_UPLOADS_PER_FRAME && (thumbnail = ready.poll()) != null) {
+            pending.remove(thumbnail.key);
+            ThumbnailPages.Slot slot = pages.allocate(thumbnail.key, (evicted, s) -> regions.remove(evicted));
+            while (textures.size() <= slot.page) {
+                Texture page = new Texture(pages.getPageSize(), pages.getPageSize(), Pixmap.Format.RGBA8888);
+                page.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+                textures.add(page);
+            }
+            Texture texture = textures.get(slot.page);
+            Pixmap pixmap = thumbnail.pixmap;
+            texture.bind();
+            Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+            Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, slot.x, slot.y, pixmap.getWidth(), pixmap.getHeight(),
+                    pixmap.getGLFormat(), pixmap.getGLType(), pixmap.getPixels());
+            pixmap.dispose();
+
+            TextureRegion image = new TextureRegion(texture, slot.x, slot.y, width, height);
+            TextureRegion cropped = image;
+            if (thumbnail.fullBorder) {
+                //same share of the image as croppedBorderImage takes
+                int rw = Math.round(width * 0.96f);
+                int rh = Math.round(height * 0.96f);
+                int rx = Math.round((width - rw) / 2f);
+                int ry = Math.max(0, Math.round((height - rh) / 2f) - 1);
+                cropped = new TextureRegion(texture, slot.x + rx, slot.y + ry, rw, rh);
+            }
+            regions.put(thumbnail.key, new Regions(image, cropped));
+            uploaded++;
+        }
+        if (!ready.isEmpty()) {
+            Gdx.graphics.requestRendering();
+        }
+    }
+
+    /**
+     * Forgets every thumbnail and frees the pages, the thumbnail cache on disk makes them again quickly.
+     */
+    public void clear() {
+        generation++;
+        requests.clear();
+        Thumbnail thumbnail;
+        while ((thumbnail = ready.poll()) != null) {
+            thumbnail.pixmap.dispose();
+        }
+        failed.clear();
+        pending.clear();
+        regions.clear();
+        missing.clear();
+        pages.clear();
+        for (Texture texture : textures) {
+            texture.dispose();
+        }
+        textures.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package forge.assets;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Hands out the cells of fixed size pages to thumbnails, the least recently drawn one gives up its cell
+//once every page is full. Only bookkeeping, the pixels are up to the caller, so it doesn't need a GPU
+public class ThumbnailPages {
+    public static final class Slot {
+        public final int page, x, y;
+
+        private Slot(int page, int x, int y) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public interface EvictionListener {
+        void evicted(String key, Slot slot);
+    }
+
+    private final int pageSize, cellWidth, cellHeight, maxPages;
+    private final int columns, cellsPerPage;
+    private final Map<String, Slot> slots = new LinkedHashMap<>(64, 0.75f, true);
+    private final Deque<Slot> free = new ArrayDeque<>();
+    private int pageCount;
+
+    public ThumbnailPages(int pageSize, int cellWidth, int cellHeight, int maxPages) {
+        if (cellWidth > pageSize || cellHeight > pageSize) {
+            throw new IllegalArgumentException("A " + cellWidth + "x" + cellHeight + " cell doesn't fit on a " + pageSize + " page");
+        }
+        this.pageSize = pageSize;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.maxPages = Math.max(1, maxPages);
+        columns = pageSize / cellWidth;
+        cellsPerPage = columns * (pageSize / cellHeight);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getCapacity() {
+        return cellsPerPage * maxPages;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    //marks the thumbnail as just drawn
+    public Slot get(String key) {
+        return slots.get(key);
+    }
+
+    //finds a cell for the thumbnail: a free one, one on a new page, or the one of the thumbnail drawn the longest ago
+    public Slot allocate(String key, EvictionListener listener) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        if (free.isEmpty()) {
+            if (pageCount < maxPages) {
+                int page = pageCount++;
+                for (int i = 0; i < cellsPerPage; i++) {
+                    free.add(new Slot(page, (i % columns) * cellWidth, (i / columns) * cellHeight));
+                }
+            } else {
+                Iterator<Map.Entry<String, Slot>> eldest = slots.entrySet().iterator();
+                Map.Entry<String, Slot> e = eldest.next();
+                eldest.remove();
+                free.add(e.getValue());
+                if (listener != null) {
+                    listener.evicted(e.getKey(), e.getValue());
+                }
+            }
+        }
+        slot = free.poll();
+        slots.put(key, slot);
+        return slot;
+    }
+
+    public void remove(String key) {
+        Slot slot = slots.remove(key);
+        if (slot != null) {
+            free.addFirst(slot);
+        }
+    }
+
+    public void clear() {
+        slots.clear();
+        free.clear();
+        pageCount = 0;
+    }
+}
@@ -41,6 +41,7 @@ import forge.assets.FSkinImage;
 import forge.assets.FSkinImageInterface;
 import forge.assets.FTextureRegionImage;
 import forge.assets.ImageCache;
+import forge.assets.ThumbnailAtlas;
 import forge.card.CardZoom.ActivateHandler;
 import forge.card.mana.ManaCost;
 import forge.game.card.CardView;
@@ -621,19 +622,42 @@ public class CardRenderer {
                 } else
                     g.drawImage(image, x, y, w, h);
             }
-            if (pc.isFoil()) { //draw foil effect if needed
-                final CardView card = CardView.getCardForUi(pc);
-                if (card.getCurrentState().getFoilIndex() == 0) { //if foil finish not yet established, assign a random one
-                    card.getCurrentState().setFoilIndexOverride(-1);
-                }
-                drawFoilEffect(g, card, x, y, w, h, false);
-            }
+            drawFoilEffect(g, pc, x, y, w, h);
         } else {
             //if card has invalid or no texture due to sudden changes in ImageCache, draw CardImageRenderer instead and wait for it to refresh automatically
             CardImageRenderer.drawCardImage(g, CardView.getCardForUi(pc), false, x, y, w, h, pos, true, true);
         }
     }
 
+    //draws the card from the thumbnail atlas if it's small enough, returns false when it has to be drawn with drawCard
+    public static boolean drawCardThumbnail(Graphics g, IPaperCard pc, float x, float y, float w, float h, CardStackPosition pos) {
+        ThumbnailAtlas atlas = ThumbnailAtlas.getInstance();
+        //full masking rounds the corners with a shader on the card texture itself
+        if (w > atlas.getWidth() * 1.5f || Forge.enableUIMask.equals("Full") || Forge.enableUIMask.equals("Art"))
+            return false;
+        TextureRegion thumbnail = atlas.getThumbnail(pc, Forge.enableUIMask.equals("Crop"));
+        if (thumbnail == null) {
+            if (atlas.isMissing(pc))
+                return false; //let drawCard fetch the image
+            //draw CardImageRenderer until the thumbnail is ready, like drawCard does for a texture that isn't there
+            CardImageRenderer.drawCardImage(g, CardView.getCardForUi(pc), false, x, y, w, h, pos, true, true);
+            return true;
+        }
+        g.drawImage(thumbnail, x, y, w, h);
+        drawFoilEffect(g, pc, x, y, w, h);
+        return true;
+    }
+
+    private static void drawFoilEffect(Graphics g, IPaperCard pc, float x, float y, float w, float h) {
+        if (pc.isFoil()) { //draw foil effect if needed
+            final CardView card = CardView.getCardForUi(pc);
+            if (card.getCurrentState().getFoilIndex() == 0) { //if foil finish not yet established, assign a random one
+                card.getCurrentState().setFoilIndexOverride(-1);
+            }
+            drawFoilEffect(g, card, x, y, w, h, false);
+        }
+    }
+
     public static void drawCard(Graphics g, CardView card, float x, float y, float w, float h, CardStackPosition pos, boolean rotate) {
         drawCard(g, card, x, y, w, h, pos, rotate, false, false, false);
     }
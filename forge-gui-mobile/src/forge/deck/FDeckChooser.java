@@ -536,6 +536,96 @@ public class FDeckChooser extends FScreen {
         Forge.openScreen(new FDeckEditor(editorType, deck, true));
     }
 
+    private List<DeckType> getDeckTypes() {
+        final List<DeckType> deckTypes = new ArrayList<>();
+        switch (lstDecks.getGameType()) {
+        case Constructed:
+        case Gauntlet:
+            deckTypes.add(DeckType.CUSTOM_DECK);
+            deckTypes.add(DeckType.PRECONSTRUCTED_DECK);
+            deckTypes.add(DeckType.QUEST_OPPONENT_DECK);
+            deckTypes.add(DeckType.COLOR_DECK);
+            deckTypes.add(DeckType.STANDARD_COLOR_DECK);
+            deckTypes.add(DeckType.MODERN_COLOR_DECK);
+            deckTypes.add(DeckType.PAUPER_COLOR_DECK);
+            deckTypes.add(DeckType.RANDOM_DECK);
+            deckTypes.add(DeckType.THEME_DECK);
+            if(FModel.isdeckGenMatrixLoaded()) {
+                deckTypes.add(DeckType.STANDARD_CARDGEN_DECK);
+                deckTypes.add(DeckType.MODERN_CARDGEN_DECK);
+                deckTypes.add(DeckType.PAUPER_CARDGEN_DECK);
+                deckTypes.add(DeckType.LEGACY_CARDGEN_DECK);
+                deckTypes.add(DeckType.VINTAGE_CARDGEN_DECK);
+                deckTypes.add(DeckType.PIONEER_CARDGEN_DECK);
+                deckTypes.add(DeckType.HISTORIC_CARDGEN_DECK);
+            }
+            deckTypes.add(DeckType.NET_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_STANDARD_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_PIONEER_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_MODERN_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_PAUPER_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_LEGACY_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_VINTAGE_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_BLOCK_DECK);
+
+            break;
+        case Commander:
+        case Oathbreaker:
+        case TinyLeaders:
+        case Brawl:
+            deckTypes.add(DeckType.CUSTOM_DECK);
+            deckTypes.add(DeckType.PRECON_COMMANDER_DECK);
+            deckTypes.add(DeckType.RANDOM_DECK);
+            if(FModel.isdeckGenMatrixLoaded()) {
+                deckTypes.add(DeckType.RANDOM_CARDGEN_COMMANDER_DECK);
+            }
+            deckTypes.add(DeckType.RANDOM_COMMANDER_DECK);
+            deckTypes.add(DeckType.NET_DECK);
+            break;
+        case DeckManager:
+            deckTypes.add(DeckType.CONSTRUCTED_DECK);
+            deckTypes.add(DeckType.COMMANDER_DECK);
+            deckTypes.add(DeckType.OATHBREAKER_DECK);
+            deckTypes.add(DeckType.TINY_LEADERS_DECK);
+            deckTypes.add(DeckType.BRAWL_DECK);
+            deckTypes.add(DeckType.SCHEME_DECK);
+            deckTypes.add(DeckType.PLANAR_DECK);
+            deckTypes.add(DeckType.DRAFT_DECK);
+            deckTypes.add(DeckType.SEALED_DECK);
+            deckTypes.add(DeckType.PRECONSTRUCTED_DECK);
+            deckTypes.add(DeckType.PRECON_COMMANDER_DECK);
+            deckTypes.add(DeckType.QUEST_OPPONENT_DECK);
+            deckTypes.add(DeckType.NET_DECK);
+            deckTypes.add(DeckType.NET_COMMANDER_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_STANDARD_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_PIONEER_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_MODERN_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_PAUPER_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_LEGACY_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_VINTAGE_DECK);
+            deckTypes.add(DeckType.NET_ARCHIVE_BLOCK_DECK);
+            break;
+        default:
+            deckTypes.add(DeckType.CUSTOM_DECK);
+            deckTypes.add(DeckType.RANDOM_DECK);
+            break;
+        }
+        return deckTypes;
+    }
+
+    // the deck types built from the matrices can be chosen once they are loaded
+    private void deckGenMatrixDone() {
+        if (!FModel.isdeckGenMatrixLoaded()) {
+            return;
+        }
+        refreshingDeckType = true;
+        cmbDeckTypes.setItems(getDeckTypes(), cmbDeckTypes.getSelectedItem());
+        refreshingDeckType = false;
+        if (selectedDeckType != null && selectedDeckType.usesDeckGenMatrix()) {
+            refreshDecksList(selectedDeckType, true, null);
+        }
+    }
+
     public void initialize(FPref savedStateSetting, DeckType defaultDeckType) {
         stateSetting = savedStateSetting;
         selectedDeckType = defaultDeckType;
@@ -543,78 +633,8 @@ public class FDeckChooser extends FScreen {
         if (cmbDeckTypes == null) { //initialize components with delayed initialization the first time this is populated
             cmbDeckTypes = new FComboBox<>();
             cmbDeckTypes.setAutoClose(false);
-            switch (lstDecks.getGameType()) {
-            case Constructed:
-            case Gauntlet:
-                cmbDeckTypes.addItem(DeckType.CUSTOM_DECK);
-                cmbDeckTypes.addItem(DeckType.PRECONSTRUCTED_DECK);
-                cmbDeckTypes.addItem(DeckType.QUEST_OPPONENT_DECK);
-                cmbDeckTypes.addItem(DeckType.COLOR_DECK);
-                cmbDeckTypes.addItem(DeckType.STANDARD_COLOR_DECK);
-                cmbDeckTypes.addItem(DeckType.MODERN_COLOR_DECK);
-                cmbDeckTypes.addItem(DeckType.PAUPER_COLOR_DECK);
-                cmbDeckTypes.addItem(DeckType.RANDOM_DECK);
-                cmbDeckTypes.addItem(DeckType.THEME_DECK);
-                if(FModel.isdeckGenMatrixLoaded()) {
-                    cmbDeckTypes.addItem(DeckType.STANDARD_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.MODERN_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.PAUPER_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.LEGACY_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.VINTAGE_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.PIONEER_CARDGEN_DECK);
-                    cmbDeckTypes.addItem(DeckType.HISTORIC_CARDGEN_DECK);
-                }
-                cmbDeckTypes.addItem(DeckType.NET_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_STANDARD_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_PIONEER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_MODERN_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_PAUPER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_LEGACY_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_VINTAGE_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_BLOCK_DECK);
-
-                break;
-            case Commander:
-            case Oathbreaker:
-            case TinyLeaders:
-            case Brawl:
-                cmbDeckTypes.addItem(DeckType.CUSTOM_DECK);
-                cmbDeckTypes.addItem(DeckType.PRECON_COMMANDER_DECK);
-                cmbDeckTypes.addItem(DeckType.RANDOM_DECK);
-                if(FModel.isdeckGenMatrixLoaded()) {
-                    cmbDeckTypes.addItem(DeckType.RANDOM_CARDGEN_COMMANDER_DECK);
-                }
-                cmbDeckTypes.addItem(DeckType.RANDOM_COMMANDER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_DECK);
-                break;
-            case DeckManager:
-                cmbDeckTypes.addItem(DeckType.CONSTRUCTED_DECK);
-                cmbDeckTypes.addItem(DeckType.COMMANDER_DECK);
-                cmbDeckTypes.addItem(DeckType.OATHBREAKER_DECK);
-                cmbDeckTypes.addItem(DeckType.TINY_LEADERS_DECK);
-                cmbDeckTypes.addItem(DeckType.BRAWL_DECK);
-                cmbDeckTypes.addItem(DeckType.SCHEME_DECK);
-                cmbDeckTypes.addItem(DeckType.PLANAR_DECK);
-                cmbDeckTypes.addItem(DeckType.DRAFT_DECK);
-                cmbDeckTypes.addItem(DeckType.SEALED_DECK);
-                cmbDeckTypes.addItem(DeckType.PRECONSTRUCTED_DECK);
-                cmbDeckTypes.addItem(DeckType.PRECON_COMMANDER_DECK);
-                cmbDeckTypes.addItem(DeckType.QUEST_OPPONENT_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_COMMANDER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_STANDARD_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_PIONEER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_MODERN_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_PAUPER_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_LEGACY_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_VINTAGE_DECK);
-                cmbDeckTypes.addItem(DeckType.NET_ARCHIVE_BLOCK_DECK);
-                break;
-            default:
-                cmbDeckTypes.addItem(DeckType.CUSTOM_DECK);
-                cmbDeckTypes.addItem(DeckType.RANDOM_DECK);
-                break;
-            }
+            final List<DeckType> deckTypes = getDeckTypes();
+            cmbDeckTypes.setItems(deckTypes, deckTypes.get(0));
             cmbDeckTypes.setAlignment(Align.center);
             restoreSavedState();
 
@@ -824,6 +844,9 @@ public class FDeckChooser extends FScreen {
             add(btnEditDeck);
             add(btnViewDeck);
             add(btnRandom);
+            if (!FModel.isdeckGenMatrixLoaded()) {
+                FModel.whenDeckGenMatrixDone(this::deckGenMatrixDone);
+            }
         }
         else {
             restoreSavedState(); //ensure decks refreshed and state restored in case any deleted or added since last loaded
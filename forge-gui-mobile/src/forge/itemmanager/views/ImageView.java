@@ -1118,7 +1118,8 @@ public class ImageView<T extends InventoryItem> extends ItemView<T> {
             }
 
             if (item instanceof PaperCard) {
-                CardRenderer.drawCard(g, (PaperCard) item, x, y, w, h, pos);
+                if (!CardRenderer.drawCardThumbnail(g, (PaperCard) item, x, y, w, h, pos))
+                    CardRenderer.drawCard(g, (PaperCard) item, x, y, w, h, pos);
                 if (showRanking) {
                     float rankSize = w / 2;
                     float y2 = y + (rankSize - (rankSize * 0.1f));
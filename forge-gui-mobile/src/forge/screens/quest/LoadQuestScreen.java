@@ -217,8 +217,7 @@ public class LoadQuestScreen extends LaunchScreen {
             }
 
             FThreads.invokeInEdtLater(() -> {
-                new File(ForgeConstants.QUEST_SAVE_DIR, quest.getName() + ".dat").delete();
-                new File(ForgeConstants.QUEST_SAVE_DIR, quest.getName() + ".dat.bak").delete();
+                QuestDataIO.deleteSaveFiles(quest.getName());
 
                 lstQuests.removeQuest(quest);
                 updateEnabledButtons();
@@ -276,7 +275,7 @@ public class LoadQuestScreen extends LaunchScreen {
                     float iconSize = h + Utils.scale(1);
                     float iconOffset = SettingsScreen.SETTING_PADDING - Utils.scale(2);
 
-                    String cards = String.valueOf(value.getAssets().getCardPool().countAll());
+                    String cards = String.valueOf(value.getAssets().getCardCount());
                     String credits = String.valueOf(value.getAssets().getCredits());
                     font = FSkinFont.get(12);
                     float cardsWidth = font.getBounds(cards).width + iconSize + SettingsScreen.SETTING_PADDING;
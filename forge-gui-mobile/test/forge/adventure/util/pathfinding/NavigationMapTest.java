@@ -0,0 +1,102 @@
+package forge.adventure.util.pathfinding;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.badlogic.gdx.math.Vector2;
+
+public class NavigationMapTest {
+
+    private static ProgressableGraphPath<NavigationVertex> path(Vector2... positions) {
+        ProgressableGraphPath<NavigationVertex> path = new ProgressableGraphPath<>();
+        for (Vector2 pos : positions) {
+            path.add(new NavigationVertex(pos));
+        }
+        return path;
+    }
+
+    // a map that has used up its budget for this frame
+    private static NavigationMap mapWithoutBudget() {
+        NavigationMap map = new NavigationMap(16f);
+        map.pathsThisFrame = 1;
+        map.frameDeadline = System.nanoTime() - 1;
+        return map;
+    }
+
+    @Test
+    public void testCachedPathEndsAtRequestedPositions() {
+        NavigationMap.PathCache cache = new NavigationMap.PathCache(4);
+        cache.quantum = 8f;
+        Vector2 origin = new Vector2(10, 10), destination = new Vector2(100, 50);
+        AssertJUnit.assertNull(cache.get(origin, destination));
+        cache.put(origin, destination, path(origin, new Vector2(50, 30), destination));
+
+        Vector2 nearOrigin = new Vector2(11, 9), nearDestination = new Vector2(101, 49);
+        ProgressableGraphPath<NavigationVertex> cached = cache.get(nearOrigin, nearDestination);
+        AssertJUnit.assertEquals(3, cached.getCount());
+        AssertJUnit.assertEquals(nearOrigin, cached.get(0).pos);
+        AssertJUnit.assertEquals(new Vector2(50, 30), cached.get(1).pos);
+        AssertJUnit.assertEquals(nearDestination, cached.get(2).pos);
+        AssertJUnit.assertEquals(1, cache.hits);
+        AssertJUnit.assertEquals(1, cache.misses);
+
+        // every lookup gets its own copy to consume
+        cached.remove(0);
+        AssertJUnit.assertEquals(3, cache.get(origin, destination).getCount());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        NavigationMap.PathCache cache = new NavigationMap.PathCache(2);
+        Vector2 a = new Vector2(0, 0), b = new Vector2(100, 0), c = new Vector2(0, 100), d = new Vector2(100, 100);
+        cache.put(a, b, path(a, b));
+        cache.put(a, c, path(a, c));
+        AssertJUnit.assertNotNull(cache.get(a, b));
+        cache.put(a, d, path(a, d));
+        AssertJUnit.assertNotNull(cache.get(a, b));
+        AssertJUnit.assertNull(cache.get(a, c));
+        AssertJUnit.assertNotNull(cache.get(a, d));
+    }
+
+    @Test
+    public void testClearPathsForgetsCachedAndDeferredPaths() {
+        NavigationMap map = mapWithoutBudget();
+        Vector2 origin = new Vector2(10, 10), destination = new Vector2(200, 10);
+        map.pathCache.put(origin, destination, path(origin, destination));
+        AssertJUnit.assertNull(map.requestPath("other", new Vector2(10, 200), destination));
+        map.completedRequests.put("mob", path(origin, destination));
+
+        map.clearPaths();
+        AssertJUnit.assertNull(map.pathCache.get(origin, destination));
+        AssertJUnit.assertTrue(map.pendingRequests.isEmpty());
+        AssertJUnit.assertTrue(map.completedRequests.isEmpty());
+        AssertJUnit.assertEquals(0, map.pathCache.hits);
+    }
+
+    @Test
+    public void testDeferredPathIsTakenWhileTheDestinationIsClose() {
+        NavigationMap map = mapWithoutBudget();
+        Vector2 origin = new Vector2(10, 10), destination = new Vector2(200, 10);
+        map.completedRequests.put("mob", path(origin, new Vector2(100, 40), destination));
+
+        Vector2 moved = new Vector2(205, 14);
+        ProgressableGraphPath<NavigationVertex> found = map.requestPath("mob", new Vector2(12, 10), moved);
+        AssertJUnit.assertNotNull(found);
+        AssertJUnit.assertEquals(3, found.getCount());
+        AssertJUnit.assertEquals(moved, found.get(2).pos);
+        AssertJUnit.assertTrue(map.pendingRequests.isEmpty());
+        // one lookup, one miss
+        AssertJUnit.assertEquals(1, map.pathCache.misses);
+    }
+
+    @Test
+    public void testDeferredPathIsDroppedWhenTheDestinationMovedAway() {
+        NavigationMap map = mapWithoutBudget();
+        Vector2 origin = new Vector2(10, 10), destination = new Vector2(200, 10);
+        map.completedRequests.put("mob", path(origin, destination));
+
+        AssertJUnit.assertNull(map.requestPath("mob", origin, new Vector2(260, 80)));
+        AssertJUnit.assertTrue(map.pendingRequests.containsKey("mob"));
+        AssertJUnit.assertFalse(map.completedRequests.containsKey("mob"));
+    }
+}
@@ -0,0 +1,85 @@
+package forge.adventure.util.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.badlogic.gdx.math.Vector2;
+
+public class NavigationSpatialIndexTest {
+
+    private static List<NavigationVertex> randomVertices(int count, long seed) {
+        Random random = new Random(seed);
+        List<NavigationVertex> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vertices.add(new NavigationVertex(random.nextFloat() * 400f, random.nextFloat() * 300f));
+        }
+        return vertices;
+    }
+
+    private static List<NavigationVertex> visitAll(NavigationSpatialIndex index, Vector2 point) {
+        List<NavigationVertex> visited = new ArrayList<>();
+        index.visitNearest(point, (vertex, distanceSquared) -> {
+            AssertJUnit.assertEquals(vertex.pos.dst2(point), distanceSquared, 0.01f);
+            visited.add(vertex);
+            return true;
+        });
+        return visited;
+    }
+
+    @Test
+    public void testVerticesAreVisitedByDistance() {
+        List<NavigationVertex> vertices = randomVertices(500, 42);
+        NavigationSpatialIndex index = new NavigationSpatialIndex(16f);
+        index.build(vertices);
+        AssertJUnit.assertEquals(500, index.size());
+
+        // inside, on the border and well outside of the indexed area
+        for (Vector2 point : new Vector2[] { new Vector2(200, 150), new Vector2(0, 0), new Vector2(-50, 420), new Vector2(1000, 10) }) {
+            List<NavigationVertex> visited = visitAll(index, point);
+            AssertJUnit.assertEquals(vertices.size(), visited.size());
+            for (int i = 1; i < visited.size(); i++) {
+                AssertJUnit.assertTrue("out of order at " + i + " for " + point,
+                        visited.get(i - 1).pos.dst2(point) <= visited.get(i).pos.dst2(point));
+            }
+            NavigationVertex nearest = vertices.stream().min(Comparator.comparingDouble(v -> v.pos.dst2(point))).get();
+            AssertJUnit.assertEquals(nearest.pos.dst2(point), index.findNearest(point).pos.dst2(point), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testVisitStopsWhenAsked() {
+        NavigationSpatialIndex index = new NavigationSpatialIndex(16f);
+        index.build(randomVertices(100, 7));
+        final int[] visits = {0};
+        index.visitNearest(new Vector2(100, 100), (vertex, distanceSquared) -> ++visits[0] < 3);
+        AssertJUnit.assertEquals(3, visits[0]);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        NavigationSpatialIndex index = new NavigationSpatialIndex(16f);
+        index.build(randomVertices(50, 3));
+        NavigationVertex outside = new NavigationVertex(-500f, -500f);
+        index.add(outside);
+        AssertJUnit.assertEquals(51, index.size());
+        AssertJUnit.assertSame(outside, index.findNearest(new Vector2(-480f, -490f)));
+
+        AssertJUnit.assertTrue(index.remove(outside));
+        AssertJUnit.assertFalse(index.remove(outside));
+        AssertJUnit.assertEquals(50, index.size());
+        AssertJUnit.assertNotSame(outside, index.findNearest(new Vector2(-480f, -490f)));
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        NavigationSpatialIndex index = new NavigationSpatialIndex(16f);
+        AssertJUnit.assertNull(index.findNearest(new Vector2(1, 1)));
+        index.build(new ArrayList<>());
+        AssertJUnit.assertNull(index.findNearest(new Vector2(1, 1)));
+    }
+}
@@ -0,0 +1,137 @@
+package forge.assets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class ThumbnailPagesTest {
+
+    private static String cell(ThumbnailPages.Slot slot) {
+        return slot.page + ":" + slot.x + "," + slot.y;
+    }
+
+    @Test
+    public void testCellsAreDistinctAndGrowPagesOnDemand() {
+        // 2x2 cells per page
+        ThumbnailPages pages = new ThumbnailPages(64, 32, 32, 3);
+        AssertJUnit.assertEquals(0, pages.getPageCount());
+        AssertJUnit.assertEquals(12, pages.getCapacity());
+
+        Set<String> cells = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            ThumbnailPages.Slot slot = pages.allocate("card" + i, null);
+            AssertJUnit.assertEquals(0, slot.page);
+            AssertJUnit.assertTrue(slot.x + 32 <= 64 && slot.y + 32 <= 64);
+            cells.add(cell(slot));
+        }
+        AssertJUnit.assertEquals(4, cells.size());
+        AssertJUnit.assertEquals(1, pages.getPageCount());
+
+        AssertJUnit.assertEquals(1, pages.allocate("card4", null).page);
+        AssertJUnit.assertEquals(2, pages.getPageCount());
+        AssertJUnit.assertEquals(5, pages.size());
+
+        // allocating again doesn't take another cell
+        AssertJUnit.assertSame(pages.get("card2"), pages.allocate("card2", null));
+        AssertJUnit.assertEquals(5, pages.size());
+    }
+
+    @Test
+    public void testFullPagesEvictTheLeastRecentlyDrawn() {
+        ThumbnailPages pages = new ThumbnailPages(64, 32, 32, 1);
+        for (int i = 0; i < 4; i++) {
+            pages.allocate("card" + i, null);
+        }
+        // looking up counts as drawing, so card0 drawn last leaves card1 the eldest
+        ThumbnailPages.Slot card1 = pages.get("card1");
+        for (int i : new int[] {2, 3, 0}) {
+            pages.get("card" + i);
+        }
+
+        List<String> evicted = new ArrayList<>();
+        ThumbnailPages.Slot slot = pages.allocate("card4", (key, s) -> {
+            evicted.add(key);
+            AssertJUnit.assertSame(card1, s);
+        });
+        AssertJUnit.assertEquals(List.of("card1"), evicted);
+        AssertJUnit.assertSame(card1, slot);
+        AssertJUnit.assertNull(pages.get("card1"));
+        AssertJUnit.assertEquals(1, pages.getPageCount());
+        AssertJUnit.assertEquals(4, pages.size());
+
+        pages.allocate("card5", (key, s) -> evicted.add(key));
+        AssertJUnit.assertEquals(List.of("card1", "card2"), evicted);
+    }
+
+    @Test
+    public void testRemovedCellsAreReusedFirst() {
+        ThumbnailPages pages = new ThumbnailPages(64, 32, 32, 2);
+        for (int i = 0; i < 4; i++) {
+            pages.allocate("card" + i, null);
+        }
+        ThumbnailPages.Slot card2 = pages.get("card2");
+        pages.remove("card2");
+        AssertJUnit.assertNull(pages.get("card2"));
+        AssertJUnit.assertSame(card2, pages.allocate("card4", (key, s) -> AssertJUnit.fail("evicted " + key)));
+        AssertJUnit.assertEquals(1, pages.getPageCount());
+
+        pages.clear();
+        AssertJUnit.assertEquals(0, pages.size());
+        AssertJUnit.assertEquals(0, pages.getPageCount());
+        AssertJUnit.assertEquals(0, pages.allocate("card0", null).page);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCellLargerThanPageIsRejected() {
+        new ThumbnailPages(64, 65, 32, 1);
+    }
+
+    private static File thumbnail(File dir, String name, int bytes, long lastUsed) throws IOException {
+        File f = new File(dir, name);
+        Files.write(f.toPath(), new byte[bytes]);
+        AssertJUnit.assertTrue(f.setLastModified(lastUsed));
+        return f;
+    }
+
+    @Test
+    public void testPruneCacheDropsStaleThenLeastRecentlyUsed() throws IOException {
+        File root = Files.createTempDirectory("thumbnails").toFile();
+        try {
+            File small = new File(root, "100x140"), large = new File(root, "200x280");
+            AssertJUnit.assertTrue(small.mkdir() && large.mkdir());
+            long now = System.currentTimeMillis() / 1000 * 1000, day = 24L * 60 * 60 * 1000;
+            File stale = thumbnail(small, "stale.png", 10, now - 100 * day);
+            File old = thumbnail(large, "old.png", 40, now - 3 * day);
+            File used = thumbnail(small, "used.png", 40, now - 2 * day);
+            File recent = thumbnail(large, "recent.png", 40, now - day);
+
+            // nothing over the cap, only the stale one goes
+            AssertJUnit.assertEquals(120, ThumbnailAtlas.pruneCache(root, 1000, now - 90 * day));
+            AssertJUnit.assertFalse(stale.exists());
+            AssertJUnit.assertTrue(old.exists() && used.exists() && recent.exists());
+
+            // over the cap, the least recently used go whatever their size folder
+            AssertJUnit.assertEquals(80, ThumbnailAtlas.pruneCache(root, 100, now - 90 * day));
+            AssertJUnit.assertFalse(old.exists());
+            AssertJUnit.assertTrue(used.exists() && recent.exists());
+
+            AssertJUnit.assertEquals(0, ThumbnailAtlas.pruneCache(root, 0, 0));
+            AssertJUnit.assertFalse(used.exists() || recent.exists());
+        } finally {
+            for (File dir : root.listFiles()) {
+                for (File f : dir.listFiles()) {
+                    f.delete();
+                }
+                dir.delete();
+            }
+            root.delete();
+        }
+    }
+}
@@ -42,10 +42,17 @@ public enum DeckType {
     NET_ARCHIVE_VINTAGE_DECK("lblNetArchiveVintageDecks"),
     NET_ARCHIVE_BLOCK_DECK("lblNetArchiveBlockDecks");
 
-    public static DeckType[] ConstructedOptions;
-    public static DeckType[] CommanderOptions;
+    public static volatile DeckType[] ConstructedOptions;
+    public static volatile DeckType[] CommanderOptions;
 
     static {
+        updateOptions();
+    }
+
+    /**
+     * Lists the deck types to choose from again, the deck generation matrices load after startup.
+     */
+    public static void updateOptions() {
         if (FModel.isdeckGenMatrixLoaded()) {
             ConstructedOptions = new DeckType[]{
                     DeckType.CUSTOM_DECK,
@@ -94,8 +101,6 @@ public enum DeckType {
                     DeckType.NET_ARCHIVE_BLOCK_DECK
             };
         }
-    }
-    static {
         if (FModel.isdeckGenMatrixLoaded()) {
             CommanderOptions = new DeckType[]{
                     DeckType.COMMANDER_DECK,
@@ -114,7 +119,25 @@ public enum DeckType {
                     DeckType.NET_COMMANDER_DECK
             };
         }
+    }
 
+    /**
+     * Tells whether the decks of this type are generated from the deck generation matrices.
+     */
+    public boolean usesDeckGenMatrix() {
+        switch (this) {
+        case STANDARD_CARDGEN_DECK:
+        case PIONEER_CARDGEN_DECK:
+        case HISTORIC_CARDGEN_DECK:
+        case MODERN_CARDGEN_DECK:
+        case LEGACY_CARDGEN_DECK:
+        case VINTAGE_CARDGEN_DECK:
+        case PAUPER_CARDGEN_DECK:
+        case RANDOM_CARDGEN_COMMANDER_DECK:
+            return true;
+        default:
+            return false;
+        }
     }
 
     private String value;
@@ -3,6 +3,8 @@ package forge.gamemodes.limited;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import forge.StaticData;
+import forge.card.CardEdition;
 import forge.card.ColorSet;
 import forge.card.DeckHints;
 import forge.card.MagicColor;
@@ -11,8 +13,11 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CardRanker {
 
@@ -34,6 +39,8 @@ public class CardRanker {
             .put(DeckHints.Type.TYPE, 8)
             .build();
     private static boolean logToConsole = false;
+    private static boolean useDeckHintsIndex = true;
+    private static final Map<String, Optional<DeckHintsIndex>> deckHintsIndexes = new ConcurrentHashMap<>();
 
     /**
      * Rank cards.
@@ -70,6 +77,7 @@ public class CardRanker {
         List<Pair<Double, PaperCard>> cardScores = new ArrayList<>();
 
         List<PaperCard> cache = Lists.newArrayList(cards);
+        Map<DeckHintsIndex, DeckHintsIndex.Pool> pools = new HashMap<>();
 
         for (int i = 0; i < cache.size(); i++) {
             final PaperCard card = cache.get(i);
@@ -79,8 +87,17 @@ public class CardRanker {
                 score -= 20.0;
             }
 
-            List<PaperCard> otherCards = getCardsExceptOne(cache, i);
-            score += getScoreForDeckHints(card, otherCards);
+            DeckHintsIndex index = getDeckHintsIndex(card);
+            if (index != null) {
+                // the pool of all cards is shared, leave out the ranked card while scoring it
+                DeckHintsIndex.Pool pool = pools.computeIfAbsent(index, idx -> idx.newPool(cache));
+                pool.remove(card);
+                score += getScoreForDeckHints(card, index, pool);
+                pool.add(card);
+            } else {
+                List<PaperCard> otherCards = getCardsExceptOne(cache, i);
+                score += getScoreForDeckHints(card, otherCards);
+            }
 
             cardScores.add(Pair.of(score, card));
         }
@@ -95,6 +112,7 @@ public class CardRanker {
             boolean canAddMoreColors
     ) {
         List<Pair<Double, PaperCard>> cardScores = new ArrayList<>();
+        Map<DeckHintsIndex, DeckHintsIndex.Pool> pools = new HashMap<>();
 
         for (PaperCard card : cardsInPack) {
             double score = getRawScore(card);
@@ -105,7 +123,12 @@ public class CardRanker {
                 score -= 50.0;
             }
 
-            score += getScoreForDeckHints(card, deck);
+            DeckHintsIndex index = getDeckHintsIndex(card);
+            if (index != null) {
+                score += getScoreForDeckHints(card, index, pools.computeIfAbsent(index, idx -> idx.newPool(deck)));
+            } else {
+                score += getScoreForDeckHints(card, deck);
+            }
 
             cardScores.add(Pair.of(score, card));
         }
@@ -171,7 +194,60 @@ public class CardRanker {
         return otherCards;
     }
 
-    private static double getScoreForDeckHints(PaperCard card, Iterable<PaperCard> otherCards) {
+    /**
+     * Turns the deck hint index on or off, without it every card is compared to every other card directly.
+     */
+    public static void setUseDeckHintsIndex(boolean useIndex) {
+        useDeckHintsIndex = useIndex;
+    }
+
+    private static DeckHintsIndex getDeckHintsIndex(PaperCard card) {
+        if (!useDeckHintsIndex || logToConsole || StaticData.instance() == null || card.getEdition() == null) {
+            return null;
+        }
+        DeckHintsIndex index = deckHintsIndexes.computeIfAbsent(card.getEdition(), code -> {
+            CardEdition edition = StaticData.instance().getEditions().get(code);
+            if (edition == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new DeckHintsIndex(StaticData.instance().getCommonCards().getAllCards(edition), typeFactors));
+        }).orElse(null);
+        if (index == null || index.indexOf(card) < 0) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Same score as {@link #getScoreForDeckHints(PaperCard, Iterable)} using the precomputed relations of the index,
+     * only cards of the pool missing from the index are still matched one by one.
+     */
+    private static double getScoreForDeckHints(PaperCard card, DeckHintsIndex index, DeckHintsIndex.Pool pool) {
+        final int id = index.indexOf(card);
+        final List<PaperCard> unindexed = pool.getUnindexed();
+        double score = index.getHintScore(id, pool);
+        if (!unindexed.isEmpty()) {
+            score += getScoreForHints(card, unindexed);
+        }
+
+        final Map<DeckHints.Type, Integer> needCounts = index.getNeedCounts(id, pool);
+        if (needCounts != null) {
+            if (!unindexed.isEmpty()) {
+                final Map<DeckHints.Type, Iterable<PaperCard>> cardsByType = card.getRules().getAiHints().getDeckNeeds().filterByType(unindexed);
+                for (DeckHints.Type type : cardsByType.keySet()) {
+                    needCounts.merge(type, Iterables.size(cardsByType.get(type)), Integer::sum);
+                }
+            }
+            for (Map.Entry<DeckHints.Type, Integer> e : needCounts.entrySet()) {
+                final int threshold = typeThresholds.get(e.getKey());
+                score -= (Math.max(threshold - e.getValue(), 0) / (double) threshold) * typeFactors.get(e.getKey());
+            }
+        }
+
+        return score;
+    }
+
+    private static double getScoreForHints(PaperCard card, Iterable<PaperCard> otherCards) {
         double score = 0.0;
 
         List<PaperCard> toBeRanked = Lists.newArrayList(card);
@@ -188,6 +264,11 @@ public class CardRanker {
                 }
             }
         }
+        return score;
+    }
+
+    private static double getScoreForDeckHints(PaperCard card, Iterable<PaperCard> otherCards) {
+        double score = getScoreForHints(card, otherCards);
 
         final DeckHints needs = card.getRules().getAiHints().getDeckNeeds();
         if (needs != null && needs.isValid()) {
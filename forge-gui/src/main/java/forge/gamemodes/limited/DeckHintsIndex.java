@@ -0,0 +1,188 @@
+package forge.gamemodes.limited;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import forge.card.DeckHints;
+import forge.item.PaperCard;
+
+/**
+ * Deck hint relations between all cards of an edition, resolved once so ranking a card against a pool
+ * no longer has to evaluate the DeckHints predicates for every pair of cards.
+ * The hints only depend on the card rules, so cards of other editions with the same name share an entry.
+ */
+final class DeckHintsIndex {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    // cards hinting at a card, and the weighted hint score each of them gives it
+    private final BitSet[] hintedBy;
+    private final int[][] hintWeights;
+    // deck needs of a card: the needed types and how often each card of the edition satisfies them
+    private final DeckHints.Type[][] needTypes;
+    private final BitSet[][] needMatches;
+    private final int[][][] needCounts;
+
+    DeckHintsIndex(final Collection<PaperCard> editionCards, final Map<DeckHints.Type, Integer> typeFactors) {
+        final List<PaperCard> cards = new ArrayList<>();
+        for (PaperCard card : editionCards) {
+            if (!ids.containsKey(card.getName())) {
+                ids.put(card.getName(), cards.size());
+                cards.add(card);
+            }
+        }
+        final int n = cards.size();
+        hintedBy = new BitSet[n];
+        hintWeights = new int[n][];
+        needTypes = new DeckHints.Type[n][];
+        needMatches = new BitSet[n][];
+        needCounts = new int[n][][];
+
+        for (int i = 0; i < n; i++) {
+            final PaperCard card = cards.get(i);
+            final DeckHints hints = card.getRules().getAiHints().getDeckHints();
+            if (hints != null && hints.isValid()) {
+                final int[] weights = new int[n];
+                for (Map.Entry<DeckHints.Type, int[]> e : countMatches(hints, cards).entrySet()) {
+                    final int factor = typeFactors.get(e.getKey());
+                    final int[] counts = e.getValue();
+                    for (int j = 0; j < n; j++) {
+                        weights[j] += counts[j] * factor;
+                    }
+                }
+                hintWeights[i] = weights;
+                for (int j = 0; j < n; j++) {
+                    if (weights[j] != 0) {
+                        if (hintedBy[j] == null) {
+                            hintedBy[j] = new BitSet(n);
+                        }
+                        hintedBy[j].set(i);
+                    }
+                }
+            }
+
+            final DeckHints needs = card.getRules().getAiHints().getDeckNeeds();
+            if (needs != null && needs.isValid()) {
+                final Map<DeckHints.Type, int[]> matches = countMatches(needs, cards);
+                needTypes[i] = matches.keySet().toArray(new DeckHints.Type[0]);
+                needMatches[i] = new BitSet[needTypes[i].length];
+                needCounts[i] = new int[needTypes[i].length][];
+                int t = 0;
+                for (int[] counts : matches.values()) {
+                    final BitSet matched = new BitSet(n);
+                    for (int j = 0; j < n; j++) {
+                        if (counts[j] != 0) {
+                            matched.set(j);
+                        }
+                    }
+                    needMatches[i][t] = matched;
+                    needCounts[i][t] = counts;
+                    t++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts how often every card shows up in the matches of each type, a card can satisfy one hint several times.
+     */
+    private Map<DeckHints.Type, int[]> countMatches(final DeckHints hints, final List<PaperCard> cards) {
+        final Map<DeckHints.Type, int[]> result = new LinkedHashMap<>();
+        for (Map.Entry<DeckHints.Type, Iterable<PaperCard>> e : hints.filterByType(cards).entrySet()) {
+            final int[] counts = new int[cards.size()];
+            for (PaperCard match : e.getValue()) {
+                counts[ids.get(match.getName())]++;
+            }
+            result.put(e.getKey(), counts);
+        }
+        return result;
+    }
+
+    int indexOf(final PaperCard card) {
+        final Integer id = ids.get(card.getName());
+        return id == null ? -1 : id;
+    }
+
+    Pool newPool(final Iterable<PaperCard> cards) {
+        final Pool pool = new Pool();
+        for (PaperCard card : cards) {
+            pool.add(card);
+        }
+        return pool;
+    }
+
+    /**
+     * @return the summed hint score the cards in the pool give to the given card
+     */
+    int getHintScore(final int card, final Pool pool) {
+        final BitSet hinters = hintedBy[card];
+        if (hinters == null) {
+            return 0;
+        }
+        int score = 0;
+        for (int o = hinters.nextSetBit(0); o >= 0; o = hinters.nextSetBit(o + 1)) {
+            if (pool.present.get(o)) {
+                score += pool.counts[o] * hintWeights[o][card];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return the number of pool cards matching each type the given card needs, null if it has no deck needs
+     */
+    Map<DeckHints.Type, Integer> getNeedCounts(final int card, final Pool pool) {
+        final DeckHints.Type[] types = needTypes[card];
+        if (types == null) {
+            return null;
+        }
+        final Map<DeckHints.Type, Integer> result = new LinkedHashMap<>();
+        for (int t = 0; t < types.length; t++) {
+            final BitSet matched = needMatches[card][t];
+            final int[] counts = needCounts[card][t];
+            int count = 0;
+            for (int o = matched.nextSetBit(0); o >= 0; o = matched.nextSetBit(o + 1)) {
+                if (pool.present.get(o)) {
+                    count += pool.counts[o] * counts[o];
+                }
+            }
+            result.put(types[t], count);
+        }
+        return result;
+    }
+
+    /**
+     * Multiset of cards resolved against this index, cards outside of it are kept aside for the slow path.
+     */
+    final class Pool {
+        private final int[] counts = new int[ids.size()];
+        private final BitSet present = new BitSet(ids.size());
+        private final List<PaperCard> unindexed = new ArrayList<>();
+
+        void add(final PaperCard card) {
+            final int id = indexOf(card);
+            if (id < 0) {
+                unindexed.add(card);
+            } else if (counts[id]++ == 0) {
+                present.set(id);
+            }
+        }
+
+        void remove(final PaperCard card) {
+            final int id = indexOf(card);
+            if (id < 0) {
+                unindexed.remove(card);
+            } else if (counts[id] > 0 && --counts[id] == 0) {
+                present.clear(id);
+            }
+        }
+
+        List<PaperCard> getUnindexed() {
+            return unindexed;
+        }
+    }
+}
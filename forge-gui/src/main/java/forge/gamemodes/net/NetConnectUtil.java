@@ -23,6 +23,7 @@ import forge.localinstance.properties.ForgeProfileProperties;
 import forge.model.FModel;
 import forge.player.GamePlayerUtil;
 import forge.util.Localizer;
+import forge.util.ThreadUtil;
 
 public class NetConnectUtil {
     private NetConnectUtil() { }
@@ -44,6 +45,9 @@ public class NetConnectUtil {
         final ServerGameLobby lobby = new ServerGameLobby();
         final ILobbyView view = onlineLobby.setLobby(lobby);
 
+        if (ForgeProfileProperties.isVirtualGameThreads() && !ThreadUtil.setVirtualGameThreads(true)) {
+            System.err.println("Virtual game threads need Java 21 or newer, hosting games on platform threads");
+        }
         server.startServer(port);
         server.setLobby(lobby);
 
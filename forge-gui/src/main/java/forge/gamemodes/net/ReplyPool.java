@@ -1,52 +1,42 @@
 package forge.gamemodes.net;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import com.google.common.collect.Maps;
-
+/**
+ * Replies awaited by game threads. Lock free, so a waiting game thread can be a virtual thread
+ * without pinning its carrier.
+ */
 public class ReplyPool {
 
-    private final Map<Integer, CompletableFuture> pool = Maps.newHashMap();
+    private final Map<Integer, CompletableFuture<Object>> pool = new ConcurrentHashMap<>();
 
     public ReplyPool() {
     }
 
     public void initialize(final int index) {
-        synchronized (pool) {
-            pool.put(index, new CompletableFuture());
-        }
+        pool.put(index, new CompletableFuture<>());
     }
 
     public void complete(final int index, final Object value) {
-        synchronized (pool) {
-            pool.get(index).set(value);
+        final CompletableFuture<Object> future = pool.get(index);
+        if (future != null) {
+            future.complete(value);
         }
     }
 
     public Object get(final int index) throws TimeoutException {
-        final CompletableFuture future;
-        synchronized (pool) {
-            future = pool.get(index);
-        }
+        final CompletableFuture<Object> future = pool.get(index);
         try {
             return future.get(5, TimeUnit.MINUTES);
         } catch (final InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
-        }
-    }
-
-    private static final class CompletableFuture extends FutureTask<Object> {
-        public CompletableFuture() {
-            super(() -> null);
-        }
-
-        @Override
-        public void set(final Object v) {
-            super.set(v);
+        } finally {
+            pool.remove(index, future);
         }
     }
 }
@@ -1,7 +1,6 @@
 package forge.gamemodes.net.client;
 
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -30,6 +29,7 @@ import forge.player.PlayerZoneUpdate;
 import forge.player.PlayerZoneUpdates;
 import forge.trackable.TrackableCollection;
 import forge.trackable.TrackableObject;
+import forge.trackable.TrackablePropertyMap;
 import forge.trackable.TrackableTypes;
 import forge.trackable.Tracker;
 import io.netty.channel.ChannelHandlerContext;
@@ -237,7 +237,7 @@ final class GameClientHandler extends GameProtocolHandler<IGuiGame> {
                 if (trackableObject.getTracker() == null) {
                     trackableObject.setTracker(this.tracker);
                     // walk the props
-                    EnumMap props = trackableObject.getProps();
+                    TrackablePropertyMap props = trackableObject.getProps();
                     if (!(props == null)) {
                         for (Object propObj : props.values()) {
                             updateTrackers(new Object[]{propObj});
@@ -1,18 +1,21 @@
 package forge.gamemodes.net.event;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import forge.gamemodes.net.ProtocolMethod;
 import forge.gamemodes.net.server.RemoteClient;
 
 public final class GuiGameEvent implements IdentifiableNetEvent {
     private static final long serialVersionUID = 6223690008522514574L;
-    private static int staticId = 0;
+    // games hosted at the same time create events concurrently
+    private static final AtomicInteger staticId = new AtomicInteger();
 
     private final int id;
     private final ProtocolMethod method;
     private final Object[] objects;
 
     public GuiGameEvent(final ProtocolMethod method, final Object ... objects) {
-        this.id = staticId++;
+        this.id = staticId.getAndIncrement();
         this.method = method;
         this.objects = objects == null ? new Object[0] : objects;
     }
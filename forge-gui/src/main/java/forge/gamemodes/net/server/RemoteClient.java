@@ -20,11 +20,12 @@ public final class RemoteClient implements IToClient {
     @Override
     public void send(final NetEvent event) {
         System.out.println("Sending event " + event + " to " + channel);
-        try {
-            channel.writeAndFlush(event).sync();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // not waiting for the write, Netty's blocking wait would pin a virtual game thread; the channel keeps the order
+        channel.writeAndFlush(event).addListener(future -> {
+            if (!future.isSuccess()) {
+                future.cause().printStackTrace();
+            }
+        });
     }
 
     @Override
@@ -29,6 +29,7 @@ import forge.gamemodes.quest.QuestDeckMap;
 import forge.gamemodes.quest.QuestMode;
 import forge.gamemodes.quest.QuestUtilCards;
 import forge.gamemodes.quest.bazaar.QuestItemType;
+import forge.gamemodes.quest.io.QuestSaveSections;
 import forge.gamemodes.quest.data.QuestPreferences.QPref;
 import forge.item.InventoryItem;
 import forge.item.PaperCard;
@@ -162,6 +163,9 @@ public class QuestAssets {
         cond.setLevel(level);
     }
 
+    // the save this was read from, when its sections are read on demand
+    private transient QuestSaveSections saveSections;
+
     public QuestAssets() { //needed for XML serialization
     }
 
@@ -214,6 +218,7 @@ public class QuestAssets {
      * @return the newCardList
      */
     public ItemPool<InventoryItem> getNewCardList() {
+        this.ensureLoaded(QuestSaveSections.Section.INVENTORY);
         return this.newCardList;
     }
 
@@ -223,6 +228,7 @@ public class QuestAssets {
      * @return the shopList
      */
     public ItemPool<InventoryItem> getShopList() {
+        this.ensureLoaded(QuestSaveSections.Section.INVENTORY);
         return this.shopList;
     }
 
@@ -253,9 +259,17 @@ public class QuestAssets {
      * @return the cardPool
      */
     public ItemPool<PaperCard> getCardPool() {
+        this.ensureLoaded(QuestSaveSections.Section.INVENTORY);
         return this.cardPool;
     }
 
+    /**
+     * Gets the number of cards in the card pool, which doesn't read it from a sectioned save.
+     */
+    public int getCardCount() {
+        return this.saveSections != null ? this.saveSections.getCardCount() : this.cardPool.countAll();
+    }
+
     /**
      * Subtract credits.
      * 
@@ -270,6 +284,7 @@ public class QuestAssets {
      * @return the deck storage
      */
     public QuestDeckMap getDeckStorage() {
+        this.ensureLoaded(QuestSaveSections.Section.DECKS);
         return new QuestDeckMap(this.myDecks);
     }
 
@@ -277,7 +292,21 @@ public class QuestAssets {
      * @return the tournament deck storage
      */
     public QuestDeckGroupMap getDraftDeckStorage() {
+        this.ensureLoaded(QuestSaveSections.Section.DECKS);
         return new QuestDeckGroupMap(this.draftDecks);
     }
 
+    /**
+     * Lets the assets read the parts of a sectioned save the first time they are asked for.
+     */
+    public void setSaveSections(final QuestSaveSections saveSections0) {
+        this.saveSections = saveSections0;
+    }
+
+    private void ensureLoaded(final QuestSaveSections.Section section) {
+        if (this.saveSections != null) {
+            this.saveSections.ensureLoaded(section);
+        }
+    }
+
 }
@@ -17,7 +17,6 @@
  */
 package forge.gamemodes.quest.data;
 
-import java.io.File;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -25,7 +24,7 @@ import java.util.Map;
 import forge.game.GameFormat;
 import forge.gamemodes.quest.QuestMode;
 import forge.gamemodes.quest.io.QuestDataIO;
-import forge.localinstance.properties.ForgeConstants;
+import forge.gamemodes.quest.io.QuestSaveSections;
 import forge.model.FModel;
 
 //when you create QuestDataOld and AFTER you copy the AI decks over
@@ -65,6 +64,7 @@ public class QuestData {
     private QuestAchievements achievements;
     private final Map<Integer, String> petSlots = new HashMap<>();
     private int matchLength = 3;
+    private transient QuestSaveSections saveSections;
 
     public HashSet<StarRating> Ratings = new HashSet<>();
 
@@ -180,18 +180,23 @@ public class QuestData {
      *            the new name to set
      */
     public void rename(final String newName) {
-        File newpath = new File(ForgeConstants.QUEST_SAVE_DIR, newName + ".dat");
-        File oldpath = new File(ForgeConstants.QUEST_SAVE_DIR, this.name + ".dat");
-        oldpath.renameTo(newpath);
-
-        newpath = new File(ForgeConstants.QUEST_SAVE_DIR, newName + ".dat.bak");
-        oldpath = new File(ForgeConstants.QUEST_SAVE_DIR, this.name + ".dat.bak");
-        oldpath.renameTo(newpath);
+        QuestDataIO.renameSaveFiles(this.name, newName);
 
         this.name = newName;
         QuestDataIO.saveData(this);
     }
 
+    /**
+     * Gets the sections this quest is saved in, null until it's first loaded or saved.
+     */
+    public QuestSaveSections getSaveSections() {
+        return saveSections;
+    }
+
+    public void setSaveSections(final QuestSaveSections saveSections0) {
+        this.saveSections = saveSections0;
+    }
+
     public QuestAssets getAssets() {
         return assets;
     }
@@ -38,6 +38,8 @@ import forge.gamemodes.quest.QuestMode;
 import forge.gamemodes.quest.bazaar.QuestItemType;
 import forge.gamemodes.quest.data.*;
 import forge.gamemodes.quest.data.QuestPreferences.QPref;
+import forge.gui.FThreads;
+import forge.gui.error.BugReporter;
 import forge.item.*;
 import forge.localinstance.properties.ForgeConstants;
 import forge.model.FModel;
@@ -55,10 +57,22 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.*;
 import java.lang.reflect.Field;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -118,6 +132,21 @@ public class QuestDataIO {
         return xStream;
     }
 
+    /**
+     * Gets the serializer of the manifest of a sectioned save, which leaves out what goes to the sections.
+     */
+    protected static XStream getManifestSerializer(final boolean isIgnoring) {
+        final XStream xStream = getSerializer(isIgnoring);
+        xStream.alias(QuestSaveSections.MANIFEST_ALIAS, QuestSaveSections.Manifest.class);
+        xStream.omitField(QuestAssets.class, "cardPool");
+        xStream.omitField(QuestAssets.class, "newCardList");
+        xStream.omitField(QuestAssets.class, "shopList");
+        xStream.omitField(QuestAssets.class, "myDecks");
+        xStream.omitField(QuestAssets.class, "draftDecks");
+        xStream.omitField(QuestAchievements.class, "drafts");
+        return xStream;
+    }
+
     /**
      * <p>
      * loadData.
@@ -130,6 +159,7 @@ public class QuestDataIO {
     public static QuestData loadData(final File xmlSaveFile) throws IOException {
         QuestData data;
         final StringBuilder xml = new StringBuilder();
+        flushPendingSaves();
 
         try (GZIPInputStream zin = new GZIPInputStream(Files.newInputStream(xmlSaveFile.toPath()));
              InputStreamReader reader = new InputStreamReader(zin)) {
@@ -144,8 +174,16 @@ public class QuestDataIO {
         }
 
         String bigXML = xml.toString();
+        final boolean sectioned = bigXML.startsWith("<" + QuestSaveSections.MANIFEST_ALIAS + ">");
         try {
-            data = (QuestData) QuestDataIO.getSerializer(true).fromXML(bigXML);
+            if (sectioned) {
+                final QuestSaveSections sections = new QuestSaveSections(
+                        (QuestSaveSections.Manifest) QuestDataIO.getManifestSerializer(true).fromXML(bigXML));
+                data = sections.getQuest();
+                data.setSaveSections(sections);
+            } else {
+                data = (QuestData) QuestDataIO.getSerializer(true).fromXML(bigXML);
+            }
         } catch(Exception ex) {
             // Attempt to auto restore?
             throw new IOException(ex);
@@ -153,6 +191,12 @@ public class QuestDataIO {
 
         if (data.getVersionNumber() != QuestData.CURRENT_VERSION_NUMBER) {
             try {
+                if (sectioned) {
+                    // the updates work on the whole quest as a single document
+                    data.getSaveSections().ensureLoaded(QuestSaveSections.Section.INVENTORY);
+                    data.getSaveSections().ensureLoaded(QuestSaveSections.Section.DECKS);
+                    bigXML = QuestDataIO.getSerializer(false).toXML(data);
+                }
                 QuestDataIO.updateSaveFile(data, bigXML, xmlSaveFile.getName().replace(".dat", ""));
             }
             catch (final Exception e) {
@@ -163,7 +207,7 @@ public class QuestDataIO {
         return data;
     }
 
-    private static <T> void setFinalField(final Class<T> clasz, final String fieldName, final T instance,
+    static <T> void setFinalField(final Class<T> clasz, final String fieldName, final T instance,
             final Object newValue) throws IllegalAccessException, NoSuchFieldException {
         final Field field = clasz.getDeclaredField(fieldName);
         field.setAccessible(true);
@@ -404,19 +448,40 @@ public class QuestDataIO {
      * <p>
      * saveData.
      * </p>
+     * Only turning the changed sections into XML happens on the calling thread, compressing and
+     * writing them happens on the save thread. The manifest is written last, once the sections it
+     * names are on disk, and the manifest it replaces is kept as the backup. Legacy saves are
+     * turned into sectioned ones the first time they are saved, the legacy file being the backup.
+     * A save that fails is reported as it fails, and its sections are written again by the next one.
      *
      * @param qd
      *            a {@link forge.gamemodes.quest.data.QuestData} object.
      */
     public static synchronized void saveData(final QuestData qd) {
         try {
-            final XStream xStream = QuestDataIO.getSerializer(false);
-
-            final File f = new File(ForgeConstants.QUEST_SAVE_DIR, qd.getName());
-            //Copy the save file in case the save fails
-            FileUtil.copyFile(f + ".dat", f + ".dat.bak");
-            QuestDataIO.savePacked(f + ".dat", xStream, qd);
-            //QuestDataIO.saveUnpacked(f + ".xml", xStream, qd);
+            QuestSaveSections sections = qd.getSaveSections();
+            if (sections == null) {
+                sections = new QuestSaveSections(qd);
+                qd.setSaveSections(sections);
+            }
+            final QuestSaveSections saved = sections;
+            final QuestSaveSections.Changes changes = sections.collectChanges();
+            final FutureTask<Void> save = new FutureTask<Void>(() -> {
+                try {
+                    writeChanges(saved, changes);
+                } catch (final IOException | RuntimeException ex) {
+                    saved.writeFailed(changes);
+                    FThreads.invokeInEdtLater(() -> BugReporter.reportException(ex, "Error saving Quest Data."));
+                }
+            }, null) {
+                @Override
+                protected void done() {
+                    pendingSaves.remove(this);
+                }
+            };
+            // listed before it runs, so it can't be done before it's listed
+            pendingSaves.add(save);
+            saveThread.execute(save);
         }
         catch (final Exception ex) {
             //BugReporter.reportException(ex, "Error saving Quest Data.");
@@ -424,15 +489,105 @@ public class QuestDataIO {
         }
     }
 
-    private static void savePacked(final String f, final XStream xStream, final QuestData qd) throws IOException {
-        try(
-            final BufferedOutputStream bout = new BufferedOutputStream(Files.newOutputStream(Paths.get(f)));
-            final GZIPOutputStream zout = new GZIPOutputStream(bout)) {
-            xStream.toXML(qd, zout);
-            zout.flush();
+    // a single thread, so the saves of a quest land in the order they were made
+    private static final ExecutorService saveThread = new ThreadPoolExecutor(0, 1, 5, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> new Thread(r, "Quest save"));
+    private static final Set<Future<?>> pendingSaves = ConcurrentHashMap.newKeySet();
+
+    static {
+        // finish writing when the application exits during a save
+        Runtime.getRuntime().addShutdownHook(new Thread(QuestDataIO::flushPendingSaves, "Quest save flush"));
+    }
+
+    /**
+     * Waits for the saves handed to the save thread so far. Those that failed were reported when
+     * they did.
+     */
+    public static void flushPendingSaves() {
+        for (final Future<?> save : new ArrayList<>(pendingSaves)) {
+            try {
+                save.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException | CancellationException e) {
+                // the save reported its own failure
+            }
         }
     }
 
+    /**
+     * Gets the number of saves not written yet.
+     */
+    static int getPendingSaveCount() {
+        return pendingSaves.size();
+    }
+
+    private static void writeChanges(final QuestSaveSections sections, final QuestSaveSections.Changes changes) throws IOException {
+        FileUtil.ensureDirectoryExists(changes.directory.getPath());
+        for (final Entry<File, byte[]> e : changes.sections.entrySet()) {
+            writePacked(e.getKey(), e.getValue());
+        }
+        // an earlier save that failed may not have written what this one relies on
+        for (final File f : changes.referenced) {
+            if (!f.exists()) {
+                throw new IOException("Missing " + f);
+            }
+        }
+        final File manifest = changes.manifestFile;
+        if (manifest.exists()) {
+            Files.copy(manifest.toPath(), Paths.get(manifest.getPath() + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        writePacked(manifest, changes.manifest);
+        final boolean replacedPrevious = sections.getGenerationOnDisk() == changes.previousGeneration;
+        sections.setGenerationOnDisk(changes.generation);
+        if (!replacedPrevious) {
+            // the backup isn't the manifest this save knew, so its files aren't known either
+            return;
+        }
+        final File[] files = changes.directory.listFiles();
+        if (files != null) {
+            for (final File f : files) {
+                if (!changes.inUse.contains(f)) {
+                    f.delete();
+                }
+            }
+        }
+    }
+
+    private static void writePacked(final File target, final byte[] content) throws IOException {
+        final Path tmp = Paths.get(target.getPath() + ".tmp");
+        try (final BufferedOutputStream bout = new BufferedOutputStream(Files.newOutputStream(tmp));
+             final GZIPOutputStream zout = new GZIPOutputStream(bout)) {
+            zout.write(content);
+        }
+        try {
+            Files.move(tmp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Renames the files of a saved quest.
+     */
+    public static void renameSaveFiles(final String oldName, final String newName) {
+        flushPendingSaves();
+        new File(ForgeConstants.QUEST_SAVE_DIR, oldName + ".dat").renameTo(new File(ForgeConstants.QUEST_SAVE_DIR, newName + ".dat"));
+        new File(ForgeConstants.QUEST_SAVE_DIR, oldName + ".dat.bak").renameTo(new File(ForgeConstants.QUEST_SAVE_DIR, newName + ".dat.bak"));
+        QuestSaveSections.getDirectory(oldName).renameTo(QuestSaveSections.getDirectory(newName));
+    }
+
+    /**
+     * Deletes the files of a saved quest.
+     */
+    public static void deleteSaveFiles(final String name) {
+        flushPendingSaves();
+        new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat").delete();
+        new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat.bak").delete();
+        FileUtil.deleteDirectory(QuestSaveSections.getDirectory(name));
+    }
+
     @SuppressWarnings("unused") // used only for debug purposes
     private static void saveUnpacked(final String f, final XStream xStream, final QuestData qd) throws IOException {
         try(final BufferedOutputStream boutUnp = new BufferedOutputStream(Files.newOutputStream(Paths.get(f)))) {
@@ -0,0 +1,424 @@
+package forge.gamemodes.quest.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import com.thoughtworks.xstream.XStream;
+
+import forge.deck.CardPool;
+import forge.deck.Deck;
+import forge.deck.DeckGroup;
+import forge.deck.DeckSection;
+import forge.gamemodes.quest.QuestDeckGroupMap;
+import forge.gamemodes.quest.QuestDeckMap;
+import forge.gamemodes.quest.data.QuestAchievements;
+import forge.gamemodes.quest.data.QuestAssets;
+import forge.gamemodes.quest.data.QuestData;
+import forge.gamemodes.quest.data.QuestEventDraftContainer;
+import forge.item.InventoryItem;
+import forge.item.PaperCard;
+import forge.localinstance.properties.ForgeConstants;
+import forge.util.ItemPool;
+
+/**
+ * The parts of a quest save that are kept in their own files.
+ * <p>
+ * The quest's {@code .dat} file only holds a manifest: the quest data without the card pools,
+ * the decks and the draft events, which go to one file each in the quest's {@code .sections}
+ * directory. Sections are read the first time the quest asks for them.
+ * <p>
+ * A save only writes the sections that changed since they were read or last written: the card pools
+ * and decks tell by the change counts of their pools, the few draft events by their XML. Every save
+ * has a generation: the sections it writes get files of their own with that generation in their name,
+ * and the manifest naming the files of each section replaces the previous one last. Until then the previous manifest and the files it
+ * names are left as they were, and afterwards they stay as the {@code .dat.bak} backup.
+ * <p>
+ * Turning a single document save into a sectioned one can't be undone: builds from before sections
+ * can't read the {@code .dat} anymore, and copying a quest means copying its {@code .sections}
+ * directory along with it.
+ */
+public final class QuestSaveSections {
+
+    public enum Section {
+        /** The card pool, the new cards and the spell shop. */
+        INVENTORY("inventory"),
+        /** The constructed and draft decks. */
+        DECKS("decks"),
+        /** The draft events, read together with the manifest. */
+        EVENTS("events");
+
+        private final String fileName;
+
+        Section(final String fileName) {
+            this.fileName = fileName;
+        }
+    }
+
+    static final String MANIFEST_ALIAS = "questSave";
+    static final int FORMAT = 2;
+
+    /** The root of the {@code .dat} file. */
+    static final class Manifest {
+        private int format;
+        private QuestData quest;
+        private long generation;
+        // the generation of the file holding each section
+        private HashMap<String, Long> sections;
+        // so the quest list doesn't need the inventory
+        private int cardCount;
+    }
+
+    private static final class Inventory {
+        private ItemPool<PaperCard> cardPool;
+        private ItemPool<InventoryItem> newCardList;
+        private ItemPool<InventoryItem> shopList;
+    }
+
+    private static final class Decks {
+        private HashMap<String, Deck> myDecks;
+        private HashMap<String, DeckGroup> draftDecks;
+    }
+
+    private static final class Events {
+        private QuestEventDraftContainer drafts;
+    }
+
+    /**
+     * What a save writes: the changed sections and then the manifest, and the files the save
+     * directory should keep afterwards.
+     */
+    static final class Changes {
+        final Map<File, byte[]> sections = new LinkedHashMap<>();
+        File directory;
+        File manifestFile;
+        byte[] manifest;
+        long previousGeneration;
+        long generation;
+        // the section files named by the new manifest
+        final Set<File> referenced = new HashSet<>();
+        // those and the ones named by the manifest it replaces
+        final Set<File> inUse = new HashSet<>();
+        final Set<Section> written = EnumSet.noneOf(Section.class);
+    }
+
+    private final QuestData quest;
+    private final Set<Section> loaded = EnumSet.noneOf(Section.class);
+    // written by the next save whether they changed or not
+    private final Set<Section> forced = EnumSet.noneOf(Section.class);
+    // the versions of the pools and decks as they were read or last written
+    private final Map<Section, Long> savedVersions = new EnumMap<>(Section.class);
+    private byte[] savedEvents;
+    private final Map<Section, Long> generations = new EnumMap<>(Section.class);
+    private long generation;
+    // the generation of the manifest the .dat file holds
+    private volatile long onDisk;
+    private int cardCount;
+
+    /**
+     * Sections of a quest that is entirely in memory, every one of them is written by the next save.
+     */
+    QuestSaveSections(final QuestData quest) {
+        this.quest = quest;
+        loaded.addAll(EnumSet.allOf(Section.class));
+        forced.addAll(EnumSet.allOf(Section.class));
+        quest.getAssets().setSaveSections(this);
+    }
+
+    /**
+     * Sections of a quest read from a manifest, they are read when first needed.
+     */
+    QuestSaveSections(final Manifest manifest) throws IOException {
+        if (manifest.format != FORMAT) {
+            throw new IOException("Unknown quest save format " + manifest.format);
+        }
+        this.quest = manifest.quest;
+        this.generation = manifest.generation;
+        this.onDisk = manifest.generation;
+        this.cardCount = manifest.cardCount;
+        if (manifest.sections != null) {
+            for (final Section section : Section.values()) {
+                final Long g = manifest.sections.get(section.fileName);
+                if (g != null) {
+                    generations.put(section, g);
+                }
+            }
+        }
+        // the manifest leaves these out, so they are still unset
+        try {
+            final QuestAssets assets = quest.getAssets();
+            QuestDataIO.setFinalField(QuestAssets.class, "cardPool", assets, new ItemPool<>(PaperCard.class));
+            QuestDataIO.setFinalField(QuestAssets.class, "newCardList", assets, new ItemPool<>(InventoryItem.class));
+            QuestDataIO.setFinalField(QuestAssets.class, "shopList", assets, new ItemPool<>(InventoryItem.class));
+            QuestDataIO.setFinalField(QuestAssets.class, "myDecks", assets, new HashMap<>());
+            QuestDataIO.setFinalField(QuestAssets.class, "draftDecks", assets, new HashMap<>());
+            assets.setSaveSections(this);
+
+            final Events events = read(Section.EVENTS, Events.class);
+            QuestDataIO.setFinalField(QuestAchievements.class, "drafts", quest.getAchievements(), events == null ? null : events.drafts);
+            loaded.add(Section.EVENTS);
+            savedEvents = toEventsXml(QuestDataIO.getSerializer(false));
+        } catch (final IllegalAccessException | NoSuchFieldException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public QuestData getQuest() {
+        return quest;
+    }
+
+    public synchronized boolean isLoaded(final Section section) {
+        return loaded.contains(section);
+    }
+
+    /**
+     * Tells whether the next save writes the section.
+     */
+    public synchronized boolean isChanged(final Section section) {
+        if (!loaded.contains(section)) {
+            return false;
+        }
+        if (forced.contains(section)) {
+            return true;
+        }
+        if (section == Section.EVENTS) {
+            return !Arrays.equals(savedEvents, toEventsXml(QuestDataIO.getSerializer(false)));
+        }
+        return !Long.valueOf(getVersion(section)).equals(savedVersions.get(section));
+    }
+
+    // changes whenever a card is added to or removed from the section's pools, or a deck is added, removed or replaced
+    private long getVersion(final Section section) {
+        final QuestAssets assets = quest.getAssets();
+        long version = 0;
+        if (section == Section.INVENTORY) {
+            version = addVersion(version, assets.getCardPool());
+            version = addVersion(version, assets.getNewCardList());
+            version = addVersion(version, assets.getShopList());
+            return version;
+        }
+        for (final Deck deck : assets.getDeckStorage()) {
+            version = addVersion(version, deck);
+        }
+        for (final DeckGroup group : assets.getDraftDeckStorage()) {
+            version = version * 31 + System.identityHashCode(group);
+            version = addVersion(version, group.getHumanDeck());
+            for (final Deck deck : group.getAiDecks()) {
+                version = addVersion(version, deck);
+            }
+        }
+        return version;
+    }
+
+    private static long addVersion(long version, final Deck deck) {
+        if (deck == null) {
+            return version * 31;
+        }
+        version = version * 31 + System.identityHashCode(deck);
+        version = version * 31 + deck.getName().hashCode();
+        for (final Map.Entry<DeckSection, CardPool> part : deck) {
+            version = addVersion(version, part.getValue());
+        }
+        return version;
+    }
+
+    private static long addVersion(final long version, final ItemPool<?> pool) {
+        return (version * 31 + System.identityHashCode(pool)) * 31 + pool.getModCount();
+    }
+
+    private byte[] toEventsXml(final XStream xs) {
+        final Events events = new Events();
+        events.drafts = quest.getAchievements().getDraftEvents();
+        return xs.toXML(events).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the number of cards in the card pool, without reading the inventory.
+     */
+    public synchronized int getCardCount() {
+        return loaded.contains(Section.INVENTORY) ? quest.getAssets().getCardPool().countAll() : cardCount;
+    }
+
+    /**
+     * Reads the section into the quest unless that happened already.
+     */
+    public synchronized void ensureLoaded(final Section section) {
+        if (!loaded.add(section)) {
+            return;
+        }
+        final QuestAssets assets = quest.getAssets();
+        try {
+            switch (section) {
+            case INVENTORY:
+                final Inventory inventory = read(section, Inventory.class);
+                if (inventory != null) {
+                    addAll(assets.getCardPool(), inventory.cardPool);
+                    addAll(assets.getNewCardList(), inventory.newCardList);
+                    addAll(assets.getShopList(), inventory.shopList);
+                }
+                break;
+            case DECKS:
+                final Decks decks = read(section, Decks.class);
+                if (decks != null) {
+                    if (decks.myDecks != null) {
+                        final QuestDeckMap storage = assets.getDeckStorage();
+                        decks.myDecks.values().forEach(storage::add);
+                    }
+                    if (decks.draftDecks != null) {
+                        final QuestDeckGroupMap storage = assets.getDraftDeckStorage();
+                        decks.draftDecks.values().forEach(storage::add);
+                    }
+                }
+                break;
+            default:
+                break;
+            }
+            // filling it in isn't a change
+            forced.remove(section);
+            savedVersions.put(section, getVersion(section));
+        } catch (final IOException e) {
+            // nothing was added yet, keep the file from being overwritten by an empty section
+            loaded.remove(section);
+            forced.remove(section);
+            throw new RuntimeException("Error reading the " + section.fileName + " of quest " + quest.getName(), e);
+        }
+    }
+
+    private static <T extends InventoryItem> void addAll(final ItemPool<T> target, final ItemPool<? extends InventoryItem> source) {
+        if (source != null) {
+            for (final Map.Entry<? extends InventoryItem, Integer> e : source) {
+                target.add(target.getMyClass().cast(e.getKey()), e.getValue());
+            }
+        }
+    }
+
+    private <T> T read(final Section section, final Class<T> clasz) throws IOException {
+        final Long g = generations.get(section);
+        if (g == null) {
+            return null;
+        }
+        final File file = getFile(quest.getName(), section, g);
+        if (!file.exists()) {
+            throw new IOException("Missing " + file);
+        }
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file.toPath())), StandardCharsets.UTF_8)) {
+            return clasz.cast(QuestDataIO.getSerializer(true).fromXML(reader));
+        }
+    }
+
+    /**
+     * Turns the changed sections and the manifest into the bytes of their files, and counts the
+     * sections as written.
+     */
+    synchronized Changes collectChanges() {
+        final XStream xs = QuestDataIO.getSerializer(false);
+        final Changes changes = new Changes();
+        final String name = quest.getName();
+        // the files of the manifest about to be replaced stay as its backup
+        for (final Map.Entry<Section, Long> e : generations.entrySet()) {
+            changes.inUse.add(getFile(name, e.getKey(), e.getValue()));
+        }
+        final long next = generation + 1;
+        for (final Section section : Section.values()) {
+            if (!loaded.contains(section)) {
+                continue;
+            }
+            final byte[] xml;
+            if (section == Section.EVENTS) {
+                xml = toEventsXml(xs);
+                if (!forced.contains(section) && Arrays.equals(savedEvents, xml)) {
+                    continue;
+                }
+                savedEvents = xml;
+            } else {
+                final long version = getVersion(section);
+                if (!forced.contains(section) && Long.valueOf(version).equals(savedVersions.get(section))) {
+                    continue;
+                }
+                savedVersions.put(section, version);
+                xml = xs.toXML(toContent(section)).getBytes(StandardCharsets.UTF_8);
+            }
+            changes.sections.put(getFile(name, section, next), xml);
+            changes.written.add(section);
+            generations.put(section, next);
+        }
+        forced.clear();
+
+        final Manifest manifest = new Manifest();
+        manifest.format = FORMAT;
+        manifest.quest = quest;
+        manifest.generation = next;
+        manifest.cardCount = getCardCount();
+        manifest.sections = new HashMap<>();
+        for (final Map.Entry<Section, Long> e : generations.entrySet()) {
+            manifest.sections.put(e.getKey().fileName, e.getValue());
+            changes.referenced.add(getFile(name, e.getKey(), e.getValue()));
+        }
+        changes.inUse.addAll(changes.referenced);
+        changes.directory = getDirectory(name);
+        changes.manifestFile = new File(ForgeConstants.QUEST_SAVE_DIR, name + ".dat");
+        changes.previousGeneration = generation;
+        changes.generation = next;
+        changes.manifest = QuestDataIO.getManifestSerializer(false).toXML(manifest).getBytes(StandardCharsets.UTF_8);
+        generation = next;
+        return changes;
+    }
+
+    private Object toContent(final Section section) {
+        final QuestAssets assets = quest.getAssets();
+        if (section == Section.INVENTORY) {
+            final Inventory inventory = new Inventory();
+            inventory.cardPool = assets.getCardPool();
+            inventory.newCardList = assets.getNewCardList();
+            inventory.shopList = assets.getShopList();
+            return inventory;
+        }
+        final Decks decks = new Decks();
+        decks.myDecks = new HashMap<>();
+        final QuestDeckMap deckStorage = assets.getDeckStorage();
+        for (final String deckName : deckStorage.getItemNames()) {
+            decks.myDecks.put(deckName, deckStorage.get(deckName));
+        }
+        decks.draftDecks = new HashMap<>();
+        final QuestDeckGroupMap draftStorage = assets.getDraftDeckStorage();
+        for (final String deckName : draftStorage.getItemNames()) {
+            decks.draftDecks.put(deckName, draftStorage.get(deckName));
+        }
+        return decks;
+    }
+
+    /**
+     * Has the next save write again the sections a failed save didn't get to disk.
+     */
+    synchronized void writeFailed(final Changes changes) {
+        forced.addAll(changes.written);
+    }
+
+    long getGenerationOnDisk() {
+        return onDisk;
+    }
+
+    void setGenerationOnDisk(final long generation0) {
+        onDisk = generation0;
+    }
+
+    static File getDirectory(final String questName) {
+        return new File(ForgeConstants.QUEST_SAVE_DIR, questName + ".sections");
+    }
+
+    static File getFile(final String questName, final Section section, final long generation) {
+        return new File(getDirectory(questName), section.fileName + "." + generation + ".xml.gz");
+    }
+}
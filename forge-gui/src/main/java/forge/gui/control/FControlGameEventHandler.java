@@ -417,6 +417,25 @@ public class FControlGameEventHandler extends IGameEventVisitor.Base<Void> {
         }
     }
 
+    @Override
+    public Void visit(final GameEventCardsChangeZone event) {
+        if(GuiBase.getInterface().isLibgdxPort()) {
+            synchronized (zonesUpdate) {
+                for (final GameEventCardChangeZone change : event.changes) {
+                    addZoneUpdate(change.from);
+                    addZoneUpdate(change.to);
+                }
+            }
+        }
+        return processEvent();
+    }
+
+    private void addZoneUpdate(final Zone z) {
+        if (z != null && z.getPlayer() != null) {
+            zonesUpdate.add(new PlayerZoneUpdate(PlayerView.get(z.getPlayer()), z.getZoneType()));
+        }
+    }
+
     @Override
     public Void visit(final GameEventCardStatsChanged event) {
         refreshFieldUpdate = true;
@@ -0,0 +1,464 @@
+/*
+ * Forge: Play Magic: the Gathering.
+ * Copyright (C) 2011  Forge Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package forge.gui.download;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.esotericsoftware.minlog.Log;
+
+import forge.util.FileUtil;
+
+/**
+ * Download engine shared by the {@link GuiDownloadService} implementations.
+ * <p>
+ * Files are fetched over a bounded pool of connections, requests to the same host are spaced
+ * by a configurable interval and interrupted transfers are resumed from their ".part" file with an
+ * HTTP Range request. Files that already exist are left out by the caller, so a restarted
+ * download only fetches what is still missing.
+ */
+public class BulkDownloader {
+    public static final int DEFAULT_MAX_CONNECTIONS = 6;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final String PART_SUFFIX = ".part";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int CONNECT_TIMEOUT = 15000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final long RETRY_DELAY = 250;
+
+    public enum Status {
+        DOWNLOADED,
+        NOT_FOUND,
+        FAILED,
+        CANCELLED
+    }
+
+    /** One candidate location for an item; the first candidate the server has wins. */
+    public static final class Source {
+        private final String url;
+        private final File destination;
+        private final boolean followRedirects;
+        private final File partFile;
+
+        public Source(final String url0, final File destination0, final boolean followRedirects0) {
+            url = url0;
+            destination = destination0;
+            followRedirects = followRedirects0;
+            // a source of another type saved under the same name (a .png tried for a .jpg) must not
+            // resume from the bytes of the other one
+            final String ext = extensionOf(url.replaceAll("[?#].*$", ""));
+            if (ext.equalsIgnoreCase(extensionOf(destination.getName()))) {
+                partFile = new File(destination.getPath() + PART_SUFFIX);
+            } else {
+                partFile = new File(destination.getPath() + "." + ext + PART_SUFFIX);
+            }
+        }
+
+        public String getUrl() { return url; }
+        public File getDestination() { return destination; }
+        public boolean isFollowRedirects() { return followRedirects; }
+        /** The file the transfer goes to until it is complete. */
+        public File getPartFile() { return partFile; }
+
+        private static String extensionOf(final String path) {
+            final int slash = path.lastIndexOf('/');
+            final int dot = path.lastIndexOf('.');
+            return dot > slash ? path.substring(dot + 1) : "";
+        }
+    }
+
+    public static final class Request {
+        private final String key;
+        private final List<Source> sources;
+
+        public Request(final String key0, final List<Source> sources0) {
+            key = key0;
+            sources = sources0;
+        }
+
+        public String getKey() { return key; }
+        public List<Source> getSources() { return sources; }
+    }
+
+    /** Snapshot of the engine counters handed to the {@link ProgressListener}. */
+    public static final class Progress {
+        private final int finished;
+        private final int total;
+        private final int skipped;
+        private final long bytes;
+        private final long elapsedMillis;
+
+        private Progress(final int finished0, final int total0, final int skipped0, final long bytes0, final long elapsedMillis0) {
+            finished = finished0;
+            total = total0;
+            skipped = skipped0;
+            bytes = bytes0;
+            elapsedMillis = elapsedMillis0;
+        }
+
+        public int getFinished() { return finished; }
+        public int getTotal() { return total; }
+        public int getSkipped() { return skipped; }
+        public long getBytes() { return bytes; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public boolean isComplete() { return finished == total; }
+
+        public long getBytesPerSecond() {
+            return elapsedMillis <= 0 ? 0 : bytes * 1000 / elapsedMillis;
+        }
+
+        public long getMillisRemaining() {
+            if (finished == 0) {
+                return 0;
+            }
+            return (total - finished) * elapsedMillis / finished;
+        }
+    }
+
+    public interface ProgressListener {
+        void onItemFinished(Request request, Status status, Progress progress);
+    }
+
+    private final Proxy proxy;
+    private final int maxConnections;
+    private final Map<String, Long> hostIntervals = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> nextHostSlot = new ConcurrentHashMap<>();
+    private long defaultHostInterval = 0;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private volatile boolean cancel;
+    private volatile ExecutorService pool;
+
+    /**
+     * @param proxy0 proxy used for every connection
+     * @param maxConnections0 number of transfers that may run at the same time
+     */
+    public BulkDownloader(final Proxy proxy0, final int maxConnections0) {
+        proxy = proxy0;
+        maxConnections = Math.max(1, maxConnections0);
+    }
+
+    /** Minimum delay between two requests to any host without a specific interval. */
+    public void setDefaultHostInterval(final long millis) {
+        defaultHostInterval = millis;
+    }
+
+    /** Minimum delay between two requests to the given host. */
+    public void setHostInterval(final String host, final long millis) {
+        hostIntervals.put(host.toLowerCase(), millis);
+    }
+
+    public void setMaxAttempts(final int maxAttempts0) {
+        maxAttempts = Math.max(1, maxAttempts0);
+    }
+
+    public void cancel() {
+        cancel = true;
+        final ExecutorService p = pool;
+        if (p != null) {
+            p.shutdownNow();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancel;
+    }
+
+    /**
+     * Downloads every request and blocks until they have all been processed or the download was cancelled.
+     * The listener is called from the worker threads.
+     */
+    public Progress download(final Collection<Request> requests, final ProgressListener listener) {
+        final int total = requests.size();
+        final AtomicInteger finished = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final long start = System.currentTimeMillis();
+
+        final ExecutorService p = Executors.newFixedThreadPool(Math.min(maxConnections, Math.max(1, total)), new DownloadThreadFactory());
+        pool = p;
+        if (cancel) {
+            // cancelled before the pool could be seen
+            p.shutdownNow();
+        }
+        try {
+            final List<Future<?>> futures = new ArrayList<>(total);
+            for (final Request request : requests) {
+                final Runnable task = () -> {
+                    Status status;
+                    try {
+                        status = process(request, bytes);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        status = Status.CANCELLED;
+                    } catch (final Exception e) {
+                        Log.error("Downloader", "Error downloading " + request.getKey(), e);
+                        status = Status.FAILED;
+                    }
+                    if (status == Status.CANCELLED) {
+                        return;
+                    }
+                    if (status != Status.DOWNLOADED) {
+                        skipped.incrementAndGet();
+                    }
+                    final Progress progress = new Progress(finished.incrementAndGet(), total, skipped.get(),
+                            bytes.get(), System.currentTimeMillis() - start);
+                    if (listener != null) {
+                        listener.onItemFinished(request, status, progress);
+                    }
+                };
+                try {
+                    futures.add(p.submit(task));
+                } catch (final RejectedExecutionException e) {
+                    break; // the pool was shut down by cancel()
+                }
+            }
+            for (final Future<?> f : futures) {
+                if (cancel) {
+                    break;
+                }
+                try {
+                    f.get();
+                } catch (final Exception e) {
+                    if (!cancel) {
+                        Log.error("Downloader", "Download task failed", e);
+                    }
+                }
+            }
+        } finally {
+            p.shutdownNow();
+            try {
+                p.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool = null;
+        }
+        return new Progress(finished.get(), total, skipped.get(), bytes.get(), System.currentTimeMillis() - start);
+    }
+
+    private Status process(final Request request, final AtomicLong bytes) throws IOException, InterruptedException {
+        for (final Source source : request.getSources()) {
+            if (cancel) {
+                return Status.CANCELLED;
+            }
+            final Status status = fetch(source, bytes);
+            if (status == Status.NOT_FOUND) {
+                continue; // try the next candidate
+            }
+            return status;
+        }
+        return Status.NOT_FOUND;
+    }
+
+    private Status fetch(final Source source, final AtomicLong bytes) throws IOException, InterruptedException {
+        final File dest = source.getDestination();
+        if (!FileUtil.ensureDirectoryExists(dest.getParentFile())) {
+            System.out.println("  Can't create folder: " + dest.getParentFile().getAbsolutePath());
+            return Status.FAILED;
+        }
+        final File part = source.getPartFile();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transfer(source, part, dest, bytes);
+            } catch (final IOException e) {
+                if (cancel) {
+                    return Status.CANCELLED;
+                }
+                if (attempt >= maxAttempts) {
+                    System.out.println("  Connection failed for url: " + source.getUrl() + " (" + e.getMessage() + ")");
+                    return Status.FAILED;
+                }
+                // back off and resume from whatever made it into the part file
+                Thread.sleep(RETRY_DELAY << (attempt - 1));
+            }
+        }
+    }
+
+    private Status transfer(final Source source, final File part, final File dest, final AtomicLong bytes) throws IOException, InterruptedException {
+        final URL url = new URL(source.getUrl());
+        awaitHostSlot(url.getHost());
+
+        final long offset = part.exists() ? part.length() : 0;
+        final HttpURLConnection conn = (HttpURLConnection) url.openConnection(proxy);
+        try {
+            // redirections indicate 'file not found' on most servers, only some APIs rely on them
+            conn.setInstanceFollowRedirects(source.isFollowRedirects());
+            conn.setConnectTimeout(CONNECT_TIMEOUT);
+            conn.setReadTimeout(READ_TIMEOUT);
+            if (offset > 0) {
+                conn.setRequestProperty("Range", "bytes=" + offset + "-");
+            }
+            conn.connect();
+
+            final int code = conn.getResponseCode();
+            final boolean append;
+            switch (code) {
+            case HttpURLConnection.HTTP_OK:
+                append = false;
+                break;
+            case HttpURLConnection.HTTP_PARTIAL:
+                if (rangeStart(conn.getHeaderField("Content-Range")) == offset) {
+                    append = offset > 0;
+                    break;
+                }
+                if (offset == 0) {
+                    throw new IOException("Unexpected partial content from " + source.getUrl());
+                }
+                // not the rest of what the part file holds, start over
+                conn.disconnect();
+                if (!part.delete() && part.exists()) {
+                    throw new IOException("Can't delete " + part);
+                }
+                return transfer(source, part, dest, bytes);
+            case 416: // Requested Range Not Satisfiable: the part file may already hold everything
+                if (offset == 0) {
+                    return Status.FAILED;
+                }
+                if (rangeLength(conn.getHeaderField("Content-Range")) == offset) {
+                    moveIntoPlace(part, dest);
+                    return Status.DOWNLOADED;
+                }
+                // longer than the file or of unknown length, start over
+                conn.disconnect();
+                if (!part.delete() && part.exists()) {
+                    throw new IOException("Can't delete " + part);
+                }
+                return transfer(source, part, dest, bytes);
+            case HttpURLConnection.HTTP_NOT_FOUND:
+            case HttpURLConnection.HTTP_GONE:
+                return Status.NOT_FOUND;
+            default:
+                if (code >= 500) {
+                    throw new IOException("HTTP " + code);
+                }
+                if (code >= 300 && code < 400 && !source.isFollowRedirects()) {
+                    return Status.NOT_FOUND;
+                }
+                System.out.println("  Connection failed for url: " + source.getUrl() + " (HTTP " + code + ")");
+                return Status.FAILED;
+            }
+
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream in = conn.getInputStream(); OutputStream out = new FileOutputStream(part, append)) {
+                int len;
+                while ((len = in.read(buffer)) > 0) {
+                    if (cancel) {
+                        return Status.CANCELLED;
+                    }
+                    out.write(buffer, 0, len);
+                    bytes.addAndGet(len);
+                }
+            }
+            moveIntoPlace(part, dest);
+            return Status.DOWNLOADED;
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    // the first byte of a "bytes first-last/length" content range, -1 if there is none
+    private static long rangeStart(final String contentRange) {
+        if (contentRange == null || !contentRange.startsWith("bytes ")) {
+            return -1;
+        }
+        final int dash = contentRange.indexOf('-');
+        if (dash < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring("bytes ".length(), dash).trim());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // the complete length of an unsatisfied "bytes */length" content range, -1 if there is none
+    private static long rangeLength(final String contentRange) {
+        if (contentRange == null || !contentRange.startsWith("bytes */")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring("bytes */".length()).trim());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void awaitHostSlot(final String host) throws InterruptedException {
+        final long interval = hostIntervals.getOrDefault(host.toLowerCase(), defaultHostInterval);
+        if (interval <= 0) {
+            return;
+        }
+        final AtomicLong next = nextHostSlot.computeIfAbsent(host.toLowerCase(), h -> new AtomicLong());
+        long slot;
+        while (true) {
+            final long now = System.currentTimeMillis();
+            final long reserved = next.get();
+            slot = Math.max(now, reserved);
+            if (next.compareAndSet(reserved, slot + interval)) {
+                break;
+            }
+        }
+        final long wait = slot - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    private static void moveIntoPlace(final File part, final File dest) throws IOException {
+        try {
+            Files.move(part.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(part.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static class DownloadThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = new Thread(r, "Download-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -18,28 +18,19 @@
 package forge.gui.download;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.ConnectException;
-import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
-import java.net.MalformedURLException;
 import java.net.Proxy;
-import java.net.URL;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.tuple.Pair;
 
-import com.esotericsoftware.minlog.Log;
-
 import forge.gui.FThreads;
 import forge.gui.GuiBase;
 import forge.gui.UiCommand;
@@ -81,11 +72,8 @@ public abstract class GuiDownloadService implements Runnable {
 
     // Progress variables
     private Map<String, String> files; // local path -> url
-    protected boolean cancel;
-    private final long[] times = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
-    private int tptr = 0;
-    private int skipped = 0;
-    private long lTime = System.currentTimeMillis();
+    protected volatile boolean cancel;
+    private volatile BulkDownloader downloader;
 
     protected GuiDownloadService() {
     }
@@ -159,44 +147,26 @@ public abstract class GuiDownloadService implements Runnable {
 
     public void setCancel(boolean cancel0) {
         cancel = cancel0;
-    }
-
-    protected final int getAverageTimePerObject() {
-        int numNonzero = 10;
-
-        if (tptr > 9) {
-            tptr = 0;
+        final BulkDownloader engine = downloader;
+        if (cancel0 && engine != null) {
+            engine.cancel();
         }
-
-        times[tptr] = System.currentTimeMillis() - lTime;
-        lTime = System.currentTimeMillis();
-
-        int tTime = 0;
-        for (int i = 0; i < 10; i++) {
-            tTime += times[i];
-            if (times[i] == 0) {
-                numNonzero--;
-            }
-        }
-
-        tptr++;
-        return tTime / Math.max(1, numNonzero);
     }
 
-    private void update(final int count) {
+    private void update(final BulkDownloader.Progress progress) {
         FThreads.invokeInEdtLater(() -> {
             if (onUpdate != null) {
                 onUpdate.run();
             }
 
             final StringBuilder sb = new StringBuilder();
+            final int count = progress.getFinished();
 
-            final int a = getAverageTimePerObject();
+            if (!progress.isComplete()) {
+                sb.append(count).append("/").append(progress.getTotal()).append(" - ");
+                sb.append(String.format("%d KB/s - ", progress.getBytesPerSecond() / 1024));
 
-            if (count != files.size()) {
-                sb.append(count).append("/").append(files.size()).append(" - ");
-
-                long t2Go = (files.size() - count) * a;
+                long t2Go = progress.getMillisRemaining();
 
                 if (t2Go > 3600000) {
                     sb.append(String.format("%02d:", t2Go / 3600000));
@@ -211,8 +181,8 @@ public abstract class GuiDownloadService implements Runnable {
 
                 sb.append(String.format("%02d remaining.", t2Go / 1000));
             } else {
-                sb.append(String.format("%d of %d items finished! Skipped " + skipped + " items. Please close!",
-                        count, files.size()));
+                sb.append(String.format("%d of %d items finished! Skipped " + progress.getSkipped() + " items. Please close!",
+                        count, progress.getTotal()));
                 finish();
             }
 
@@ -231,136 +201,64 @@ public abstract class GuiDownloadService implements Runnable {
     @Override
     public void run() {
         GuiBase.getInterface().preventSystemSleep(true); //prevent system from going into sleep mode while downloading
-
-        Proxy p = getProxy();
-
-        boolean cardSkipped;
-        int bufferLength;
-        int count = 0;
-        int totalCount = files.size();
-        byte[] buffer = new byte[1024];
-
-        for (Entry<String, String> kv : files.entrySet()) {
-            boolean isJPG = true;
-            boolean isLogged = false;
-            boolean fullborder = false;
-            if (cancel) {//stop prevent sleep
-                GuiBase.getInterface().preventSystemSleep(false);
-                break; }
-
-            count++;
-            cardSkipped = true; //assume skipped unless saved successfully
-            String url = kv.getValue();
-
-            String decodedKey = decodeURL(kv.getKey());
-            File fileDest = new File(decodedKey);
-            final String filePath = fileDest.getPath();
-            final String subLastIndex = filePath.contains("pics") ? "\\pics\\" : filePath.contains("skins") ? "\\"+FileUtil.getParent(filePath)+"\\" : "\\db\\";
-
-            System.out.println(count + "/" + totalCount + " - .." + filePath.substring(filePath.lastIndexOf(subLastIndex)+1));
-
-            FileOutputStream fos = null;
-            try {
-                final File base = fileDest.getParentFile();
-                if (FileUtil.ensureDirectoryExists(base)) { //ensure destination directory exists
-                    URL imageUrl = new URL(url);
-                    HttpURLConnection conn = (HttpURLConnection) imageUrl.openConnection(p);
-                    // don't allow redirections here -- they indicate 'file not found' on the server
-                    // only allow redirections to consume Scryfall API
-                    if(url.contains("api.scryfall.com")) {
-                        conn.setInstanceFollowRedirects(true);
-                        TimeUnit.MILLISECONDS.sleep(100);
-                    } else {
-                        conn.setInstanceFollowRedirects(false);
-                    }
-                    conn.connect();
-
-                    //if .full file is not found try fullborder
-                    if ((conn.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) && (url.contains(".full.jpg")))
-                    {
-                        fullborder = true;
-                        conn.disconnect();
-                        url = TextUtil.fastReplace(url, ".full.jpg", ".fullborder.jpg");
-                        imageUrl = new URL(url);
-                        conn = (HttpURLConnection) imageUrl.openConnection(p);
-                        conn.setInstanceFollowRedirects(false);
-                        conn.connect();
-                    }
-
-                    // if file is not found and this is a JPG, give PNG a shot...
-                    if ((conn.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) && (url.endsWith(".jpg"))) {
-                        fullborder = false;
-                        isJPG = false;
-                        conn.disconnect();
-                        if(url.contains("/images/")){
-                            isLogged = true;
-                            System.out.println("File not found: .." + url.substring(url.lastIndexOf("/images/")+1));
-                        }
-                        url = url.substring(0,url.length() - 4) + ".png";
-                        imageUrl = new URL(TextUtil.fastReplace(url, ".fullborder.", ".full."));
-                        conn = (HttpURLConnection) imageUrl.openConnection(p);
-                        conn.setInstanceFollowRedirects(false);
-                        conn.connect();
-                    }
-
-                    if (fullborder) {
-                        fileDest = new File(TextUtil.fastReplace(decodedKey, ".full.jpg", ".fullborder.jpg"));
-                    }
-
-                    switch (conn.getResponseCode()) {
-                    case HttpURLConnection.HTTP_OK:
-                        fos = new FileOutputStream(fileDest);
-                        InputStream inputStream = conn.getInputStream();
-                        while ((bufferLength = inputStream.read(buffer)) > 0) {
-                            fos.write(buffer, 0, bufferLength);
-                        }
-                        cardSkipped = false;
-                        break;
-                    case HttpURLConnection.HTTP_NOT_FOUND:
-                        conn.disconnect();
-                        if(url.contains("/images/") && !isJPG && !isLogged)
-                            System.out.println("File not found: .." + url.substring(url.lastIndexOf("/images/")+1));
-                        break;
-                    default:
-                        conn.disconnect();
-                        System.out.println("  Connection failed for url: " + url);
-                        break;
-                    }
-                } else {
-                    System.out.println("  Can't create folder: " + base.getAbsolutePath());
-                }
-            }
-            catch (final ConnectException ce) {
-                System.out.println("  Connection refused for url: " + url);
-            }
-            catch (final MalformedURLException mURLe) {
-                System.out.println("  Error - possibly missing URL for: " + fileDest.getName());
-            }
-            catch (final FileNotFoundException fnfe) {
-                String formatStr = "  Error - the LQ picture %s could not be found on the server. [%s] - %s";
-                System.out.printf((formatStr) + "%n", fileDest.getName(), url, fnfe.getMessage());
+        try {
+            final BulkDownloader engine = new BulkDownloader(getProxy(), getMaxConnections());
+            // Scryfall asks clients to keep 50-100 milliseconds between requests
+            engine.setHostInterval("api.scryfall.com", 100);
+            downloader = engine;
+            if (cancel) {
+                engine.cancel();
             }
-            catch (final Exception ex) {
-                Log.error("LQ Pictures", "Error downloading pictures", ex);
+
+            final List<BulkDownloader.Request> requests = new ArrayList<>(files.size());
+            for (Entry<String, String> kv : files.entrySet()) {
+                requests.add(createRequest(decodeURL(kv.getKey()), kv.getValue()));
             }
-            finally {
-                if (fos != null) {
-                    try {
-                        fos.close();
-                    }
-                    catch (IOException e) {
-                        System.out.println("  Error closing output stream");
+
+            final int totalCount = requests.size();
+            engine.download(requests, (request, status, progress) -> {
+                final String filePath = request.getKey();
+                final String subLastIndex = filePath.contains("pics") ? "\\pics\\" : filePath.contains("skins") ? "\\"+FileUtil.getParent(filePath)+"\\" : "\\db\\";
+                System.out.println(progress.getFinished() + "/" + totalCount + " - .." + filePath.substring(filePath.lastIndexOf(subLastIndex)+1));
+                if (status == BulkDownloader.Status.NOT_FOUND) {
+                    final String url = request.getSources().get(0).getUrl();
+                    if (url.contains("/images/")) {
+                        System.out.println("File not found: .." + url.substring(url.lastIndexOf("/images/")+1));
                     }
                 }
-            }
+                update(progress);
+            });
+        } finally {
+            downloader = null;
+            GuiBase.getInterface().preventSystemSleep(false);
+        }
+    }
 
-            update(count);
-            if (cardSkipped) {
-                skipped++;
-            }
+    /**
+     * Builds the download request for one destination, including the alternative
+     * locations the server may hold the file under.
+     */
+    protected BulkDownloader.Request createRequest(final String destPath, final String url) {
+        final List<BulkDownloader.Source> sources = new ArrayList<>(3);
+        // only allow redirections to consume Scryfall API
+        sources.add(new BulkDownloader.Source(url, new File(destPath), url.contains("api.scryfall.com")));
+        //if .full file is not found try fullborder
+        if (url.contains(".full.jpg")) {
+            sources.add(new BulkDownloader.Source(TextUtil.fastReplace(url, ".full.jpg", ".fullborder.jpg"),
+                    new File(TextUtil.fastReplace(destPath, ".full.jpg", ".fullborder.jpg")), false));
         }
+        // if file is not found and this is a JPG, give PNG a shot...
+        if (url.endsWith(".jpg")) {
+            sources.add(new BulkDownloader.Source(url.substring(0, url.length() - 4) + ".png", new File(destPath), false));
+        }
+        return new BulkDownloader.Request(destPath, sources);
+    }
 
-        GuiBase.getInterface().preventSystemSleep(false);
+    /**
+     * @return number of files downloaded at the same time
+     */
+    protected int getMaxConnections() {
+        return BulkDownloader.DEFAULT_MAX_CONNECTIONS;
     }
 
     @SuppressWarnings("deprecation")
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Function;
@@ -21,10 +22,12 @@ import com.google.common.collect.Lists;
 import forge.card.CardEdition;
 import forge.card.CardRarity;
 import forge.card.CardRules;
+import forge.card.CardSearchIndex;
 import forge.card.CardSplitType;
 import forge.card.CardType;
 import forge.card.CardType.CoreType;
 import forge.card.CardType.Supertype;
+import forge.card.ColorSet;
 import forge.card.MagicColor;
 import forge.deck.Deck;
 import forge.deck.CardPool;
@@ -162,7 +165,7 @@ public class AdvancedSearch {
                 return QuestWorld.getAllQuestWorldsOfCard(input);
             }
         }),
-        CARD_COLOR("lblColor", PaperCard.class, FilterOperator.COMBINATION_OPS, new ColorEvaluator<PaperCard>() {
+        CARD_COLOR("lblColor", PaperCard.class, FilterOperator.COMBINATION_OPS, new ColorEvaluator<PaperCard>(CardSearchIndex.Column.COLOR) {
             @Override
             protected MagicColor.Color getItemValue(PaperCard input) {
                 throw new RuntimeException("getItemValues should be called instead");
@@ -172,7 +175,7 @@ public class AdvancedSearch {
                 return input.getRules().getColor().toEnumSet();
             }
         }),
-        CARD_COLOR_IDENTITY("lblColorIdentity", PaperCard.class, FilterOperator.COMBINATION_OPS, new ColorEvaluator<PaperCard>() {
+        CARD_COLOR_IDENTITY("lblColorIdentity", PaperCard.class, FilterOperator.COMBINATION_OPS, new ColorEvaluator<PaperCard>(CardSearchIndex.Column.COLOR_IDENTITY) {
             @Override
             protected MagicColor.Color getItemValue(PaperCard input) {
                 throw new RuntimeException("getItemValues should be called instead");
@@ -182,7 +185,7 @@ public class AdvancedSearch {
                 return input.getRules().getColorIdentity().toEnumSet();
             }
         }),
-        CARD_COLOR_COUNT("lblColorCount", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 5) {
+        CARD_COLOR_COUNT("lblColorCount", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 5, CardSearchIndex.Column.COLOR_COUNT) {
             @Override
             protected Integer getItemValue(PaperCard input) {
                 return input.getRules().getColor().countColors();
@@ -194,6 +197,14 @@ public class AdvancedSearch {
                 throw new RuntimeException("getItemValues should be called instead");
             }
             @Override
+            protected CardSearchIndex.Column getIndexColumn() {
+                return CardSearchIndex.Column.TYPES;
+            }
+            @Override
+            protected Set<String> getIndexedValues(int value) {
+                return CardSearchIndex.typeNames(value);
+            }
+            @Override
             protected Set<String> getItemValues(PaperCard input) {
                 final CardType type = input.getRules().getType();
                 final Set<String> types = new HashSet<>();
@@ -247,19 +258,19 @@ public class AdvancedSearch {
                 return (Set<String>)input.getRules().getType().getSubtypes();
             }
         }),
-        CARD_CMC("lblCMC", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20) {
+        CARD_CMC("lblCMC", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20, CardSearchIndex.Column.CMC) {
             @Override
             protected Integer getItemValue(PaperCard input) {
                 return input.getRules().getManaCost().getCMC();
             }
         }),
-        CARD_GENERIC_COST("lblGenericCost", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20) {
+        CARD_GENERIC_COST("lblGenericCost", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20, CardSearchIndex.Column.GENERIC_COST) {
             @Override
             protected Integer getItemValue(PaperCard input) {
                 return input.getRules().getManaCost().getGenericCost();
             }
         }),
-        CARD_POWER("lblPower", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20) {
+        CARD_POWER("lblPower", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20, CardSearchIndex.Column.POWER) {
             @Override
             protected Integer getItemValue(PaperCard input) {
                 CardRules rules = input.getRules();
@@ -269,7 +280,7 @@ public class AdvancedSearch {
                 return null;
             }
         }),
-        CARD_TOUGHNESS("lblToughness", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20) {
+        CARD_TOUGHNESS("lblToughness", PaperCard.class, FilterOperator.NUMBER_OPS, new NumericEvaluator<PaperCard>(0, 20, CardSearchIndex.Column.TOUGHNESS) {
             @Override
             protected Integer getItemValue(PaperCard input) {
                 CardRules rules = input.getRules();
@@ -1104,15 +1115,41 @@ public class AdvancedSearch {
 
             final OperatorEvaluator<V> evaluator = (OperatorEvaluator<V>) operator.evaluator;
             Predicate<T> predicate = input -> evaluator.apply(getItemValue(input), values);
+            IntPredicate indexedTest = value -> evaluator.apply(getIndexedValue(value), values);
 
             final FilterOperator[][] manyValueOperators = { FilterOperator.MULTI_LIST_OPS,
                     FilterOperator.COMBINATION_OPS, FilterOperator.COLLECTION_OPS, FilterOperator.STRINGS_OPS };
             for (FilterOperator[] oper : manyValueOperators) {
                 if (option.operatorOptions == oper) {
                     predicate = input -> evaluator.apply(getItemValues(input), values);
+                    indexedTest = value -> evaluator.apply(getIndexedValues(value), values);
                     break;
                 }
             }
+
+            final CardSearchIndex.Column column = getIndexColumn();
+            if (column != null) {
+                //decide once per distinct value in the search index, the first time the filter is used
+                //once the index is built, until then check each card
+                final Predicate<PaperCard> fallback = (Predicate<PaperCard>) predicate;
+                final IntPredicate test = indexedTest;
+                predicate = (Predicate<T>) new Predicate<PaperCard>() {
+                    private volatile Predicate<PaperCard> indexed;
+
+                    @Override
+                    public boolean apply(PaperCard input) {
+                        Predicate<PaperCard> filter = indexed;
+                        if (filter == null) {
+                            filter = SFilterUtil.buildIndexedFilter(column, test, fallback);
+                            if (filter == null) {
+                                return fallback.apply(input);
+                            }
+                            indexed = filter;
+                        }
+                        return filter.apply(input);
+                    }
+                };
+            }
             return new Filter<>(option, operator, caption, predicate);
         }
 
@@ -1142,6 +1179,19 @@ public class AdvancedSearch {
         protected Set<V> getItemValues(T input) { //available for options that have multiple inputs
             return null;
         }
+
+        //available for card options that only depend on the card rules, the values come from this column of the search index
+        protected CardSearchIndex.Column getIndexColumn() {
+            return null;
+        }
+
+        protected V getIndexedValue(int value) {
+            return null;
+        }
+
+        protected Set<V> getIndexedValues(int value) {
+            return null;
+        }
     }
 
     private static abstract class BooleanEvaluator<T extends InventoryItem> extends FilterEvaluator<T, Boolean> {
@@ -1168,10 +1218,25 @@ public class AdvancedSearch {
 
     private static abstract class NumericEvaluator<T extends InventoryItem> extends FilterEvaluator<T, Integer> {
         private final int min, max;
+        private final CardSearchIndex.Column column;
 
         public NumericEvaluator(int min0, int max0) {
+            this(min0, max0, null);
+        }
+        public NumericEvaluator(int min0, int max0, CardSearchIndex.Column column0) {
             min = min0;
             max = max0;
+            column = column0;
+        }
+
+        @Override
+        protected CardSearchIndex.Column getIndexColumn() {
+            return column;
+        }
+
+        @Override
+        protected Integer getIndexedValue(int value) {
+            return value == CardSearchIndex.NO_VALUE ? null : value;
         }
 
         @Override
@@ -1329,8 +1394,24 @@ public class AdvancedSearch {
     }
 
     private static abstract class ColorEvaluator<T extends InventoryItem> extends CustomListEvaluator<T, MagicColor.Color> {
+        private final CardSearchIndex.Column column;
+
         public ColorEvaluator() {
+            this(null);
+        }
+        public ColorEvaluator(CardSearchIndex.Column column0) {
             super(Arrays.asList(MagicColor.Color.values()), MagicColor.Color::getSymbol);
+            column = column0;
+        }
+
+        @Override
+        protected CardSearchIndex.Column getIndexColumn() {
+            return column;
+        }
+
+        @Override
+        protected Set<MagicColor.Color> getIndexedValues(int value) {
+            return ColorSet.fromMask(value).toEnumSet();
         }
 
         @Override
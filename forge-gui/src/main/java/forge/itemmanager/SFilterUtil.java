@@ -1,10 +1,12 @@
 package forge.itemmanager;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntPredicate;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
@@ -13,6 +15,8 @@ import forge.StaticData;
 import forge.card.CardEdition;
 import forge.card.CardRules;
 import forge.card.CardRulesPredicates;
+import forge.card.CardSearchIndex;
+import forge.card.CardSearchIndex.TextField;
 import forge.card.ColorSet;
 import forge.card.MagicColor;
 import forge.deck.DeckProxy;
@@ -73,8 +77,48 @@ public class SFilterUtil {
             terms.add(Predicates.or(subands));
         }
         Predicate<CardRules> textFilter = invert ? Predicates.not(Predicates.or(terms)) : Predicates.and(terms);
+        Predicate<PaperCard> predicate = Predicates.compose(textFilter, PaperCard::getRules);
+        if (splitText.isEmpty()) {
+            return predicate;
+        }
+
+        // the same search over the index, the predicate only answers for cards the index doesn't know
+        CardSearchIndex index = CardSearchIndex.getIfBuilt();
+        if (index == null) {
+            return predicate; // not built yet, low memory devices don't build it at startup
+        }
+        BitSet matches = null;
+        for (String s : splitText) {
+            BitSet term = new BitSet(index.size());
+            if (inName) { term.or(index.containing(TextField.NAME, s));        }
+            if (inType) { term.or(index.containing(TextField.JOINED_TYPE, s)); }
+            if (inText) { term.or(index.containing(TextField.ORACLE_TEXT, s)); }
+            if (inCost) { term.or(index.containing(TextField.COST, s));        }
+
+            if (matches == null) {
+                matches = term;
+            } else if (invert) {
+                matches.or(term);
+            } else {
+                matches.and(term);
+            }
+        }
+        if (invert) {
+            matches.flip(0, index.size());
+        }
+        return index.filter(matches, predicate);
+    }
 
-        return Predicates.compose(textFilter, PaperCard::getRules);
+    /**
+     * builds a filter on an attribute of the card rules, deciding once per distinct value of the
+     * column of the search index rather than once per card; null while the index is still being built
+     */
+    public static Predicate<PaperCard> buildIndexedFilter(CardSearchIndex.Column column, IntPredicate test, Predicate<PaperCard> fallback) {
+        CardSearchIndex index = CardSearchIndex.getIfBuilt();
+        if (index == null) {
+            return null;
+        }
+        return index.filter(index.select(column, test), fallback);
     }
 
     private static List<String> getSplitText(String text) {
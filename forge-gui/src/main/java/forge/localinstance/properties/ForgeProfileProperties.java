@@ -44,6 +44,7 @@ public class ForgeProfileProperties {
     private static String decksDir;
     private static String decksConstructedDir;
     private static int serverPort;
+    private static boolean virtualGameThreads;
 
     private static final String USER_DIR_KEY      = "userDir";
     private static final String CACHE_DIR_KEY     = "cacheDir";
@@ -52,6 +53,7 @@ public class ForgeProfileProperties {
     private static final String DECKS_DIR_KEY      = "decksDir";
     private static final String DECKS_CONSTRUCTED_DIR_KEY = "decksConstructedDir";
     private static final String SERVER_PORT_KEY = "serverPort";
+    private static final String VIRTUAL_GAME_THREADS_KEY = "virtualGameThreads";
 
     private ForgeProfileProperties() {
         //prevent initializing static class
@@ -76,6 +78,7 @@ public class ForgeProfileProperties {
         decksDir    = getDir(props, DECKS_DIR_KEY, userDir + "decks" + File.separator);
         decksConstructedDir = getDir(props, DECKS_CONSTRUCTED_DIR_KEY, decksDir + "constructed" + File.separator);
         serverPort = getInt(props, SERVER_PORT_KEY, 36743); // "Forge" using phone keypad
+        virtualGameThreads = Boolean.parseBoolean(props.getProperty(VIRTUAL_GAME_THREADS_KEY, "false").trim());
 
         //ensure directories exist
         FileUtil.ensureDirectoryExists(userDir);
@@ -131,6 +134,13 @@ public class ForgeProfileProperties {
         return serverPort;
     }
 
+    /**
+     * @return whether a hosting server runs its games on virtual threads (needs Java 21)
+     */
+    public static boolean isVirtualGameThreads() {
+        return virtualGameThreads;
+    }
+
     private static Map<String, String> getMap(final Properties props, final String propertyKey) {
         final String strMap = props.getProperty(propertyKey, "").trim();
         return FileSection.parseToMap(strMap, FileSection.ARROW_KV_SEPARATOR);
@@ -235,7 +245,10 @@ public class ForgeProfileProperties {
             sb.append("\n");
         }
         if (serverPort != 0) {
-            sb.append(SERVER_PORT_KEY + "=").append(serverPort);
+            sb.append(SERVER_PORT_KEY + "=").append(serverPort).append("\n");
+        }
+        if (virtualGameThreads) {
+            sb.append(VIRTUAL_GAME_THREADS_KEY + "=true\n");
         }
         if (sb.length() > 0) {
             FileUtil.writeFile(ForgeConstants.PROFILE_FILE, sb.toString());
@@ -27,10 +27,13 @@ import forge.MulliganDefs;
 import forge.StaticData;
 import forge.ai.AiProfileUtil;
 import forge.card.CardRulesPredicates;
+import forge.card.CardSearchIndex;
 import forge.card.CardType;
 import forge.deck.CardArchetypeLDAGenerator;
 import forge.deck.CardRelationMatrixGenerator;
+import forge.deck.DeckType;
 import forge.deck.io.DeckPreferences;
+import forge.deck.io.DeckStorage;
 import forge.game.GameFormat;
 import forge.game.GameType;
 import forge.game.card.CardUtil;
@@ -63,6 +66,8 @@ import forge.util.storage.StorageBase;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The default Model implementation for Forge.
@@ -155,152 +160,238 @@ public final class FModel {
         };
 
         //if (new AutoUpdater(true).attemptToUpdate()) {}
-        // load types before loading cards
-        loadDynamicGamedata();
+        ForgePreferences.DEV_MODE = preferences.getPrefBoolean(FPref.DEV_MODE_ENABLED);
+        ForgePreferences.UPLOAD_DRAFT = ForgePreferences.NET_CONN;
+        Spell.setPerformanceMode(preferences.getPrefBoolean(FPref.PERFORMANCE_MODE));
 
-        //load card database
-        // Lazy loading currently disabled
-        final CardStorageReader reader = new CardStorageReader(ForgeConstants.CARD_DATA_DIR, progressBarBridge,
-                false);
-        final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
-                false);
-        CardStorageReader customReader;
-        try {
-           customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);
-        } catch (Exception e) {
-            customReader = null;
-        }
-        CardStorageReader customTokenReader;
-        try {
-            customTokenReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_TOKENS_DIR, progressBarBridge, false);
-        } catch (Exception e) {
-            customTokenReader = null;
-        }
+        // Startup steps run as soon as the steps they need are done, the deferred ones on first use.
+        final TaskGraph startup = new TaskGraph("Startup");
 
+        // load types before loading cards
+        final TaskGraph.Step gameData = startup.add("Card types and keywords", FModel::loadDynamicGamedata);
         // do this first so PaperCards see the real preference
-        CardTranslation.preloadTranslation(preferences.getPref(FPref.UI_LANGUAGE), ForgeConstants.LANG_DIR);
-
-        magicDb = new StaticData(reader, tokenReader, customReader, customTokenReader, ForgeConstants.EDITIONS_DIR,
-                                 ForgeConstants.USER_CUSTOM_EDITIONS_DIR, ForgeConstants.BLOCK_DATA_DIR, ForgeConstants.SETLOOKUP_DIR,
-                                 FModel.getPreferences().getPref(FPref.UI_PREFERRED_ART),
-                                 FModel.getPreferences().getPrefBoolean(FPref.UI_LOAD_UNKNOWN_CARDS),
-                                 FModel.getPreferences().getPrefBoolean(FPref.UI_LOAD_NONLEGAL_CARDS),
-                                 FModel.getPreferences().getPrefBoolean(FPref.ALLOW_CUSTOM_CARDS_IN_DECKS_CONFORMANCE),
-                                 FModel.getPreferences().getPrefBoolean(FPref.UI_SMART_CARD_ART)
-                );
-
-        //create profile dirs if they don't already exist
-        for (final String dname : ForgeConstants.PROFILE_DIRS) {
-            final File path = new File(dname);
-            if (path.isDirectory()) {
-                // already exists
-                continue;
+        final TaskGraph.Step translations = startup.add("Card translations",
+                () -> CardTranslation.preloadTranslation(preferences.getPref(FPref.UI_LANGUAGE), ForgeConstants.LANG_DIR));
+
+        final TaskGraph.Step profileDirs = startup.add("Profile directories", () -> {
+            //create profile dirs if they don't already exist
+            for (final String dname : ForgeConstants.PROFILE_DIRS) {
+                final File path = new File(dname);
+                if (path.isDirectory()) {
+                    // already exists
+                    continue;
+                }
+                if (!path.mkdirs()) {
+                    throw new RuntimeException("cannot create profile directory: " + dname);
+                }
+            }
+        });
+
+        //preload AI profiles
+        startup.add("AI profiles", () -> {
+            AiProfileUtil.loadAllProfiles(ForgeConstants.AI_PROFILE_DIR);
+            AiProfileUtil.setAiSideboardingMode(AiProfileUtil.AISideboardingMode.normalizedValueOf(preferences.getPref(FPref.MATCH_AI_SIDEBOARDING_MODE)));
+        });
+
+        startup.add("Quest and conquest preferences", () -> {
+            questPreferences = new QuestPreferences();
+            conquestPreferences = new ConquestPreferences();
+            ConquestUtil.updateRarityFilterOdds();
+        }, profileDirs);
+
+        //load card database
+        final TaskGraph.Step cardDb = startup.add("Card database", () -> {
+            // Lazy loading currently disabled
+            final CardStorageReader reader = new CardStorageReader(ForgeConstants.CARD_DATA_DIR, progressBarBridge,
+                    false);
+            final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
+                    false);
+            CardStorageReader customReader;
+            try {
+               customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);
+            } catch (Exception e) {
+                customReader = null;
             }
-            if (!path.mkdirs()) {
-                throw new RuntimeException("cannot create profile directory: " + dname);
+            CardStorageReader customTokenReader;
+            try {
+                customTokenReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_TOKENS_DIR, progressBarBridge, false);
+            } catch (Exception e) {
+                customTokenReader = null;
             }
-        }
 
-        ForgePreferences.DEV_MODE = preferences.getPrefBoolean(FPref.DEV_MODE_ENABLED);
-        ForgePreferences.UPLOAD_DRAFT = ForgePreferences.NET_CONN;
+            magicDb = new StaticData(reader, tokenReader, customReader, customTokenReader, ForgeConstants.EDITIONS_DIR,
+                                     ForgeConstants.USER_CUSTOM_EDITIONS_DIR, ForgeConstants.BLOCK_DATA_DIR, ForgeConstants.SETLOOKUP_DIR,
+                                     preferences.getPref(FPref.UI_PREFERRED_ART),
+                                     preferences.getPrefBoolean(FPref.UI_LOAD_UNKNOWN_CARDS),
+                                     preferences.getPrefBoolean(FPref.UI_LOAD_NONLEGAL_CARDS),
+                                     preferences.getPrefBoolean(FPref.ALLOW_CUSTOM_CARDS_IN_DECKS_CONFORMANCE),
+                                     preferences.getPrefBoolean(FPref.UI_SMART_CARD_ART)
+                    );
+            // build the lazily sorted edition lists now, the steps below read them concurrently
+            magicDb.getSortedEditions();
+            magicDb.getEditionsTypeMap();
+        }, gameData, translations);
+
+        final TaskGraph.Step formatsStep = startup.add("Formats", () -> {
+            formats = new GameFormat.Collection(new GameFormat.Reader( new File(ForgeConstants.FORMATS_DATA_DIR),
+                    new File(ForgeConstants.USER_FORMATS_DIR), preferences.getPrefBoolean(FPref.LOAD_ARCHIVED_FORMATS)));
+
+            magicDb.setStandardPredicate(formats.getStandard().getFilterRules());
+            magicDb.setPioneerPredicate(formats.getPioneer().getFilterRules());
+            magicDb.setModernPredicate(formats.getModern().getFilterRules());
+            magicDb.setCommanderPredicate(formats.get("Commander").getFilterRules());
+            magicDb.setOathbreakerPredicate(formats.get("Oathbreaker").getFilterRules());
+            magicDb.setBrawlPredicate(formats.get("Brawl").getFilterRules());
+
+            magicDb.setFilteredHandsEnabled(preferences.getPrefBoolean(FPref.FILTERED_HANDS));
+            try {
+                magicDb.setMulliganRule(MulliganDefs.MulliganRule.valueOf(preferences.getPref(FPref.MULLIGAN_RULE)));
+            } catch(Exception e) {
+                magicDb.setMulliganRule(MulliganDefs.MulliganRule.London);
+            }
+        }, cardDb);
 
-        formats = new GameFormat.Collection(new GameFormat.Reader( new File(ForgeConstants.FORMATS_DATA_DIR),
-                new File(ForgeConstants.USER_FORMATS_DIR), preferences.getPrefBoolean(FPref.LOAD_ARCHIVED_FORMATS)));
+        startup.add("Blocks", () -> {
+            blocks = new StorageBase<>("Block definitions", new CardBlock.Reader(ForgeConstants.BLOCK_DATA_DIR + "blocks.txt", magicDb.getEditions()));
+            //setblockLands
+            for (final CardBlock b : blocks) {
+                magicDb.getBlockLands().add(b.getLandSet().getCode());
+            }
+            fantasyBlocks = new StorageBase<>("Custom blocks", new CardBlock.Reader(ForgeConstants.BLOCK_DATA_DIR + "fantasyblocks.txt", magicDb.getEditions()));
+        }, cardDb);
+
+        startup.add("Themed chaos drafts", () -> themedChaosDrafts = new StorageBase<>("Themed Chaos Drafts",
+                new ThemedChaosDraft.Reader(ForgeConstants.BLOCK_DATA_DIR + "chaosdraftthemes.txt")), formatsStep);
+        final TaskGraph.Step planesStep = startup.add("Conquest planes", () -> planes = new StorageBase<>("Conquest planes",
+                new ConquestPlane.Reader(ForgeConstants.CONQUEST_PLANES_DIR + "planes.txt")), cardDb);
+
+        final TaskGraph.Step worldsStep = startup.add("Quest worlds", () -> {
+            Map<String, QuestWorld> standardWorlds = new QuestWorld.Reader(ForgeConstants.QUEST_WORLD_DIR + "worlds.txt").readAll();
+            Map<String, QuestWorld> customWorlds = new QuestWorld.Reader(ForgeConstants.USER_QUEST_WORLD_DIR + "customworlds.txt").readAll();
+            for (QuestWorld world:customWorlds.values()){
+                world.setCustom(true);
+            }
+            standardWorlds.putAll(customWorlds);
+            worlds = new StorageBase<>("Quest worlds", null, standardWorlds);
+        }, formatsStep);
+
+        // preferred card art changes the card database, so it comes after the steps that read cards before
+        final TaskGraph.Step cardPrefs = startup.add("Card and deck preferences", () -> {
+            CardPreferences.load();
+            DeckPreferences.load();
+            ItemManagerConfig.load();
+        }, profileDirs, formatsStep, planesStep, worldsStep);
+
+        startup.add("Card pools", () -> {
+            if (GuiBase.getInterface().isLibgdxPort() && GuiBase.getDeviceRAM() < 5000)
+                return; // don't preload ItemPool on mobile port with less than 5GB RAM
+
+            //common ItemPool to preload
+            allCardsNoAlt = getAllCardsNoAlt();
+            archenemyCards = getArchenemyCards();
+            planechaseCards = getPlanechaseCards();
+            attractionPool = getAttractionPool();
+            if (GuiBase.getInterface().isLibgdxPort()) {
+                //preload mobile Itempool
+                uniqueCardsNoAlt = getUniqueCardsNoAlt();
+            } else {
+                //preload Desktop Itempool
+                commanderPool = getCommanderPool();
+                brawlCommander = getBrawlCommander();
+                tinyLeadersCommander = getTinyLeadersCommander();
+                avatarPool = getAvatarPool();
+                conspiracyPool = getConspiracyPool();
+            }
+        }, cardPrefs);
+
+        // not deferred, the screens showing them can't wait for them on the UI thread
+        startup.add("Achievements", () -> {
+            final Map<GameType, AchievementCollection> collections = Maps.newHashMap();
+            collections.put(GameType.Constructed, new ConstructedAchievements());
+            collections.put(GameType.Draft, new DraftAchievements());
+            collections.put(GameType.Sealed, new SealedAchievements());
+            collections.put(GameType.Quest, new QuestAchievements());
+            collections.put(GameType.PlanarConquest, new PlanarConquestAchievements());
+            collections.put(GameType.Puzzle, new PuzzleAchievements());
+            collections.put(GameType.Adventure, new AdventureAchievements());
+            achievements = collections;
+        }, cardPrefs);
+
+        // built in the background so the first search in an item manager doesn't wait for it
+        startup.defer("Card search index", () -> {
+            if (GuiBase.getInterface().isLibgdxPort() && GuiBase.getDeviceRAM() < 5000)
+                return; // built in the background by the first search instead
+            CardSearchIndex.get();
+        }, cardPrefs);
 
-        magicDb.setStandardPredicate(formats.getStandard().getFilterRules());
-        magicDb.setPioneerPredicate(formats.getPioneer().getFilterRules());
-        magicDb.setModernPredicate(formats.getModern().getFilterRules());
-        magicDb.setCommanderPredicate(formats.get("Commander").getFilterRules());
-        magicDb.setOathbreakerPredicate(formats.get("Oathbreaker").getFilterRules());
-        magicDb.setBrawlPredicate(formats.get("Brawl").getFilterRules());
+        //generate Deck Gen matrix
+        deckGenMatrixStep = startup.defer("Deck generation matrices", () -> {
+            if (preferences.getPrefBoolean(FPref.DECKGEN_CARDBASED)) {
+                boolean commanderDeckGenMatrixLoaded=CardRelationMatrixGenerator.initialize();
+                boolean loaded=CardArchetypeLDAGenerator.initialize();
+                deckGenMatrixLoaded=loaded && commanderDeckGenMatrixLoaded;
+                if (deckGenMatrixLoaded) {
+                    DeckType.updateOptions();
+                }
+            }
+        }, cardPrefs);
 
-        magicDb.setFilteredHandsEnabled(preferences.getPrefBoolean(FPref.FILTERED_HANDS));
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            final Thread thread = new Thread(r, "Startup");
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            magicDb.setMulliganRule(MulliganDefs.MulliganRule.valueOf(preferences.getPref(FPref.MULLIGAN_RULE)));
-        } catch(Exception e) {
-            magicDb.setMulliganRule(MulliganDefs.MulliganRule.London);
-        }
-
-        blocks = new StorageBase<>("Block definitions", new CardBlock.Reader(ForgeConstants.BLOCK_DATA_DIR + "blocks.txt", magicDb.getEditions()));
-        //setblockLands
-        for (final CardBlock b : blocks) {
-            magicDb.getBlockLands().add(b.getLandSet().getCode());
+            startup.run(pool);
+        } finally {
+            // the deferred steps nobody waited for yet warm up in the background
+            startup.startDeferred(pool);
+            pool.shutdown();
         }
-        questPreferences = new QuestPreferences();
-        conquestPreferences = new ConquestPreferences();
-        fantasyBlocks = new StorageBase<>("Custom blocks", new CardBlock.Reader(ForgeConstants.BLOCK_DATA_DIR + "fantasyblocks.txt", magicDb.getEditions()));
-        themedChaosDrafts = new StorageBase<>("Themed Chaos Drafts", new ThemedChaosDraft.Reader(ForgeConstants.BLOCK_DATA_DIR + "chaosdraftthemes.txt"));
-        planes = new StorageBase<>("Conquest planes", new ConquestPlane.Reader(ForgeConstants.CONQUEST_PLANES_DIR + "planes.txt"));
-        Map<String, QuestWorld> standardWorlds = new QuestWorld.Reader(ForgeConstants.QUEST_WORLD_DIR + "worlds.txt").readAll();
-        Map<String, QuestWorld> customWorlds = new QuestWorld.Reader(ForgeConstants.USER_QUEST_WORLD_DIR + "customworlds.txt").readAll();
-        for (QuestWorld world:customWorlds.values()){
-            world.setCustom(true);
+        startupGraph = startup;
+        if (ForgePreferences.DEV_MODE) {
+            System.out.println(startup.getReport());
         }
-        standardWorlds.putAll(customWorlds);
-        worlds = new StorageBase<>("Quest worlds", null, standardWorlds);
-
-        Spell.setPerformanceMode(preferences.getPrefBoolean(FPref.PERFORMANCE_MODE));
 
         if (progressBar != null) {
             FThreads.invokeInEdtLater(() -> progressBar.setDescription(Localizer.getInstance().getMessage("splash.loading.decks")));
         }
 
+        DeckStorage.setIndexDirectory(new File(ForgeConstants.DECK_INDEX_DIR));
         decks = new CardCollections();
         quest = new QuestController();
         conquest = new ConquestController();
+    }
 
-        CardPreferences.load();
-        DeckPreferences.load();
-        ItemManagerConfig.load();
-        ConquestUtil.updateRarityFilterOdds();
-
-        achievements = Maps.newHashMap();
-        achievements.put(GameType.Constructed, new ConstructedAchievements());
-        achievements.put(GameType.Draft, new DraftAchievements());
-        achievements.put(GameType.Sealed, new SealedAchievements());
-        achievements.put(GameType.Quest, new QuestAchievements());
-        achievements.put(GameType.PlanarConquest, new PlanarConquestAchievements());
-        achievements.put(GameType.Puzzle, new PuzzleAchievements());
-        achievements.put(GameType.Adventure, new AdventureAchievements());
-
-        //preload AI profiles
-        AiProfileUtil.loadAllProfiles(ForgeConstants.AI_PROFILE_DIR);
-        AiProfileUtil.setAiSideboardingMode(AiProfileUtil.AISideboardingMode.normalizedValueOf(FModel.getPreferences().getPref(FPref.MATCH_AI_SIDEBOARDING_MODE)));
+    private static volatile boolean deckGenMatrixLoaded=false;
+    private static TaskGraph.Step deckGenMatrixStep;
+    private static TaskGraph startupGraph;
 
-        //generate Deck Gen matrix
-        if(FModel.getPreferences().getPrefBoolean(FPref.DECKGEN_CARDBASED)) {
-            boolean commanderDeckGenMatrixLoaded=CardRelationMatrixGenerator.initialize();
-            deckGenMatrixLoaded=CardArchetypeLDAGenerator.initialize();
-            if(!commanderDeckGenMatrixLoaded){
-                deckGenMatrixLoaded=false;
-            }
-        }
+    /**
+     * Tells whether the deck generation matrices are loaded, without waiting for them: they load
+     * in the background after startup. See {@link #whenDeckGenMatrixDone} to hear when they are.
+     */
+    public static boolean isdeckGenMatrixLoaded(){
+        return deckGenMatrixLoaded;
+    }
 
-        if (GuiBase.getInterface().isLibgdxPort() && GuiBase.getDeviceRAM() < 5000)
-            return; // don't preload ItemPool on mobile port with less than 5GB RAM
-
-        //common ItemPool to preload
-        allCardsNoAlt = getAllCardsNoAlt();
-        archenemyCards = getArchenemyCards();
-        planechaseCards = getPlanechaseCards();
-        attractionPool = getAttractionPool();
-        if (GuiBase.getInterface().isLibgdxPort()) {
-            //preload mobile Itempool
-            uniqueCardsNoAlt = getUniqueCardsNoAlt();
+    /**
+     * Runs the action on the UI thread once loading the deck generation matrices finished or failed,
+     * soon if that happened already.
+     */
+    public static void whenDeckGenMatrixDone(final Runnable action) {
+        if (deckGenMatrixStep == null) {
+            FThreads.invokeInEdtNowOrLater(action);
         } else {
-            //preload Desktop Itempool
-            commanderPool = getCommanderPool();
-            brawlCommander = getBrawlCommander();
-            tinyLeadersCommander = getTinyLeadersCommander();
-            avatarPool = getAvatarPool();
-            conspiracyPool = getConspiracyPool();
+            deckGenMatrixStep.whenDone(() -> FThreads.invokeInEdtNowOrLater(action));
         }
     }
 
-    private static boolean deckGenMatrixLoaded=false;
-
-    public static boolean isdeckGenMatrixLoaded(){
-        return deckGenMatrixLoaded;
+    /**
+     * @return how long each step of the last {@link #initialize} took, or null before it ran
+     */
+    public static String getStartupReport() {
+        return startupGraph == null ? null : startupGraph.getReport();
     }
 
     public static QuestController getQuest() {
@@ -52,6 +52,18 @@ public class EventVisualizer extends IGameEventVisitor.Base<SoundEffectType> imp
         return to == ZoneType.Exile ? SoundEffectType.Exile : null;
     }
 
+    @Override
+    public SoundEffectType visit(final GameEventCardsChangeZone event) {
+        // one sound for the whole batch, the first move that has one
+        for (final GameEventCardChangeZone change : event.changes) {
+            final SoundEffectType sound = visit(change);
+            if (sound != null) {
+                return sound;
+            }
+        }
+        return null;
+    }
+
     @Override
     public SoundEffectType visit(GameEventCardStatsChanged event) {
         return event.transform ? SoundEffectType.FlipCard : null ;
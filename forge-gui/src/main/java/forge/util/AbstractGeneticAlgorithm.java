@@ -1,5 +1,6 @@
 package forge.util;
 import java.util.List;
+import java.util.Random;
 
 public abstract class AbstractGeneticAlgorithm<T> {
 
@@ -7,12 +8,25 @@ public abstract class AbstractGeneticAlgorithm<T> {
     private int targetPopulationSize;
     private float pruneRatio = 0.5f;
     public int generationCount = 0;
+    private Long seed;
 
     public void initializePopulation(List<T> population){
         this.population = population;
         targetPopulationSize = population.size();
     }
 
+    /**
+     * Makes a run repeatable: everything drawing from {@link MyRandom} on the running thread,
+     * and on the threads it starts, draws from a generator seeded with this.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
     protected abstract void evaluateFitness();
 
     protected abstract T expandPool();
@@ -52,14 +66,23 @@ public abstract class AbstractGeneticAlgorithm<T> {
     protected abstract T createChild(T parent1, T parent2);
 
     public void run(){
-        while(true){
-            evaluateFitness();
-            pruneWeakest();
-            generationCount++;
-            if(!shouldContinue()) {
-                break;
+        if(seed != null) {
+            MyRandom.setThreadRandom(new Random(seed));
+        }
+        try {
+            while(true){
+                evaluateFitness();
+                pruneWeakest();
+                generationCount++;
+                if(!shouldContinue()) {
+                    break;
+                }
+                generateChildren();
+            }
+        } finally {
+            if(seed != null) {
+                MyRandom.setThreadRandom(null);
             }
-            generateChildren();
         }
     }
 
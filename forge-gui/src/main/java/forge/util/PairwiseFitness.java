@@ -0,0 +1,226 @@
+package forge.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ranks a population by letting its individuals play matches against each other.
+ * <p>
+ * Every individual meets the same number of opponents and is evaluated by its own task on a
+ * bounded pool. A match between two individuals is played once and remembered by the content
+ * hashes of both sides, so the same pairing in a later generation costs nothing. An individual
+ * that can't reach the hopeless score anymore, even winning everything left, stops early.
+ * <p>
+ * With a seed, every match runs with a random provider seeded from the seed and the two content
+ * hashes, and each individual plays its opponents in a fixed order, so the ranking doesn't depend
+ * on which thread got there first.
+ */
+public class PairwiseFitness<T> {
+
+    public interface MatchPlayer<T> {
+        /**
+         * Plays a match, called from the pool threads.
+         * @return the share of the match the first individual won, from 0 to 1
+         */
+        double play(T first, T second);
+    }
+
+    private final MatchPlayer<T> matchPlayer;
+    private final ToLongFunction<T> contentHash;
+    private final int threads;
+    private int opponents = 4;
+    private double hopelessScore = 0;
+    private Long seed;
+
+    // keyed by the hashes of both sides, lower one first, valued from the side of the lower one
+    private final Map<Pair, CompletableFuture<Double>> results = new ConcurrentHashMap<>();
+    private int matchesPlayed, matchesRemembered, individualsStopped;
+
+    public PairwiseFitness(final MatchPlayer<T> matchPlayer, final ToLongFunction<T> contentHash, final int threads) {
+        this.matchPlayer = matchPlayer;
+        this.contentHash = contentHash;
+        this.threads = Math.max(1, threads);
+    }
+
+    /** How many opponents every individual meets. */
+    public void setOpponents(final int opponents) {
+        this.opponents = opponents;
+    }
+
+    /** The share of its matches an individual must still be able to win to keep playing, 0 to never stop. */
+    public void setHopelessScore(final double hopelessScore) {
+        this.hopelessScore = hopelessScore;
+    }
+
+    public void setSeed(final Long seed) {
+        this.seed = seed;
+    }
+
+    public int getMatchesPlayed() {
+        return matchesPlayed;
+    }
+
+    public int getMatchesRemembered() {
+        return matchesRemembered;
+    }
+
+    public int getIndividualsStopped() {
+        return individualsStopped;
+    }
+
+    public int getResultsKept() {
+        return results.size();
+    }
+
+    /**
+     * Returns the population ordered from the fittest down, ties keep the order they had.
+     * @param random chooses who meets whom
+     */
+    public List<T> rank(final List<T> population, final Random random) {
+        final int n = population.size();
+        final long[] hashes = new long[n];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = contentHash.applyAsLong(population.get(i));
+        }
+
+        // seat everyone at a shuffled round table, each meets the ones sitting closest on both sides
+        final List<Integer> seats = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            seats.add(i);
+        }
+        Collections.shuffle(seats, random);
+        final int perSide = Math.min(opponents, n - 1) / 2;
+        final List<List<Integer>> schedule = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            schedule.add(new ArrayList<>());
+        }
+        for (int s = 0; s < n; s++) {
+            final int me = seats.get(s);
+            for (int d = 1; d <= perSide; d++) {
+                schedule.get(me).add(seats.get((s + d) % n));
+                schedule.get(me).add(seats.get((s - d + n) % n));
+            }
+        }
+
+        final double[] scores = new double[n];
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, n)), r -> {
+            final Thread thread = new Thread(r, "Fitness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Double>> tasks = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                final int me = i;
+                tasks.add(pool.submit(() -> evaluate(population, hashes, me, schedule.get(me))));
+            }
+            for (int i = 0; i < n; i++) {
+                scores[i] = tasks.get(i).get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        final List<Integer> order = new ArrayList<>(seats);
+        order.sort((a, b) -> a.equals(b) ? 0 : scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        final List<T> ranked = new ArrayList<>();
+        for (final int i : order) {
+            ranked.add(population.get(i));
+        }
+        return ranked;
+    }
+
+    private double evaluate(final List<T> population, final long[] hashes, final int me, final List<Integer> opponentsOfMe) {
+        final int total = opponentsOfMe.size();
+        if (total == 0) {
+            return 0;
+        }
+        double won = 0;
+        int played = 0;
+        for (final int other : opponentsOfMe) {
+            if (hopelessScore > 0 && (won + total - played) / total < hopelessScore) {
+                synchronized (this) {
+                    individualsStopped++;
+                }
+                break;
+            }
+            won += result(population.get(me), hashes[me], population.get(other), hashes[other]);
+            played++;
+        }
+        return won / total;
+    }
+
+    private double result(final T me, final long myHash, final T other, final long otherHash) {
+        final boolean mine = myHash <= otherHash;
+        final Pair key = mine ? new Pair(myHash, otherHash) : new Pair(otherHash, myHash);
+        final CompletableFuture<Double> claim = new CompletableFuture<>();
+        final CompletableFuture<Double> known = results.putIfAbsent(key, claim);
+        final double lowerWon;
+        if (known == null) {
+            // this task plays it, any other task asking for the pairing waits for the outcome
+            try {
+                lowerWon = play(mine ? me : other, mine ? other : me, key);
+            } catch (final RuntimeException | Error e) {
+                results.remove(key, claim);
+                claim.completeExceptionally(e);
+                throw e;
+            }
+            claim.complete(lowerWon);
+            synchronized (this) {
+                matchesPlayed++;
+            }
+        } else {
+            lowerWon = known.join();
+            synchronized (this) {
+                matchesRemembered++;
+            }
+        }
+        return mine ? lowerWon : 1 - lowerWon;
+    }
+
+    private double play(final T first, final T second, final Pair key) {
+        if (seed == null) {
+            return matchPlayer.play(first, second);
+        }
+        MyRandom.setThreadRandom(new Random(seed ^ (key.lower * 0x9E3779B97F4A7C15L + key.higher)));
+        try {
+            return matchPlayer.play(first, second);
+        } finally {
+            MyRandom.setThreadRandom(null);
+        }
+    }
+
+    private static final class Pair {
+        private final long lower, higher;
+
+        Pair(final long lower, final long higher) {
+            this.lower = lower;
+            this.higher = higher;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Pair && ((Pair) o).lower == lower && ((Pair) o).higher == higher;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lower * 31 + higher);
+        }
+    }
+}